@@ -0,0 +1,133 @@
+package org.jutility.benchmarks.common;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jutility.common.datatype.tree.BTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code BTreeBenchmark} class measures insertion into and lookup in
+ * {@link BTree BTrees}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BTreeBenchmark {
+
+
+    /**
+     * The maximum number of children per node.
+     */
+    @Param({ "4", "32" })
+    public int             order;
+
+    /**
+     * The number of keys in the tree.
+     */
+    @Param({ "10000", "1000000" })
+    public int             size;
+
+    private BTree<Integer> tree;
+    private Integer[]      keys;
+    private int            index;
+
+
+    /**
+     * Creates and populates the tree.
+     */
+    @Setup
+    public void setUp() {
+
+        final Random random = new Random(42);
+
+        this.keys = new Integer[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+
+            this.keys[i] = random.nextInt();
+        }
+
+        this.tree = this.populate();
+    }
+
+
+    /**
+     * Looks up a key present in the tree.
+     *
+     * @return the key.
+     */
+    @Benchmark
+    public Integer find() {
+
+        return this.tree.get(this.keys[this.index++ % this.size]);
+    }
+
+
+    /**
+     * Populates a new tree with all keys.
+     *
+     * @return the tree.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BTree<Integer> insert() {
+
+        return this.populate();
+    }
+
+
+    private BTree<Integer> populate() {
+
+        final BTree<Integer> result = new BTree<>(this.order);
+
+        for (final Integer key : this.keys) {
+
+            result.add(key);
+        }
+
+        return result;
+    }
+}
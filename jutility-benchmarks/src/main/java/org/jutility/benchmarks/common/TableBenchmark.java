@@ -0,0 +1,150 @@
+package org.jutility.benchmarks.common;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jutility.common.datatype.table.ITable;
+import org.jutility.common.datatype.table.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code TableBenchmark} class measures random access into and population
+ * of {@link ITable Tables}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableBenchmark {
+
+
+    /**
+     * The number of rows and columns of the table.
+     */
+    @Param({ "100", "500" })
+    public int             size;
+
+    private ITable<Integer> table;
+    private int[]          rows;
+    private int[]          columns;
+    private int            index;
+
+
+    /**
+     * Creates and populates the table.
+     */
+    @Setup
+    public void setUp() {
+
+        this.table = TableBenchmark.populate(this.size);
+
+        final Random random = new Random(42);
+
+        this.rows = new int[1024];
+        this.columns = new int[1024];
+
+        for (int i = 0; i < this.rows.length; i++) {
+
+            this.rows[i] = random.nextInt(this.size);
+            this.columns[i] = random.nextInt(this.size);
+        }
+    }
+
+
+    /**
+     * Retrieves a random cell.
+     *
+     * @return the value of the cell.
+     */
+    @Benchmark
+    public Integer randomGet() {
+
+        final int i = this.index++ & 1023;
+
+        return this.table.get(this.rows[i], this.columns[i]);
+    }
+
+
+    /**
+     * Adds a value to a random cell.
+     *
+     * @return whether the value was added.
+     */
+    @Benchmark
+    public boolean randomAdd() {
+
+        final int i = this.index++ & 1023;
+
+        return this.table.add(this.rows[i], this.columns[i], i);
+    }
+
+
+    /**
+     * Populates a new table in row-major order.
+     *
+     * @return the table.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ITable<Integer> populate() {
+
+        return TableBenchmark.populate(this.size);
+    }
+
+
+    private static ITable<Integer> populate(final int size) {
+
+        final ITable<Integer> table = new Table<>();
+
+        for (int row = 0; row < size; row++) {
+
+            for (int column = 0; column < size; column++) {
+
+                table.add(row, column, row * size + column);
+            }
+        }
+
+        return table;
+    }
+}
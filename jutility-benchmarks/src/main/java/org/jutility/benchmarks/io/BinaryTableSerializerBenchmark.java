@@ -0,0 +1,200 @@
+package org.jutility.benchmarks.io;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jutility.common.datatype.table.Table;
+import org.jutility.io.SerializationException;
+import org.jutility.io.binary.BinaryTableSerializer;
+import org.jutility.io.binary.MappedTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code BinaryTableSerializerBenchmark} class measures serialization,
+ * deserialization, and lazy opening of {@link Table Tables} through the
+ * {@link BinaryTableSerializer}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BinaryTableSerializerBenchmark {
+
+
+    /**
+     * The number of rows.
+     */
+    @Param({ "10000", "1000000" })
+    public int            rows;
+
+    /**
+     * The number of columns.
+     */
+    @Param({ "8" })
+    public int            columns;
+
+    private Table<Object> table;
+    private File          input;
+    private File          output;
+
+
+    /**
+     * Creates the table and the input file.
+     *
+     * @throws IOException
+     *             if the temporary files cannot be created.
+     * @throws SerializationException
+     *             if the input file cannot be written.
+     */
+    @Setup
+    public void setUp()
+            throws IOException, SerializationException {
+
+        this.table = new Table<>();
+
+        for (int row = 0; row < this.rows; row++) {
+
+            for (int column = 0; column < this.columns; column++) {
+
+                this.table.add(row, column, (column % 2 == 0) ? row * column
+                        : "value " + row % 100 + "/" + column);
+            }
+        }
+
+        this.input = File.createTempFile("jutility-benchmark", ".jtbl");
+        this.output = File.createTempFile("jutility-benchmark", ".jtbl");
+
+        BinaryTableSerializer.instance().serialize(this.table,
+                this.input.getPath());
+    }
+
+
+    /**
+     * Removes the temporary files.
+     */
+    @TearDown
+    public void tearDown() {
+
+        this.input.delete();
+        this.output.delete();
+    }
+
+
+    /**
+     * Serializes the table.
+     *
+     * @throws SerializationException
+     *             if serialization fails.
+     */
+    @Benchmark
+    public void serialize()
+            throws SerializationException {
+
+        BinaryTableSerializer.instance().serialize(this.table,
+                this.output.getPath());
+    }
+
+
+    /**
+     * Deserializes the table.
+     *
+     * @return the table.
+     * @throws SerializationException
+     *             if deserialization fails.
+     */
+    @Benchmark
+    public Table<?> deserialize()
+            throws SerializationException {
+
+        return BinaryTableSerializer.instance().deserialize(this.input,
+                Table.class);
+    }
+
+
+    /**
+     * Opens the table and reads a single cell.
+     *
+     * @return the value of the cell.
+     * @throws IOException
+     *             if the table cannot be opened.
+     */
+    @Benchmark
+    public Object open()
+            throws IOException {
+
+        try (MappedTable mapped = BinaryTableSerializer.instance().open(
+                this.input.toPath())) {
+
+            return mapped.get(this.rows / 2, 1);
+        }
+    }
+
+
+    /**
+     * Opens the table and sums a numeric column.
+     *
+     * @return the sum of the column.
+     * @throws IOException
+     *             if the table cannot be opened.
+     */
+    @Benchmark
+    public long scanColumn()
+            throws IOException {
+
+        long sum = 0;
+
+        try (MappedTable mapped = BinaryTableSerializer.instance().open(
+                this.input.toPath())) {
+
+            for (int row = 0; row < mapped.rows(); row++) {
+
+                sum += mapped.getInt(row, 2);
+            }
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,264 @@
+package org.jutility.benchmarks.io;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.util.concurrent.TimeUnit;
+
+import org.jutility.common.datatype.table.Table;
+import org.jutility.io.Compression;
+import org.jutility.io.SerializationException;
+import org.jutility.io.csv.CsvSerializer;
+import org.jutility.io.csv.MappedCsvReader;
+import org.jutility.io.csv.TypedTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code CsvSerializerBenchmark} class measures serialization and
+ * deserialization of {@link Table Tables} through the {@link CsvSerializer}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvSerializerBenchmark {
+
+
+    /**
+     * The number of rows.
+     */
+    @Param({ "10000", "1000000" })
+    public int            rows;
+
+    /**
+     * The number of columns.
+     */
+    @Param({ "8" })
+    public int            columns;
+
+    private Table<Object> table;
+    private File          input;
+    private File          output;
+    private File          compressedInput;
+    private File          compressedOutput;
+
+
+    /**
+     * Creates the table and the input file.
+     *
+     * @throws IOException
+     *             if the temporary files cannot be created.
+     * @throws SerializationException
+     *             if the input file cannot be written.
+     */
+    @Setup
+    public void setUp()
+            throws IOException, SerializationException {
+
+        this.table = new Table<>();
+
+        for (int column = 0; column < this.columns; column++) {
+
+            this.table.add(0, column, "column" + column);
+        }
+
+        for (int row = 1; row <= this.rows; row++) {
+
+            for (int column = 0; column < this.columns; column++) {
+
+                this.table.add(row, column, (column % 2 == 0) ? row * column
+                        : "value " + row + "/" + column);
+            }
+        }
+
+        this.input = File.createTempFile("jutility-benchmark", ".csv");
+        this.output = File.createTempFile("jutility-benchmark", ".csv");
+        this.compressedInput = File.createTempFile("jutility-benchmark",
+                ".csv.gz");
+        this.compressedOutput = File.createTempFile("jutility-benchmark",
+                ".csv.gz");
+
+        CsvSerializer.instance().serialize(this.table, this.input.getPath());
+        CsvSerializer.instance().serialize(this.table,
+                this.compressedInput.getPath());
+    }
+
+
+    /**
+     * Removes the temporary files.
+     */
+    @TearDown
+    public void tearDown() {
+
+        this.input.delete();
+        this.output.delete();
+        this.compressedInput.delete();
+        this.compressedOutput.delete();
+    }
+
+
+    /**
+     * Serializes the table.
+     *
+     * @throws SerializationException
+     *             if serialization fails.
+     */
+    @Benchmark
+    public void serialize()
+            throws SerializationException {
+
+        CsvSerializer.instance().serialize(this.table, this.output.getPath());
+    }
+
+
+    /**
+     * Deserializes the table.
+     *
+     * @return the table.
+     * @throws SerializationException
+     *             if deserialization fails.
+     */
+    @Benchmark
+    public Table<?> deserialize()
+            throws SerializationException {
+
+        return CsvSerializer.instance().deserialize(this.input, Table.class);
+    }
+
+
+    /**
+     * Deserializes the table into a typed table, parsing the numeric columns
+     * into primitive storage.
+     *
+     * @return the table.
+     * @throws SerializationException
+     *             if deserialization fails.
+     * @throws MalformedURLException
+     *             if the URL of the input file is malformed.
+     */
+    @Benchmark
+    public TypedTable readTyped()
+            throws SerializationException, MalformedURLException {
+
+        return CsvSerializer.instance().readTyped(this.input.toURI().toURL(),
+                true);
+    }
+
+
+    /**
+     * Serializes the table into a GZIP compressed file.
+     *
+     * @throws SerializationException
+     *             if serialization fails.
+     */
+    @Benchmark
+    public void serializeGzip()
+            throws SerializationException {
+
+        CsvSerializer.instance().serialize(this.table,
+                this.compressedOutput.getPath(), Compression.GZIP);
+    }
+
+
+    /**
+     * Serializes the table into a GZIP compressed file, compressing blocks on
+     * all available processors.
+     *
+     * @throws SerializationException
+     *             if serialization fails.
+     */
+    @Benchmark
+    public void serializeParallelGzip()
+            throws SerializationException {
+
+        CsvSerializer.instance().serialize(this.table,
+                this.compressedOutput.getPath(), Compression.PARALLEL_GZIP);
+    }
+
+
+    /**
+     * Deserializes the table from a GZIP compressed file.
+     *
+     * @return the table.
+     * @throws SerializationException
+     *             if deserialization fails.
+     */
+    @Benchmark
+    public Table<?> deserializeGzip()
+            throws SerializationException {
+
+        return CsvSerializer.instance().deserialize(this.compressedInput,
+                Table.class);
+    }
+
+
+    /**
+     * Tokenizes the input file with the {@link MappedCsvReader} without
+     * materializing any values.
+     *
+     * @return the total number of characters in all fields.
+     * @throws IOException
+     *             if the file cannot be read.
+     */
+    @Benchmark
+    public long tokenizeMapped()
+            throws IOException {
+
+        long characters = 0;
+
+        try (MappedCsvReader reader = new MappedCsvReader(
+                this.input.toPath())) {
+
+            while (reader.next()) {
+
+                for (int i = 0; i < reader.fields(); i++) {
+
+                    characters += reader.field(i).length();
+                }
+            }
+        }
+
+        return characters;
+    }
+}
@@ -0,0 +1,181 @@
+package org.jutility.benchmarks.io;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+
+import org.jutility.io.SerializationException;
+import org.jutility.io.xml.XmlCDataAdapter;
+import org.jutility.io.xml.XmlSerializer;
+import org.jutility.math.geometry.Polygon4;
+import org.jutility.math.vectoralgebra.Point4;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code XmlSerializerBenchmark} class measures serialization and
+ * deserialization of {@link Polygon4 Polygons} through the
+ * {@link XmlSerializer}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlSerializerBenchmark {
+
+
+    /**
+     * The number of points of the polygon.
+     */
+    @Param({ "100", "10000" })
+    public int              points;
+
+    private Polygon4<Double> polygon;
+    private Scripts          scripts;
+    private File            input;
+    private File            output;
+
+
+    /**
+     * Creates the polygon and the input file.
+     *
+     * @throws IOException
+     *             if the temporary files cannot be created.
+     * @throws SerializationException
+     *             if the input file cannot be written.
+     */
+    @Setup
+    public void setUp()
+            throws IOException, SerializationException {
+
+        this.polygon = new Polygon4<>(Double.class);
+        this.scripts = new Scripts();
+
+        for (int i = 0; i < this.points; i++) {
+
+            this.polygon.addPoint(new Point4<>(i, i * 0.5, -i, Double.class));
+            this.scripts.code.add("if (x < " + i + " && y > " + -i
+                    + ") { return \"<" + i + ">\"; }");
+        }
+
+        this.input = File.createTempFile("jutility-benchmark", ".xml");
+        this.output = File.createTempFile("jutility-benchmark", ".xml");
+
+        XmlSerializer.instance().serialize(this.polygon, this.input.getPath());
+    }
+
+
+    /**
+     * Removes the temporary files.
+     */
+    @TearDown
+    public void tearDown() {
+
+        this.input.delete();
+        this.output.delete();
+    }
+
+
+    /**
+     * Serializes the polygon.
+     *
+     * @throws SerializationException
+     *             if serialization fails.
+     */
+    @Benchmark
+    public void serialize()
+            throws SerializationException {
+
+        XmlSerializer.instance().serialize(this.polygon,
+                this.output.getPath());
+    }
+
+
+    /**
+     * Deserializes the polygon.
+     *
+     * @return the polygon.
+     * @throws SerializationException
+     *             if deserialization fails.
+     */
+    @Benchmark
+    public Polygon4<?> deserialize()
+            throws SerializationException {
+
+        return XmlSerializer.instance().deserialize(this.input,
+                Polygon4.class);
+    }
+
+
+    /**
+     * Serializes a document consisting of CDATA sections.
+     *
+     * @throws SerializationException
+     *             if serialization fails.
+     */
+    @Benchmark
+    public void serializeCData()
+            throws SerializationException {
+
+        XmlSerializer.instance().serialize(this.scripts,
+                this.output.getPath());
+    }
+
+
+    /**
+     * A document whose elements are written as CDATA sections.
+     */
+    @XmlRootElement
+    public static class Scripts {
+
+        @XmlElement
+        @XmlJavaTypeAdapter(XmlCDataAdapter.class)
+        private final List<String> code = new ArrayList<>();
+    }
+}
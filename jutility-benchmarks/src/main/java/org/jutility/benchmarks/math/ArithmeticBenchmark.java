@@ -0,0 +1,257 @@
+package org.jutility.benchmarks.math;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jutility.common.datatype.util.NumberUtils;
+import org.jutility.math.arithmetics.ArithmeticOperations;
+import org.jutility.math.arithmetics.NumericOps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code ArithmeticBenchmark} class compares the dispatching
+ * {@link ArithmeticOperations} methods and {@link NumericOps} instances with
+ * the {@code instanceof} ladder that {@link ArithmeticOperations} used before
+ * (kept as a private copy as the baseline).
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArithmeticBenchmark {
+
+
+    /**
+     * The number of operations per invocation.
+     */
+    @Param({ "1024" })
+    public int                 size;
+
+    private Number[]                 lhs;
+    private Number[]                 rhs;
+    private List<NumericOps<Double>> ops;
+
+
+    /**
+     * Creates the operands.
+     */
+    @Setup
+    public void setUp() {
+
+        this.lhs = new Number[this.size];
+        this.rhs = new Number[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+
+            this.lhs[i] = (i % 2 == 0) ? (Number) Integer.valueOf(i)
+                    : (Number) Double.valueOf(i * 0.5);
+            this.rhs[i] = (i % 3 == 0) ? (Number) Float.valueOf(i)
+                    : (Number) Long.valueOf(i);
+        }
+
+        this.ops = new ArrayList<>(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+
+            this.ops.add(NumericOps.forTypes(this.lhs[i].getClass(),
+                    this.rhs[i].getClass(), Double.class));
+        }
+    }
+
+
+    /**
+     * Sums the operands through the legacy {@code instanceof} ladder.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double legacyInstanceofLadder() {
+
+        double sum = 0;
+
+        for (int i = 0; i < this.size; i++) {
+
+            sum += ArithmeticBenchmark.legacyAdd(this.lhs[i], this.rhs[i],
+                    Double.class);
+        }
+
+        return sum;
+    }
+
+
+    /**
+     * Sums the operands through {@link ArithmeticOperations}.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double arithmeticOperations() {
+
+        double sum = 0;
+
+        for (int i = 0; i < this.size; i++) {
+
+            sum += ArithmeticOperations.add(this.lhs[i], this.rhs[i],
+                    Double.class);
+        }
+
+        return sum;
+    }
+
+
+    /**
+     * Sums the operands through a {@link NumericOps} instance fetched per
+     * operation.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double numericOpsLookup() {
+
+        double sum = 0;
+
+        for (int i = 0; i < this.size; i++) {
+
+            sum += NumericOps.forTypes(this.lhs[i].getClass(),
+                    this.rhs[i].getClass(), Double.class).add(this.lhs[i],
+                    this.rhs[i]);
+        }
+
+        return sum;
+    }
+
+
+    /**
+     * Sums the operands through {@link NumericOps} instances fetched ahead of
+     * the loop for the types of each operand pair.
+     *
+     * @return the sum.
+     */
+    @Benchmark
+    public double numericOpsReused() {
+
+        double sum = 0;
+
+        for (int i = 0; i < this.size; i++) {
+
+            sum += this.ops.get(i).add(this.lhs[i], this.rhs[i]);
+        }
+
+        return sum;
+    }
+
+
+    /**
+     * A copy of the {@code instanceof} ladder {@code ArithmeticOperations.add}
+     * used before the {@link NumericOps} table, including its boxing and the
+     * final {@link NumberUtils#cast(Number, Class) cast}.
+     */
+    private static <R extends Number> R legacyAdd(final Number lhs,
+            final Number rhs, final Class<R> returnType) {
+
+        Number result = null;
+
+        if (lhs instanceof Double) {
+
+            result = (Double) lhs + rhs.doubleValue();
+        }
+        else if (rhs instanceof Double) {
+
+            result = (Double) rhs + lhs.doubleValue();
+        }
+        else if (lhs instanceof Float) {
+
+            result = (Float) lhs + rhs.floatValue();
+        }
+        else if (rhs instanceof Float) {
+
+            result = (Float) rhs + lhs.floatValue();
+        }
+        else if (lhs instanceof Long) {
+
+            result = (Long) lhs + rhs.longValue();
+        }
+        else if (rhs instanceof Long) {
+
+            result = (Long) rhs + lhs.longValue();
+        }
+        else if (lhs instanceof Integer) {
+
+            result = (Integer) lhs + rhs.intValue();
+        }
+        else if (rhs instanceof Integer) {
+
+            result = (Integer) rhs + lhs.intValue();
+        }
+        else if (lhs instanceof Short) {
+
+            result = Integer.valueOf((Short) lhs + rhs.shortValue())
+                    .shortValue();
+        }
+        else if (rhs instanceof Short) {
+
+            result = Integer.valueOf((Short) rhs + lhs.shortValue())
+                    .shortValue();
+        }
+        else if (lhs instanceof Byte) {
+
+            result = Integer.valueOf((Byte) lhs + rhs.byteValue())
+                    .byteValue();
+        }
+        else if (rhs instanceof Byte) {
+
+            result = Integer.valueOf((Byte) rhs + lhs.byteValue())
+                    .byteValue();
+        }
+
+        if (result == null) {
+
+            throw new UnsupportedOperationException(
+                    "Cannot add a value of type " + lhs.getClass()
+                            + " to a value of type " + rhs.getClass() + "!");
+        }
+
+        return NumberUtils.cast(result, returnType);
+    }
+}
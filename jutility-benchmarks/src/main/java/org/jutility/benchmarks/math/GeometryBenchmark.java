@@ -0,0 +1,157 @@
+package org.jutility.benchmarks.math;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.jutility.math.geometry.GeometricOperations;
+import org.jutility.math.geometry.Rotation;
+import org.jutility.math.geometry.TransformPipeline;
+import org.jutility.math.geometry.Translation;
+import org.jutility.math.vectoralgebra.IPoint4;
+import org.jutility.math.vectoralgebra.Point4;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code GeometryBenchmark} class measures point rotation through
+ * {@link GeometricOperations}, a {@link TransformPipeline}, and the bulk
+ * transforms over packed arrays.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+
+
+    /**
+     * The number of points per invocation.
+     */
+    @Param({ "1000", "100000" })
+    public int                     size;
+
+    private Rotation<Double>       rotation;
+    private Translation<Double>    translation;
+    private TransformPipeline      pipeline;
+    private Point4<Double>[]       points;
+    private double[]               packedPoints;
+
+
+    /**
+     * Creates the points and transformations.
+     */
+    @Setup
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void setUp() {
+
+        this.rotation = Rotation.rotationZ(Math.PI / 7, Double.class);
+        this.translation = new Translation<>(1, 2, 3, Double.class);
+        this.pipeline = new TransformPipeline().rotate(this.rotation)
+                .translate(this.translation);
+
+        this.points = new Point4[this.size];
+        this.packedPoints = new double[this.size * 4];
+
+        for (int i = 0; i < this.size; i++) {
+
+            this.points[i] = new Point4<>(i, -i, i * 0.5, Double.class);
+
+            this.packedPoints[i * 4] = i;
+            this.packedPoints[i * 4 + 1] = -i;
+            this.packedPoints[i * 4 + 2] = i * 0.5;
+            this.packedPoints[i * 4 + 3] = 1;
+        }
+    }
+
+
+    /**
+     * Rotates and translates each point through {@link GeometricOperations}.
+     *
+     * @return the last transformed point.
+     */
+    @Benchmark
+    public IPoint4<Double> rotateTranslate() {
+
+        IPoint4<Double> result = null;
+
+        for (final Point4<Double> point : this.points) {
+
+            result = GeometricOperations.translate(
+                    GeometricOperations.rotate(point, this.rotation),
+                    this.translation);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Rotates and translates each point through a {@link TransformPipeline}.
+     *
+     * @return the last transformed point.
+     */
+    @Benchmark
+    public IPoint4<Double> pipeline() {
+
+        IPoint4<Double> result = null;
+
+        for (final Point4<Double> point : this.points) {
+
+            result = this.pipeline.apply(point);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Rotates and translates the packed points in place.
+     *
+     * @return the packed points.
+     */
+    @Benchmark
+    public double[] packed() {
+
+        this.pipeline.apply(this.packedPoints);
+
+        return this.packedPoints;
+    }
+}
@@ -0,0 +1,130 @@
+package org.jutility.benchmarks.math;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-benchmarks
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.jutility.math.vectoralgebra.DoubleMatrix4;
+import org.jutility.math.vectoralgebra.DoublePoint4;
+import org.jutility.math.vectoralgebra.IMatrix4;
+import org.jutility.math.vectoralgebra.IPoint4;
+import org.jutility.math.vectoralgebra.Matrix4;
+import org.jutility.math.vectoralgebra.Point4;
+import org.jutility.math.vectoralgebra.Tuple4;
+import org.jutility.math.vectoralgebra.VectorAlgebraicOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code VectorAlgebraBenchmark} class measures matrix-matrix and
+ * matrix-point multiplication through {@link VectorAlgebraicOperations} for
+ * boxed and primitive-backed operands.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorAlgebraBenchmark {
+
+
+    /**
+     * The representation of the operands.
+     */
+    @Param({ "boxed", "primitive" })
+    public String             representation;
+
+    private IMatrix4<Double>  lhs;
+    private IMatrix4<Double>  rhs;
+    private IPoint4<Double>   point;
+
+
+    /**
+     * Creates the operands.
+     */
+    @Setup
+    public void setUp() {
+
+        final Matrix4<Double> a = new Matrix4<>(new Tuple4<>(1, 5, 9, 0,
+                Double.class), new Tuple4<>(2, 6, 10, 0, Double.class),
+                new Tuple4<>(3, 7, 11, 0, Double.class), new Tuple4<>(4, 8,
+                        12, 1, Double.class), Double.class);
+        final Matrix4<Double> b = new Matrix4<>(a.transpose(), Double.class);
+        final Point4<Double> p = new Point4<>(1.5, -2.5, 3.5, Double.class);
+
+        if ("primitive".equals(this.representation)) {
+
+            this.lhs = new DoubleMatrix4(a);
+            this.rhs = new DoubleMatrix4(b);
+            this.point = new DoublePoint4(p);
+        }
+        else {
+
+            this.lhs = a;
+            this.rhs = b;
+            this.point = p;
+        }
+    }
+
+
+    /**
+     * Multiplies two matrices.
+     *
+     * @return the product.
+     */
+    @Benchmark
+    public IMatrix4<Double> multiplyMatrix() {
+
+        return VectorAlgebraicOperations.multiply(this.lhs, this.rhs,
+                Double.class);
+    }
+
+
+    /**
+     * Multiplies a matrix with a point.
+     *
+     * @return the product.
+     */
+    @Benchmark
+    public IPoint4<Double> multiplyPoint() {
+
+        return VectorAlgebraicOperations.multiply(this.lhs, this.point,
+                Double.class);
+    }
+}
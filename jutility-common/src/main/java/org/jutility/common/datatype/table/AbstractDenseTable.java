@@ -0,0 +1,909 @@
+package org.jutility.common.datatype.table;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-common
+ * %%
+ * Copyright (C) 2013 - 2015 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+// @formatter:on
+
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+
+
+/**
+ * The abstract generic {@code AbstractDenseTable} class models a
+ * two-dimensional table of rectangular data.
+ * <p>
+ * In contrast to the {@link AbstractTable}, the table is stored in a single,
+ * growable array in row-major order. Accessing a cell is therefore a constant
+ * time operation and rows can be traversed contiguously. The extent of the
+ * table ({@link #rows()} by {@link #columns()}) always starts at
+ * {@code (0, 0)} and grows to include the largest row and column a value was
+ * added to.
+ * </p>
+ * <p>
+ * Rows and columns returned by the table are live views of the backing array
+ * spanning the whole extent of the table.
+ * </p>
+ *
+ * @param <T>
+ *         the type of the table data.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public abstract class AbstractDenseTable<T>
+        implements ITable<T>, Serializable {
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 3418864260374361227L;
+
+    /**
+     * The maximum number of cells the backing array can hold.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private int rows;
+    private int columns;
+
+    private int rowCapacity;
+    private int columnCapacity;
+
+    private IterationOrder iterationOrder;
+
+
+    @Override
+    public IterationOrder getIterationOrder() {
+
+        return this.iterationOrder;
+    }
+
+
+    @Override
+    public void setIterationOrder(final IterationOrder iterationOrder) {
+
+        this.iterationOrder = iterationOrder;
+    }
+
+
+    /**
+     * Creates a new instance of the {@code AbstractDenseTable} class with the
+     * provided initial capacity and {@link IterationOrder iteration order}.
+     *
+     * @param rowCapacity
+     *         the initial row capacity.
+     * @param columnCapacity
+     *         the initial column capacity.
+     * @param iterationOrder
+     *         the {@link IterationOrder IterationOrder} of the class.
+     */
+    protected AbstractDenseTable(final int rowCapacity,
+            final int columnCapacity, final IterationOrder iterationOrder) {
+
+        if (rowCapacity < 0 || columnCapacity < 0) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a table with negative capacity ("
+                    + rowCapacity + " x " + columnCapacity + ")!");
+        }
+
+        AbstractDenseTable.checkCapacity(rowCapacity, columnCapacity);
+
+        this.rows = 0;
+        this.columns = 0;
+        this.rowCapacity = rowCapacity;
+        this.columnCapacity = columnCapacity;
+        this.iterationOrder = iterationOrder;
+    }
+
+
+    /**
+     * Allocates a new backing array of the provided length.
+     *
+     * @param length
+     *         the length of the array.
+     *
+     * @return the new backing array.
+     */
+    abstract Object newStorage(int length);
+
+
+    /**
+     * Returns the backing array.
+     *
+     * @return the backing array.
+     */
+    abstract Object getStorage();
+
+
+    /**
+     * Replaces the backing array.
+     *
+     * @param storage
+     *         the new backing array.
+     */
+    abstract void setStorage(Object storage);
+
+
+    /**
+     * Returns the value stored at the provided array index.
+     *
+     * @param index
+     *         the array index.
+     *
+     * @return the value or {@code null}, if no value exists.
+     */
+    abstract T getValue(int index);
+
+
+    /**
+     * Stores the value at the provided array index.
+     *
+     * @param index
+     *         the array index.
+     * @param value
+     *         the value.
+     *
+     * @return the previous value or {@code null}, if no value existed.
+     */
+    abstract T setValue(int index, T value);
+
+
+    /**
+     * Clears the value at the provided array index.
+     *
+     * @param index
+     *         the array index.
+     *
+     * @return {@code true}, if the cell contained a value; {@code false}
+     * otherwise.
+     */
+    abstract boolean clearValue(int index);
+
+
+    /**
+     * Returns the index of the provided cell in the backing array.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the array index of the cell.
+     */
+    final int index(final int row, final int column) {
+
+        return row * this.columnCapacity + column;
+    }
+
+
+    /**
+     * Determines whether the provided cell lies within the extent of the
+     * table.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return {@code true}, if the cell lies within the extent of the table;
+     * {@code false} otherwise.
+     */
+    final boolean inExtent(final int row, final int column) {
+
+        return row >= 0 && row < this.rows && column >= 0
+               && column < this.columns;
+    }
+
+
+    /**
+     * Grows the extent of the table to include the provided cell.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the array index of the cell.
+     */
+    final int ensureExtent(final int row, final int column) {
+
+        if (row < 0 || column < 0) {
+
+            throw new IllegalArgumentException("Cannot access cell (" + row
+                                               + ", " + column
+                                               + ") with negative index!");
+        }
+
+        final int requiredRows = Math.max(this.rows, row + 1);
+        final int requiredColumns = Math.max(this.columns, column + 1);
+
+        if (requiredRows > this.rowCapacity
+            || requiredColumns > this.columnCapacity) {
+
+            this.grow(requiredRows, requiredColumns);
+        }
+
+        this.rows = requiredRows;
+        this.columns = requiredColumns;
+
+        return this.index(row, column);
+    }
+
+
+    private void grow(final int requiredRows, final int requiredColumns) {
+
+        final int newRowCapacity = AbstractDenseTable.grownCapacity(
+                this.rowCapacity, requiredRows);
+        int newColumnCapacity = AbstractDenseTable.grownCapacity(
+                this.columnCapacity, requiredColumns);
+
+        if ((long) newRowCapacity * newColumnCapacity
+            > AbstractDenseTable.MAX_CAPACITY) {
+
+            newColumnCapacity = requiredColumns;
+        }
+
+        AbstractDenseTable.checkCapacity(newRowCapacity, newColumnCapacity);
+
+        final Object source = this.getStorage();
+        final Object target = this.newStorage(
+                newRowCapacity * newColumnCapacity);
+
+        if (newColumnCapacity == this.columnCapacity) {
+
+            System.arraycopy(source, 0, target, 0,
+                    this.rows * this.columnCapacity);
+        }
+        else {
+
+            for (int row = 0; row < this.rows; row++) {
+
+                System.arraycopy(source, row * this.columnCapacity, target,
+                        row * newColumnCapacity, this.columns);
+            }
+        }
+
+        this.setStorage(target);
+        this.rowCapacity = newRowCapacity;
+        this.columnCapacity = newColumnCapacity;
+    }
+
+
+    private static int grownCapacity(final int capacity, final int required) {
+
+        if (required <= capacity) {
+
+            return capacity;
+        }
+
+        return (int) Math.min(AbstractDenseTable.MAX_CAPACITY,
+                Math.max(required, capacity + (capacity >> 1) + 1L));
+    }
+
+
+    private static void checkCapacity(final int rowCapacity,
+            final int columnCapacity) {
+
+        if ((long) rowCapacity * columnCapacity
+            > AbstractDenseTable.MAX_CAPACITY) {
+
+            throw new IllegalArgumentException("A table of " + rowCapacity
+                                               + " x " + columnCapacity
+                                               + " cells exceeds the "
+                                               + "maximum capacity!");
+        }
+    }
+
+
+    @Override
+    public boolean add(final int row, final int column, final T value) {
+
+        final int index = this.ensureExtent(row, column);
+
+        return !Objects.equals(this.setValue(index, value), value);
+    }
+
+
+    @Override
+    public T get(final int row, final int column) {
+
+        if (this.inExtent(row, column)) {
+
+            return this.getValue(this.index(row, column));
+        }
+        return null;
+    }
+
+
+    @Override
+    public boolean remove(final int row, final int column) {
+
+        if (this.inExtent(row, column)) {
+
+            return this.clearValue(this.index(row, column));
+        }
+        return false;
+    }
+
+
+    @Override
+    public boolean add(final CellLocation location, final T value) {
+
+        return this.add(location.getRow(), location.getColumn(), value);
+    }
+
+
+    @Override
+    public T get(final CellLocation location) {
+
+        if (location == null) {
+
+            return null;
+        }
+        return this.get(location.getRow(), location.getColumn());
+    }
+
+
+    @Override
+    public boolean remove(final CellLocation location) {
+
+        return this.remove(location.getRow(), location.getColumn());
+    }
+
+
+    @Override
+    public List<List<T>> getRows() {
+
+        return new AbstractList<List<T>>() {
+
+            @Override
+            public List<T> get(final int index) {
+
+                if (index < 0 || index >= this.size()) {
+
+                    throw new IndexOutOfBoundsException("Row " + index
+                                                        + " does not exist!");
+                }
+                return new RowView(index);
+            }
+
+
+            @Override
+            public int size() {
+
+                return AbstractDenseTable.this.rows;
+            }
+        };
+    }
+
+
+    @Override
+    public List<T> getRow(final int index) {
+
+        if (index >= 0 && index < this.rows) {
+
+            return new RowView(index);
+        }
+        return null;
+    }
+
+
+    @Override
+    public List<T> removeRow(final int index) {
+
+        if (index < 0 || index >= this.rows) {
+
+            return null;
+        }
+
+        final List<T> row = new ArrayList<>(this.getRow(index));
+
+        for (int column = 0; column < this.columns; column++) {
+
+            this.clearValue(this.index(index, column));
+        }
+
+        if (index == this.rows - 1) {
+
+            this.rows--;
+        }
+
+        return row;
+    }
+
+
+    @Override
+    public List<List<T>> getColumns() {
+
+        return new AbstractList<List<T>>() {
+
+            @Override
+            public List<T> get(final int index) {
+
+                if (index < 0 || index >= this.size()) {
+
+                    throw new IndexOutOfBoundsException("Column " + index
+                                                        + " does not exist!");
+                }
+                return new ColumnView(index);
+            }
+
+
+            @Override
+            public int size() {
+
+                return AbstractDenseTable.this.columns;
+            }
+        };
+    }
+
+
+    @Override
+    public List<T> getColumn(final int index) {
+
+        if (index >= 0 && index < this.columns) {
+
+            return new ColumnView(index);
+        }
+        return null;
+    }
+
+
+    @Override
+    public List<T> removeColumn(final int index) {
+
+        if (index < 0 || index >= this.columns) {
+
+            return null;
+        }
+
+        final List<T> column = new ArrayList<>(this.getColumn(index));
+
+        for (int row = 0; row < this.rows; row++) {
+
+            this.clearValue(this.index(row, index));
+        }
+
+        if (index == this.columns - 1) {
+
+            this.columns--;
+        }
+
+        return column;
+    }
+
+
+    @Override
+    public List<T> getValues() {
+
+        final ArrayList<T> list = new ArrayList<>(this.size());
+
+        for (final T element : this) {
+
+            list.add(element);
+        }
+
+        return list;
+    }
+
+
+    @Override
+    public void clear() {
+
+        this.rows = 0;
+        this.columns = 0;
+        this.rowCapacity = 0;
+        this.columnCapacity = 0;
+        this.setStorage(this.newStorage(0));
+    }
+
+
+    @Override
+    public CellRange cellRange() {
+
+        return new CellRange(0, 0, this.rows, this.columns);
+    }
+
+
+    @Override
+    public int rows() {
+
+        return this.rows;
+    }
+
+
+    @Override
+    public int columns() {
+
+        return this.columns;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return this.getValues()
+                   .toString();
+    }
+
+
+    @Override
+    public Iterator<T> iterator() {
+
+        return this.iterator(this.cellRange(), this.iterationOrder);
+    }
+
+
+    @Override
+    public Iterator<T> rowMajorOrderIterator() {
+
+        return this.iterator(this.cellRange(), IterationOrder.ROW_MAJOR);
+    }
+
+
+    @Override
+    public Iterator<T> columnMajorOrderIterator() {
+
+        return this.iterator(this.cellRange(), IterationOrder.COLUMN_MAJOR);
+    }
+
+
+    /**
+     * Returns an {@link Iterator} over the values of the table within the
+     * provided {@link CellRange} using the {@link IterationOrder} of the
+     * table. The range is clamped to the extent of the table; no
+     * {@link CellLocation CellLocations} are created during iteration.
+     *
+     * @param range
+     *         the {@link CellRange} to iterate over.
+     *
+     * @return an {@link Iterator} over the values within the range.
+     */
+    public Iterator<T> iterator(final CellRange range) {
+
+        return this.iterator(range, this.iterationOrder);
+    }
+
+
+    /**
+     * Returns an {@link Iterator} over the values of the table within the
+     * provided {@link CellRange} using the provided {@link IterationOrder}.
+     * The range is clamped to the extent of the table; no
+     * {@link CellLocation CellLocations} are created during iteration.
+     *
+     * @param range
+     *         the {@link CellRange} to iterate over.
+     * @param iterationOrder
+     *         the {@link IterationOrder} to use.
+     *
+     * @return an {@link Iterator} over the values within the range.
+     */
+    public Iterator<T> iterator(final CellRange range,
+            final IterationOrder iterationOrder) {
+
+        final CellRange clamped = CellRange.clampToRange(range,
+                this.cellRange());
+
+        final CellLocation beginning = clamped.getBeginning();
+        final CellLocation end = clamped.getEnd();
+
+        return new DenseTableIterator(beginning.getRow(),
+                beginning.getColumn(), end.getRow(), end.getColumn(),
+                iterationOrder);
+    }
+
+
+    /**
+     * The {@code RowView} class provides a live {@link List} view of a row of
+     * the table.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private class RowView
+            extends AbstractList<T> {
+
+        private final int row;
+
+
+        /**
+         * Creates a new instance of the {@code RowView} class.
+         *
+         * @param row
+         *         the row index.
+         */
+        RowView(final int row) {
+
+            this.row = row;
+        }
+
+
+        @Override
+        public T get(final int index) {
+
+            if (index < 0 || index >= this.size()) {
+
+                throw new IndexOutOfBoundsException("Column " + index
+                                                    + " does not exist!");
+            }
+            return AbstractDenseTable.this.getValue(
+                    AbstractDenseTable.this.index(this.row, index));
+        }
+
+
+        @Override
+        public T set(final int index, final T element) {
+
+            if (index < 0 || index >= this.size()) {
+
+                throw new IndexOutOfBoundsException("Column " + index
+                                                    + " does not exist!");
+            }
+            return AbstractDenseTable.this.setValue(
+                    AbstractDenseTable.this.index(this.row, index), element);
+        }
+
+
+        @Override
+        public int size() {
+
+            return AbstractDenseTable.this.columns;
+        }
+    }
+
+
+    /**
+     * The {@code ColumnView} class provides a live {@link List} view of a
+     * column of the table.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private class ColumnView
+            extends AbstractList<T> {
+
+        private final int column;
+
+
+        /**
+         * Creates a new instance of the {@code ColumnView} class.
+         *
+         * @param column
+         *         the column index.
+         */
+        ColumnView(final int column) {
+
+            this.column = column;
+        }
+
+
+        @Override
+        public T get(final int index) {
+
+            if (index < 0 || index >= this.size()) {
+
+                throw new IndexOutOfBoundsException("Row " + index
+                                                    + " does not exist!");
+            }
+            return AbstractDenseTable.this.getValue(
+                    AbstractDenseTable.this.index(index, this.column));
+        }
+
+
+        @Override
+        public T set(final int index, final T element) {
+
+            if (index < 0 || index >= this.size()) {
+
+                throw new IndexOutOfBoundsException("Row " + index
+                                                    + " does not exist!");
+            }
+            return AbstractDenseTable.this.setValue(
+                    AbstractDenseTable.this.index(index, this.column),
+                    element);
+        }
+
+
+        @Override
+        public int size() {
+
+            return AbstractDenseTable.this.rows;
+        }
+    }
+
+
+    /**
+     * The {@code DenseTableIterator} class provides an iterator over a
+     * rectangular region of the table that skips empty cells.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private class DenseTableIterator
+            implements Iterator<T> {
+
+        private final int     beginRow;
+        private final int     beginColumn;
+        private final int     endRow;
+        private final int     endColumn;
+        private final boolean rowMajor;
+
+        private int row;
+        private int column;
+        private int lastRow;
+        private int lastColumn;
+
+        private T next;
+
+
+        /**
+         * Creates a new instance of the {@code DenseTableIterator} class.
+         *
+         * @param beginRow
+         *         the first row (inclusive).
+         * @param beginColumn
+         *         the first column (inclusive).
+         * @param endRow
+         *         the last row (exclusive).
+         * @param endColumn
+         *         the last column (exclusive).
+         * @param iterationOrder
+         *         the {@link IterationOrder iteration order} to use.
+         */
+        DenseTableIterator(final int beginRow, final int beginColumn,
+                final int endRow, final int endColumn,
+                final IterationOrder iterationOrder) {
+
+            this.beginRow = beginRow;
+            this.beginColumn = beginColumn;
+            this.endRow = endRow;
+            this.endColumn = endColumn;
+            this.rowMajor = iterationOrder != IterationOrder.COLUMN_MAJOR;
+
+            this.row = beginRow;
+            this.column = beginColumn;
+            this.lastRow = -1;
+            this.lastColumn = -1;
+
+            this.advance();
+        }
+
+
+        private void advance() {
+
+            this.next = null;
+
+            if (this.beginRow >= this.endRow
+                || this.beginColumn >= this.endColumn) {
+
+                return;
+            }
+
+            while (this.next == null) {
+
+                if (this.rowMajor) {
+
+                    if (this.column >= this.endColumn) {
+
+                        this.column = this.beginColumn;
+                        this.row++;
+                    }
+                    if (this.row >= this.endRow) {
+
+                        return;
+                    }
+                }
+                else {
+
+                    if (this.row >= this.endRow) {
+
+                        this.row = this.beginRow;
+                        this.column++;
+                    }
+                    if (this.column >= this.endColumn) {
+
+                        return;
+                    }
+                }
+
+                this.next = AbstractDenseTable.this.getValue(
+                        AbstractDenseTable.this.index(this.row, this.column));
+
+                if (this.next == null) {
+
+                    this.step();
+                }
+            }
+        }
+
+
+        private void step() {
+
+            if (this.rowMajor) {
+
+                this.column++;
+            }
+            else {
+
+                this.row++;
+            }
+        }
+
+
+        @Override
+        public boolean hasNext() {
+
+            return this.next != null;
+        }
+
+
+        @Override
+        public T next() {
+
+            if (this.next == null) {
+
+                throw new NoSuchElementException();
+            }
+
+            final T value = this.next;
+
+            this.lastRow = this.row;
+            this.lastColumn = this.column;
+            this.step();
+            this.advance();
+
+            return value;
+        }
+
+
+        @Override
+        public void remove() {
+
+            if (this.lastRow < 0) {
+
+                throw new IllegalStateException(
+                        "The next() method has not yet been called, or the "
+                        + "remove() method has already been called after the "
+                        + "last call to the next() method");
+            }
+
+            AbstractDenseTable.this.clearValue(
+                    AbstractDenseTable.this.index(this.lastRow,
+                            this.lastColumn));
+
+            this.lastRow = -1;
+            this.lastColumn = -1;
+        }
+    }
+}
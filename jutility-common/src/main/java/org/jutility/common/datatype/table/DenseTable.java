@@ -0,0 +1,267 @@
+package org.jutility.common.datatype.table;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-common
+ * %%
+ * Copyright (C) 2013 - 2015 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+// @formatter:on
+
+
+import java.util.Iterator;
+
+
+/**
+ * The generic {@code DenseTable} class models a two-dimensional table of
+ * rectangular data backed by a row-major {@code Object[]}.
+ * <p>
+ * Empty cells are represented by {@code null}; adding a {@code null} value
+ * clears the cell.
+ * </p>
+ *
+ * @param <T>
+ *         the type of the table data.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class DenseTable<T>
+        extends AbstractDenseTable<T> {
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = -6254150254816309342L;
+
+    private Object[] values;
+    private int      size;
+
+
+    /**
+     * Creates a new instance of the {@code DenseTable} class with
+     * {@link IterationOrder#ROW_MAJOR row-major IterationOrder}.
+     */
+    public DenseTable() {
+
+        this(IterationOrder.ROW_MAJOR);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code DenseTable} class with the provided
+     * {@link IterationOrder iteration order}.
+     *
+     * @param iterationOrder
+     *         the {@link IterationOrder IterationOrder} of the class.
+     */
+    public DenseTable(final IterationOrder iterationOrder) {
+
+        this(0, 0, iterationOrder);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code DenseTable} class with the provided
+     * initial capacity and {@link IterationOrder#ROW_MAJOR row-major
+     * IterationOrder}.
+     *
+     * @param rowCapacity
+     *         the initial row capacity.
+     * @param columnCapacity
+     *         the initial column capacity.
+     */
+    public DenseTable(final int rowCapacity, final int columnCapacity) {
+
+        this(rowCapacity, columnCapacity, IterationOrder.ROW_MAJOR);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code DenseTable} class with the provided
+     * initial capacity and {@link IterationOrder iteration order}.
+     *
+     * @param rowCapacity
+     *         the initial row capacity.
+     * @param columnCapacity
+     *         the initial column capacity.
+     * @param iterationOrder
+     *         the {@link IterationOrder IterationOrder} of the class.
+     */
+    public DenseTable(final int rowCapacity, final int columnCapacity,
+            final IterationOrder iterationOrder) {
+
+        super(rowCapacity, columnCapacity, iterationOrder);
+
+        this.values = new Object[rowCapacity * columnCapacity];
+        this.size = 0;
+    }
+
+
+    /**
+     * Creates a new instance of the {@code DenseTable} class. (Copy
+     * Constructor)
+     *
+     * @param table
+     *         the table to copy.
+     */
+    public DenseTable(final ITable<? extends T> table) {
+
+        this(DenseTable.extent(table), table.getIterationOrder());
+
+        DenseTable.copy(table, this);
+    }
+
+
+    private DenseTable(final CellLocation extent,
+            final IterationOrder iterationOrder) {
+
+        this(extent.getRow(), extent.getColumn(), iterationOrder);
+    }
+
+
+    /**
+     * Returns the extent of the provided table, i.e., the end of its
+     * {@link ITable#cellRange() cell range}, or the origin, if it is empty.
+     */
+    private static CellLocation extent(final ITable<?> table) {
+
+        if (table.size() == 0) {
+
+            return new CellLocation(0, 0);
+        }
+
+        return table.cellRange()
+                    .getEnd();
+    }
+
+
+    /**
+     * Copies the values of a table into another, visiting only the cells of
+     * {@link ICellTable ICellTables} and the cell range of other tables.
+     */
+    static <T> void copy(final ITable<? extends T> source,
+            final ITable<T> target) {
+
+        if (source instanceof ICellTable) {
+
+            final Iterator<? extends ICell<?>> cells = ((ICellTable<?, ?>) source)
+                    .cellIterator();
+
+            while (cells.hasNext()) {
+
+                final ICell<?> cell = cells.next();
+
+                target.add(cell.getRow(), cell.getColumn(),
+                        source.get(cell.getRow(), cell.getColumn()));
+            }
+        }
+        else if (source.size() > 0) {
+
+            final CellRange range = source.cellRange();
+            final CellLocation beginning = range.getBeginning();
+            final CellLocation end = range.getEnd();
+
+            for (int row = beginning.getRow(); row < end.getRow(); row++) {
+
+                for (int column = beginning.getColumn(); column < end
+                        .getColumn(); column++) {
+
+                    final T value = source.get(row, column);
+
+                    if (value != null) {
+
+                        target.add(row, column, value);
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Override
+    Object newStorage(final int length) {
+
+        return new Object[length];
+    }
+
+
+    @Override
+    Object getStorage() {
+
+        return this.values;
+    }
+
+
+    @Override
+    void setStorage(final Object storage) {
+
+        this.values = (Object[]) storage;
+    }
+
+
+    @Override
+    @SuppressWarnings("unchecked")
+    T getValue(final int index) {
+
+        return (T) this.values[index];
+    }
+
+
+    @Override
+    T setValue(final int index, final T value) {
+
+        final T previous = this.getValue(index);
+
+        if (previous == null && value != null) {
+
+            this.size++;
+        }
+        else if (previous != null && value == null) {
+
+            this.size--;
+        }
+
+        this.values[index] = value;
+
+        return previous;
+    }
+
+
+    @Override
+    boolean clearValue(final int index) {
+
+        return this.setValue(index, null) != null;
+    }
+
+
+    @Override
+    public void clear() {
+
+        super.clear();
+        this.size = 0;
+    }
+
+
+    @Override
+    public int size() {
+
+        return this.size;
+    }
+}
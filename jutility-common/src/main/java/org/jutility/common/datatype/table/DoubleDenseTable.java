@@ -0,0 +1,191 @@
+package org.jutility.common.datatype.table;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-common
+ * %%
+ * Copyright (C) 2013 - 2015 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+// @formatter:on
+
+
+
+/**
+ * The {@code DoubleDenseTable} class models a two-dimensional table of
+ * {@code double} values backed by a row-major {@code double[]}.
+ * <p>
+ * Every cell within the extent of the table holds a value; cells that were
+ * never set or have been removed hold {@code 0.0}.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class DoubleDenseTable
+        extends AbstractDenseTable<Double> {
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 5021395770384816412L;
+
+    private double[] values;
+
+
+    /**
+     * Creates a new instance of the {@code DoubleDenseTable} class with
+     * {@link IterationOrder#ROW_MAJOR row-major IterationOrder}.
+     */
+    public DoubleDenseTable() {
+
+        this(0, 0);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code DoubleDenseTable} class with the
+     * provided initial capacity and {@link IterationOrder#ROW_MAJOR row-major
+     * IterationOrder}.
+     *
+     * @param rowCapacity
+     *         the initial row capacity.
+     * @param columnCapacity
+     *         the initial column capacity.
+     */
+    public DoubleDenseTable(final int rowCapacity, final int columnCapacity) {
+
+        this(rowCapacity, columnCapacity, IterationOrder.ROW_MAJOR);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code DoubleDenseTable} class with the
+     * provided initial capacity and {@link IterationOrder iteration order}.
+     *
+     * @param rowCapacity
+     *         the initial row capacity.
+     * @param columnCapacity
+     *         the initial column capacity.
+     * @param iterationOrder
+     *         the {@link IterationOrder IterationOrder} of the class.
+     */
+    public DoubleDenseTable(final int rowCapacity, final int columnCapacity,
+            final IterationOrder iterationOrder) {
+
+        super(rowCapacity, columnCapacity, iterationOrder);
+
+        this.values = new double[rowCapacity * columnCapacity];
+    }
+
+
+    /**
+     * Returns the value in the cell with the specified row and column.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value in the cell.
+     */
+    public double getDouble(final int row, final int column) {
+
+        if (!this.inExtent(row, column)) {
+
+            throw new IllegalArgumentException("Cell (" + row + ", " + column
+                                               + ") lies outside of the "
+                                               + "table!");
+        }
+        return this.values[this.index(row, column)];
+    }
+
+
+    /**
+     * Sets the value in the cell with the specified row and column, growing
+     * the table if necessary.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     * @param value
+     *         the value.
+     */
+    public void set(final int row, final int column, final double value) {
+
+        final int index = this.ensureExtent(row, column);
+
+        this.values[index] = value;
+    }
+
+
+    @Override
+    Object newStorage(final int length) {
+
+        return new double[length];
+    }
+
+
+    @Override
+    Object getStorage() {
+
+        return this.values;
+    }
+
+
+    @Override
+    void setStorage(final Object storage) {
+
+        this.values = (double[]) storage;
+    }
+
+
+    @Override
+    Double getValue(final int index) {
+
+        return this.values[index];
+    }
+
+
+    @Override
+    Double setValue(final int index, final Double value) {
+
+        final double previous = this.values[index];
+
+        this.values[index] = value != null ? value : 0.0;
+
+        return previous;
+    }
+
+
+    @Override
+    boolean clearValue(final int index) {
+
+        this.values[index] = 0.0;
+
+        return true;
+    }
+
+
+    @Override
+    public int size() {
+
+        return this.rows() * this.columns();
+    }
+}
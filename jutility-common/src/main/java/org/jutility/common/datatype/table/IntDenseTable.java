@@ -0,0 +1,191 @@
+package org.jutility.common.datatype.table;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-common
+ * %%
+ * Copyright (C) 2013 - 2015 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+// @formatter:on
+
+
+
+/**
+ * The {@code IntDenseTable} class models a two-dimensional table of
+ * {@code int} values backed by a row-major {@code int[]}.
+ * <p>
+ * Every cell within the extent of the table holds a value; cells that were
+ * never set or have been removed hold {@code 0}.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class IntDenseTable
+        extends AbstractDenseTable<Integer> {
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = -1776270128391626845L;
+
+    private int[] values;
+
+
+    /**
+     * Creates a new instance of the {@code IntDenseTable} class with
+     * {@link IterationOrder#ROW_MAJOR row-major IterationOrder}.
+     */
+    public IntDenseTable() {
+
+        this(0, 0);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code IntDenseTable} class with the
+     * provided initial capacity and {@link IterationOrder#ROW_MAJOR row-major
+     * IterationOrder}.
+     *
+     * @param rowCapacity
+     *         the initial row capacity.
+     * @param columnCapacity
+     *         the initial column capacity.
+     */
+    public IntDenseTable(final int rowCapacity, final int columnCapacity) {
+
+        this(rowCapacity, columnCapacity, IterationOrder.ROW_MAJOR);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code IntDenseTable} class with the
+     * provided initial capacity and {@link IterationOrder iteration order}.
+     *
+     * @param rowCapacity
+     *         the initial row capacity.
+     * @param columnCapacity
+     *         the initial column capacity.
+     * @param iterationOrder
+     *         the {@link IterationOrder IterationOrder} of the class.
+     */
+    public IntDenseTable(final int rowCapacity, final int columnCapacity,
+            final IterationOrder iterationOrder) {
+
+        super(rowCapacity, columnCapacity, iterationOrder);
+
+        this.values = new int[rowCapacity * columnCapacity];
+    }
+
+
+    /**
+     * Returns the value in the cell with the specified row and column.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value in the cell.
+     */
+    public int getInt(final int row, final int column) {
+
+        if (!this.inExtent(row, column)) {
+
+            throw new IllegalArgumentException("Cell (" + row + ", " + column
+                                               + ") lies outside of the "
+                                               + "table!");
+        }
+        return this.values[this.index(row, column)];
+    }
+
+
+    /**
+     * Sets the value in the cell with the specified row and column, growing
+     * the table if necessary.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     * @param value
+     *         the value.
+     */
+    public void set(final int row, final int column, final int value) {
+
+        final int index = this.ensureExtent(row, column);
+
+        this.values[index] = value;
+    }
+
+
+    @Override
+    Object newStorage(final int length) {
+
+        return new int[length];
+    }
+
+
+    @Override
+    Object getStorage() {
+
+        return this.values;
+    }
+
+
+    @Override
+    void setStorage(final Object storage) {
+
+        this.values = (int[]) storage;
+    }
+
+
+    @Override
+    Integer getValue(final int index) {
+
+        return this.values[index];
+    }
+
+
+    @Override
+    Integer setValue(final int index, final Integer value) {
+
+        final int previous = this.values[index];
+
+        this.values[index] = value != null ? value : 0;
+
+        return previous;
+    }
+
+
+    @Override
+    boolean clearValue(final int index) {
+
+        this.values[index] = 0;
+
+        return true;
+    }
+
+
+    @Override
+    public int size() {
+
+        return this.rows() * this.columns();
+    }
+}
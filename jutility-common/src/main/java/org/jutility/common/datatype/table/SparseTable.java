@@ -0,0 +1,874 @@
+package org.jutility.common.datatype.table;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-common
+ * %%
+ * Copyright (C) 2013 - 2015 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+// @formatter:on
+
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+
+
+/**
+ * The generic {@code SparseTable} class models a two-dimensional table of
+ * sparse data.
+ * <p>
+ * In contrast to the {@link AbstractTable}, every cell is stored exactly once
+ * in an open-addressing hash map keyed by the row and column packed into a
+ * single {@code long}. Adding, retrieving, and removing a value are therefore
+ * constant time operations that allocate no cell objects.
+ * </p>
+ * <p>
+ * Sorted row-major and column-major indexes of the cells are only built when
+ * rows, columns, or ordered iteration are first requested, and are discarded
+ * whenever a cell is added or removed. Rows and columns returned by the table
+ * are snapshots containing the values of the existing cells in order.
+ * </p>
+ *
+ * @param <T>
+ *         the type of the table data.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class SparseTable<T>
+        implements ITable<T>, Serializable {
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 8356137447180372106L;
+
+    private static final long EMPTY            = -1L;
+    private static final int  DEFAULT_CAPACITY = 16;
+    private static final int  MAXIMUM_CAPACITY = 1 << 30;
+    private static final long GOLDEN_RATIO     = 0x9E3779B97F4A7C15L;
+
+    private long[]   keys;
+    private Object[] values;
+    private int      size;
+    private int      shift;
+
+    private IterationOrder iterationOrder;
+
+    private transient long[] rowMajorIndex;
+    private transient long[] columnMajorIndex;
+
+
+    @Override
+    public IterationOrder getIterationOrder() {
+
+        return this.iterationOrder;
+    }
+
+
+    @Override
+    public void setIterationOrder(final IterationOrder iterationOrder) {
+
+        this.iterationOrder = iterationOrder;
+    }
+
+
+    /**
+     * Creates a new instance of the {@code SparseTable} class with
+     * {@link IterationOrder#ROW_MAJOR row-major IterationOrder}.
+     */
+    public SparseTable() {
+
+        this(IterationOrder.ROW_MAJOR);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code SparseTable} class with the
+     * provided {@link IterationOrder iteration order}.
+     *
+     * @param iterationOrder
+     *         the {@link IterationOrder IterationOrder} of the class.
+     */
+    public SparseTable(final IterationOrder iterationOrder) {
+
+        this(SparseTable.DEFAULT_CAPACITY, iterationOrder);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code SparseTable} class with room for
+     * the provided number of cells and the provided {@link IterationOrder
+     * iteration order}.
+     *
+     * @param expectedSize
+     *         the expected number of cells.
+     * @param iterationOrder
+     *         the {@link IterationOrder IterationOrder} of the class.
+     */
+    public SparseTable(final int expectedSize,
+            final IterationOrder iterationOrder) {
+
+        if (expectedSize < 0) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a table with negative size!");
+        }
+
+        this.iterationOrder = iterationOrder;
+        this.allocate(SparseTable.capacityFor(expectedSize));
+    }
+
+
+    /**
+     * Creates a new instance of the {@code SparseTable} class. (Copy
+     * Constructor)
+     *
+     * @param table
+     *         the table to copy.
+     */
+    public SparseTable(final ITable<? extends T> table) {
+
+        this(table.size(), table.getIterationOrder());
+
+        if (table instanceof SparseTable) {
+
+            final SparseTable<? extends T> source =
+                    (SparseTable<? extends T>) table;
+
+            // Copy the occupied slots of the source, keys and all.
+            for (final long key : source.keys) {
+
+                if (key != SparseTable.EMPTY) {
+
+                    this.put(key, source.valueOf(key));
+                }
+            }
+        }
+        else {
+
+            DenseTable.copy(table, this);
+        }
+    }
+
+
+    private static int capacityFor(final int expectedSize) {
+
+        int capacity = SparseTable.DEFAULT_CAPACITY;
+
+        while (capacity < SparseTable.MAXIMUM_CAPACITY
+               && (long) capacity * 3 < (long) expectedSize * 4) {
+
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+
+    private void allocate(final int capacity) {
+
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        this.size = 0;
+
+        Arrays.fill(this.keys, SparseTable.EMPTY);
+    }
+
+
+    /**
+     * Packs the provided row and column into a cell key.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the cell key.
+     */
+    static long key(final int row, final int column) {
+
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+
+    /**
+     * Returns the row of the provided cell key.
+     *
+     * @param key
+     *         the cell key.
+     *
+     * @return the row.
+     */
+    static int row(final long key) {
+
+        return (int) (key >>> 32);
+    }
+
+
+    /**
+     * Returns the column of the provided cell key.
+     *
+     * @param key
+     *         the cell key.
+     *
+     * @return the column.
+     */
+    static int column(final long key) {
+
+        return (int) key;
+    }
+
+
+    /**
+     * Swaps the row and column of the provided cell key, converting between
+     * row-major and column-major keys.
+     *
+     * @param key
+     *         the cell key.
+     *
+     * @return the transposed cell key.
+     */
+    static long transpose(final long key) {
+
+        return (key << 32) | (key >>> 32);
+    }
+
+
+    private int slot(final long key) {
+
+        return (int) ((key * SparseTable.GOLDEN_RATIO) >>> this.shift);
+    }
+
+
+    private int find(final long key) {
+
+        final int mask = this.keys.length - 1;
+
+        int slot = this.slot(key);
+
+        while (this.keys[slot] != SparseTable.EMPTY) {
+
+            if (this.keys[slot] == key) {
+
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private T put(final long key, final T value) {
+
+        final int mask = this.keys.length - 1;
+
+        int slot = this.slot(key);
+
+        while (this.keys[slot] != SparseTable.EMPTY) {
+
+            if (this.keys[slot] == key) {
+
+                final T previous = (T) this.values[slot];
+                this.values[slot] = value;
+
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.size++;
+        this.invalidateIndexes();
+
+        if ((long) this.size * 4 > (long) this.keys.length * 3) {
+
+            this.rehash(this.keys.length << 1);
+        }
+
+        return null;
+    }
+
+
+    private void rehash(final int capacity) {
+
+        if (capacity > SparseTable.MAXIMUM_CAPACITY) {
+
+            throw new IllegalStateException("Table exceeds maximum capacity!");
+        }
+
+        final long[] oldKeys = this.keys;
+        final Object[] oldValues = this.values;
+
+        this.allocate(capacity);
+
+        final int mask = capacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+
+            if (oldKeys[i] != SparseTable.EMPTY) {
+
+                int slot = this.slot(oldKeys[i]);
+
+                while (this.keys[slot] != SparseTable.EMPTY) {
+
+                    slot = (slot + 1) & mask;
+                }
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+                this.size++;
+            }
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private T delete(final int slot) {
+
+        final int mask = this.keys.length - 1;
+        final T previous = (T) this.values[slot];
+
+        // Shift subsequent entries of the probe sequence back into the gap,
+        // so that no tombstones are needed.
+        int gap = slot;
+        int current = (slot + 1) & mask;
+
+        while (this.keys[current] != SparseTable.EMPTY) {
+
+            final int home = this.slot(this.keys[current]);
+
+            if (((current - home) & mask) >= ((current - gap) & mask)) {
+
+                this.keys[gap] = this.keys[current];
+                this.values[gap] = this.values[current];
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+
+        this.keys[gap] = SparseTable.EMPTY;
+        this.values[gap] = null;
+        this.size--;
+        this.invalidateIndexes();
+
+        return previous;
+    }
+
+
+    private void invalidateIndexes() {
+
+        this.rowMajorIndex = null;
+        this.columnMajorIndex = null;
+    }
+
+
+    /**
+     * Returns the keys of all cells sorted in row-major order, building the
+     * index if necessary.
+     *
+     * @return the sorted row-major keys.
+     */
+    private long[] rowMajorIndex() {
+
+        if (this.rowMajorIndex == null) {
+
+            final long[] index = new long[this.size];
+
+            int i = 0;
+            for (final long key : this.keys) {
+
+                if (key != SparseTable.EMPTY) {
+
+                    index[i++] = key;
+                }
+            }
+            Arrays.sort(index);
+
+            this.rowMajorIndex = index;
+        }
+        return this.rowMajorIndex;
+    }
+
+
+    /**
+     * Returns the transposed keys of all cells sorted in column-major order,
+     * building the index if necessary.
+     *
+     * @return the sorted, transposed column-major keys.
+     */
+    private long[] columnMajorIndex() {
+
+        if (this.columnMajorIndex == null) {
+
+            final long[] index = new long[this.size];
+
+            int i = 0;
+            for (final long key : this.keys) {
+
+                if (key != SparseTable.EMPTY) {
+
+                    index[i++] = SparseTable.transpose(key);
+                }
+            }
+            Arrays.sort(index);
+
+            this.columnMajorIndex = index;
+        }
+        return this.columnMajorIndex;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private T valueOf(final long key) {
+
+        final int slot = this.find(key);
+
+        if (slot >= 0) {
+
+            return (T) this.values[slot];
+        }
+        return null;
+    }
+
+
+    @Override
+    public boolean add(final int row, final int column, final T value) {
+
+        if (row < 0 || column < 0) {
+
+            throw new IllegalArgumentException("Cannot access cell (" + row
+                                               + ", " + column
+                                               + ") with negative index!");
+        }
+
+        if (value == null) {
+
+            return this.remove(row, column);
+        }
+
+        return !Objects.equals(this.put(SparseTable.key(row, column), value),
+                value);
+    }
+
+
+    @Override
+    public T get(final int row, final int column) {
+
+        if (row < 0 || column < 0) {
+
+            return null;
+        }
+        return this.valueOf(SparseTable.key(row, column));
+    }
+
+
+    @Override
+    public boolean remove(final int row, final int column) {
+
+        if (row < 0 || column < 0) {
+
+            return false;
+        }
+
+        final int slot = this.find(SparseTable.key(row, column));
+
+        if (slot >= 0) {
+
+            this.delete(slot);
+
+            return true;
+        }
+        return false;
+    }
+
+
+    @Override
+    public boolean add(final CellLocation location, final T value) {
+
+        return this.add(location.getRow(), location.getColumn(), value);
+    }
+
+
+    @Override
+    public T get(final CellLocation location) {
+
+        if (location == null) {
+
+            return null;
+        }
+        return this.get(location.getRow(), location.getColumn());
+    }
+
+
+    @Override
+    public boolean remove(final CellLocation location) {
+
+        return this.remove(location.getRow(), location.getColumn());
+    }
+
+
+    /**
+     * Collects the values of the cells whose (possibly transposed) keys lie
+     * within the block of the provided sorted index that starts with the
+     * provided major index.
+     *
+     * @param index
+     *         the sorted index.
+     * @param major
+     *         the row (or column, for transposed keys).
+     * @param transposed
+     *         whether or not the index contains transposed keys.
+     *
+     * @return the values or {@code null}, if the block is empty.
+     */
+    private List<T> block(final long[] index, final int major,
+            final boolean transposed) {
+
+        int position = SparseTable.blockStart(index, major);
+
+        final List<T> block = new ArrayList<>();
+
+        while (position < index.length
+               && SparseTable.row(index[position]) == major) {
+
+            final long key = index[position++];
+
+            block.add(this.valueOf(transposed ? SparseTable.transpose(key)
+                    : key));
+        }
+
+        return block.isEmpty() ? null : block;
+    }
+
+
+    private static int blockStart(final long[] index, final int major) {
+
+        final int position = Arrays.binarySearch(index,
+                SparseTable.key(major, 0));
+
+        return position < 0 ? -position - 1 : position;
+    }
+
+
+    private void removeBlock(final long[] index, final int major,
+            final boolean transposed) {
+
+        int position = SparseTable.blockStart(index, major);
+
+        while (position < index.length
+               && SparseTable.row(index[position]) == major) {
+
+            final long key = index[position++];
+
+            this.delete(this.find(transposed ? SparseTable.transpose(key)
+                    : key));
+        }
+    }
+
+
+    private List<List<T>> blocks(final long[] index,
+            final boolean transposed) {
+
+        final List<List<T>> blocks = new ArrayList<>();
+
+        List<T> block = null;
+        int major = -1;
+
+        for (final long key : index) {
+
+            if (block == null || SparseTable.row(key) != major) {
+
+                major = SparseTable.row(key);
+                block = new ArrayList<>();
+                blocks.add(block);
+            }
+            block.add(this.valueOf(transposed ? SparseTable.transpose(key)
+                    : key));
+        }
+
+        return blocks;
+    }
+
+
+    private static int distinctMajors(final long[] index) {
+
+        int count = 0;
+        int major = -1;
+
+        for (final long key : index) {
+
+            if (SparseTable.row(key) != major) {
+
+                major = SparseTable.row(key);
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    @Override
+    public List<List<T>> getRows() {
+
+        return this.blocks(this.rowMajorIndex(), false);
+    }
+
+
+    @Override
+    public List<T> getRow(final int index) {
+
+        if (index < 0) {
+
+            return null;
+        }
+        return this.block(this.rowMajorIndex(), index, false);
+    }
+
+
+    @Override
+    public List<T> removeRow(final int index) {
+
+        final List<T> row = this.getRow(index);
+
+        if (row != null) {
+
+            this.removeBlock(this.rowMajorIndex(), index, false);
+        }
+        return row;
+    }
+
+
+    @Override
+    public List<List<T>> getColumns() {
+
+        return this.blocks(this.columnMajorIndex(), true);
+    }
+
+
+    @Override
+    public List<T> getColumn(final int index) {
+
+        if (index < 0) {
+
+            return null;
+        }
+        return this.block(this.columnMajorIndex(), index, true);
+    }
+
+
+    @Override
+    public List<T> removeColumn(final int index) {
+
+        final List<T> column = this.getColumn(index);
+
+        if (column != null) {
+
+            this.removeBlock(this.columnMajorIndex(), index, true);
+        }
+        return column;
+    }
+
+
+    @Override
+    public List<T> getValues() {
+
+        final ArrayList<T> list = new ArrayList<>(this.size);
+
+        for (final T element : this) {
+
+            list.add(element);
+        }
+
+        return list;
+    }
+
+
+    @Override
+    public void clear() {
+
+        this.allocate(SparseTable.DEFAULT_CAPACITY);
+        this.invalidateIndexes();
+    }
+
+
+    @Override
+    public CellRange cellRange() {
+
+        if (this.size == 0) {
+
+            return new CellRange(0, 0, 0, 0);
+        }
+
+        final long[] rowMajor = this.rowMajorIndex();
+        final long[] columnMajor = this.columnMajorIndex();
+
+        final int minRow = SparseTable.row(rowMajor[0]);
+        final int maxRow = SparseTable.row(rowMajor[rowMajor.length - 1]) + 1;
+
+        final int minColumn = SparseTable.row(columnMajor[0]);
+        final int maxColumn = SparseTable.row(
+                columnMajor[columnMajor.length - 1]) + 1;
+
+        return new CellRange(minRow, minColumn, maxRow, maxColumn);
+    }
+
+
+    @Override
+    public int rows() {
+
+        return SparseTable.distinctMajors(this.rowMajorIndex());
+    }
+
+
+    @Override
+    public int columns() {
+
+        return SparseTable.distinctMajors(this.columnMajorIndex());
+    }
+
+
+    @Override
+    public int size() {
+
+        return this.size;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return this.getValues()
+                   .toString();
+    }
+
+
+    @Override
+    public Iterator<T> iterator() {
+
+        switch (this.iterationOrder) {
+            case COLUMN_MAJOR:
+
+                return this.columnMajorOrderIterator();
+
+            case ROW_MAJOR:
+            default:
+
+                return this.rowMajorOrderIterator();
+        }
+    }
+
+
+    @Override
+    public Iterator<T> rowMajorOrderIterator() {
+
+        return new SparseTableIterator(this.rowMajorIndex(), false);
+    }
+
+
+    @Override
+    public Iterator<T> columnMajorOrderIterator() {
+
+        return new SparseTableIterator(this.columnMajorIndex(), true);
+    }
+
+
+    /**
+     * The {@code SparseTableIterator} class provides an iterator over the
+     * values of the table in the order of a sorted index.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private class SparseTableIterator
+            implements Iterator<T> {
+
+        private final long[]  index;
+        private final boolean transposed;
+
+        private int  position;
+        private long current;
+
+
+        /**
+         * Creates a new instance of the {@code SparseTableIterator} class.
+         *
+         * @param index
+         *         the sorted index to iterate over.
+         * @param transposed
+         *         whether or not the index contains transposed keys.
+         */
+        SparseTableIterator(final long[] index, final boolean transposed) {
+
+            this.index = index;
+            this.transposed = transposed;
+            this.position = 0;
+            this.current = SparseTable.EMPTY;
+        }
+
+
+        @Override
+        public boolean hasNext() {
+
+            return this.position < this.index.length;
+        }
+
+
+        @Override
+        public T next() {
+
+            if (!this.hasNext()) {
+
+                throw new NoSuchElementException();
+            }
+
+            final long key = this.index[this.position++];
+
+            this.current = this.transposed ? SparseTable.transpose(key) : key;
+
+            return SparseTable.this.valueOf(this.current);
+        }
+
+
+        @Override
+        public void remove() {
+
+            if (this.current == SparseTable.EMPTY) {
+
+                throw new IllegalStateException(
+                        "The next() method has not yet been called, or the "
+                        + "remove() method has already been called after the "
+                        + "last call to the next() method");
+            }
+
+            SparseTable.this.remove(SparseTable.row(this.current),
+                    SparseTable.column(this.current));
+
+            this.current = SparseTable.EMPTY;
+        }
+    }
+}
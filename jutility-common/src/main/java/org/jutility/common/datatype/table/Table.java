@@ -137,15 +137,34 @@ public class Table<T>
      */
     public static Class<?> getEffectiveType(final ITable<?> table) {
 
+        return Table.getEffectiveType((Iterable<?>) table);
+    }
+
+    /**
+     * Returns the effective type of the provided values, e.g., of a single
+     * row or column of a table. {@code null} values are ignored.
+     *
+     * @param values
+     *            the values.
+     * @return the effective type of the values (the shared ancestor class of
+     *         all values) or {@code null}, if there are no values.
+     */
+    public static Class<?> getEffectiveType(final Iterable<?> values) {
+
 
         Class<?> superType = null;
 
-        for (final Object value : table) {
+        for (final Object value : values) {
+
+            if (value == null) {
+
+                continue;
+            }
 
             final Class<?> valueClass = value.getClass();
 
-            Table.LOG.debug("Value class: " + valueClass);
-            Table.LOG.debug("Super Type: " + superType);
+            Table.LOG.debug("Value class: {}", valueClass);
+            Table.LOG.debug("Super Type: {}", superType);
 
             if (superType == null) {
 
@@ -157,27 +176,24 @@ public class Table<T>
 
                     if (valueClass.isAssignableFrom(superType)) {
 
-                        Table.LOG.debug("Can cast " + superType + " to "
-                                + valueClass);
+                        Table.LOG.debug("Can cast {} to {}", superType,
+                                valueClass);
                         superType = valueClass;
                     }
                     else if (superType.isAssignableFrom(valueClass)) {
 
                         // nothing to do
-                        Table.LOG.debug("Can cast " + valueClass + " to "
-                                + superType);
+                        Table.LOG.debug("Can cast {} to {}", valueClass,
+                                superType);
                     }
                     else {
 
-                        Table.LOG.debug("LCD of "
-                                + superType
-                                + " and "
-                                + valueClass
-                                + ": "
-                                + ReflectionUtils.getSharedAncestorClass(
-                                        superType, valueClass));
-                        superType = ReflectionUtils.getSharedAncestorClass(
-                                superType, valueClass);
+                        final Class<?> sharedType = ReflectionUtils
+                                .getSharedAncestorClass(superType, valueClass);
+
+                        Table.LOG.debug("LCD of {} and {}: {}", superType,
+                                valueClass, sharedType);
+                        superType = sharedType;
                     }
 
                 }
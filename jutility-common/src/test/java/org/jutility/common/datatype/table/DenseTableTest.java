@@ -0,0 +1,281 @@
+package org.jutility.common.datatype.table;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-common
+ * %%
+ * Copyright (C) 2013 - 2015 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+// @formatter:on
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * The {@code DenseTableTest} class provides unit tests for the
+ * {@link DenseTable}, {@link DoubleDenseTable}, and {@link IntDenseTable}
+ * classes.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class DenseTableTest {
+
+    private DenseTable<String> table;
+
+
+    /**
+     * Set Up.
+     */
+    @Before
+    public void setUp() {
+
+        this.table = new DenseTable<>(1, 1);
+
+        this.table.add(0, 0, "A");
+        this.table.add(0, 1, "B");
+        this.table.add(1, 0, "C");
+        this.table.add(2, 2, "D");
+    }
+
+
+    /**
+     * Test method for {@link DenseTable#add(int, int, Object)} and
+     * {@link DenseTable#get(int, int)}.
+     */
+    @Test
+    public void testAddAndGet() {
+
+        Assert.assertEquals(3, this.table.rows());
+        Assert.assertEquals(3, this.table.columns());
+        Assert.assertEquals(4, this.table.size());
+
+        Assert.assertEquals("A", this.table.get(0, 0));
+        Assert.assertEquals("B", this.table.get(0, 1));
+        Assert.assertEquals("C", this.table.get(1, 0));
+        Assert.assertEquals("D", this.table.get(new CellLocation(2, 2)));
+        Assert.assertNull(this.table.get(1, 1));
+        Assert.assertNull(this.table.get(5, 5));
+        Assert.assertNull(this.table.get(-1, 0));
+
+        Assert.assertFalse(this.table.add(0, 0, "A"));
+        Assert.assertTrue(this.table.add(0, 0, "E"));
+        Assert.assertEquals(4, this.table.size());
+
+        try {
+
+            this.table.add(-1, 0, "F");
+            Assert.fail("Shouldn't be able to add to a negative index.");
+        }
+        catch (final IllegalArgumentException e) {
+
+            // expected
+        }
+    }
+
+
+    /**
+     * Test method for {@link DenseTable#remove(int, int)},
+     * {@link DenseTable#removeRow(int)}, and
+     * {@link DenseTable#removeColumn(int)}.
+     */
+    @Test
+    public void testRemove() {
+
+        Assert.assertTrue(this.table.remove(0, 1));
+        Assert.assertFalse(this.table.remove(0, 1));
+        Assert.assertFalse(this.table.remove(7, 1));
+        Assert.assertEquals(3, this.table.size());
+
+        Assert.assertEquals(Arrays.asList(null, null, "D"),
+                this.table.removeRow(2));
+        Assert.assertEquals(2, this.table.rows());
+        Assert.assertEquals(2, this.table.size());
+
+        Assert.assertEquals(Arrays.asList("A", "C"),
+                this.table.removeColumn(0));
+        Assert.assertEquals(0, this.table.size());
+        Assert.assertNull(this.table.removeColumn(3));
+
+        this.table.clear();
+        Assert.assertEquals(0, this.table.rows());
+        Assert.assertFalse(this.table.iterator()
+                                     .hasNext());
+    }
+
+
+    /**
+     * Test method for {@link DenseTable#rowMajorOrderIterator()} and
+     * {@link DenseTable#columnMajorOrderIterator()}.
+     */
+    @Test
+    public void testIterationOrder() {
+
+        Assert.assertEquals(Arrays.asList("A", "B", "C", "D"),
+                this.table.getValues());
+
+        this.table.setIterationOrder(IterationOrder.COLUMN_MAJOR);
+        Assert.assertEquals(Arrays.asList("A", "C", "B", "D"),
+                this.table.getValues());
+
+        final Iterator<String> iterator = this.table.rowMajorOrderIterator();
+
+        Assert.assertEquals("A", iterator.next());
+        iterator.remove();
+        Assert.assertNull(this.table.get(0, 0));
+        Assert.assertEquals(3, this.table.size());
+    }
+
+
+    /**
+     * Test method for {@link DenseTable#getRow(int)},
+     * {@link DenseTable#getColumn(int)}, and
+     * {@link DenseTable#iterator(CellRange)}.
+     */
+    @Test
+    public void testViews() {
+
+        final List<String> row = this.table.getRow(0);
+        final List<String> column = this.table.getColumn(0);
+
+        Assert.assertEquals(Arrays.asList("A", "B", null), row);
+        Assert.assertEquals(Arrays.asList("A", "C", null), column);
+        Assert.assertNull(this.table.getRow(3));
+
+        row.set(2, "F");
+        Assert.assertEquals("F", this.table.get(0, 2));
+        Assert.assertEquals(5, this.table.size());
+
+        this.table.add(5, 0, "G");
+        Assert.assertEquals(6, column.size());
+        Assert.assertEquals("G", column.get(5));
+        Assert.assertEquals(6, this.table.getRows()
+                                         .size());
+
+        final List<String> values = new ArrayList<>();
+        this.table.iterator(new CellRange(0, 1, 10, 3))
+                  .forEachRemaining(values::add);
+
+        Assert.assertEquals(Arrays.asList("B", "F", "D"), values);
+    }
+
+
+    /**
+     * Test method for {@link DenseTable#DenseTable(ITable)}.
+     */
+    @Test
+    public void testCopy() {
+
+        final Table<String> source = new Table<>();
+        source.add(0, 0, "A");
+        source.add(1, 1, "B");
+
+        final DenseTable<String> copy = new DenseTable<>(source);
+
+        Assert.assertEquals(2, copy.size());
+        Assert.assertEquals("B", copy.get(1, 1));
+        Assert.assertEquals(new CellRange(0, 0, 2, 2).toString(),
+                copy.cellRange()
+                    .toString());
+    }
+
+
+    /**
+     * Test method for {@link DenseTable#DenseTable(ITable)} with source tables
+     * whose cells leave gaps, i.e., whose extent exceeds their number of
+     * occupied rows and columns.
+     */
+    @Test
+    public void testCopyWithGaps() {
+
+        final Table<String> source = new Table<>();
+        source.add(0, 0, "A");
+        source.add(5, 3, "B");
+
+        final DenseTable<String> copy = new DenseTable<>(source);
+
+        Assert.assertEquals(2, copy.size());
+        Assert.assertEquals("A", copy.get(0, 0));
+        Assert.assertEquals("B", copy.get(5, 3));
+        Assert.assertEquals(new CellRange(0, 0, 6, 4).toString(),
+                copy.cellRange()
+                    .toString());
+
+        final SparseTable<String> sparse = new SparseTable<>();
+        sparse.add(1, 2, "C");
+        sparse.add(7, 0, "D");
+
+        final DenseTable<String> sparseCopy = new DenseTable<>(sparse);
+
+        Assert.assertEquals(2, sparseCopy.size());
+        Assert.assertEquals("C", sparseCopy.get(1, 2));
+        Assert.assertEquals("D", sparseCopy.get(7, 0));
+
+        Assert.assertEquals(0, new DenseTable<>(new Table<String>()).size());
+    }
+
+
+    /**
+     * Test method for {@link DoubleDenseTable} and {@link IntDenseTable}.
+     */
+    @Test
+    public void testPrimitiveTables() {
+
+        final DoubleDenseTable doubles = new DoubleDenseTable();
+
+        doubles.set(1, 2, 1.5);
+        doubles.add(0, 0, 2.5);
+
+        Assert.assertEquals(6, doubles.size());
+        Assert.assertEquals(1.5, doubles.getDouble(1, 2), 0.0);
+        Assert.assertEquals(Double.valueOf(0.0), doubles.get(0, 2));
+        Assert.assertNull(doubles.get(2, 0));
+        Assert.assertEquals(Arrays.asList(2.5, 0.0, 0.0, 0.0, 0.0, 1.5),
+                doubles.getValues());
+
+        final IntDenseTable ints = new IntDenseTable(2, 2,
+                IterationOrder.COLUMN_MAJOR);
+
+        ints.set(0, 1, 3);
+        ints.set(1, 0, 4);
+        ints.set(2, 2, 5);
+
+        Assert.assertEquals(5, ints.getInt(2, 2));
+        Assert.assertEquals(Arrays.asList(0, 4, 0, 3, 0, 0, 0, 0, 5),
+                ints.getValues());
+
+        try {
+
+            ints.getInt(3, 0);
+            Assert.fail("Shouldn't be able to read outside of the table.");
+        }
+        catch (final IllegalArgumentException e) {
+
+            // expected
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.jutility.common.datatype.table;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-common
+ * %%
+ * Copyright (C) 2013 - 2015 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+// @formatter:on
+
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * The {@code SparseTableTest} class provides unit tests for the
+ * {@link SparseTable} class.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class SparseTableTest {
+
+    private SparseTable<String> table;
+
+
+    /**
+     * Set Up.
+     */
+    @Before
+    public void setUp() {
+
+        this.table = new SparseTable<>();
+
+        this.table.add(0, 5, "A");
+        this.table.add(3, 1, "B");
+        this.table.add(3, 4, "C");
+        this.table.add(100000, 2, "D");
+    }
+
+
+    /**
+     * Test method for {@link SparseTable#add(int, int, Object)},
+     * {@link SparseTable#get(int, int)}, and
+     * {@link SparseTable#remove(int, int)}.
+     */
+    @Test
+    public void testAddGetRemove() {
+
+        Assert.assertEquals(4, this.table.size());
+        Assert.assertEquals("D", this.table.get(100000, 2));
+        Assert.assertEquals("C", this.table.get(new CellLocation(3, 4)));
+        Assert.assertNull(this.table.get(4, 3));
+        Assert.assertNull(this.table.get(-1, 3));
+
+        Assert.assertFalse(this.table.add(3, 4, "C"));
+        Assert.assertTrue(this.table.add(3, 4, "E"));
+        Assert.assertEquals(4, this.table.size());
+
+        Assert.assertTrue(this.table.remove(3, 4));
+        Assert.assertFalse(this.table.remove(3, 4));
+        Assert.assertEquals(3, this.table.size());
+
+        try {
+
+            this.table.add(0, -1, "F");
+            Assert.fail("Shouldn't be able to add to a negative index.");
+        }
+        catch (final IllegalArgumentException e) {
+
+            // expected
+        }
+    }
+
+
+    /**
+     * Tests the hash map against a {@link HashMap} under random insertions and
+     * removals spanning several rehashes.
+     */
+    @Test
+    public void testRandomOperations() {
+
+        final Random random = new Random(42);
+        final SparseTable<Integer> sparse = new SparseTable<>();
+        final Map<Long, Integer> reference = new HashMap<>();
+
+        for (int i = 0; i < 20000; i++) {
+
+            final int row = random.nextInt(300);
+            final int column = random.nextInt(300);
+            final long key = ((long) row << 32) | column;
+
+            if (random.nextInt(3) == 0) {
+
+                Assert.assertEquals(reference.remove(key) != null,
+                        sparse.remove(row, column));
+            }
+            else {
+
+                reference.put(key, i);
+                sparse.add(row, column, i);
+            }
+        }
+
+        Assert.assertEquals(reference.size(), sparse.size());
+
+        for (final Map.Entry<Long, Integer> entry : reference.entrySet()) {
+
+            final long key = entry.getKey();
+
+            Assert.assertEquals(entry.getValue(),
+                    sparse.get((int) (key >>> 32), (int) key));
+        }
+        Assert.assertEquals(reference.size(), sparse.getValues()
+                                                    .size());
+    }
+
+
+    /**
+     * Test method for {@link SparseTable#getRow(int)},
+     * {@link SparseTable#getColumn(int)}, and the row and column counts.
+     */
+    @Test
+    public void testRowsAndColumns() {
+
+        Assert.assertEquals(3, this.table.rows());
+        Assert.assertEquals(4, this.table.columns());
+        Assert.assertEquals(Arrays.asList("B", "C"), this.table.getRow(3));
+        Assert.assertEquals(Arrays.asList("D"), this.table.getColumn(2));
+        Assert.assertNull(this.table.getRow(2));
+        Assert.assertEquals(3, this.table.getRows()
+                                         .size());
+
+        this.table.add(7, 2, "E");
+        Assert.assertEquals(Arrays.asList("E", "D"), this.table.getColumn(2));
+
+        Assert.assertEquals(Arrays.asList("E", "D"),
+                this.table.removeColumn(2));
+        Assert.assertEquals(Arrays.asList("B", "C"), this.table.removeRow(3));
+        Assert.assertEquals(1, this.table.size());
+
+        final CellRange range = this.table.cellRange();
+        Assert.assertEquals(new CellLocation(0, 5), range.getBeginning());
+        Assert.assertEquals(new CellLocation(1, 6), range.getEnd());
+    }
+
+
+    /**
+     * Test method for {@link SparseTable#rowMajorOrderIterator()} and
+     * {@link SparseTable#columnMajorOrderIterator()}.
+     */
+    @Test
+    public void testIterationOrder() {
+
+        Assert.assertEquals(Arrays.asList("A", "B", "C", "D"),
+                this.table.getValues());
+
+        this.table.setIterationOrder(IterationOrder.COLUMN_MAJOR);
+        Assert.assertEquals(Arrays.asList("B", "D", "C", "A"),
+                this.table.getValues());
+
+        final Iterator<String> iterator = this.table.iterator();
+
+        Assert.assertEquals("B", iterator.next());
+        iterator.remove();
+        Assert.assertEquals("D", iterator.next());
+        Assert.assertNull(this.table.get(3, 1));
+        Assert.assertEquals(3, this.table.size());
+    }
+
+
+    /**
+     * Test method for {@link SparseTable#SparseTable(ITable)}.
+     */
+    @Test
+    public void testCopy() {
+
+        final DenseTable<String> source = new DenseTable<>();
+        source.add(0, 0, "A");
+        source.add(2, 1, "B");
+
+        final SparseTable<String> copy = new SparseTable<>(source);
+
+        Assert.assertEquals(2, copy.size());
+        Assert.assertEquals("B", copy.get(2, 1));
+        Assert.assertNull(copy.get(1, 1));
+
+        copy.clear();
+        Assert.assertEquals(0, copy.size());
+        Assert.assertEquals(0, copy.rows());
+    }
+
+
+    /**
+     * Test method for {@link SparseTable#SparseTable(ITable)} with source
+     * tables whose cells leave gaps, i.e., whose extent exceeds their number
+     * of occupied rows and columns.
+     */
+    @Test
+    public void testCopyWithGaps() {
+
+        final SparseTable<String> source = new SparseTable<>();
+        source.add(0, 0, "A");
+        source.add(1000, 1000, "B");
+
+        final SparseTable<String> copy = new SparseTable<>(source);
+
+        Assert.assertEquals(2, copy.size());
+        Assert.assertEquals("A", copy.get(0, 0));
+        Assert.assertEquals("B", copy.get(1000, 1000));
+        Assert.assertEquals(source.cellRange()
+                                  .toString(), copy.cellRange()
+                                                   .toString());
+
+        final Table<String> table = new Table<>();
+        table.add(0, 0, "C");
+        table.add(40, 7, "D");
+
+        final SparseTable<String> tableCopy = new SparseTable<>(table);
+
+        Assert.assertEquals(2, tableCopy.size());
+        Assert.assertEquals("C", tableCopy.get(0, 0));
+        Assert.assertEquals("D", tableCopy.get(40, 7));
+    }
+}
@@ -0,0 +1,538 @@
+package org.jutility.io.database;
+
+/*
+ * #%L
+ * jutility-incubation
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.jutility.io.database.mysql.StatementCache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The {@code ConnectionPool} class provides a bounded, thread-safe pool of
+ * JDBC {@link Connection Connections}.
+ * <p>
+ * Connections are {@link #borrow() borrowed} from the pool by a single owner,
+ * used exclusively, and {@link #release(Connection) released} back into it.
+ * Idle connections are reused most-recently-released first, are validated
+ * before they are handed out, and are closed once they have been idle for
+ * longer than the maximum idle time.
+ * </p>
+ * <p>
+ * Each pooled connection keeps its own {@link #getStatementCache(Connection)
+ * statement cache}, so prepared statements outlive the owner that borrowed the
+ * connection and are closed together with the connection.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class ConnectionPool {
+
+    /**
+     * The default maximum number of connections.
+     */
+    public static final int  DEFAULT_MAX_SIZE           = 8;
+
+    /**
+     * The default number of seconds to wait for a connection to be validated.
+     */
+    public static final int  DEFAULT_VALIDATION_TIMEOUT = 2;
+
+    /**
+     * The default number of milliseconds after which idle connections are
+     * closed.
+     */
+    public static final long DEFAULT_MAX_IDLE_TIME      = TimeUnit.MINUTES
+                                                                .toMillis(5);
+
+    /**
+     * The default number of milliseconds to wait for a connection to become
+     * available.
+     */
+    public static final long DEFAULT_BORROW_TIMEOUT     = TimeUnit.SECONDS
+                                                                .toMillis(30);
+
+
+    /**
+     * The {@code ConnectionFactory} interface is used by the
+     * {@link ConnectionPool} to open new connections.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        /**
+         * Opens a new connection.
+         *
+         * @return the connection.
+         * @throws SQLException
+         *             if the connection cannot be opened.
+         */
+        Connection connect()
+                throws SQLException;
+    }
+
+
+    private final ConnectionFactory               factory;
+    private final int                             maxSize;
+    private final int                             validationTimeout;
+    private final long                            maxIdleTime;
+    private final Semaphore                       available;
+    private final Deque<IdleConnection>           idle;
+    private final Map<Connection, StatementCache> statementCaches;
+    private volatile long                         borrowTimeout;
+    private volatile boolean                      closed;
+
+
+    /**
+     * Creates a new instance of the {@code ConnectionPool} class with the
+     * default configuration.
+     *
+     * @param factory
+     *            the factory opening new connections.
+     */
+    public ConnectionPool(ConnectionFactory factory) {
+
+        this(factory, DEFAULT_MAX_SIZE, DEFAULT_VALIDATION_TIMEOUT,
+                DEFAULT_MAX_IDLE_TIME, TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code ConnectionPool} class.
+     *
+     * @param factory
+     *            the factory opening new connections.
+     * @param maxSize
+     *            the maximum number of connections (borrowed and idle).
+     * @param validationTimeout
+     *            the number of seconds to wait for an idle connection to be
+     *            validated before it is handed out, or {@code 0} to hand out
+     *            idle connections without validation.
+     * @param maxIdleTime
+     *            the time after which idle connections are closed.
+     * @param unit
+     *            the unit of the maximum idle time.
+     */
+    public ConnectionPool(ConnectionFactory factory, int maxSize,
+            int validationTimeout, long maxIdleTime, TimeUnit unit) {
+
+        if (factory == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create pool without connection factory!");
+        }
+        if (maxSize < 1) {
+
+            throw new IllegalArgumentException("Pool size must be positive!");
+        }
+        if (validationTimeout < 0) {
+
+            throw new IllegalArgumentException(
+                    "Validation timeout must not be negative!");
+        }
+        if (maxIdleTime < 0 || unit == null) {
+
+            throw new IllegalArgumentException(
+                    "Maximum idle time must be a non-negative duration!");
+        }
+
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.validationTimeout = validationTimeout;
+        this.maxIdleTime = unit.toMillis(maxIdleTime);
+        this.available = new Semaphore(maxSize, true);
+        this.idle = new ArrayDeque<>(maxSize);
+        this.statementCaches = Collections
+                .synchronizedMap(new IdentityHashMap<>());
+        this.borrowTimeout = DEFAULT_BORROW_TIMEOUT;
+        this.closed = false;
+    }
+
+
+    /**
+     * Returns the maximum number of connections.
+     *
+     * @return the maximum number of connections.
+     */
+    public int getMaxSize() {
+
+        return this.maxSize;
+    }
+
+
+    /**
+     * Returns the number of currently borrowed connections.
+     *
+     * @return the number of borrowed connections.
+     */
+    public int getActiveCount() {
+
+        return this.maxSize - this.available.availablePermits();
+    }
+
+
+    /**
+     * Returns the number of idle connections.
+     *
+     * @return the number of idle connections.
+     */
+    public int getIdleCount() {
+
+        synchronized (this.idle) {
+
+            return this.idle.size();
+        }
+    }
+
+
+    /**
+     * Sets the number of milliseconds to wait for a connection to become
+     * available.
+     *
+     * @param borrowTimeout
+     *            the borrow timeout.
+     */
+    public void setBorrowTimeout(long borrowTimeout) {
+
+        if (borrowTimeout < 0) {
+
+            throw new IllegalArgumentException(
+                    "Borrow timeout must not be negative!");
+        }
+
+        this.borrowTimeout = borrowTimeout;
+    }
+
+
+    /**
+     * Borrows a connection from the pool, waiting for one to become available
+     * if all connections are borrowed. The connection is owned by the caller
+     * until it is {@link #release(Connection) released}.
+     *
+     * @return a connection.
+     * @throws SQLException
+     *             if the pool is closed, no connection becomes available in
+     *             time, or a new connection cannot be opened.
+     */
+    public Connection borrow()
+            throws SQLException {
+
+        this.checkOpen();
+
+        try {
+
+            if (!this.available.tryAcquire(this.borrowTimeout,
+                    TimeUnit.MILLISECONDS)) {
+
+                throw new SQLException("Timed out waiting for a connection!");
+            }
+        }
+        catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a connection!", e);
+        }
+
+        try {
+
+            this.checkOpen();
+
+            IdleConnection candidate;
+
+            while ((candidate = this.poll()) != null) {
+
+                if (this.isExpired(candidate, System.currentTimeMillis())
+                        || !this.isValid(candidate.connection)) {
+
+                    this.closeQuietly(candidate.connection);
+                }
+                else {
+
+                    return candidate.connection;
+                }
+            }
+
+            return this.factory.connect();
+        }
+        catch (SQLException | RuntimeException e) {
+
+            this.available.release();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Releases a borrowed connection back into the pool. Closed connections
+     * and connections released after the pool has been closed are discarded.
+     *
+     * @param connection
+     *            the connection.
+     */
+    public void release(Connection connection) {
+
+        if (connection == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot release null connection!");
+        }
+
+        try {
+
+            boolean reusable;
+
+            try {
+
+                reusable = !this.closed && !connection.isClosed();
+            }
+            catch (SQLException e) {
+
+                reusable = false;
+            }
+
+            if (reusable) {
+
+                synchronized (this.idle) {
+
+                    this.idle.push(new IdleConnection(connection,
+                            System.currentTimeMillis()));
+                }
+            }
+            else {
+
+                this.closeQuietly(connection);
+            }
+
+            this.evictIdleConnections();
+        }
+        finally {
+
+            this.available.release();
+        }
+    }
+
+
+    /**
+     * Closes a borrowed connection instead of releasing it back into the
+     * pool, e.g., because its state is unknown after a failed operation. The
+     * connection no longer counts towards the maximum size of the pool.
+     *
+     * @param connection
+     *            the connection.
+     */
+    public void discard(Connection connection) {
+
+        if (connection == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot discard null connection!");
+        }
+
+        try {
+
+            this.closeQuietly(connection);
+        }
+        finally {
+
+            this.available.release();
+        }
+    }
+
+
+    /**
+     * Returns the statement cache of a borrowed connection. The cache holds
+     * the prepared statements of the connection for as long as the connection
+     * stays in the pool, and may only be used by the current owner of the
+     * connection.
+     *
+     * @param connection
+     *            the borrowed connection.
+     * @return the statement cache of the connection.
+     */
+    public StatementCache getStatementCache(Connection connection) {
+
+        if (connection == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot provide statement cache for null connection!");
+        }
+
+        return this.statementCaches.computeIfAbsent(connection,
+                key -> new StatementCache());
+    }
+
+
+    /**
+     * Closes all connections that have been idle for longer than the maximum
+     * idle time.
+     *
+     * @return the number of closed connections.
+     */
+    public int evictIdleConnections() {
+
+        long now = System.currentTimeMillis();
+        List<Connection> evicted = new ArrayList<>();
+
+        synchronized (this.idle) {
+
+            Iterator<IdleConnection> iterator = this.idle.iterator();
+
+            while (iterator.hasNext()) {
+
+                IdleConnection candidate = iterator.next();
+
+                if (this.isExpired(candidate, now)) {
+
+                    iterator.remove();
+                    evicted.add(candidate.connection);
+                }
+            }
+        }
+
+        for (Connection connection : evicted) {
+
+            this.closeQuietly(connection);
+        }
+
+        return evicted.size();
+    }
+
+
+    /**
+     * Closes the pool and all idle connections. Borrowed connections are
+     * closed when they are released.
+     */
+    public void close() {
+
+        this.closed = true;
+
+        List<IdleConnection> connections;
+
+        synchronized (this.idle) {
+
+            connections = new ArrayList<>(this.idle);
+            this.idle.clear();
+        }
+
+        for (IdleConnection connection : connections) {
+
+            this.closeQuietly(connection.connection);
+        }
+    }
+
+
+    private void checkOpen()
+            throws SQLException {
+
+        if (this.closed) {
+
+            throw new SQLException("Connection pool is closed!");
+        }
+    }
+
+
+    private IdleConnection poll() {
+
+        synchronized (this.idle) {
+
+            return this.idle.poll();
+        }
+    }
+
+
+    private boolean isExpired(IdleConnection connection, long now) {
+
+        return now - connection.since > this.maxIdleTime;
+    }
+
+
+    private boolean isValid(Connection connection) {
+
+        if (this.validationTimeout == 0) {
+
+            return true;
+        }
+
+        try {
+
+            return connection.isValid(this.validationTimeout);
+        }
+        catch (SQLException e) {
+
+            return false;
+        }
+    }
+
+
+    private void closeQuietly(Connection connection) {
+
+        StatementCache statementCache = this.statementCaches
+                .remove(connection);
+
+        if (statementCache != null) {
+
+            try {
+
+                statementCache.clear();
+            }
+            catch (SQLException e) {
+
+                // The statements are closed with their connection.
+            }
+        }
+
+        try {
+
+            connection.close();
+        }
+        catch (SQLException e) {
+
+            // Discarded connections are of no further use.
+        }
+    }
+
+
+    private static final class IdleConnection {
+
+        private final Connection connection;
+        private final long       since;
+
+
+        private IdleConnection(Connection connection, long since) {
+
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+}
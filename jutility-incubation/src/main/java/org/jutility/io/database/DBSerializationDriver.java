@@ -22,35 +22,56 @@ package org.jutility.io.database;
 
 
 import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jutility.io.database.mysql.MySQLDriver;
 
 
 /**
- *
- *
+ * The {@code DBSerializationDriver} class provides the database operations
+ * used by the {@link DBSerializer}.
+ * <p>
+ * Connections are borrowed from a {@link ConnectionPool} that is shared by all
+ * drivers with the same database server, schema, user name, and password
+ * (unless a pool is {@link #setConnectionPool(ConnectionPool) provided}).
+ * Shared pools are kept until they are {@link #closeSharedPools() closed}.
+ * Each thread
+ * connecting through a driver owns its connection and statements until it
+ * {@link #closeDatabaseConnection() closes} the connection, so that a driver
+ * can be used by multiple threads concurrently.
+ * </p>
  *
  * @author Peter J. Radics
  * @version 0.1
  */
 public class DBSerializationDriver {
 
+    private static final ConcurrentMap<List<String>, ConnectionPool>
+            SHARED_POOLS = new ConcurrentHashMap<>();
+
 
-    private String            username;
-    private String            password;
+    private volatile String            username;
+    private volatile String            password;
 
-    private URI               databaseServer;
-    private String            schema;
+    private volatile URI               databaseServer;
+    private volatile String            schema;
 
-    private final MySQLDriver databaseDriver;
+    private volatile ConnectionPool    connectionPool;
+    private volatile int               batchSize;
+
+    private final ThreadLocal<Session> sessions;
 
     /**
      * Sets the database server.
@@ -108,28 +129,101 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            this.databaseDriver = MySQLDriver.instance();
+            MySQLDriver.loadDriver();
         }
         catch (ClassNotFoundException e) {
 
             throw new DBSerializationException(
                     "Could not initialize Database Driver", e);
         }
+
+        this.batchSize = MySQLDriver.DEFAULT_BATCH_SIZE;
+        this.sessions = ThreadLocal.withInitial(Session::new);
+    }
+
+
+    /**
+     * Returns the connection pool connections are borrowed from. Unless a pool
+     * has been {@link #setConnectionPool(ConnectionPool) provided}, the pool
+     * is shared by all drivers with the same database server, schema, user
+     * name, and password, so that changing any of them switches to another
+     * pool.
+     *
+     * @return the connection pool.
+     */
+    public ConnectionPool getConnectionPool() {
+
+        ConnectionPool pool = this.connectionPool;
+
+        if (pool != null) {
+
+            return pool;
+        }
+
+        final String url = MySQLDriver.url(String.valueOf(this.databaseServer),
+                this.schema);
+        final String user = this.username;
+        final String pass = this.password;
+
+        return SHARED_POOLS.computeIfAbsent(Arrays.asList(url, user, pass),
+                key -> new ConnectionPool(() -> DriverManager.getConnection(
+                        url, user, pass)));
+    }
+
+    /**
+     * Closes and removes all shared connection pools (e.g., when the
+     * application shuts down). Connections that are currently borrowed are
+     * closed once they are released; drivers connecting afterwards create
+     * new shared pools.
+     */
+    public static void closeSharedPools() {
+
+        for (List<String> key : SHARED_POOLS.keySet()) {
+
+            ConnectionPool pool = SHARED_POOLS.remove(key);
+
+            if (pool != null) {
+
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * Sets the connection pool connections are borrowed from (e.g., to
+     * configure its size, validation, and idle eviction).
+     *
+     * @param connectionPool
+     *            the connection pool.
+     */
+    public void setConnectionPool(ConnectionPool connectionPool) {
+
+        if (connectionPool == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot use null connection pool!");
+        }
+
+        this.connectionPool = connectionPool;
     }
 
 
     /**
-     * Returns whether or not the Driver is connected to the database server.
+     * Returns whether or not the Driver is connected to the database server on
+     * the current thread.
      *
      * @return {@code true} if the driver is connected; {@code false} otherwise.
      */
     public boolean isConnected() {
 
-        return this.databaseDriver.isConnected();
+        return this.session().isConnected();
     }
 
     /**
-     * Connects to the database.
+     * Connects to the database by borrowing a connection from the
+     * {@link #getConnectionPool() connection pool}. The connection is owned by
+     * the current thread until it is {@link #closeDatabaseConnection()
+     * closed}.
      *
      * @throws DBSerializationException
      */
@@ -137,11 +231,28 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         if (!this.isConnected()) {
+
+            Session session = this.sessions.get();
+            ConnectionPool pool = this.getConnectionPool();
+
             try {
 
-                this.databaseDriver.connect(this.databaseServer.toString(),
-                        this.schema, this.username, this.password);
-                // "privacyworkbench", "Pr1vacy$ystem");
+                Connection connection = pool.borrow();
+
+                try {
+
+                    session.driver.connect(connection,
+                            pool.getStatementCache(connection));
+                }
+                catch (SQLException | RuntimeException e) {
+
+                    pool.release(connection);
+                    throw e;
+                }
+
+                session.driver.setBatchSize(this.batchSize);
+                session.pool = pool;
+                session.connection = connection;
             }
             catch (SQLException e) {
 
@@ -152,7 +263,9 @@ public class DBSerializationDriver {
     }
 
     /**
-     * Closes the database connection.
+     * Closes the database connection of the current thread, returning it to
+     * the connection pool. If executing pending statements or committing
+     * fails, the connection is discarded instead.
      *
      * @throws DBSerializationException
      */
@@ -161,18 +274,40 @@ public class DBSerializationDriver {
 
         if (this.isConnected()) {
 
+            Session session = this.sessions.get();
+            boolean disconnected = false;
+
             try {
 
-                this.databaseDriver.close();
+                session.driver.disconnect();
+                disconnected = true;
             }
             catch (SQLException e) {
 
                 throw new DBSerializationException(
                         "Could not close the connection to the database!", e);
             }
+            finally {
+
+                if (disconnected) {
+
+                    session.pool.release(session.connection);
+                }
+                else {
+
+                    session.pool.discard(session.connection);
+                }
+                session.pool = null;
+                session.connection = null;
+            }
         }
     }
 
+    private MySQLDriver session() {
+
+        return this.sessions.get().driver;
+    }
+
     /**
      * Closes the prepared statement.
      *
@@ -183,7 +318,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            this.databaseDriver.closePreparedStatement();
+            this.session().closePreparedStatement();
         }
         catch (SQLException e) {
 
@@ -202,7 +337,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            this.databaseDriver.closePreparedStatement();
+            this.session().closePreparedStatement();
         }
         catch (SQLException e) {
 
@@ -228,7 +363,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            return this.databaseDriver.duplicateCheck(this.schema, table,
+            return this.session().duplicateCheck(this.schema, table,
                     primaryKeys);
         }
         catch (SQLException e) {
@@ -254,7 +389,7 @@ public class DBSerializationDriver {
 
         try {
 
-            this.databaseDriver.prepareDuplicateCheck(schema, table, keys);
+            this.session().prepareDuplicateCheck(schema, table, keys);
         }
         catch (SQLException e) {
 
@@ -279,7 +414,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            return this.databaseDriver.executeDuplicateCheck(keyValueMap);
+            return this.session().executeDuplicateCheck(keyValueMap);
         }
         catch (SQLException e) {
 
@@ -288,6 +423,69 @@ public class DBSerializationDriver {
         }
     }
 
+    /**
+     * Determines for each of the provided key-value maps whether a row with
+     * matching keys exists in the database table, using one query per chunk
+     * of key-value maps rather than one query per key-value map.
+     *
+     * @param table
+     *            the table.
+     * @param keys
+     *            the key columns.
+     * @param keyValueMaps
+     *            the key-value maps.
+     * @return an array containing, at the index of each key-value map, whether
+     *         a matching row exists.
+     * @throws DBSerializationException
+     *             if the query execution fails.
+     */
+    public boolean[] existenceCheck(String table, Set<String> keys,
+            List<? extends Map<String, ?>> keyValueMaps)
+            throws DBSerializationException {
+
+        try {
+
+            return this.session().existenceCheck(this.schema, table, keys,
+                    keyValueMaps);
+        }
+        catch (SQLException e) {
+
+            throw new DBSerializationException(
+                    "Could not determine containment!", e);
+        }
+    }
+
+    /**
+     * Selects the rows matching each of the provided key-value maps from the
+     * database table, using one query per chunk of key-value maps rather than
+     * one query per key-value map.
+     *
+     * @param table
+     *            the table.
+     * @param keys
+     *            the key columns.
+     * @param keyValueMaps
+     *            the key-value maps.
+     * @return a list containing, at the index of each key-value map, the
+     *         (possibly empty) list of matching rows.
+     * @throws DBSerializationException
+     *             if the query execution fails.
+     */
+    public List<List<Map<String, ?>>> selectByKeys(String table,
+            Set<String> keys, List<? extends Map<String, ?>> keyValueMaps)
+            throws DBSerializationException {
+
+        try {
+
+            return this.session().selectByKeys(this.schema, table, keys,
+                    keyValueMaps);
+        }
+        catch (SQLException e) {
+
+            throw new DBSerializationException("Selection failed!", e);
+        }
+    }
+
     /**
      * Inserts the values in the provided key value map into the database table.
      *
@@ -303,7 +501,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            return this.databaseDriver.insert(this.schema, table, keyValueMap);
+            return this.session().insert(this.schema, table, keyValueMap);
         }
         catch (SQLException e) {
 
@@ -325,7 +523,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            this.databaseDriver.prepareInsertion(this.schema, table, keys);
+            this.session().prepareInsertion(this.schema, table, keys);
         }
         catch (SQLException e) {
 
@@ -346,7 +544,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            return this.databaseDriver.executeInsertion(valueMap);
+            return this.session().executeInsertion(valueMap);
         }
         catch (SQLException e) {
 
@@ -370,7 +568,7 @@ public class DBSerializationDriver {
 
         try {
 
-            return this.databaseDriver.selectAll(this.schema, table,
+            return this.session().selectAll(this.schema, table,
                     keyValueMap);
         }
         catch (SQLException e) {
@@ -395,7 +593,7 @@ public class DBSerializationDriver {
 
         try {
 
-            this.databaseDriver.prepareUniversalSelection(this.schema, table,
+            this.session().prepareUniversalSelection(this.schema, table,
                     keys);
         }
         catch (SQLException e) {
@@ -419,7 +617,7 @@ public class DBSerializationDriver {
 
         try {
 
-            return this.databaseDriver.executeUniversalSelection(valueMap);
+            return this.session().executeUniversalSelection(valueMap);
         }
         catch (SQLException e) {
 
@@ -449,7 +647,7 @@ public class DBSerializationDriver {
 
         try {
 
-            return this.databaseDriver.select(schema, table, valueColumns,
+            return this.session().select(schema, table, valueColumns,
                     keyValueMap);
         }
         catch (SQLException e) {
@@ -474,7 +672,7 @@ public class DBSerializationDriver {
 
         try {
 
-            this.databaseDriver.prepareSelection(schema, table, valueColumns,
+            this.session().prepareSelection(schema, table, valueColumns,
                     keyColumns);
         }
         catch (SQLException e) {
@@ -496,7 +694,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            return this.databaseDriver.executeSelection(valueMap);
+            return this.session().executeSelection(valueMap);
         }
         catch (SQLException e) {
 
@@ -523,7 +721,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            this.databaseDriver.update(schema, table, keyMap, valueMap);
+            this.session().update(schema, table, keyMap, valueMap);
         }
         catch (SQLException e) {
 
@@ -549,7 +747,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            this.databaseDriver.prepareUpdate(schema, table, keyColumns,
+            this.session().prepareUpdate(schema, table, keyColumns,
                     valueColumns);
         }
         catch (SQLException e) {
@@ -571,7 +769,7 @@ public class DBSerializationDriver {
 
         try {
 
-            this.databaseDriver.executeUpdate(valueMap);
+            this.session().executeUpdate(valueMap);
         }
         catch (SQLException e) {
 
@@ -596,7 +794,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            this.databaseDriver.delete(schema, table, keyValueMap);
+            this.session().delete(schema, table, keyValueMap);
         }
         catch (SQLException e) {
 
@@ -619,7 +817,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            this.databaseDriver.prepareDeletion(schema, table, keys);
+            this.session().prepareDeletion(schema, table, keys);
         }
         catch (SQLException e) {
 
@@ -641,7 +839,7 @@ public class DBSerializationDriver {
             throws DBSerializationException {
 
         try {
-            this.databaseDriver.executeDeletion(valueMap);
+            this.session().executeDeletion(valueMap);
         }
         catch (SQLException e) {
 
@@ -650,6 +848,73 @@ public class DBSerializationDriver {
     }
 
 
+    /**
+     * Returns the number of statements that are accumulated before a batch is
+     * sent to the database server.
+     *
+     * @return the batch size.
+     */
+    public int getBatchSize() {
+
+        return this.batchSize;
+    }
+
+    /**
+     * Sets the number of statements that are accumulated before a batch is
+     * sent to the database server.
+     *
+     * @param batchSize
+     *            the batch size.
+     */
+    public void setBatchSize(int batchSize) {
+
+        this.session().setBatchSize(batchSize);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Adds the provided value map to the batch of the prepared insertion,
+     * update, or deletion. Pending batches are executed when the batch size
+     * is reached and when the prepared statement is closed.
+     *
+     * @param valueMap
+     *            the value map.
+     * @throws DBSerializationException
+     *             if adding the values or executing a full batch fails.
+     */
+    public void addBatch(Map<String, ?> valueMap)
+            throws DBSerializationException {
+
+        try {
+
+            this.session().addBatch(valueMap);
+        }
+        catch (SQLException e) {
+
+            throw new DBSerializationException("Batch execution failed!", e);
+        }
+    }
+
+    /**
+     * Executes the pending batch of the prepared statement.
+     *
+     * @throws DBSerializationException
+     *             if the execution of the batch fails.
+     */
+    public void executeBatch()
+            throws DBSerializationException {
+
+        try {
+
+            this.session().executeBatch();
+        }
+        catch (SQLException e) {
+
+            throw new DBSerializationException("Batch execution failed!", e);
+        }
+    }
+
+
     /**
      * Converts a result set into a list of maps.
      *
@@ -737,4 +1002,11 @@ public class DBSerializationDriver {
         return convertedResult;
     }
 
+
+    private static final class Session {
+
+        private final MySQLDriver driver = new MySQLDriver();
+        private ConnectionPool    pool;
+        private Connection        connection;
+    }
 }
@@ -24,8 +24,12 @@ package org.jutility.io.database;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -95,6 +99,19 @@ public class DBSerializer {
     }
 
 
+    /**
+     * Sets the connection pool connections are borrowed from.
+     *
+     * @param connectionPool
+     *            the connection pool.
+     * @see DBSerializationDriver#setConnectionPool(ConnectionPool)
+     */
+    public void setConnectionPool(ConnectionPool connectionPool) {
+
+        this.databaseDriver.setConnectionPool(connectionPool);
+    }
+
+
     /**
      * Creates and instantiates a new DatabaseSerializer object.
      *
@@ -237,23 +254,39 @@ public class DBSerializer {
 
         this.databaseDriver.connectToDatabase();
 
+        try {
 
-        // System.out.println("Objects to serialize: ");
-        System.out.println("******** Simple Serialization ************");
-        for (Object obj : objectsToSerialize) {
-            // System.out.println("serializing: " + obj.toString());
-            this.performBasicSerialization(obj);
-            this.performListSerialization(obj, true);
-        }
-        System.out.println("******** Complex Serialization ************");
-        for (Object obj : objectsToSerialize) {
-            // System.out.println("serializing: " + obj.toString());
-            this.performComplexSerialization(obj);
-            this.performListSerialization(obj, false);
-        }
+            Set<Object> persistedObjects = this
+                    .resolvePersistedObjects(objectsToSerialize);
 
 
-        this.databaseDriver.closeDatabaseConnection();
+            // System.out.println("Objects to serialize: ");
+            System.out.println("******** Simple Serialization ************");
+            Map<DBSerializationInfo, List<Map<String, ?>>> updates =
+                    new LinkedHashMap<>();
+
+            for (Object obj : objectsToSerialize) {
+                // System.out.println("serializing: " + obj.toString());
+                this.performBasicSerialization(obj, persistedObjects, updates);
+                this.performListSerialization(obj, true, persistedObjects);
+            }
+            this.performBatchedUpdates(updates, true);
+
+            System.out.println("******** Complex Serialization ************");
+            updates.clear();
+
+            for (Object obj : objectsToSerialize) {
+                // System.out.println("serializing: " + obj.toString());
+                this.performComplexSerialization(obj, persistedObjects,
+                        updates);
+                this.performListSerialization(obj, false, persistedObjects);
+            }
+            this.performBatchedUpdates(updates, false);
+        }
+        finally {
+
+            this.databaseDriver.closeDatabaseConnection();
+        }
     }
 
 
@@ -294,7 +327,62 @@ public class DBSerializer {
         }
     }
 
-    private void performBasicSerialization(Object object)
+    /**
+     * Determines which of the objects are already stored in the database. The
+     * objects are grouped by table, so that their existence is checked with
+     * one query per chunk of objects rather than one query per object.
+     *
+     * @param objects
+     *            the objects.
+     * @return the set of objects that are stored in the database.
+     * @throws DBSerializationException
+     *             if the existence check fails.
+     */
+    private Set<Object> resolvePersistedObjects(Collection<Object> objects)
+            throws DBSerializationException {
+
+        Map<String, Set<String>> keysByTable = new LinkedHashMap<>();
+        Map<String, List<Object>> objectsByTable = new LinkedHashMap<>();
+        Map<String, List<Map<String, ?>>> primaryKeysByTable =
+                new LinkedHashMap<>();
+
+        for (Object object : objects) {
+
+            DBSerializationInfo info = this.parser
+                    .getSerializationInformation(object.getClass());
+
+            keysByTable.putIfAbsent(info.getTable(), info.getPrimaryKeySet());
+            objectsByTable.computeIfAbsent(info.getTable(),
+                    table -> new ArrayList<>()).add(object);
+            primaryKeysByTable.computeIfAbsent(info.getTable(),
+                    table -> new ArrayList<>()).add(
+                    this.getPropertyValueMap(object, info.getPrimaryKeys()));
+        }
+
+        Set<Object> persistedObjects = Collections
+                .newSetFromMap(new IdentityHashMap<>());
+
+        for (String table : objectsByTable.keySet()) {
+
+            List<Object> tableObjects = objectsByTable.get(table);
+            boolean[] exists = this.databaseDriver.existenceCheck(table,
+                    keysByTable.get(table), primaryKeysByTable.get(table));
+
+            for (int i = 0; i < exists.length; i++) {
+
+                if (exists[i]) {
+
+                    persistedObjects.add(tableObjects.get(i));
+                }
+            }
+        }
+
+        return persistedObjects;
+    }
+
+    private void performBasicSerialization(Object object,
+            Set<Object> persistedObjects,
+            Map<DBSerializationInfo, List<Map<String, ?>>> updates)
             throws DBSerializationException {
 
         System.out.println("Serializing object " + object);
@@ -304,10 +392,7 @@ public class DBSerializer {
         Map<String, Object> primaryKeys = this.getPropertyValueMap(object,
                 info.getPrimaryKeys());
 
-        this.databaseDriver.prepareDuplicateCheck(info.getTable(),
-                info.getPrimaryKeySet());
-        boolean exists = this.databaseDriver.executeDuplicateCheck(primaryKeys);
-        this.databaseDriver.closePreparedQuery();
+        boolean exists = persistedObjects.contains(object);
 
         Map<String, Object> valueMap = this.getPropertyValueMap(object,
                 info.getValueTypeProperties());
@@ -318,10 +403,9 @@ public class DBSerializer {
             System.out.println("Exists");
             valueMap.putAll(primaryKeys);
 
-            this.databaseDriver.prepareUpdate(info.getTable(),
-                    info.getPrimaryKeySet(), info.getValueTypePropertyKeys());
-
-            this.databaseDriver.executeUpdate(valueMap);
+            // Updates are batched per table once all objects are inserted.
+            updates.computeIfAbsent(info, key -> new ArrayList<>()).add(
+                    valueMap);
         }
         else {
 
@@ -340,27 +424,23 @@ public class DBSerializer {
 
                 this.setValue(object, primaryKey, id);
             }
+            persistedObjects.add(object);
             System.out.println("Object with new id: " + object.toString());
-        }
 
-
-        this.databaseDriver.closePreparedStatement();
+            this.databaseDriver.closePreparedStatement();
+        }
     }
 
-    private void performListSerialization(Object object, boolean simple)
+    private void performListSerialization(Object object, boolean simple,
+            Set<Object> persistedObjects)
             throws DBSerializationException {
 
 
         DBSerializationInfo info = this.parser
                 .getSerializationInformation(object.getClass());
 
-        this.databaseDriver.prepareDuplicateCheck(info.getTable(),
-                info.getPrimaryKeySet());
-
-        if (!this.databaseDriver.executeDuplicateCheck(this
-                .getPropertyValueMap(object, info.getPrimaryKeys()))) {
+        if (!persistedObjects.contains(object)) {
 
-            this.databaseDriver.closePreparedQuery();
             throw new DBSerializationException(
                     "Cannot perform list serialization without first "
                             + "performing simple serialization! (I.e., "
@@ -369,8 +449,6 @@ public class DBSerializer {
                             + "relationship.)");
         }
 
-        this.databaseDriver.closePreparedQuery();
-
 
         Set<ListPropertyInfo> propertyList;
 
@@ -410,8 +488,9 @@ public class DBSerializer {
 
                     for (Map<String, ?> valueMap : valueMaps) {
 
-                        this.databaseDriver.executeInsertion(valueMap);
+                        this.databaseDriver.addBatch(valueMap);
                     }
+                    this.databaseDriver.executeBatch();
 
                     this.databaseDriver.closePreparedStatement();
                 }
@@ -425,8 +504,9 @@ public class DBSerializer {
 
                     for (Map<String, ?> valueMap : updateList) {
 
-                        this.databaseDriver.executeUpdate(valueMap);
+                        this.databaseDriver.addBatch(valueMap);
                     }
+                    this.databaseDriver.executeBatch();
 
                     this.databaseDriver.closePreparedStatement();
                 }
@@ -434,21 +514,15 @@ public class DBSerializer {
         }
     }
 
-    private void performComplexSerialization(Object object)
+    private void performComplexSerialization(Object object,
+            Set<Object> persistedObjects,
+            Map<DBSerializationInfo, List<Map<String, ?>>> updates)
             throws DBSerializationException {
 
         DBSerializationInfo info = this.parser
                 .getSerializationInformation(object.getClass());
 
-        this.databaseDriver.prepareDuplicateCheck(info.getTable(),
-                info.getPrimaryKeySet());
-
-        boolean exists = this.databaseDriver.executeDuplicateCheck(this
-                .getPropertyValueMap(object, info.getPrimaryKeys()));
-
-        this.databaseDriver.closePreparedQuery();
-
-        if (!exists) {
+        if (!persistedObjects.contains(object)) {
             throw new DBSerializationException(
                     "Cannot perform complex serialization without first "
                             + "performing simple serialization! (I.e., "
@@ -493,24 +567,51 @@ public class DBSerializer {
             System.out.println("ElementTypePropertyKeys: "
                     + info.getElementTypePropertyKeys());
             System.out.println("ElementPrimaryKeyMap: " + elementPrimaryKeyMap);
-            this.databaseDriver.prepareUpdate(info.getTable(),
-                    info.getPrimaryKeySet(), info.getElementTypePropertyKeys());
 
+            // Updates are batched per table once all objects are visited.
+            updates.computeIfAbsent(info, key -> new ArrayList<>()).add(
+                    elementPrimaryKeyMap);
+        }
+
+    }
+
+
+    /**
+     * Executes the collected updates with one batch per table, instead of one
+     * round trip per object.
+     *
+     * @param updates
+     *            the value maps to update, grouped by the serialization
+     *            information of their objects.
+     * @param simple
+     *            whether the value type properties ({@code true}) or the
+     *            element type properties ({@code false}) are updated.
+     * @throws DBSerializationException
+     *             if an update fails.
+     */
+    private void performBatchedUpdates(
+            Map<DBSerializationInfo, List<Map<String, ?>>> updates,
+            boolean simple)
+            throws DBSerializationException {
 
-            // System.out.print("Value list after conversion: ");
-            // for (Object string : valueList) {
-            // System.out.print(string + ", ");
-            // }
-            // System.out.println();
+        for (Map.Entry<DBSerializationInfo, List<Map<String, ?>>> entry : updates
+                .entrySet()) {
 
-            // int id = -1;
-            this.databaseDriver.executeUpdate(elementPrimaryKeyMap);
-            // id =
-            // MySQLDriver.instance().executePreparedStatement(valueList);
+            DBSerializationInfo info = entry.getKey();
+
+            this.databaseDriver.prepareUpdate(info.getTable(),
+                    info.getPrimaryKeySet(),
+                    simple ? info.getValueTypePropertyKeys()
+                            : info.getElementTypePropertyKeys());
+
+            for (Map<String, ?> valueMap : entry.getValue()) {
+
+                this.databaseDriver.addBatch(valueMap);
+            }
+            this.databaseDriver.executeBatch();
 
             this.databaseDriver.closePreparedStatement();
         }
-
     }
 
 
@@ -643,31 +744,32 @@ public class DBSerializer {
             throws DBSerializationException {
 
         List<Map<String, ?>> updateList = new LinkedList<>();
+        List<Map<String, ?>> insertList = new LinkedList<>();
 
+        if (listPropertyValueMaps.isEmpty()) {
 
+            return updateList;
+        }
 
-        this.databaseDriver.prepareDuplicateCheck(
+        boolean[] duplicates = this.databaseDriver.existenceCheck(
                 listPropertyInfo.getTableName(),
-                listPropertyInfo.getAliasedKeySet());
-
+                listPropertyInfo.getAliasedKeySet(), listPropertyValueMaps);
 
+        int i = 0;
         for (Map<String, ?> valueMap : listPropertyValueMaps) {
 
-            boolean duplicate = this.databaseDriver
-                    .executeDuplicateCheck(valueMap);
-
-            if (duplicate) {
+            if (duplicates[i++]) {
 
                 updateList.add(valueMap);
             }
+            else {
 
+                insertList.add(valueMap);
+            }
         }
-        this.databaseDriver.closePreparedStatement();
 
-        for (Map<String, ?> update : updateList) {
-
-            listPropertyValueMaps.remove(update);
-        }
+        listPropertyValueMaps.clear();
+        listPropertyValueMaps.addAll(insertList);
 
         return updateList;
 
@@ -696,52 +798,57 @@ public class DBSerializer {
         List<T> objectList = new LinkedList<>();
         LinkedList<Prototype<?>> prototypeList = new LinkedList<>();
 
-        // System.out.println(info.selectStatement(null));
-
-        this.databaseDriver.prepareUniversalSelection(info.getTable(), null
-        // info.getPrimaryKeySet()
-                );
+        try {
 
-        ResultSet results = this.databaseDriver.executeUniversalSelection(null);
+            // System.out.println(info.selectStatement(null));
 
+            this.databaseDriver.prepareUniversalSelection(info.getTable(),
+                    null
+            // info.getPrimaryKeySet()
+                    );
 
-        List<Map<String, ?>> convertedResults = this.databaseDriver
-                .convertResultSet(results, String.class);
+            ResultSet results = this.databaseDriver
+                    .executeUniversalSelection(null);
 
-        this.databaseDriver.closePreparedQuery();
-        for (Map<String, ?> result : convertedResults) {
 
-            Map<String, Object> keyMap = new LinkedHashMap<>();
+            List<Map<String, ?>> convertedResults = this.databaseDriver
+                    .convertResultSet(results, String.class);
 
-            for (PropertyInfo primaryKey : info.getPrimaryKeys()) {
-                // System.out.println("PrimaryKey " +
-                // primaryKey.getFieldName());
+            this.databaseDriver.closePreparedQuery();
+            for (Map<String, ?> result : convertedResults) {
 
-                for (String primaryKeyColumnName : primaryKey
-                        .getAliasedColumnNames()) {
+                Map<String, Object> keyMap = new LinkedHashMap<>();
 
-                    // System.out.println("Column Name: " +
-                    // primaryKeyColumnName);
-                    Object key = result.get(primaryKeyColumnName);
-                    // System.out.println(primaryKey.getFieldName() + ": "
-                    // + key.toString());
+                for (PropertyInfo primaryKey : info.getPrimaryKeys()) {
+                    // System.out.println("PrimaryKey " +
+                    // primaryKey.getFieldName());
 
-                    keyMap.put(primaryKeyColumnName, key);
-                }
-            }
+                    for (String primaryKeyColumnName : primaryKey
+                            .getAliasedColumnNames()) {
 
+                        // System.out.println("Column Name: " +
+                        // primaryKeyColumnName);
+                        Object key = result.get(primaryKeyColumnName);
+                        // System.out.println(primaryKey.getFieldName() + ": "
+                        // + key.toString());
 
-            // System.out.println("KeyMap: " + keyMap);
-            Prototype<T> prototype = new Prototype<>(clazz, keyMap);
+                        keyMap.put(primaryKeyColumnName, key);
+                    }
+                }
 
-            prototypeList.add(prototype);
-        }
 
-        this.deserializePrototypes(prototypeList);
+                // System.out.println("KeyMap: " + keyMap);
+                Prototype<T> prototype = new Prototype<>(clazz, keyMap);
 
+                prototypeList.add(prototype);
+            }
 
+            this.deserializePrototypes(prototypeList);
+        }
+        finally {
 
-        this.databaseDriver.closeDatabaseConnection();
+            this.databaseDriver.closeDatabaseConnection();
+        }
 
 
         for (Prototype<?> prototype : prototypeList) {
@@ -827,138 +934,154 @@ public class DBSerializer {
         prototypeList.add(prototype);
 
 
-        this.deserializePrototypes(prototypeList);
+        try {
 
-        this.databaseDriver.closeDatabaseConnection();
+            this.deserializePrototypes(prototypeList);
+        }
+        finally {
+
+            this.databaseDriver.closeDatabaseConnection();
+        }
 
         return prototype.getDeserializedObject();
     }
 
 
+    /**
+     * Deserializes the provided prototypes and all prototypes reachable from
+     * them, breadth first. The pending prototypes of each level are grouped
+     * by type, and each group is retrieved with one query per table (and per
+     * list property) rather than one query per prototype. Prototypes are
+     * identified by their type and primary key values; a prototype that is
+     * encountered again references the first prototype with its identity.
+     * <p>
+     * Afterwards, the provided list contains all deserialized prototypes.
+     * </p>
+     */
     private void deserializePrototypes(LinkedList<Prototype<?>> prototypes)
             throws DBSerializationException {
 
+        Map<Prototype<?>, Prototype<?>> identities = new HashMap<>();
+        List<Prototype<?>> parsedPrototypes = new ArrayList<>();
+        List<Prototype<?>> level = this.registerPrototypes(prototypes,
+                identities);
 
-        LinkedList<Prototype<?>> parsedPrototypes = new LinkedList<>();
-
-        this.deserializePrototypes(prototypes, parsedPrototypes);
+        while (!level.isEmpty()) {
 
+            parsedPrototypes.addAll(level);
 
-        prototypes.addAll(parsedPrototypes);
-    }
-
+            List<Prototype<?>> discoveredPrototypes = new ArrayList<>();
 
-    private void deserializePrototypes(
-            LinkedList<Prototype<?>> prototypesToParse,
-            LinkedList<Prototype<?>> parsedPrototypes)
-            throws DBSerializationException {
+            for (List<Prototype<?>> group : this.groupPrototypesByType(level)) {
 
-        if (!prototypesToParse.isEmpty()) {
+                discoveredPrototypes.addAll(this
+                        .performBasicDeserialization(group));
+                discoveredPrototypes.addAll(this
+                        .performComplexDeserialization(group));
+            }
 
-            Prototype<?> prototype = prototypesToParse.pollFirst();
-            parsedPrototypes.add(prototype);
+            level = this.registerPrototypes(discoveredPrototypes, identities);
+        }
 
-            List<Prototype<?>> elementPrototypes = this
-                    .performBasicDeserialization(prototype);
+        prototypes.clear();
+        prototypes.addAll(parsedPrototypes);
+    }
 
-            for (Prototype<?> elementPrototype : elementPrototypes) {
 
-                boolean alreadyParsed = parsedPrototypes
-                        .contains(elementPrototype);
-                boolean inQueue = prototypesToParse.contains(elementPrototype);
+    /**
+     * Registers the identities of the provided prototypes, turning prototypes
+     * of already registered identities into references.
+     *
+     * @return the prototypes of newly registered identities.
+     */
+    private List<Prototype<?>> registerPrototypes(
+            Collection<Prototype<?>> prototypes,
+            Map<Prototype<?>, Prototype<?>> identities) {
 
-                if (!alreadyParsed && !inQueue) {
+        List<Prototype<?>> registeredPrototypes = new ArrayList<>();
 
-                    prototypesToParse.add(elementPrototype);
-                }
-                else {
-                    // System.out.println("This might blow up badly...");
-                    Prototype<?> referencePrototye = null;
-                    if (alreadyParsed) {
+        for (Prototype<?> prototype : prototypes) {
 
+            Prototype<?> referencePrototype = identities.putIfAbsent(
+                    prototype, prototype);
 
-                        referencePrototye = parsedPrototypes
-                                .get(parsedPrototypes.indexOf(elementPrototype));
+            if (referencePrototype == null) {
 
-                    }
-                    else {
-                        referencePrototye = prototypesToParse
-                                .get(prototypesToParse
-                                        .indexOf(elementPrototype));
-                    }
-                    elementPrototype.setReferencePrototype(referencePrototye);
-                }
+                registeredPrototypes.add(prototype);
             }
+            else if (referencePrototype != prototype) {
 
+                prototype.setReferencePrototype(referencePrototype);
+            }
+        }
 
-            List<Prototype<?>> elementListPrototypes = this
-                    .performComplexDeserialization(prototype);
-
-            for (Prototype<?> elementListPrototype : elementListPrototypes) {
-                boolean alreadyParsed = parsedPrototypes
-                        .contains(elementListPrototype);
-                boolean inQueue = prototypesToParse
-                        .contains(elementListPrototype);
+        return registeredPrototypes;
+    }
 
-                if (!alreadyParsed && !inQueue) {
 
-                    // System.out.println("Adding elementListPrototype: "
-                    // + elementListPrototype.getType() + " : "
-                    // + elementListPrototype.getPrimaryKeyValueMap());
-                    prototypesToParse.add(elementListPrototype);
-                }
-                else {
-                    // System.out.println("This might blow up badly...");
-                    Prototype<?> referencePrototye = null;
-                    if (alreadyParsed) {
+    private Collection<List<Prototype<?>>> groupPrototypesByType(
+            List<Prototype<?>> prototypes) {
 
+        Map<List<Object>, List<Prototype<?>>> groups = new LinkedHashMap<>();
 
-                        referencePrototye = parsedPrototypes
-                                .get(parsedPrototypes
-                                        .indexOf(elementListPrototype));
+        for (Prototype<?> prototype : prototypes) {
 
-                    }
-                    else {
-                        referencePrototye = prototypesToParse
-                                .get(prototypesToParse
-                                        .indexOf(elementListPrototype));
-                    }
-                    elementListPrototype
-                            .setReferencePrototype(referencePrototye);
-                }
-            }
+            List<Object> group = Arrays.asList(prototype.getType(),
+                    prototype.getPrimaryKeyValueMap().keySet());
 
-            this.deserializePrototypes(prototypesToParse, parsedPrototypes);
+            groups.computeIfAbsent(group, key -> new ArrayList<>())
+                    .add(prototype);
         }
 
-
+        return groups.values();
     }
 
 
-    private <T> List<Prototype<?>> performBasicDeserialization(
-            Prototype<T> prototype)
+    private List<Prototype<?>> performBasicDeserialization(
+            List<Prototype<?>> prototypes)
             throws DBSerializationException {
 
+        Prototype<?> firstPrototype = prototypes.get(0);
+
         DBSerializationInfo info = this.parser
-                .getSerializationInformation(prototype.getType());
+                .getSerializationInformation(firstPrototype.getType());
+
+        System.out.println("\n\nBasic Deserialization of "
+                + prototypes.size() + " instances of class "
+                + firstPrototype.getType());
+
+        List<List<Map<String, ?>>> results = this.databaseDriver.selectByKeys(
+                info.getTable(), firstPrototype.getPrimaryKeyValueMap()
+                        .keySet(), this.getPrimaryKeyValueMaps(prototypes));
 
-        System.out.println("\n\nBasic Deserialization for class "
-                + prototype.getType());
+        List<Prototype<?>> elementPropertyPrototypes = new ArrayList<>();
 
-        this.databaseDriver.prepareUniversalSelection(info.getTable(),
-                prototype.getPrimaryKeyValueMap().keySet());
+        for (int i = 0; i < prototypes.size(); i++) {
 
-        ResultSet results = this.databaseDriver
-                .executeUniversalSelection(prototype.getPrimaryKeyValueMap());
+            Prototype<?> prototype = prototypes.get(i);
+            List<Map<String, ?>> rows = results.get(i);
 
+            if (rows.isEmpty()) {
+
+                throw new DBSerializationException("Could not find instance "
+                        + "of class " + prototype.getType()
+                        + " with primary keys "
+                        + prototype.getPrimaryKeyValueMap() + "!");
+            }
+
+            elementPropertyPrototypes.addAll(this.performBasicDeserialization(
+                    prototype, info, rows.get(0)));
+        }
 
+        return elementPropertyPrototypes;
+    }
 
-        Map<String, ?> propertyValueMap = null;
 
-        propertyValueMap = this.databaseDriver.convertSingleResult(results,
-                String.class);
+    private <T> List<Prototype<?>> performBasicDeserialization(
+            Prototype<T> prototype, DBSerializationInfo info,
+            Map<String, ?> propertyValueMap)
+            throws DBSerializationException {
 
-        this.databaseDriver.closePreparedStatement();
         System.out.println("Property map: " + propertyValueMap);
 
         Object[] initargs = this.assembleConstructorParameters(info,
@@ -1014,31 +1137,34 @@ public class DBSerializer {
 
 
     private List<Prototype<?>> performComplexDeserialization(
-            Prototype<?> prototype)
+            List<Prototype<?>> prototypes)
             throws DBSerializationException {
 
         DBSerializationInfo info = this.parser
-                .getSerializationInformation(prototype.getType());
+                .getSerializationInformation(prototypes.get(0).getType());
 
-        System.out.println("\n\nComplex Deserialization for class "
-                + prototype.getType());
+        System.out.println("\n\nComplex Deserialization of "
+                + prototypes.size() + " instances of class "
+                + prototypes.get(0).getType());
 
 
-        List<Prototype<?>> elementListPropertyPrototypes = new LinkedList<>();
+        List<Prototype<?>> elementListPropertyPrototypes = new ArrayList<>();
 
-        Map<String, ?> keyValueMap = prototype.getPrimaryKeyValueMap();
+        List<Map<String, ?>> keyValueMaps = this
+                .getPrimaryKeyValueMaps(prototypes);
 
         System.out.println("\tValueListTypes");
         for (ListPropertyInfo valueListProperty : info
                 .getValueTypeListProperties()) {
 
-            List<Map<String, ?>> results = this.retrieveListElements(
-                    valueListProperty, keyValueMap);
+            List<List<Map<String, ?>>> results = this.retrieveListElements(
+                    valueListProperty, keyValueMaps);
 
-            // System.out.println("Ruh roh!");
-            this.setValueList(valueListProperty,
-                    prototype.getDeserializedObject(), results);
+            for (int i = 0; i < prototypes.size(); i++) {
 
+                this.setValueList(valueListProperty, prototypes.get(i)
+                        .getDeserializedObject(), results.get(i));
+            }
         }
 
 
@@ -1046,66 +1172,80 @@ public class DBSerializer {
         for (ListPropertyInfo elementListProperty : info
                 .getElementTypeListProperties()) {
 
-            List<Map<String, ?>> results = this.retrieveListElements(
-                    elementListProperty, keyValueMap);
+            List<List<Map<String, ?>>> results = this.retrieveListElements(
+                    elementListProperty, keyValueMaps);
+
+            for (int i = 0; i < prototypes.size(); i++) {
+
+                Prototype<?> prototype = prototypes.get(i);
 
-            System.out.println("RetrievedListElements: " + results);
-            // System.out.println("Rah roh!");
-            List<Prototype<?>> elementPrototypes = this
-                    .createPrototypesForListProperty(elementListProperty,
-                            prototype.getDeserializedObject(), results);
-            elementListPropertyPrototypes.addAll(elementPrototypes);
+                List<Prototype<?>> elementPrototypes = this
+                        .createPrototypesForListProperty(elementListProperty,
+                                prototype.getDeserializedObject(),
+                                results.get(i));
+                elementListPropertyPrototypes.addAll(elementPrototypes);
 
 
-            prototype.addElementListPrototypes(elementListProperty,
-                    elementPrototypes);
+                prototype.addElementListPrototypes(elementListProperty,
+                        elementPrototypes);
+            }
         }
 
 
         return elementListPropertyPrototypes;
     }
 
-    private List<Map<String, ?>> retrieveListElements(
-            ListPropertyInfo listProperty, Map<String, ?> keyValueMap)
-            throws DBSerializationException {
+    private List<Map<String, ?>> getPrimaryKeyValueMaps(
+            List<Prototype<?>> prototypes) {
 
-        Map<String, ?> aliasedPrimaryKeys = listProperty
-                .aliasContainerClassKeyValueMap(keyValueMap);
+        List<Map<String, ?>> keyValueMaps = new ArrayList<>(prototypes.size());
 
+        for (Prototype<?> prototype : prototypes) {
 
-        this.databaseDriver.prepareUniversalSelection(listProperty
-                .getTableName(), new LinkedHashSet<>(listProperty
-                .getContainerClassAliasMap().values()));
+            keyValueMaps.add(prototype.getPrimaryKeyValueMap());
+        }
 
-        // System.out.println("\t\t" + query);
-        ResultSet resultsSet = this.databaseDriver
-                .executeUniversalSelection(aliasedPrimaryKeys);
+        return keyValueMaps;
+    }
 
-        List<Map<String, ?>> results = this.databaseDriver.convertResultSet(
-                resultsSet, String.class);
+    private List<List<Map<String, ?>>> retrieveListElements(
+            ListPropertyInfo listProperty, List<Map<String, ?>> keyValueMaps)
+            throws DBSerializationException {
 
-        this.databaseDriver.closePreparedQuery();
-        // System.out.println("\t\tResults: " + results);
-        List<Map<String, ?>> dealiasedResults = new LinkedList<>();
-        for (Map<String, ?> result : results) {
+        List<Map<String, ?>> aliasedPrimaryKeys = new ArrayList<>(
+                keyValueMaps.size());
 
-            // System.out.println("\t\tSerialized element of type "
-            // + listProperty.getListType() + ":");
+        for (Map<String, ?> keyValueMap : keyValueMaps) {
+
+            aliasedPrimaryKeys.add(listProperty
+                    .aliasContainerClassKeyValueMap(keyValueMap));
+        }
 
-            Map<String, Object> dealiasedResult = new LinkedHashMap<>();
+        List<List<Map<String, ?>>> results = this.databaseDriver
+                .selectByKeys(listProperty.getTableName(), new LinkedHashSet<>(
+                        listProperty.getContainerClassAliasMap().values()),
+                        aliasedPrimaryKeys);
 
-            for (String key : listProperty.getListTypeAliasMap().keySet()) {
+        List<List<Map<String, ?>>> dealiasedResults = new ArrayList<>(
+                results.size());
 
-                String aliasedKey = listProperty.getAliasForListTypeKey(key);
-                Object value = result.get(aliasedKey);
+        for (List<Map<String, ?>> rows : results) {
 
-                // System.out.println("\t\t\t" + key + ":" + aliasedKey + ": "
-                // + value);
+            List<Map<String, ?>> dealiasedRows = new LinkedList<>();
 
-                dealiasedResult.put(key, value);
+            for (Map<String, ?> row : rows) {
 
+                Map<String, Object> dealiasedRow = new LinkedHashMap<>();
+
+                for (String key : listProperty.getListTypeAliasMap().keySet()) {
+
+                    String aliasedKey = listProperty.getAliasForListTypeKey(key);
+
+                    dealiasedRow.put(key, row.get(aliasedKey));
+                }
+                dealiasedRows.add(dealiasedRow);
             }
-            dealiasedResults.add(dealiasedResult);
+            dealiasedResults.add(dealiasedRows);
         }
 
         return dealiasedResults;
@@ -17,20 +17,81 @@ package org.jutility.io.database;
  */
 
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 
 /**
+ * The {@code DBUtils} class generates the SQL text of statements and queries.
+ * <p>
+ * The SQL text of prepared statements only depends on the operation, the
+ * database, the table, and the ordered key columns. It is therefore generated
+ * once per statement shape and memoized as a {@link SqlTemplate}, which also
+ * records the key bound to each parameter.
+ * </p>
+ *
  * @author Peter J. Radics
- * @version 0.1.0
+ * @version 0.1.6
  * @since 0.1.0
  */
 public class DBUtils {
 
+    /**
+     * The maximum number of memoized templates. The cache is emptied once it
+     * is full.
+     */
+    public static final int TEMPLATE_CACHE_CAPACITY = 1024;
+
+    /**
+     * The name of the column holding the index of the key tuple a row of an
+     * existence or {@code SELECT *} query by key tuples matched (see
+     * {@link #existenceTemplate(String, String, Set, int)}).
+     */
+    public static final String TUPLE_INDEX = "tuple_index";
+
+
+    private static final ConcurrentMap<List<Object>, SqlTemplate> TEMPLATES =
+            new ConcurrentHashMap<>();
+
+
+    private enum Operation {
+        INSERT, SELECT_ALL, SELECT, SELECT_IN, UPDATE, DELETE, DUPLICATE,
+        EXISTENCE
+    }
+
+
+    /**
+     * Returns the memoized {@link SqlTemplate} of an {@code INSERT} statement
+     * for a key {@link Set}.
+     *
+     * @param database
+     *         the database.
+     * @param table
+     *         the table.
+     * @param keySet
+     *         the key {@link Set}.
+     *
+     * @return the {@code INSERT} template.
+     */
+    public static SqlTemplate insertTemplate(String database, String table,
+            Set<String> keySet) {
+
+        return DBUtils.template(DBUtils.shape(Operation.INSERT, database,
+                table, keySet), () -> new SqlTemplate(
+                DBUtils.createInsertStatement(database, table,
+                        DBUtils.keySetToKeyMap(keySet), true),
+                DBUtils.parameters(keySet)));
+    }
+
 
     /**
      * Prepares an {@code INSERT} statement for a key {@link Set}.
@@ -47,8 +108,8 @@ public class DBUtils {
     public static String prepareInsertStatement(String database, String table,
             Set<String> keySet) {
 
-        return DBUtils.createInsertStatement(database, table,
-                DBUtils.keySetToKeyMap(keySet), true);
+        return DBUtils.insertTemplate(database, table, keySet)
+                .getSql();
     }
 
     /**
@@ -110,7 +171,14 @@ public class DBUtils {
             j++;
         }
 
-        query.append(");");
+        query.append(")");
+
+        // Prepared statements omit the terminator so that the driver can
+        // rewrite batches into multi-row statements.
+        if (!prepareStatement) {
+
+            query.append(";");
+        }
 
         System.out.println("Insert query generated: " + query.toString());
 
@@ -118,6 +186,30 @@ public class DBUtils {
     }
 
 
+    /**
+     * Returns the memoized {@link SqlTemplate} of a {@code SELECT *} query for
+     * a {@link Set} of key columns.
+     *
+     * @param database
+     *         the database.
+     * @param table
+     *         the table.
+     * @param keyColumns
+     *         the {@link Set} of key columns (may be {@code null}).
+     *
+     * @return the {@code SELECT *} template.
+     */
+    public static SqlTemplate selectAllTemplate(String database, String table,
+            Set<String> keyColumns) {
+
+        return DBUtils.template(DBUtils.shape(Operation.SELECT_ALL, database,
+                table, keyColumns), () -> new SqlTemplate(
+                DBUtils.createSelectQuery(database, table, null,
+                        DBUtils.keySetToKeyMap(keyColumns), true),
+                DBUtils.parameters(keyColumns)));
+    }
+
+
     /**
      * Prepares a {@code SELECT *} statement for a {@link Set} of key columns.
      *
@@ -133,8 +225,8 @@ public class DBUtils {
     public static String prepareSelectAllQuery(String database, String table,
             Set<String> keyColumns) {
 
-        return DBUtils.createSelectQuery(database, table, null,
-                DBUtils.keySetToKeyMap(keyColumns), true);
+        return DBUtils.selectAllTemplate(database, table, keyColumns)
+                .getSql();
     }
 
     /**
@@ -156,25 +248,52 @@ public class DBUtils {
     }
 
     /**
-     * Prepares a {@code UPDATE} statement for a {@link Set} of key columns and
-     * a {@link Set} of value columns.
+     * Returns the memoized {@link SqlTemplate} of a {@code SELECT} query for a
+     * {@link Set} of value columns and a {@link Set} of key columns.
      *
      * @param database
      *         the database.
      * @param table
      *         the table.
+     * @param valueColumns
+     *         the {@link Set} of value columns.
      * @param keyColumns
      *         the {@link Set} of key columns.
+     *
+     * @return the {@code SELECT} template.
+     */
+    public static SqlTemplate selectTemplate(String database, String table,
+            Set<String> valueColumns, Set<String> keyColumns) {
+
+        return DBUtils.template(DBUtils.shape(Operation.SELECT, database,
+                table, valueColumns, keyColumns), () -> new SqlTemplate(
+                DBUtils.createSelectQuery(database, table, valueColumns,
+                        DBUtils.keySetToKeyMap(keyColumns), true),
+                DBUtils.parameters(keyColumns)));
+    }
+
+
+    /**
+     * Prepares a {@code SELECT} query for a {@link Set} of value columns and a
+     * {@link Set} of key columns.
+     *
+     * @param database
+     *         the database.
+     * @param table
+     *         the table.
      * @param valueColumns
      *         the {@link Set} of value columns.
+     * @param keyColumns
+     *         the {@link Set} of key columns.
      *
-     * @return a {@code UPDATE} statement.
+     * @return a {@code SELECT} query.
      */
     public static String prepareSelectQuery(String database, String table,
             Set<String> valueColumns, Set<String> keyColumns) {
 
-        return DBUtils.createSelectQuery(database, table, valueColumns,
-                DBUtils.keySetToKeyMap(keyColumns), false);
+        return DBUtils.selectTemplate(database, table, valueColumns,
+                keyColumns)
+                .getSql();
     }
 
 
@@ -240,6 +359,34 @@ public class DBUtils {
     }
 
 
+    /**
+     * Returns the memoized {@link SqlTemplate} of an {@code UPDATE} statement
+     * for a {@link Set} of key columns and a {@link Set} of value columns. The
+     * value columns are bound before the key columns.
+     *
+     * @param database
+     *         the database.
+     * @param table
+     *         the table.
+     * @param keyColumns
+     *         the {@link Set} of key columns.
+     * @param valueColumns
+     *         the {@link Set} of value columns.
+     *
+     * @return the {@code UPDATE} template.
+     */
+    public static SqlTemplate updateTemplate(String database, String table,
+            Set<String> keyColumns, Set<String> valueColumns) {
+
+        return DBUtils.template(DBUtils.shape(Operation.UPDATE, database,
+                table, keyColumns, valueColumns), () -> new SqlTemplate(
+                DBUtils.createUpdateStatement(database, table,
+                        DBUtils.keySetToKeyMap(keyColumns),
+                        DBUtils.keySetToKeyMap(valueColumns), true),
+                DBUtils.parameters(valueColumns, keyColumns)));
+    }
+
+
     /**
      * Prepares a {@code UPDATE} statement for a {@link Set} of key columns and
      * a {@link Set} of value columns.
@@ -258,9 +405,9 @@ public class DBUtils {
     public static String prepareUpdateStatement(String database, String table,
             Set<String> keyColumns, Set<String> valueColumns) {
 
-        return DBUtils.createUpdateStatement(database, table,
-                DBUtils.keySetToKeyMap(keyColumns),
-                DBUtils.keySetToKeyMap(valueColumns), true);
+        return DBUtils.updateTemplate(database, table, keyColumns,
+                valueColumns)
+                .getSql();
     }
 
 
@@ -303,7 +450,10 @@ public class DBUtils {
 
         query.append(DBUtils.createWhereStatement(keyMap, prepareStatement));
 
-        query.append(";");
+        if (!prepareStatement) {
+
+            query.append(";");
+        }
 
         System.out.println("Update query generated: " + query.toString());
 
@@ -311,6 +461,30 @@ public class DBUtils {
     }
 
 
+    /**
+     * Returns the memoized {@link SqlTemplate} of a {@code DELETE} statement
+     * for a key {@link Set}.
+     *
+     * @param database
+     *         the database.
+     * @param table
+     *         the table.
+     * @param keySet
+     *         the key {@link Set}.
+     *
+     * @return the {@code DELETE} template.
+     */
+    public static SqlTemplate deleteTemplate(String database, String table,
+            Set<String> keySet) {
+
+        return DBUtils.template(DBUtils.shape(Operation.DELETE, database,
+                table, keySet), () -> new SqlTemplate(
+                DBUtils.createDeleteStatement(database, table,
+                        DBUtils.keySetToKeyMap(keySet), true),
+                DBUtils.parameters(keySet)));
+    }
+
+
     /**
      * Prepares a {@code DELETE} statement for a key {@link Set}.
      *
@@ -326,8 +500,8 @@ public class DBUtils {
     public static String prepareDeleteStatement(String database, String table,
             Set<String> keySet) {
 
-        return DBUtils.createDeleteStatement(database, table,
-                DBUtils.keySetToKeyMap(keySet), true);
+        return DBUtils.deleteTemplate(database, table, keySet)
+                .getSql();
     }
 
 
@@ -365,7 +539,10 @@ public class DBUtils {
 
         query.append(DBUtils.createWhereStatement(keyMap, prepareStatement));
 
-        query.append(";");
+        if (!prepareStatement) {
+
+            query.append(";");
+        }
 
         System.out.println("Delete query generated: " + query.toString());
         return query.toString();
@@ -492,6 +669,29 @@ public class DBUtils {
     }
 
 
+    /**
+     * Returns the memoized {@link SqlTemplate} of a duplicate check query.
+     *
+     * @param database
+     *         the database.
+     * @param table
+     *         the table.
+     * @param keyColumns
+     *         the key columns.
+     *
+     * @return the duplicate query template.
+     */
+    public static SqlTemplate duplicateTemplate(String database, String table,
+            Set<String> keyColumns) {
+
+        return DBUtils.template(DBUtils.shape(Operation.DUPLICATE, database,
+                table, keyColumns), () -> new SqlTemplate(
+                DBUtils.createDuplicateQuery(database, table,
+                        DBUtils.keySetToKeyMap(keyColumns), true),
+                DBUtils.parameters(keyColumns)));
+    }
+
+
     /**
      * Prepares a duplicate check query.
      *
@@ -507,8 +707,8 @@ public class DBUtils {
     public static String prepareDuplicateQuery(String database, String table,
             Set<String> keyColumns) {
 
-        return DBUtils.createDuplicateQuery(database, table,
-                DBUtils.keySetToKeyMap(keyColumns), true);
+        return DBUtils.duplicateTemplate(database, table, keyColumns)
+                .getSql();
     }
 
 
@@ -547,6 +747,266 @@ public class DBUtils {
     }
 
 
+    /**
+     * Returns the memoized {@link SqlTemplate} of an existence query (see
+     * {@link #prepareExistenceQuery(String, String, Set, int)}). The
+     * {@link #TUPLE_INDEX tuple index} and the key columns are bound once per
+     * key tuple.
+     *
+     * @param database
+     *         the database.
+     * @param table
+     *         the table.
+     * @param keyColumns
+     *         the key columns.
+     * @param tuples
+     *         the number of key tuples.
+     *
+     * @return the existence query template.
+     */
+    public static SqlTemplate existenceTemplate(String database, String table,
+            Set<String> keyColumns, int tuples) {
+
+        return DBUtils.tupleTemplate(Operation.EXISTENCE, database, table,
+                keyColumns, tuples);
+    }
+
+
+    /**
+     * Returns the memoized {@link SqlTemplate} of a {@code SELECT *} query
+     * that selects all rows whose keys match one of a number of key tuples,
+     * preceded by the {@link #TUPLE_INDEX index} of the tuple they matched.
+     * The tuples are joined with the table, i.e., {@code SELECT
+     * tuples.tuple_index, t.* FROM (SELECT ? AS tuple_index, ? AS k1 UNION
+     * ALL SELECT ?, ? ...) AS tuples JOIN t ON t.k1 = tuples.k1}, so that
+     * keys are compared by the database. The tuple index and the key columns
+     * are bound once per key tuple.
+     *
+     * @param database
+     *         the database.
+     * @param table
+     *         the table.
+     * @param keyColumns
+     *         the key columns.
+     * @param tuples
+     *         the number of key tuples.
+     *
+     * @return the {@code SELECT *} template.
+     */
+    public static SqlTemplate selectInTemplate(String database, String table,
+            Set<String> keyColumns, int tuples) {
+
+        return DBUtils.tupleTemplate(Operation.SELECT_IN, database, table,
+                keyColumns, tuples);
+    }
+
+
+    private static SqlTemplate tupleTemplate(Operation operation,
+            String database, String table, Set<String> keyColumns, int tuples) {
+
+        if (keyColumns == null || keyColumns.isEmpty()) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create tuple query without key columns!");
+        }
+        if (tuples < 1) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create tuple query without key tuples!");
+        }
+
+        return DBUtils.template(DBUtils.shape(operation, database, table,
+                keyColumns, tuples), () -> {
+
+            String[] tuple = DBUtils.parameters(
+                    Collections.singleton(TUPLE_INDEX), keyColumns);
+            String[] parameters = new String[tuple.length * tuples];
+
+            for (int i = 0; i < tuples; i++) {
+
+                System.arraycopy(tuple, 0, parameters, i * tuple.length,
+                        tuple.length);
+            }
+
+            return new SqlTemplate(DBUtils.createTupleQuery(database, table,
+                    keyColumns, tuples, operation == Operation.SELECT_IN),
+                    parameters);
+        });
+    }
+
+
+    /**
+     * Prepares an existence query that selects the distinct
+     * {@link #TUPLE_INDEX indices} of the key tuples that match a row, i.e.,
+     * {@code SELECT DISTINCT tuples.tuple_index FROM (SELECT ? AS tuple_index,
+     * ? AS k1 UNION ALL SELECT ?, ? ...) AS tuples JOIN t ON t.k1 =
+     * tuples.k1}. As the database compares the keys, they match exactly as
+     * they would in any other query (e.g., with respect to collations and
+     * column types).
+     *
+     * @param database
+     *         the database.
+     * @param table
+     *         the table.
+     * @param keyColumns
+     *         the key columns.
+     * @param tuples
+     *         the number of key tuples.
+     *
+     * @return the existence query.
+     */
+    public static String prepareExistenceQuery(String database, String table,
+            Set<String> keyColumns, int tuples) {
+
+        return DBUtils.existenceTemplate(database, table, keyColumns, tuples)
+                .getSql();
+    }
+
+
+    private static String createTupleQuery(String database, String table,
+            Set<String> keyColumns, int tuples, boolean selectAll) {
+
+        StringBuilder query = new StringBuilder();
+
+        query.append(selectAll ? "SELECT tuples." : "SELECT DISTINCT tuples.")
+                .append(TUPLE_INDEX)
+                .append(selectAll ? ", t.*" : "")
+                .append(" FROM (");
+
+        for (int i = 0; i < tuples; i++) {
+
+            query.append(i == 0 ? "SELECT ?" : " UNION ALL SELECT ?");
+
+            if (i == 0) {
+
+                query.append(" AS ")
+                        .append(TUPLE_INDEX);
+            }
+
+            for (String key : keyColumns) {
+
+                query.append(", ?");
+
+                if (i == 0) {
+
+                    query.append(" AS ")
+                            .append(key);
+                }
+            }
+        }
+
+        query.append(") AS tuples JOIN `")
+                .append(database)
+                .append("`.`")
+                .append(table)
+                .append("` AS t ON ");
+
+        String separator = "";
+
+        for (String key : keyColumns) {
+
+            query.append(separator)
+                    .append("t.")
+                    .append(key)
+                    .append(" = tuples.")
+                    .append(key);
+            separator = " AND ";
+        }
+
+        return query.toString();
+    }
+
+
+    /**
+     * Returns the number of memoized templates.
+     *
+     * @return the number of memoized templates.
+     */
+    public static int getTemplateCacheSize() {
+
+        return DBUtils.TEMPLATES.size();
+    }
+
+
+    /**
+     * Removes all memoized templates.
+     */
+    public static void clearTemplateCache() {
+
+        DBUtils.TEMPLATES.clear();
+    }
+
+
+    private static SqlTemplate template(List<Object> shape,
+            Supplier<SqlTemplate> generator) {
+
+        SqlTemplate template = DBUtils.TEMPLATES.get(shape);
+
+        if (template == null) {
+
+            template = generator.get();
+
+            if (DBUtils.TEMPLATES.size() >= TEMPLATE_CACHE_CAPACITY) {
+
+                DBUtils.TEMPLATES.clear();
+            }
+
+            SqlTemplate previous = DBUtils.TEMPLATES.putIfAbsent(shape,
+                    template);
+
+            if (previous != null) {
+
+                template = previous;
+            }
+        }
+
+        return template;
+    }
+
+
+    private static List<Object> shape(Operation operation, String database,
+            String table, Object... columns) {
+
+        List<Object> shape = new ArrayList<>(columns.length + 3);
+
+        shape.add(operation);
+        shape.add(database);
+        shape.add(table);
+
+        for (Object column : columns) {
+
+            // Copy the key sets, as their ordering determines the template.
+            if (column instanceof Collection<?>) {
+
+                shape.add(new ArrayList<>((Collection<?>) column));
+            }
+            else {
+
+                shape.add(column);
+            }
+        }
+
+        return shape;
+    }
+
+
+    @SafeVarargs
+    private static String[] parameters(Collection<String>... keySets) {
+
+        List<String> parameters = new ArrayList<>();
+
+        for (Collection<String> keySet : keySets) {
+
+            if (keySet != null) {
+
+                parameters.addAll(keySet);
+            }
+        }
+
+        return parameters.toArray(new String[parameters.size()]);
+    }
+
+
     /**
      * Converts a {@link Set} of keys into an equivalent {@link Map} with
      * {@code null} values.
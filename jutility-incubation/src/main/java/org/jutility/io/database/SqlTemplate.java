@@ -0,0 +1,136 @@
+package org.jutility.io.database;
+
+/*
+ * #%L
+ * jutility-incubation
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The {@code SqlTemplate} class holds the SQL text of a prepared statement
+ * together with the key bound to each of its parameters.
+ * <p>
+ * Templates are immutable and are shared between all callers preparing a
+ * statement of the same shape (see {@link DBUtils}).
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class SqlTemplate {
+
+    private final String       sql;
+    private final String[]     parameters;
+    private final List<String> parameterList;
+
+
+    /**
+     * Creates a new instance of the {@code SqlTemplate} class.
+     *
+     * @param sql
+     *            the SQL text.
+     * @param parameters
+     *            the keys bound to the parameters, in parameter order.
+     */
+    SqlTemplate(String sql, String... parameters) {
+
+        this.sql = sql;
+        this.parameters = parameters.clone();
+        this.parameterList = Collections.unmodifiableList(Arrays
+                .asList(this.parameters));
+    }
+
+
+    /**
+     * Returns the SQL text.
+     *
+     * @return the SQL text.
+     */
+    public String getSql() {
+
+        return this.sql;
+    }
+
+
+    /**
+     * Returns the number of parameters.
+     *
+     * @return the number of parameters.
+     */
+    public int getParameterCount() {
+
+        return this.parameters.length;
+    }
+
+
+    /**
+     * Returns the keys bound to the parameters, in parameter order. A key is
+     * listed once for every parameter it is bound to.
+     *
+     * @return an unmodifiable {@link List} of keys.
+     */
+    public List<String> getParameters() {
+
+        return this.parameterList;
+    }
+
+
+    /**
+     * Binds the values of the provided value map to the parameters of a
+     * statement prepared from this template. Enum values are bound by their
+     * string representation.
+     *
+     * @param statement
+     *            the prepared statement.
+     * @param valueMap
+     *            the value map.
+     * @throws SQLException
+     *             if binding a value fails.
+     */
+    public void bind(PreparedStatement statement, Map<String, ?> valueMap)
+            throws SQLException {
+
+        for (int i = 0; i < this.parameters.length; i++) {
+
+            Object value = valueMap.get(this.parameters[i]);
+
+            if (value instanceof Enum) {
+
+                value = value.toString();
+            }
+
+            statement.setObject(i + 1, value);
+        }
+    }
+
+
+    @Override
+    public String toString() {
+
+        return this.sql + " with parameters: " + this.parameterList;
+    }
+}
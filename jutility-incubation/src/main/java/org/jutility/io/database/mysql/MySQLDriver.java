@@ -25,16 +25,26 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.jutility.io.database.DBUtils;
 import org.jutility.io.database.ISQLPrivileges;
+import org.jutility.io.database.SqlTemplate;
 
 
 /**
+ * A {@code MySQLDriver} is a session on a single database connection, holding
+ * the connection's current statement, prepared statement, and result set.
+ * Sessions are not thread-safe; concurrent users should each own a session
+ * (e.g., on a connection borrowed from a
+ * {@link org.jutility.io.database.ConnectionPool ConnectionPool}) rather than
+ * share the {@link #instance() singleton}.
+ *
  * @author Peter J. Radics
  * @version 1.0
  * @since 1.0
@@ -42,6 +52,18 @@ import org.jutility.io.database.ISQLPrivileges;
  */
 public final class MySQLDriver {
 
+    /**
+     * The default number of statements that are accumulated before a batch is
+     * sent to the server.
+     */
+    public static final int    DEFAULT_BATCH_SIZE         = 1000;
+
+    /**
+     * The maximum number of key tuples per existence query or selection by
+     * keys.
+     */
+    public static final int    EXISTENCE_CHECK_CHUNK_SIZE = 500;
+
     private static MySQLDriver instance;
 
     /**
@@ -49,30 +71,74 @@ public final class MySQLDriver {
      * @throws ClassNotFoundException
      *             if the MySQL driver is not found.
      */
-    public static MySQLDriver instance()
+    public static synchronized MySQLDriver instance()
             throws ClassNotFoundException {
 
         if (instance == null) {
+
+            MySQLDriver.loadDriver();
             instance = new MySQLDriver();
         }
 
         return instance;
     }
 
-
-    private Connection        connection              = null;
-    private Statement         statement               = null;
-    private PreparedStatement preparedStatement       = null;
-    private Set<String>       preparedStatementKeySet = null;
-    private ResultSet         resultSet               = null;
-
-    private MySQLDriver()
+    /**
+     * Loads the MySQL JDBC driver.
+     *
+     * @throws ClassNotFoundException
+     *             if the MySQL driver is not found.
+     */
+    public static void loadDriver()
             throws ClassNotFoundException {
 
-        // System.out.println("Trying to load jdbc driver.");
         // This will load the MySQL driver.
         Class.forName("com.mysql.jdbc.Driver");
+    }
+
+    /**
+     * Returns the JDBC URL of a database server and schema.
+     *
+     * @param url
+     *            the host (and port) of the database server.
+     * @param schema
+     *            the schema (may be {@code null}).
+     * @return the JDBC URL.
+     */
+    public static String url(String url, String schema) {
+
+        String uri = "jdbc:mysql://" + url;
+        if (schema != null) {
+
+            uri += "/" + schema;
+        }
 
+        // Server-side prepared statements make reusing the cached statements
+        // skip parsing and planning on the server as well.
+        return uri + "?rewriteBatchedStatements=true&useServerPrepStmts=true";
+    }
+
+
+    private Connection        connection                = null;
+    private Statement         statement                 = null;
+    private PreparedStatement preparedStatement         = null;
+    private SqlTemplate       preparedStatementTemplate = null;
+    private ResultSet         resultSet                 = null;
+    private int               batchSize                 = DEFAULT_BATCH_SIZE;
+    private int               batchedStatements         = 0;
+
+    private final StatementCache sessionStatementCache = new StatementCache();
+    private StatementCache       statementCache;
+
+    /**
+     * Creates a new, unconnected session. The MySQL JDBC driver needs to be
+     * {@link #loadDriver() loaded} before connecting to a database server by
+     * URL.
+     */
+    public MySQLDriver() {
+
+        // Sessions are connected explicitly.
+        this.statementCache = this.sessionStatementCache;
     }
 
     /**
@@ -86,13 +152,163 @@ public final class MySQLDriver {
             String password)
             throws SQLException {
 
-        String uri = "jdbc:mysql://" + url;
-        if (schema != null) {
+        this.useConnection(DriverManager.getConnection(
+                MySQLDriver.url(url, schema), username, password),
+                this.sessionStatementCache);
+    }
 
-            uri += "/" + schema;
+    /**
+     * Uses the provided, already established connection (e.g., a connection
+     * to an in-process database).
+     *
+     * @param connection
+     *            the connection.
+     * @throws SQLException
+     *             if closing the statements of the previous connection fails.
+     */
+    public void connect(Connection connection)
+            throws SQLException {
+
+        if (connection == null) {
+
+            throw new IllegalArgumentException("Cannot use null connection!");
+        }
+
+        this.useConnection(connection, this.sessionStatementCache);
+    }
+
+    /**
+     * Uses the provided, already established connection together with a
+     * cache of its prepared statements that outlives the session (e.g., the
+     * cache a {@link org.jutility.io.database.ConnectionPool ConnectionPool}
+     * keeps for each pooled connection). The statements in the cache stay open
+     * when the session is {@link #disconnect() disconnected}.
+     *
+     * @param connection
+     *            the connection.
+     * @param statementCache
+     *            the cache of the prepared statements of the connection.
+     * @throws SQLException
+     *             if closing the statements of the previous connection fails.
+     */
+    public void connect(Connection connection, StatementCache statementCache)
+            throws SQLException {
+
+        if (connection == null) {
+
+            throw new IllegalArgumentException("Cannot use null connection!");
+        }
+        if (statementCache == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot use null statement cache!");
+        }
+
+        this.useConnection(connection, statementCache);
+    }
+
+    private void useConnection(Connection connection,
+            StatementCache statementCache)
+            throws SQLException {
+
+        // The session's own cache only holds statements of its current
+        // connection.
+        this.sessionStatementCache.clear();
+        this.statementCache = statementCache;
+        this.connection = connection;
+    }
+
+    /**
+     * Detaches the session from its connection without closing the
+     * connection (e.g., to return it to a
+     * {@link org.jutility.io.database.ConnectionPool ConnectionPool}). Pending
+     * batches are executed and uncommitted transactions are committed. Cached
+     * statements are closed, as the connection may be used by another session
+     * once it is detached, unless they are kept in a cache that was
+     * {@link #connect(Connection, StatementCache) provided} with the
+     * connection.
+     * <p>
+     * The session is detached and its statements are closed even if this
+     * fails; the state of the connection is unknown in that case, so it
+     * should be closed rather than reused.
+     * </p>
+     *
+     * @return the detached connection, or {@code null} if the session was not
+     *         connected.
+     * @throws SQLException
+     *             if executing pending statements, closing a statement, or
+     *             committing fails.
+     */
+    public Connection disconnect()
+            throws SQLException {
+
+        Connection detached = this.connection;
+        boolean cleanedUp = false;
+
+        try {
+
+            this.closePreparedStatement();
+            this.sessionStatementCache.clear();
+
+            if (resultSet != null) {
+                resultSet.close();
+                resultSet = null;
+            }
+
+            if (statement != null) {
+                statement.close();
+                statement = null;
+            }
+
+            if (detached != null && !detached.getAutoCommit()) {
+                detached.commit();
+            }
+            cleanedUp = true;
+        }
+        finally {
+
+            this.connection = null;
+
+            if (!cleanedUp) {
+
+                this.closeStatementsQuietly();
+            }
+            this.statementCache = this.sessionStatementCache;
+        }
+
+        return detached;
+    }
+
+    private void closeStatementsQuietly() {
+
+        try {
+
+            this.statementCache.clear();
+        }
+        catch (SQLException e) {
+
+            // The connection is discarded after a failed clean-up.
+        }
+
+        if (resultSet != null) {
+            try {
+                resultSet.close();
+            }
+            catch (SQLException e) {
+                // The connection is discarded after a failed clean-up.
+            }
+            resultSet = null;
         }
-        this.connection = DriverManager.getConnection(uri, username, password);
 
+        if (statement != null) {
+            try {
+                statement.close();
+            }
+            catch (SQLException e) {
+                // The connection is discarded after a failed clean-up.
+            }
+            statement = null;
+        }
     }
 
     /**
@@ -109,12 +325,56 @@ public final class MySQLDriver {
     }
 
 
+    /**
+     * Returns the number of statements that are accumulated before a batch is
+     * sent to the server.
+     *
+     * @return the batch size.
+     */
+    public int getBatchSize() {
+
+        return this.batchSize;
+    }
+
+    /**
+     * Sets the number of statements that are accumulated before a batch is
+     * sent to the server.
+     *
+     * @param batchSize
+     *            the batch size.
+     */
+    public void setBatchSize(int batchSize) {
+
+        if (batchSize < 1) {
+
+            throw new IllegalArgumentException(
+                    "Batch size must be positive!");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the cache of the prepared statements of the current connection,
+     * i.e., the cache {@link #connect(Connection, StatementCache) provided}
+     * with the connection or the session's own cache.
+     *
+     * @return the statement cache.
+     */
+    public StatementCache getStatementCache() {
+
+        return this.statementCache;
+    }
+
     /**
      * @throws SQLException
      */
     public void close()
             throws SQLException {
 
+        this.closePreparedStatement();
+        this.statementCache.clear();
+
         if (resultSet != null) {
             resultSet.close();
             resultSet = null;
@@ -132,6 +392,7 @@ public final class MySQLDriver {
             connection.close();
             connection = null;
         }
+        this.statementCache = this.sessionStatementCache;
     }
 
     /**
@@ -537,34 +798,18 @@ public final class MySQLDriver {
 
 
 
-    private void prepareQuery(Set<String> keys, String query)
-            throws SQLException {
-
-        this.prepareStatement(keys, query, false);
-    }
-
-    private void prepareStatement(Set<String> keys, String query,
-            boolean returnKeys)
+    private void prepareStatement(SqlTemplate template, boolean returnKeys)
             throws SQLException {
 
         if (this.connection != null) {
 
-            this.preparedStatement = null;
-            System.out.println("Preparing Statement: " + query + " with keys: "
-                    + keys);
-            if (returnKeys) {
-
-                // System.out.println("With key retrieval");
-                this.preparedStatement = this.connection.prepareStatement(
-                        query, Statement.RETURN_GENERATED_KEYS);
-            }
-            else {
-                // System.out.println("Without key retrieval");
-                this.preparedStatement = this.connection
-                        .prepareStatement(query);
-            }
+            this.closePreparedStatement();
+            System.out.println("Preparing Statement: " + template);
 
-            this.preparedStatementKeySet = keys;
+            this.preparedStatement = this.statementCache.borrow(
+                    this.connection, template.getSql(),
+                    template.getParameters(), returnKeys);
+            this.preparedStatementTemplate = template;
         }
         else {
             throw new IllegalStateException(
@@ -590,33 +835,13 @@ public final class MySQLDriver {
             boolean returnGeneratedKeys)
             throws SQLException {
 
-        if (this.preparedStatement != null
-                && this.preparedStatementKeySet != null) {
+        if (this.preparedStatement != null) {
 
             System.out
                     .println("  Executing prepared statement with value map: "
                             + valueMap);
-            int i = 1;
-            for (String key : this.preparedStatementKeySet) {
-
-                Object value = valueMap.get(key);
-
-                // System.out.println("Setting value " + i + " to " + value);
-                // System.out.println("Value's class: " + value.getClass());
-                if (value == null) {
-
-                    this.preparedStatement.setObject(i, null);
-                }
-                else if (value.getClass().isEnum()) {
-
-                    this.preparedStatement.setObject(i, value.toString());
-                }
-                else {
-
-                    this.preparedStatement.setObject(i, value);
-                }
-                i++;
-            }
+            this.preparedStatementTemplate.bind(this.preparedStatement,
+                    valueMap);
             this.preparedStatement.executeUpdate();
 
             int autoIncKeyFromApi = -1;
@@ -643,17 +868,73 @@ public final class MySQLDriver {
 
     }
 
+    /**
+     * Adds the provided value map to the batch of the prepared statement. The
+     * batch is sent to the server once it reaches the {@link #getBatchSize()
+     * batch size}, and when the batch is {@link #executeBatch() executed} or
+     * the prepared statement is {@link #closePreparedStatement() closed}.
+     *
+     * @param valueMap
+     *            the value map.
+     * @throws SQLException
+     *             if adding the values or executing a full batch fails.
+     */
+    public void addBatch(Map<String, ?> valueMap)
+            throws SQLException {
+
+        if (this.preparedStatement != null) {
+
+            this.preparedStatementTemplate.bind(this.preparedStatement,
+                    valueMap);
+            this.preparedStatement.addBatch();
+            this.batchedStatements++;
+
+            if (this.batchedStatements >= this.batchSize) {
+
+                this.executeBatch();
+            }
+        }
+        else {
+            throw new IllegalStateException(
+                    "Trying to batch prepared statement that does not exist!");
+        }
+    }
+
+    /**
+     * Sends the pending batch of the prepared statement to the server.
+     *
+     * @return the number of pending statements that were executed.
+     * @throws SQLException
+     *             if the execution of the batch fails.
+     */
+    public int executeBatch()
+            throws SQLException {
+
+        int executed = this.batchedStatements;
+
+        if (executed > 0) {
+
+            this.batchedStatements = 0;
+            this.preparedStatement.executeBatch();
+        }
+
+        return executed;
+    }
+
     private ResultSet executePreparedQuery(Map<String, ?> valueMap)
             throws SQLException {
 
         if (this.preparedStatement != null) {
 
-            if (this.preparedStatementKeySet == null && valueMap != null) {
+            int parameters = this.preparedStatementTemplate
+                    .getParameterCount();
+
+            if (parameters == 0 && valueMap != null && !valueMap.isEmpty()) {
 
                 throw new SQLException("Trying to execute unchecked "
                         + "prepared query!");
             }
-            if (this.preparedStatementKeySet != null && valueMap == null) {
+            if (parameters > 0 && valueMap == null) {
 
                 throw new SQLException("No parameters provided for "
                         + "prepared query!");
@@ -662,24 +943,9 @@ public final class MySQLDriver {
             System.out.println("  Executing prepared query with value map: "
                     + valueMap);
             if (valueMap != null) {
-                int i = 1;
-                for (String key : this.preparedStatementKeySet) {
 
-                    Object value = valueMap.get(key);
-                    if (value == null) {
-
-                        this.preparedStatement.setObject(i, null);
-                    }
-                    else if (value.getClass().isEnum()) {
-
-                        this.preparedStatement.setObject(i, value.toString());
-                    }
-                    else {
-
-                        this.preparedStatement.setObject(i, value);
-                    }
-                    i++;
-                }
+                this.preparedStatementTemplate.bind(this.preparedStatement,
+                        valueMap);
             }
             return this.preparedStatement.executeQuery();
 
@@ -691,19 +957,43 @@ public final class MySQLDriver {
     }
 
     /**
-     * Closes the prepared statement.
+     * Closes the prepared statement after sending any pending batch to the
+     * server. The statement is returned to the {@link #getStatementCache()
+     * statement cache} for reuse; it is only closed if the pending batch
+     * fails.
      *
      * @throws SQLException
-     *             if closing the prepared statement fails.
+     *             if executing the pending batch or closing the prepared
+     *             statement fails.
      */
     public void closePreparedStatement()
             throws SQLException {
 
         if (this.preparedStatement != null) {
 
-            this.preparedStatement.close();
-            this.preparedStatement = null;
-            this.preparedStatementKeySet = null;
+            PreparedStatement statement = this.preparedStatement;
+            boolean executed = false;
+
+            try {
+
+                this.executeBatch();
+                executed = true;
+            }
+            finally {
+
+                this.batchedStatements = 0;
+                this.preparedStatement = null;
+                this.preparedStatementTemplate = null;
+
+                if (executed) {
+
+                    this.statementCache.release(statement);
+                }
+                else {
+
+                    this.statementCache.discard(statement);
+                }
+            }
         }
     }
 
@@ -768,8 +1058,8 @@ public final class MySQLDriver {
             Set<String> keys)
             throws SQLException {
 
-        this.prepareQuery(keys,
-                DBUtils.prepareDuplicateQuery(database, table, keys));
+        this.prepareStatement(
+                DBUtils.duplicateTemplate(database, table, keys), false);
     }
 
     /**
@@ -799,6 +1089,314 @@ public final class MySQLDriver {
         return exists;
     }
 
+    /**
+     * Determines for each of the provided key-value maps whether a row with
+     * matching keys exists in the database table. Instead of querying each
+     * key-value map separately, the distinct key tuples are checked in chunks
+     * of {@link #EXISTENCE_CHECK_CHUNK_SIZE} per query. The database matches
+     * the tuples against the table and returns the indices of the matching
+     * tuples, so keys compare as in any other query.
+     *
+     * @param database
+     *            the database.
+     * @param table
+     *            the table.
+     * @param keys
+     *            the key columns.
+     * @param keyValueMaps
+     *            the key-value maps.
+     * @return an array containing, at the index of each key-value map, whether
+     *         a matching row exists.
+     * @throws SQLException
+     *             if the query execution fails.
+     */
+    public boolean[] existenceCheck(String database, String table,
+            Set<String> keys, List<? extends Map<String, ?>> keyValueMaps)
+            throws SQLException {
+
+        if (this.connection == null) {
+
+            throw new IllegalStateException(
+                    "Trying to check existence without valid connection to "
+                            + "the server!");
+        }
+
+        List<List<Object>> distinctTuples = new ArrayList<>();
+        int[] tupleIndices = MySQLDriver.indexTuples(keys, keyValueMaps,
+                distinctTuples);
+        boolean[] matched = new boolean[distinctTuples.size()];
+
+        this.queryTuples(database, table, keys, distinctTuples, false,
+                result -> matched[result.getInt(1)] = true);
+
+        boolean[] exists = new boolean[tupleIndices.length];
+
+        for (int i = 0; i < exists.length; i++) {
+
+            exists[i] = tupleIndices[i] >= 0 && matched[tupleIndices[i]];
+        }
+
+        return exists;
+    }
+
+    /**
+     * Selects the rows matching each of the provided key-value maps from the
+     * database table. Instead of querying each key-value map separately, the
+     * distinct key tuples are selected in chunks of
+     * {@link #EXISTENCE_CHECK_CHUNK_SIZE} per query. The database matches
+     * the tuples against the table and returns each row with the index of
+     * the tuple it matched, so keys compare as in any other query.
+     *
+     * @param database
+     *            the database.
+     * @param table
+     *            the table.
+     * @param keys
+     *            the key columns.
+     * @param keyValueMaps
+     *            the key-value maps.
+     * @return a list containing, at the index of each key-value map, the
+     *         (possibly empty) list of matching rows.
+     * @throws SQLException
+     *             if the query execution fails.
+     */
+    public List<List<Map<String, ?>>> selectByKeys(String database,
+            String table, Set<String> keys,
+            List<? extends Map<String, ?>> keyValueMaps)
+            throws SQLException {
+
+        if (this.connection == null) {
+
+            throw new IllegalStateException(
+                    "Trying to select rows without valid connection to the "
+                            + "server!");
+        }
+
+        List<List<Object>> distinctTuples = new ArrayList<>();
+        int[] tupleIndices = MySQLDriver.indexTuples(keys, keyValueMaps,
+                distinctTuples);
+        List<List<Map<String, ?>>> rows = new ArrayList<>(
+                distinctTuples.size());
+
+        for (int i = 0; i < distinctTuples.size(); i++) {
+
+            rows.add(new ArrayList<>());
+        }
+
+        this.queryTuples(database, table, keys, distinctTuples, true,
+                result -> {
+
+                    ResultSetMetaData metaData = result.getMetaData();
+                    int columns = metaData.getColumnCount();
+                    Map<String, Object> row = new LinkedHashMap<>();
+
+                    // The first column holds the index of the tuple.
+                    for (int column = 2; column <= columns; column++) {
+
+                        row.put(metaData.getColumnName(column),
+                                result.getObject(column));
+                    }
+
+                    rows.get(result.getInt(1))
+                        .add(row);
+                });
+
+        List<List<Map<String, ?>>> selection = new ArrayList<>(
+                tupleIndices.length);
+
+        for (int tupleIndex : tupleIndices) {
+
+            selection.add(tupleIndex < 0 ? Collections.emptyList()
+                    : rows.get(tupleIndex));
+        }
+
+        return selection;
+    }
+
+    /**
+     * Queries the provided distinct key tuples in chunks of
+     * {@link #EXISTENCE_CHECK_CHUNK_SIZE}, passing each result row to the
+     * handler. The first column of each row holds the index of the tuple in
+     * the provided list that the row matched.
+     * <p>
+     * So that only a handful of statement shapes is prepared per table, each
+     * chunk is padded to a {@link #paddedSize(int) fixed size}. The padding
+     * tuples repeat the index of the first tuple of the chunk with {@code NULL}
+     * keys, which never match a row.
+     * </p>
+     */
+    private void queryTuples(String database, String table,
+            Set<String> keys, List<List<Object>> distinctTuples,
+            boolean selectAll, RowHandler handler)
+            throws SQLException {
+
+        for (int offset = 0; offset < distinctTuples.size();
+                offset += EXISTENCE_CHECK_CHUNK_SIZE) {
+
+            this.queryChunk(database, table, keys, distinctTuples.subList(
+                    offset, Math.min(offset + EXISTENCE_CHECK_CHUNK_SIZE,
+                            distinctTuples.size())), offset, selectAll,
+                    handler);
+        }
+    }
+
+    private void queryChunk(String database, String table, Set<String> keys,
+            List<List<Object>> tuples, int offset, boolean selectAll,
+            RowHandler handler)
+            throws SQLException {
+
+        int size = MySQLDriver.paddedSize(tuples.size());
+        SqlTemplate query = selectAll ? DBUtils.selectInTemplate(database,
+                table, keys, size) : DBUtils.existenceTemplate(database, table,
+                keys, size);
+
+        PreparedStatement chunkQuery = this.statementCache.borrow(
+                this.connection, query.getSql(), query.getParameters(), false);
+        boolean executed = false;
+
+        try {
+
+            int i = 1;
+            for (int index = 0; index < tuples.size(); index++) {
+
+                chunkQuery.setInt(i, offset + index);
+                i++;
+
+                for (Object value : tuples.get(index)) {
+
+                    chunkQuery.setObject(i, value);
+                    i++;
+                }
+            }
+            for (int index = tuples.size(); index < size; index++) {
+
+                chunkQuery.setInt(i, offset);
+                i++;
+
+                for (int key = 0; key < keys.size(); key++) {
+
+                    chunkQuery.setObject(i, null);
+                    i++;
+                }
+            }
+
+            try (ResultSet result = chunkQuery.executeQuery()) {
+
+                while (result.next()) {
+
+                    handler.handle(result);
+                }
+            }
+            executed = true;
+        }
+        finally {
+
+            if (executed) {
+
+                this.statementCache.release(chunkQuery);
+            }
+            else {
+
+                this.statementCache.discard(chunkQuery);
+            }
+        }
+    }
+
+    /**
+     * Rounds the number of tuples in a chunk up to the next power of two, or
+     * to the {@link #EXISTENCE_CHECK_CHUNK_SIZE chunk size} if that is
+     * smaller.
+     */
+    private static int paddedSize(int tuples) {
+
+        int size = Integer.highestOneBit(tuples);
+
+        if (size < tuples) {
+
+            size <<= 1;
+        }
+
+        return Math.min(size, EXISTENCE_CHECK_CHUNK_SIZE);
+    }
+
+    /**
+     * Collects the distinct key tuples of the provided key-value maps and
+     * returns, for each key-value map, the index of its tuple in the distinct
+     * tuples, or {@code -1} if any of its keys has no value.
+     */
+    private static int[] indexTuples(Set<String> keys,
+            List<? extends Map<String, ?>> keyValueMaps,
+            List<List<Object>> distinctTuples) {
+
+        Map<List<Object>, Integer> indices = new HashMap<>();
+        int[] tupleIndices = new int[keyValueMaps.size()];
+
+        for (int i = 0; i < tupleIndices.length; i++) {
+
+            List<Object> tuple = MySQLDriver.keyTuple(keys,
+                    keyValueMaps.get(i));
+
+            if (tuple == null) {
+
+                tupleIndices[i] = -1;
+            }
+            else {
+
+                tupleIndices[i] = indices.computeIfAbsent(tuple, key -> {
+
+                    distinctTuples.add(key);
+                    return distinctTuples.size() - 1;
+                });
+            }
+        }
+
+        return tupleIndices;
+    }
+
+    /**
+     * Returns the normalized values of the keys in the key-value map, or
+     * {@code null} if any of the keys has no value (and therefore cannot match
+     * a row).
+     */
+    private static List<Object> keyTuple(Set<String> keys,
+            Map<String, ?> keyValueMap) {
+
+        List<Object> tuple = new ArrayList<>(keys.size());
+
+        for (String key : keys) {
+
+            Object value = MySQLDriver.normalize(keyValueMap.get(key));
+
+            if (value == null) {
+
+                return null;
+            }
+            tuple.add(value);
+        }
+
+        return tuple;
+    }
+
+    /**
+     * Normalizes key values so that keys that are bound identically (e.g., an
+     * {@code Integer} and a {@code Long} of the same value) are only queried
+     * once. Matching the keys is left to the database.
+     */
+    private static Object normalize(Object value) {
+
+        if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+
+            return ((Number) value).longValue();
+        }
+        else if (value != null && value.getClass().isEnum()) {
+
+            return value.toString();
+        }
+
+        return value;
+    }
+
     /**
      * Inserts the values in the provided key value map into the database table.
      *
@@ -837,10 +1435,8 @@ public final class MySQLDriver {
     public void prepareInsertion(String database, String table, Set<String> keys)
             throws SQLException {
 
-        String insertStatement = DBUtils.prepareInsertStatement(database,
-                table, keys);
-
-        this.prepareStatement(keys, insertStatement, true);
+        this.prepareStatement(DBUtils.insertTemplate(database, table, keys),
+                true);
     }
 
     /**
@@ -898,10 +1494,8 @@ public final class MySQLDriver {
             Set<String> keys)
             throws SQLException {
 
-        String selectQuery = DBUtils.prepareSelectAllQuery(database, table,
-                keys);
-
-        this.prepareQuery(keys, selectQuery);
+        this.prepareStatement(
+                DBUtils.selectAllTemplate(database, table, keys), false);
     }
 
 
@@ -963,14 +1557,8 @@ public final class MySQLDriver {
             Set<String> valueColumns, Set<String> keyColumns)
             throws SQLException {
 
-        String selectQuery = DBUtils.prepareSelectQuery(database, table,
-                valueColumns, keyColumns);
-
-        Set<String> keys = new LinkedHashSet<>();
-        keys.addAll(valueColumns);
-        keys.addAll(keyColumns);
-
-        this.prepareQuery(keys, selectQuery);
+        this.prepareStatement(DBUtils.selectTemplate(database, table,
+                valueColumns, keyColumns), false);
     }
 
     /**
@@ -1034,15 +1622,8 @@ public final class MySQLDriver {
             Set<String> keyColumns, Set<String> valueColumns)
             throws SQLException {
 
-        String insertStatement = DBUtils.prepareUpdateStatement(database,
-                table, keyColumns, valueColumns);
-
-        Set<String> keys = new LinkedHashSet<>();
-
-        keys.addAll(valueColumns);
-        keys.addAll(keyColumns);
-
-        this.prepareStatement(keys, insertStatement, false);
+        this.prepareStatement(DBUtils.updateTemplate(database, table,
+                keyColumns, valueColumns), false);
     }
 
     /**
@@ -1097,10 +1678,8 @@ public final class MySQLDriver {
     public void prepareDeletion(String database, String table, Set<String> keys)
             throws SQLException {
 
-        String deleteStatement = DBUtils.prepareDeleteStatement(database,
-                table, keys);
-
-        this.prepareStatement(keys, deleteStatement, false);
+        this.prepareStatement(DBUtils.deleteTemplate(database, table, keys),
+                false);
     }
 
 
@@ -1119,4 +1698,10 @@ public final class MySQLDriver {
     }
 
 
+    @FunctionalInterface
+    private interface RowHandler {
+
+        void handle(ResultSet result)
+                throws SQLException;
+    }
 }
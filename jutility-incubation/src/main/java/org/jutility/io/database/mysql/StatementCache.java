@@ -0,0 +1,348 @@
+package org.jutility.io.database.mysql;
+
+
+/*
+ * #%L
+ * jutility-incubation
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy
+ * of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ * #L%
+ */
+
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * The {@code StatementCache} class keeps the {@link PreparedStatement
+ * PreparedStatements} of a {@link Connection} alive between uses, so that the
+ * cost of parsing and planning a statement is paid once per statement shape
+ * rather than once per use.
+ * <p>
+ * Statements are {@link #borrow(Connection, String, List, boolean) borrowed}
+ * from the cache, executed, and {@link #release(PreparedStatement) released}
+ * back into it. Idle statements are keyed by their SQL text, the ordering of
+ * the keys bound to their parameters, and whether they return generated keys;
+ * when more than {@link #getCapacity() capacity} statements are idle, the least
+ * recently used statement is closed. Borrowed statements are never evicted.
+ * </p>
+ * <p>
+ * Like the {@link MySQLDriver}, the cache is not thread-safe.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class StatementCache {
+
+    /**
+     * The default number of idle statements kept by the cache.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+
+    private final int                                     capacity;
+    private final LinkedHashMap<Key, PreparedStatement>   idle;
+    private final IdentityHashMap<PreparedStatement, Key> borrowed;
+    private long                                          hits;
+    private long                                          misses;
+
+
+    /**
+     * Creates a new instance of the {@code StatementCache} class with the
+     * {@link #DEFAULT_CAPACITY default capacity}.
+     */
+    public StatementCache() {
+
+        this(DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code StatementCache} class.
+     *
+     * @param capacity
+     *            the maximum number of idle statements kept by the cache.
+     */
+    public StatementCache(int capacity) {
+
+        if (capacity < 1) {
+
+            throw new IllegalArgumentException(
+                    "Cache capacity must be positive!");
+        }
+
+        this.capacity = capacity;
+        this.idle = new LinkedHashMap<>(16, 0.75f, true);
+        this.borrowed = new IdentityHashMap<>();
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+
+    /**
+     * Returns the maximum number of idle statements kept by the cache.
+     *
+     * @return the capacity.
+     */
+    public int getCapacity() {
+
+        return this.capacity;
+    }
+
+
+    /**
+     * Returns the number of idle statements in the cache.
+     *
+     * @return the number of idle statements.
+     */
+    public int getSize() {
+
+        return this.idle.size();
+    }
+
+
+    /**
+     * Returns the number of borrowed statements that were served from the
+     * cache.
+     *
+     * @return the number of cache hits.
+     */
+    public long getHits() {
+
+        return this.hits;
+    }
+
+
+    /**
+     * Returns the number of borrowed statements that had to be prepared.
+     *
+     * @return the number of cache misses.
+     */
+    public long getMisses() {
+
+        return this.misses;
+    }
+
+
+    /**
+     * Borrows a prepared statement for the provided SQL text, preparing it on
+     * the connection if no idle statement of the same shape is cached.
+     *
+     * @param connection
+     *            the connection.
+     * @param sql
+     *            the SQL text.
+     * @param keys
+     *            the keys bound to the statement's parameters, in order (may
+     *            be {@code null}).
+     * @param returnGeneratedKeys
+     *            whether or not the statement returns generated keys.
+     * @return the prepared statement.
+     * @throws SQLException
+     *             if preparing the statement fails.
+     */
+    public PreparedStatement borrow(Connection connection, String sql,
+            List<String> keys, boolean returnGeneratedKeys)
+            throws SQLException {
+
+        Key key = new Key(sql, keys, returnGeneratedKeys);
+
+        PreparedStatement statement = this.idle.remove(key);
+
+        if (statement != null && !statement.isClosed()) {
+
+            this.hits++;
+        }
+        else {
+
+            this.misses++;
+
+            if (returnGeneratedKeys) {
+
+                statement = connection.prepareStatement(sql,
+                        Statement.RETURN_GENERATED_KEYS);
+            }
+            else {
+
+                statement = connection.prepareStatement(sql);
+            }
+        }
+
+        this.borrowed.put(statement, key);
+
+        return statement;
+    }
+
+
+    /**
+     * Releases a borrowed statement back into the cache, closing the least
+     * recently used idle statement if the cache exceeds its capacity.
+     * Statements that were not borrowed from this cache are closed.
+     *
+     * @param statement
+     *            the statement.
+     * @throws SQLException
+     *             if closing a statement fails.
+     */
+    public void release(PreparedStatement statement)
+            throws SQLException {
+
+        Key key = this.borrowed.remove(statement);
+
+        if (key == null || statement.isClosed()) {
+
+            statement.close();
+            return;
+        }
+
+        PreparedStatement previous = this.idle.put(key, statement);
+
+        // Two statements of the same shape were borrowed at once.
+        if (previous != null && previous != statement) {
+
+            previous.close();
+        }
+
+        if (this.idle.size() > this.capacity) {
+
+            Iterator<PreparedStatement> eldest = this.idle.values()
+                    .iterator();
+            PreparedStatement evicted = eldest.next();
+
+            eldest.remove();
+            evicted.close();
+        }
+    }
+
+
+    /**
+     * Removes a borrowed statement from the cache and closes it (e.g., after
+     * its execution failed).
+     *
+     * @param statement
+     *            the statement.
+     * @throws SQLException
+     *             if closing the statement fails.
+     */
+    public void discard(PreparedStatement statement)
+            throws SQLException {
+
+        this.borrowed.remove(statement);
+        statement.close();
+    }
+
+
+    /**
+     * Closes all idle and borrowed statements and empties the cache. The hit
+     * and miss counters are retained.
+     *
+     * @throws SQLException
+     *             if closing a statement fails.
+     */
+    public void clear()
+            throws SQLException {
+
+        List<PreparedStatement> statements = new ArrayList<>(
+                this.idle.values());
+        statements.addAll(this.borrowed.keySet());
+
+        this.idle.clear();
+        this.borrowed.clear();
+
+        SQLException exception = null;
+
+        for (PreparedStatement statement : statements) {
+
+            try {
+
+                statement.close();
+            }
+            catch (SQLException e) {
+
+                if (exception == null) {
+
+                    exception = e;
+                }
+                else {
+
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+
+        if (exception != null) {
+
+            throw exception;
+        }
+    }
+
+
+    private static final class Key {
+
+        private final String       sql;
+        private final List<String> keys;
+        private final boolean      returnGeneratedKeys;
+        private final int          hashCode;
+
+
+        private Key(String sql, List<String> keys,
+                boolean returnGeneratedKeys) {
+
+            this.sql = sql;
+            this.keys = (keys == null) ? null : new ArrayList<>(keys);
+            this.returnGeneratedKeys = returnGeneratedKeys;
+            this.hashCode = Objects.hash(sql, this.keys, returnGeneratedKeys);
+        }
+
+
+        @Override
+        public boolean equals(Object obj) {
+
+            if (this == obj) {
+
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return this.hashCode == other.hashCode
+                    && this.returnGeneratedKeys == other.returnGeneratedKeys
+                    && this.sql.equals(other.sql)
+                    && Objects.equals(this.keys, other.keys);
+        }
+
+
+        @Override
+        public int hashCode() {
+
+            return this.hashCode;
+        }
+    }
+}
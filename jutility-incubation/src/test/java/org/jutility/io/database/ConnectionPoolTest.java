@@ -0,0 +1,392 @@
+package org.jutility.io.database;
+
+/*
+ * #%L
+ * jutility-incubation
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.Test;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+
+/**
+ * The {@code ConnectionPoolTest} class provides unit tests for the
+ * {@link ConnectionPool class} and the concurrent use of the
+ * {@link DBSerializationDriver class} against a {@link StubDatabase}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class ConnectionPoolTest {
+
+    private final StubDatabase database = new StubDatabase();
+
+
+    private ConnectionPool pool(int maxSize, int validationTimeout,
+            long maxIdleTime) {
+
+        return new ConnectionPool(this.database::connect, maxSize,
+                validationTimeout, maxIdleTime, TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Tests that released connections are reused.
+     *
+     * @throws SQLException
+     *         if borrowing a connection fails.
+     */
+    @Test
+    public void testReuse()
+            throws SQLException {
+
+        ConnectionPool pool = this.pool(2, 1, 60000);
+
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+
+        assertNotSame(first, second);
+        assertEquals(2, pool.getActiveCount());
+
+        pool.release(first);
+
+        assertEquals(1, pool.getActiveCount());
+        assertEquals(1, pool.getIdleCount());
+        assertSame(first, pool.borrow());
+        assertEquals(2, this.database.getConnections()
+                                     .size());
+    }
+
+
+    /**
+     * Tests that borrowing fails once all connections are borrowed and none
+     * is released in time.
+     *
+     * @throws SQLException
+     *         if borrowing the first connection fails.
+     */
+    @Test
+    public void testMaxSize()
+            throws SQLException {
+
+        ConnectionPool pool = this.pool(1, 1, 60000);
+        pool.setBorrowTimeout(20);
+
+        Connection connection = pool.borrow();
+
+        try {
+
+            pool.borrow();
+            fail("Borrowed more connections than the pool size.");
+        }
+        catch (SQLException e) {
+
+            assertEquals(1, pool.getActiveCount());
+        }
+
+        pool.release(connection);
+
+        assertSame(connection, pool.borrow());
+    }
+
+
+    /**
+     * Tests that invalid idle connections are closed and replaced.
+     *
+     * @throws SQLException
+     *         if borrowing a connection fails.
+     */
+    @Test
+    public void testValidation()
+            throws SQLException {
+
+        ConnectionPool pool = this.pool(1, 1, 60000);
+
+        Connection connection = pool.borrow();
+        pool.release(connection);
+
+        this.database.getConnections()
+                     .get(0)
+                     .setValid(false);
+
+        Connection replacement = pool.borrow();
+
+        assertNotSame(connection, replacement);
+        assertEquals(1, this.database.getConnections()
+                                     .get(0)
+                                     .getClosed());
+        assertEquals(2, this.database.getConnections()
+                                     .size());
+    }
+
+
+    /**
+     * Tests that connections idle for longer than the maximum idle time are
+     * closed.
+     *
+     * @throws Exception
+     *         if borrowing a connection fails or the test is interrupted.
+     */
+    @Test
+    public void testIdleEviction()
+            throws Exception {
+
+        ConnectionPool pool = this.pool(2, 0, 10);
+
+        pool.release(pool.borrow());
+
+        assertEquals(1, pool.getIdleCount());
+
+        Thread.sleep(50);
+
+        assertEquals(1, pool.evictIdleConnections());
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(1, this.database.getConnections()
+                                     .get(0)
+                                     .getClosed());
+
+        pool.close();
+
+        try {
+
+            pool.borrow();
+            fail("Borrowed a connection from a closed pool.");
+        }
+        catch (SQLException e) {
+
+            // expected
+        }
+    }
+
+
+    /**
+     * Tests that threads sharing a {@link DBSerializationDriver} own separate
+     * connections and statements.
+     *
+     * @throws Exception
+     *         if a thread fails.
+     */
+    @Test
+    public void testConcurrentDrivers()
+            throws Exception {
+
+        final int threads = 4;
+        final int rows = 100;
+
+        DBSerializationDriver driver = new DBSerializationDriver();
+        driver.setConnectionPool(this.pool(threads, 1, 60000));
+        driver.setBatchSize(rows);
+
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+
+                futures.add(executor.submit(() -> {
+
+                    driver.connectToDatabase();
+                    try {
+
+                        driver.prepareDeletion("table",
+                                Collections.singleton("id"));
+                        barrier.await(10, TimeUnit.SECONDS);
+
+                        for (int i = 0; i < rows; i++) {
+
+                            driver.addBatch(Collections.singletonMap("id", i));
+                        }
+                        driver.closePreparedStatement();
+                    }
+                    finally {
+
+                        driver.closeDatabaseConnection();
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+        finally {
+
+            executor.shutdown();
+        }
+
+        assertEquals(threads, this.database.getConnections()
+                                           .size());
+
+        for (StubDatabase.StubConnection connection : this.database
+                .getConnections()) {
+
+            assertEquals(rows, connection.getBatched());
+            assertEquals(1, connection.getBatches());
+            // Cached statements stay open with the pooled connection.
+            assertEquals(0, connection.getClosedStatements());
+        }
+        assertEquals(threads, driver.getConnectionPool()
+                                    .getIdleCount());
+
+        driver.getConnectionPool()
+              .close();
+
+        for (StubDatabase.StubConnection connection : this.database
+                .getConnections()) {
+
+            assertEquals(1, connection.getClosedStatements());
+            assertEquals(1, connection.getClosed());
+        }
+    }
+
+
+    /**
+     * Tests that a connection is discarded, and its statements are closed,
+     * if executing the pending batch or committing fails while the connection
+     * is closed.
+     *
+     * @throws Exception
+     *         if connecting fails.
+     */
+    @Test
+    public void testFailedDisconnect()
+            throws Exception {
+
+        DBSerializationDriver driver = new DBSerializationDriver();
+        driver.setConnectionPool(this.pool(1, 1, 60000));
+        driver.getConnectionPool()
+              .setBorrowTimeout(20);
+
+        List<String> failures = Arrays.asList("executeBatch", "commit");
+
+        for (int i = 0; i < failures.size(); i++) {
+
+            driver.connectToDatabase();
+            driver.prepareDeletion("table", Collections.singleton("id"));
+            driver.addBatch(Collections.singletonMap("id", i));
+
+            StubDatabase.StubConnection connection = this.database
+                    .getConnections()
+                    .get(i);
+            connection.setAutoCommit(false);
+            connection.fail(failures.get(i));
+
+            try {
+
+                driver.closeDatabaseConnection();
+                fail("Closing the connection should have failed!");
+            }
+            catch (DBSerializationException e) {
+
+                // expected
+            }
+
+            assertFalse(driver.isConnected());
+            assertEquals(1, connection.getClosed());
+            assertEquals(1, connection.getClosedStatements());
+            assertEquals(0, driver.getConnectionPool()
+                                  .getActiveCount());
+            assertEquals(0, driver.getConnectionPool()
+                                  .getIdleCount());
+        }
+
+        // The permits of the discarded connections have been returned.
+        driver.connectToDatabase();
+        driver.closeDatabaseConnection();
+
+        assertEquals(3, this.database.getConnections()
+                                     .size());
+    }
+
+
+    /**
+     * Tests that drivers share a pool only if they agree on the server,
+     * schema, user name, and password, and that shared pools are closed.
+     *
+     * @throws Exception
+     *         if the driver cannot be created.
+     */
+    @Test
+    public void testSharedPools()
+            throws Exception {
+
+        DBSerializationDriver first = new DBSerializationDriver();
+        DBSerializationDriver second = new DBSerializationDriver();
+
+        for (DBSerializationDriver driver : Arrays.asList(first, second)) {
+
+            driver.setDatabaseServer(new URI("localhost:3306"));
+            driver.setSchema("schema");
+            driver.setUsername("user");
+        }
+        first.setPassword("wrong");
+        second.setPassword("password");
+
+        ConnectionPool pool = second.getConnectionPool();
+
+        assertNotSame(pool, first.getConnectionPool());
+
+        first.setPassword("password");
+
+        assertSame(pool, first.getConnectionPool());
+
+        DBSerializationDriver.closeSharedPools();
+
+        assertNotSame(pool, first.getConnectionPool());
+
+        try {
+
+            pool.borrow();
+            fail("Borrowing from a closed pool should have failed!");
+        }
+        catch (SQLException e) {
+
+            // expected
+        }
+        finally {
+
+            DBSerializationDriver.closeSharedPools();
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package org.jutility.io.database;
+
+/*
+ * #%L
+ * jutility-incubation
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.Before;
+import org.junit.Test;
+import org.jutility.io.database.annotation.DBElementType;
+import org.jutility.io.database.annotation.DBEntry;
+import org.jutility.io.database.annotation.DBEntryList;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * The {@code DBSerializerTest} class provides unit tests for the breadth first
+ * deserialization of the {@link DBSerializer class} against an in-process
+ * stand-in for a database.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class DBSerializerTest {
+
+    private StubDatabase database;
+    private DBSerializer serializer;
+
+
+    /**
+     * Set up.
+     *
+     * @throws Exception
+     *         if the serializer cannot be created.
+     */
+    @Before
+    public void setUp()
+            throws Exception {
+
+        this.database = new StubDatabase();
+        this.database.insert("groups", "id", 1);
+        this.database.insert("group_members", "group_id", 1, "member_id", 10);
+        this.database.insert("group_members", "group_id", 1, "member_id", 11);
+        this.database.insert("members", "id", 10, "name", "first",
+                "owner_id", 20);
+        this.database.insert("members", "id", 11, "name", "second",
+                "owner_id", 20);
+        this.database.insert("persons", "id", 20, "name", "owner");
+
+        this.serializer = new DBSerializer(Group.class, new URI(
+                "localhost:3306"));
+        this.serializer.setConnectionPool(new ConnectionPool(
+                this.database::connect));
+    }
+
+
+    /**
+     * Tests that a graph is loaded with one query per table and level, and
+     * that an element shared by several objects is deserialized once.
+     *
+     * @throws DBSerializationException
+     *         if deserialization fails.
+     */
+    @Test
+    public void testDeserializeSharedElement()
+            throws DBSerializationException {
+
+        List<Group> groups = this.serializer.deserialize(Group.class);
+
+        assertEquals(1, groups.size());
+
+        List<Member> members = groups.get(0)
+                                     .getMembers();
+
+        assertEquals(2, members.size());
+        assertEquals("first", members.get(0)
+                                     .getName());
+        assertEquals("second", members.get(1)
+                                      .getName());
+        assertEquals("owner", members.get(0)
+                                     .getOwner()
+                                     .getName());
+        assertSame(members.get(0)
+                          .getOwner(), members.get(1)
+                                              .getOwner());
+
+        // All groups, then the groups, their members list, the members, and
+        // the (single) owner by key.
+        assertEquals(5, this.database.getQueries());
+    }
+
+
+    /**
+     * Tests that deserialization fails if an element is missing.
+     */
+    @Test
+    public void testDeserializeMissingElement() {
+
+        this.database.drop("persons");
+
+        try {
+
+            this.serializer.deserialize(Group.class);
+            fail("Deserialization should have failed!");
+        }
+        catch (DBSerializationException e) {
+
+            assertTrue(e.getMessage(), e.getMessage()
+                                        .startsWith("Could not find instance "
+                                                + "of class " + Person.class));
+        }
+    }
+
+
+    /**
+     * Tests that the statements prepared on a pooled connection are reused by
+     * later serializations.
+     *
+     * @throws DBSerializationException
+     *         if serialization fails.
+     */
+    @Test
+    public void testStatementReuseAcrossSerializations()
+            throws DBSerializationException {
+
+        Person person = new Person();
+        person.setId(21);
+        person.setName("other");
+
+        this.serializer.serialize(person);
+
+        int prepared = this.database.getStatements()
+                                    .size();
+
+        this.serializer.serialize(person);
+
+        assertTrue(prepared > 0);
+        assertEquals(prepared, this.database.getStatements()
+                                            .size());
+        assertEquals(1, this.database.getConnections()
+                                     .size());
+        assertEquals(0, this.database.getConnections()
+                                     .get(0)
+                                     .getClosedStatements());
+    }
+
+
+    /**
+     * A group of members.
+     */
+    @DBElementType(table = "groups")
+    public static class Group {
+
+        @DBEntry(column = "id", primaryKey = true)
+        private Integer      id;
+
+        @DBEntryList(table = "group_members",
+                containerClassAliasMap = "id=group_id",
+                listTypeAliasMap = "id=member_id")
+        private List<Member> members;
+
+
+        /**
+         * Returns the id.
+         *
+         * @return the id.
+         */
+        public Integer getId() {
+
+            return this.id;
+        }
+
+
+        /**
+         * Sets the id.
+         *
+         * @param id
+         *         the id.
+         */
+        public void setId(Integer id) {
+
+            this.id = id;
+        }
+
+
+        /**
+         * Returns the members.
+         *
+         * @return the members.
+         */
+        public List<Member> getMembers() {
+
+            return this.members;
+        }
+
+
+        /**
+         * Sets the members.
+         *
+         * @param members
+         *         the members.
+         */
+        public void setMembers(List<Member> members) {
+
+            this.members = members;
+        }
+    }
+
+
+    /**
+     * A member of a group, referencing its owner.
+     */
+    @DBElementType(table = "members")
+    public static class Member {
+
+        @DBEntry(column = "id", primaryKey = true)
+        private Integer id;
+
+        @DBEntry(column = "name")
+        private String  name;
+
+        @DBEntry(columnMappings = "id=owner_id")
+        private Person  owner;
+
+
+        /**
+         * Returns the id.
+         *
+         * @return the id.
+         */
+        public Integer getId() {
+
+            return this.id;
+        }
+
+
+        /**
+         * Sets the id.
+         *
+         * @param id
+         *         the id.
+         */
+        public void setId(Integer id) {
+
+            this.id = id;
+        }
+
+
+        /**
+         * Returns the name.
+         *
+         * @return the name.
+         */
+        public String getName() {
+
+            return this.name;
+        }
+
+
+        /**
+         * Sets the name.
+         *
+         * @param name
+         *         the name.
+         */
+        public void setName(String name) {
+
+            this.name = name;
+        }
+
+
+        /**
+         * Returns the owner.
+         *
+         * @return the owner.
+         */
+        public Person getOwner() {
+
+            return this.owner;
+        }
+
+
+        /**
+         * Sets the owner.
+         *
+         * @param owner
+         *         the owner.
+         */
+        public void setOwner(Person owner) {
+
+            this.owner = owner;
+        }
+    }
+
+
+    /**
+     * The owner of members.
+     */
+    @DBElementType(table = "persons")
+    public static class Person {
+
+        @DBEntry(column = "id", primaryKey = true)
+        private Integer id;
+
+        @DBEntry(column = "name")
+        private String  name;
+
+
+        /**
+         * Returns the id.
+         *
+         * @return the id.
+         */
+        public Integer getId() {
+
+            return this.id;
+        }
+
+
+        /**
+         * Sets the id.
+         *
+         * @param id
+         *         the id.
+         */
+        public void setId(Integer id) {
+
+            this.id = id;
+        }
+
+
+        /**
+         * Returns the name.
+         *
+         * @return the name.
+         */
+        public String getName() {
+
+            return this.name;
+        }
+
+
+        /**
+         * Sets the name.
+         *
+         * @param name
+         *         the name.
+         */
+        public void setName(String name) {
+
+            this.name = name;
+        }
+    }
+}
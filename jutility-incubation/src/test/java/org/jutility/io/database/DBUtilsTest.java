@@ -0,0 +1,115 @@
+package org.jutility.io.database;
+
+/*
+ * #%L
+ * jutility-incubation
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+
+/**
+ * The {@code DBUtilsTest} class provides unit tests for the memoized
+ * {@link SqlTemplate SqlTemplates} of the {@link DBUtils class}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class DBUtilsTest {
+
+    /**
+     * Tests that templates are generated once per statement shape, where the
+     * ordering of the keys is part of the shape.
+     */
+    @Test
+    public void testMemoization() {
+
+        Set<String> keys = new LinkedHashSet<>(Arrays.asList("id", "name"));
+        Set<String> reversed = new LinkedHashSet<>(Arrays.asList("name", "id"));
+
+        SqlTemplate template = DBUtils.insertTemplate("schema", "table", keys);
+
+        assertSame(template, DBUtils.insertTemplate("schema", "table",
+                new LinkedHashSet<>(keys)));
+        assertEquals("INSERT INTO `schema`.`table` (id, name) VALUES (?, ?)",
+                template.getSql());
+        assertEquals(Arrays.asList("id", "name"), template.getParameters());
+        assertEquals(template.getSql(),
+                DBUtils.prepareInsertStatement("schema", "table", keys));
+
+        SqlTemplate other = DBUtils.insertTemplate("schema", "table",
+                reversed);
+
+        assertNotSame(template, other);
+        assertEquals(Arrays.asList("name", "id"), other.getParameters());
+        assertNotSame(template, DBUtils.deleteTemplate("schema", "table",
+                keys));
+    }
+
+
+    /**
+     * Tests that the parameters of an {@code UPDATE} template list the value
+     * columns before the key columns, even if a column is both.
+     */
+    @Test
+    public void testUpdateParameters() {
+
+        SqlTemplate template = DBUtils.updateTemplate("schema", "table",
+                Collections.singleton("id"),
+                new LinkedHashSet<>(Arrays.asList("name", "id")));
+
+        assertEquals("UPDATE `schema`.`table` SET name= ?, id= ? WHERE id= ?",
+                template.getSql());
+        assertEquals(Arrays.asList("name", "id", "id"),
+                template.getParameters());
+    }
+
+
+    /**
+     * Tests that the parameters of an existence template repeat the tuple
+     * index and the key columns once per key tuple.
+     */
+    @Test
+    public void testExistenceParameters() {
+
+        Set<String> keys = new LinkedHashSet<>(Arrays.asList("a", "b"));
+
+        SqlTemplate template = DBUtils.existenceTemplate("schema", "table",
+                keys, 2);
+
+        assertEquals("SELECT DISTINCT tuples.tuple_index FROM (SELECT ? AS "
+                + "tuple_index, ? AS a, ? AS b UNION ALL SELECT ?, ?, ?) AS "
+                + "tuples JOIN `schema`.`table` AS t ON t.a = tuples.a AND "
+                + "t.b = tuples.b", template.getSql());
+        assertEquals(Arrays.asList(DBUtils.TUPLE_INDEX, "a", "b",
+                DBUtils.TUPLE_INDEX, "a", "b"), template.getParameters());
+        assertSame(template, DBUtils.existenceTemplate("schema", "table",
+                keys, 2));
+    }
+}
@@ -0,0 +1,608 @@
+package org.jutility.io.database;
+
+/*
+ * #%L
+ * jutility-incubation
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * The {@code StubDatabase} class is an in-process stand-in for a database,
+ * handing out JDBC {@link Connection Connections} that record the statements
+ * they prepare and execute.
+ * <p>
+ * Queries by key tuples (see {@link DBUtils#selectInTemplate(String, String,
+ * Set, int)}) join the bound tuples with the rows of the table, returning the
+ * {@link DBUtils#TUPLE_INDEX tuple index} followed by the columns of each
+ * matching row. All other queries return all rows of the table.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class StubDatabase {
+
+    private static final Pattern TABLE   = Pattern
+            .compile("`[^`]*`\\.`([^`]*)`");
+    private static final Pattern COLUMNS = Pattern.compile("\\? AS (\\w+)");
+
+    private final Map<String, List<Map<String, Object>>> tables      =
+            new ConcurrentHashMap<>();
+    private final List<StubConnection>                   connections =
+            new CopyOnWriteArrayList<>();
+    private final List<String>                           statements  =
+            new CopyOnWriteArrayList<>();
+    private final List<Integer>                          batches     =
+            new CopyOnWriteArrayList<>();
+    private final AtomicInteger                          parameters  =
+            new AtomicInteger();
+    private final AtomicInteger                          updates     =
+            new AtomicInteger();
+    private final AtomicInteger                          queries     =
+            new AtomicInteger();
+
+
+    /**
+     * Inserts a row into a table.
+     *
+     * @param table
+     *         the table.
+     * @param columnValues
+     *         the alternating column names and values of the row.
+     */
+    public void insert(String table, Object... columnValues) {
+
+        Map<String, Object> row = new LinkedHashMap<>();
+
+        for (int i = 0; i < columnValues.length; i += 2) {
+
+            row.put((String) columnValues[i], columnValues[i + 1]);
+        }
+
+        this.tables.computeIfAbsent(table, key -> new CopyOnWriteArrayList<>())
+                   .add(row);
+    }
+
+
+    /**
+     * Removes a table and all of its rows.
+     *
+     * @param table
+     *         the table.
+     */
+    public void drop(String table) {
+
+        this.tables.remove(table);
+    }
+
+
+    /**
+     * Opens a new connection to the database.
+     *
+     * @return the connection.
+     */
+    public Connection connect() {
+
+        StubConnection connection = new StubConnection();
+
+        this.connections.add(connection);
+
+        return connection.proxy;
+    }
+
+
+    /**
+     * Returns the connections opened so far, in the order they were opened.
+     *
+     * @return the connections.
+     */
+    public List<StubConnection> getConnections() {
+
+        return Collections.unmodifiableList(this.connections);
+    }
+
+
+    /**
+     * Returns the SQL of all statements prepared so far.
+     *
+     * @return the SQL of the prepared statements.
+     */
+    public List<String> getStatements() {
+
+        return Collections.unmodifiableList(this.statements);
+    }
+
+
+    /**
+     * Returns the sizes of all batches executed so far.
+     *
+     * @return the batch sizes.
+     */
+    public List<Integer> getBatches() {
+
+        return Collections.unmodifiableList(this.batches);
+    }
+
+
+    /**
+     * Returns the number of parameters bound so far.
+     *
+     * @return the number of bound parameters.
+     */
+    public int getParameters() {
+
+        return this.parameters.get();
+    }
+
+
+    /**
+     * Returns the number of updates executed outside of batches so far.
+     *
+     * @return the number of updates.
+     */
+    public int getUpdates() {
+
+        return this.updates.get();
+    }
+
+
+    /**
+     * Returns the number of queries executed so far.
+     *
+     * @return the number of queries.
+     */
+    public int getQueries() {
+
+        return this.queries.get();
+    }
+
+
+    private ResultSet query(String sql, List<Object> bound) {
+
+        Matcher table = TABLE.matcher(sql);
+        List<Map<String, Object>> rows = table.find() ? this.tables
+                .getOrDefault(table.group(1), Collections.emptyList())
+                : Collections.emptyList();
+
+        if (!sql.contains(" AS tuples JOIN ")) {
+
+            return StubDatabase.resultSet(rows);
+        }
+
+        List<String> columns = new ArrayList<>();
+        Matcher column = COLUMNS.matcher(sql);
+
+        while (column.find()) {
+
+            columns.add(column.group(1));
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+
+        for (int i = 0; i < bound.size(); i += columns.size()) {
+
+            for (Map<String, Object> row : rows) {
+
+                boolean matches = true;
+
+                for (int j = 1; j < columns.size(); j++) {
+
+                    matches &= StubDatabase.equal(row.get(columns.get(j)),
+                            bound.get(i + j));
+                }
+
+                if (matches) {
+
+                    Map<String, Object> joinedRow = new LinkedHashMap<>();
+
+                    joinedRow.put(DBUtils.TUPLE_INDEX, bound.get(i));
+                    joinedRow.putAll(row);
+                    result.add(joinedRow);
+                }
+            }
+        }
+
+        return StubDatabase.resultSet(result);
+    }
+
+
+    /**
+     * Compares values as the database would compare them, e.g., an
+     * {@code INT} column with a {@code Long} parameter.
+     */
+    private static boolean equal(Object value, Object parameter) {
+
+        if (value instanceof Number && parameter instanceof Number) {
+
+            return ((Number) value).longValue() == ((Number) parameter)
+                    .longValue();
+        }
+
+        return Objects.equals(value, parameter);
+    }
+
+
+    private static ResultSet resultSet(List<Map<String, Object>> rows) {
+
+        Iterator<Map<String, Object>> iterator = rows.iterator();
+        List<Object> current = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+
+        return StubDatabase.proxy(ResultSet.class, (proxy, method, args) -> {
+
+            switch (method.getName()) {
+
+                case "next":
+
+                    if (!iterator.hasNext()) {
+
+                        return false;
+                    }
+
+                    Map<String, Object> row = iterator.next();
+
+                    current.clear();
+                    current.addAll(row.values());
+                    columns.clear();
+                    columns.addAll(row.keySet());
+                    return true;
+
+                case "getObject":
+
+                    return current.get((Integer) args[0] - 1);
+
+                case "getInt":
+
+                    return ((Number) current.get((Integer) args[0] - 1))
+                            .intValue();
+
+                case "getMetaData":
+
+                    return StubDatabase.metaData(columns);
+
+                default:
+
+                    return StubDatabase.defaultValue(method);
+            }
+        });
+    }
+
+
+    private static ResultSetMetaData metaData(List<String> columns) {
+
+        return StubDatabase.proxy(ResultSetMetaData.class,
+                (proxy, method, args) -> {
+
+                    switch (method.getName()) {
+
+                        case "getColumnCount":
+
+                            return columns.size();
+
+                        case "getColumnName":
+
+                            return columns.get((Integer) args[0] - 1);
+
+                        default:
+
+                            return StubDatabase.defaultValue(method);
+                    }
+                });
+    }
+
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+
+        return type.cast(Proxy.newProxyInstance(
+                StubDatabase.class.getClassLoader(), new Class<?>[] { type },
+                handler));
+    }
+
+
+    private static Object defaultValue(Method method) {
+
+        Class<?> returnType = method.getReturnType();
+
+        if (returnType == boolean.class) {
+
+            return false;
+        }
+        else if (returnType == int.class) {
+
+            return 0;
+        }
+        else if (returnType == long.class) {
+
+            return 0L;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * The {@code StubConnection} class records the use of a single connection
+     * to the {@link StubDatabase}.
+     */
+    public final class StubConnection {
+
+        private final Connection    proxy;
+        private final AtomicInteger closed           = new AtomicInteger();
+        private final AtomicInteger closedStatements = new AtomicInteger();
+        private final AtomicInteger batched          = new AtomicInteger();
+        private final AtomicInteger batches          = new AtomicInteger();
+        private final AtomicInteger commits          = new AtomicInteger();
+        private final Set<String>   failures         = ConcurrentHashMap
+                .newKeySet();
+        private volatile boolean    valid            = true;
+        private volatile boolean    autoCommit       = true;
+
+
+        private StubConnection() {
+
+            this.proxy = StubDatabase.proxy(Connection.class,
+                    (proxy, method, args) -> this.invoke(method, args));
+        }
+
+
+        /**
+         * Returns the JDBC connection.
+         *
+         * @return the JDBC connection.
+         */
+        public Connection getConnection() {
+
+            return this.proxy;
+        }
+
+
+        /**
+         * Returns how often the connection has been closed.
+         *
+         * @return how often the connection has been closed.
+         */
+        public int getClosed() {
+
+            return this.closed.get();
+        }
+
+
+        /**
+         * Returns the number of statements of this connection that have been
+         * closed.
+         *
+         * @return the number of closed statements.
+         */
+        public int getClosedStatements() {
+
+            return this.closedStatements.get();
+        }
+
+
+        /**
+         * Returns the number of rows added to batches on this connection.
+         *
+         * @return the number of batched rows.
+         */
+        public int getBatched() {
+
+            return this.batched.get();
+        }
+
+
+        /**
+         * Returns the number of batches executed on this connection.
+         *
+         * @return the number of batches.
+         */
+        public int getBatches() {
+
+            return this.batches.get();
+        }
+
+
+        /**
+         * Returns the number of commits on this connection.
+         *
+         * @return the number of commits.
+         */
+        public int getCommits() {
+
+            return this.commits.get();
+        }
+
+
+        /**
+         * Sets whether the connection is reported to be valid.
+         *
+         * @param valid
+         *         whether the connection is valid.
+         */
+        public void setValid(boolean valid) {
+
+            this.valid = valid;
+        }
+
+
+        /**
+         * Sets whether the connection is reported to be in auto-commit mode.
+         *
+         * @param autoCommit
+         *         whether the connection is in auto-commit mode.
+         */
+        public void setAutoCommit(boolean autoCommit) {
+
+            this.autoCommit = autoCommit;
+        }
+
+
+        /**
+         * Makes every call of the named method of this connection or its
+         * statements (e.g., {@code executeBatch} or {@code commit}) fail.
+         *
+         * @param methods
+         *         the names of the failing methods.
+         */
+        public void fail(String... methods) {
+
+            this.failures.addAll(Arrays.asList(methods));
+        }
+
+
+        private Object invoke(Method method, Object[] args)
+                throws SQLException {
+
+            this.check(method);
+
+            switch (method.getName()) {
+
+                case "prepareStatement":
+
+                    String sql = (String) args[0];
+                    Map<Integer, Object> bound = new TreeMap<>();
+                    AtomicInteger pending = new AtomicInteger();
+
+                    StubDatabase.this.statements.add(sql);
+
+                    return StubDatabase.proxy(PreparedStatement.class,
+                            (statement, statementMethod, statementArgs) -> this
+                                    .invokeStatement(sql, bound, pending,
+                                            statementMethod, statementArgs));
+
+                case "isValid":
+
+                    return this.valid;
+
+                case "getAutoCommit":
+
+                    return this.autoCommit;
+
+                case "commit":
+
+                    this.commits.incrementAndGet();
+                    return null;
+
+                case "close":
+
+                    this.closed.incrementAndGet();
+                    return null;
+
+                case "isClosed":
+
+                    return this.closed.get() > 0;
+
+                default:
+
+                    return StubDatabase.defaultValue(method);
+            }
+        }
+
+
+        private Object invokeStatement(String sql, Map<Integer, Object> bound,
+                AtomicInteger pending, Method method, Object[] args)
+                throws SQLException {
+
+            this.check(method);
+
+            switch (method.getName()) {
+
+                case "setInt":
+                case "setObject":
+
+                    StubDatabase.this.parameters.incrementAndGet();
+                    bound.put((Integer) args[0], args[1]);
+                    return null;
+
+                case "executeQuery":
+
+                    StubDatabase.this.queries.incrementAndGet();
+                    return StubDatabase.this.query(sql, new ArrayList<>(bound
+                            .values()));
+
+                case "executeUpdate":
+
+                    StubDatabase.this.updates.incrementAndGet();
+                    return 1;
+
+                case "getGeneratedKeys":
+
+                    return StubDatabase.resultSet(Collections.emptyList());
+
+                case "addBatch":
+
+                    this.batched.incrementAndGet();
+                    pending.incrementAndGet();
+                    return null;
+
+                case "executeBatch":
+
+                    int[] counts = new int[pending.getAndSet(0)];
+
+                    Arrays.fill(counts, 1);
+                    this.batches.incrementAndGet();
+                    StubDatabase.this.batches.add(counts.length);
+                    return counts;
+
+                case "close":
+
+                    this.closedStatements.incrementAndGet();
+                    return null;
+
+                default:
+
+                    return StubDatabase.defaultValue(method);
+            }
+        }
+
+
+        private void check(Method method)
+                throws SQLException {
+
+            if (this.failures.contains(method.getName())) {
+
+                throw new SQLException(method.getName() + " failed!");
+            }
+        }
+    }
+}
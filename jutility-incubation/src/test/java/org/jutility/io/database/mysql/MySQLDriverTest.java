@@ -0,0 +1,387 @@
+package org.jutility.io.database.mysql;
+
+/*
+ * #%L
+ * jutility-incubation
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.jutility.io.database.StubDatabase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * The {@code MySQLDriverTest} class provides unit tests for the batch
+ * execution and existence checks of the {@link MySQLDriver class} against a
+ * {@link StubDatabase}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class MySQLDriverTest {
+
+    private StubDatabase                database;
+    private StubDatabase.StubConnection connection;
+    private MySQLDriver                 driver;
+
+
+    /**
+     * Set up.
+     *
+     * @throws ClassNotFoundException
+     *         if the MySQL driver is not found.
+     * @throws SQLException
+     *         if closing previously cached statements fails.
+     */
+    @Before
+    public void setUp()
+            throws ClassNotFoundException, SQLException {
+
+        this.database = new StubDatabase();
+        this.driver = MySQLDriver.instance();
+        this.driver.connect(this.database.connect());
+        this.connection = this.database.getConnections()
+                                       .get(0);
+    }
+
+
+    /**
+     * Tear Down.
+     *
+     * @throws SQLException
+     *         if closing the connection fails.
+     */
+    @After
+    public void tearDown()
+            throws SQLException {
+
+        this.driver.setBatchSize(MySQLDriver.DEFAULT_BATCH_SIZE);
+        this.driver.close();
+    }
+
+
+    /**
+     * Tests that batched insertions are sent to the server in batches of the
+     * configured size and that the remainder is flushed when the prepared
+     * statement is closed.
+     *
+     * @throws SQLException
+     *         if the batch execution fails.
+     */
+    @Test
+    public void testBatchedInsertion()
+            throws SQLException {
+
+        this.driver.setBatchSize(3);
+        this.driver.prepareInsertion("schema", "table",
+                new LinkedHashSet<>(Arrays.asList("id", "name")));
+
+        for (int i = 0; i < 7; i++) {
+
+            Map<String, Object> valueMap = new LinkedHashMap<>();
+            valueMap.put("id", i);
+            valueMap.put("name", "name" + i);
+
+            this.driver.addBatch(valueMap);
+        }
+
+        assertEquals(Arrays.asList(3, 3), this.database.getBatches());
+
+        this.driver.closePreparedStatement();
+
+        assertEquals(Arrays.asList(3, 3, 1), this.database.getBatches());
+        assertEquals(0, this.database.getUpdates());
+        assertEquals(14, this.database.getParameters());
+        assertEquals(1, this.database.getStatements().size());
+        assertFalse(this.database.getStatements()
+                                 .get(0)
+                                 .endsWith(";"));
+    }
+
+
+    /**
+     * Tests that pending batches are executed explicitly and before another
+     * statement is prepared.
+     *
+     * @throws SQLException
+     *         if the batch execution fails.
+     */
+    @Test
+    public void testExecuteBatch()
+            throws SQLException {
+
+        Map<String, Object> valueMap = Collections.singletonMap("id", 1);
+
+        this.driver.prepareDeletion("schema", "table",
+                Collections.singleton("id"));
+        this.driver.addBatch(valueMap);
+        this.driver.addBatch(valueMap);
+
+        assertEquals(2, this.driver.executeBatch());
+        assertEquals(0, this.driver.executeBatch());
+
+        this.driver.addBatch(valueMap);
+        this.driver.prepareUpdate("schema", "table",
+                Collections.singleton("id"), Collections.singleton("name"));
+
+        assertEquals(Arrays.asList(2, 1), this.database.getBatches());
+    }
+
+
+    /**
+     * Test for
+     * {@link MySQLDriver#existenceCheck(String, String, java.util.Set, List)}.
+     *
+     * @throws SQLException
+     *         if the existence check fails.
+     */
+    @Test
+    public void testExistenceCheck()
+            throws SQLException {
+
+        // Stored as BIGINT, i.e., returned as Long.
+        for (long id : new long[] { 2L, 4L, 1100L }) {
+
+            this.database.insert("table", "id", id);
+        }
+
+        List<Map<String, ?>> keyValueMaps = new ArrayList<>();
+
+        for (int i = 0; i < 1200; i++) {
+
+            keyValueMaps.add(Collections.singletonMap("id", i));
+        }
+        keyValueMaps.add(Collections.singletonMap("id", 4));
+        keyValueMaps.add(Collections.singletonMap("id", null));
+
+        boolean[] exists = this.driver.existenceCheck("schema", "table",
+                Collections.singleton("id"), keyValueMaps);
+
+        assertEquals(keyValueMaps.size(), exists.length);
+
+        for (int i = 0; i < 1200; i++) {
+
+            assertEquals(i == 2 || i == 4 || i == 1100, exists[i]);
+        }
+        assertTrue(exists[1200]);
+        assertFalse(exists[1201]);
+
+        // 1200 distinct keys in chunks of 500, where the two full chunks
+        // share a statement and the last chunk of 200 is padded to 256, each
+        // bound with its tuple index.
+        assertEquals(2, this.database.getStatements().size());
+        assertEquals(2 * (500 + 500 + 256), this.database.getParameters());
+        assertTrue(this.database.getStatements()
+                                .get(0)
+                                .startsWith("SELECT DISTINCT "
+                                        + "tuples.tuple_index FROM (SELECT ? "
+                                        + "AS tuple_index, ? AS id UNION ALL "
+                                        + "SELECT ?, ?"));
+        assertTrue(this.database.getStatements()
+                                .get(0)
+                                .endsWith(") AS tuples JOIN `schema`.`table` "
+                                        + "AS t ON t.id = tuples.id"));
+    }
+
+
+    /**
+     * Test for
+     * {@link MySQLDriver#selectByKeys(String, String, java.util.Set, List)}.
+     *
+     * @throws SQLException
+     *         if the selection fails.
+     */
+    @Test
+    public void testSelectByKeys()
+            throws SQLException {
+
+        this.database.insert("table", "id", 2L);
+        this.database.insert("table", "id", 4L);
+
+        List<Map<String, ?>> keyValueMaps = new ArrayList<>();
+
+        for (int id : new int[] { 1, 2, 4, 2 }) {
+
+            keyValueMaps.add(Collections.singletonMap("id", id));
+        }
+
+        List<List<Map<String, ?>>> rows = this.driver.selectByKeys("schema",
+                "table", Collections.singleton("id"), keyValueMaps);
+
+        assertEquals(4, rows.size());
+        assertTrue(rows.get(0)
+                       .isEmpty());
+        assertEquals(Collections.singletonList(Collections.singletonMap("id",
+                2L)), rows.get(1));
+        assertEquals(Collections.singletonList(Collections.singletonMap("id",
+                4L)), rows.get(2));
+        assertEquals(rows.get(1), rows.get(3));
+
+        // The three distinct keys are selected with a single query, padded
+        // to four tuples.
+        assertEquals(Collections.singletonList("SELECT tuples.tuple_index, "
+                + "t.* FROM (SELECT ? AS tuple_index, ? AS id UNION ALL "
+                + "SELECT ?, ? UNION ALL SELECT ?, ? UNION ALL SELECT ?, ?) "
+                + "AS tuples JOIN `schema`.`table` AS t ON t.id = tuples.id"),
+                this.database.getStatements());
+        assertEquals(8, this.database.getParameters());
+    }
+
+
+    /**
+     * Tests that selections by keys share a statement whenever their numbers
+     * of distinct keys round up to the same power of two.
+     *
+     * @throws SQLException
+     *         if the selection fails.
+     */
+    @Test
+    public void testSelectByKeysPadding()
+            throws SQLException {
+
+        this.database.insert("table", "id", 5L);
+
+        for (int tuples = 5; tuples <= 8; tuples++) {
+
+            List<Map<String, ?>> keyValueMaps = new ArrayList<>();
+
+            for (int id = 0; id < tuples; id++) {
+
+                keyValueMaps.add(Collections.singletonMap("id", id));
+            }
+
+            List<List<Map<String, ?>>> rows = this.driver.selectByKeys(
+                    "schema", "table", Collections.singleton("id"),
+                    keyValueMaps);
+
+            for (int id = 0; id < tuples; id++) {
+
+                assertEquals(id == 5 ? 1 : 0, rows.get(id)
+                                                  .size());
+            }
+        }
+
+        assertEquals(1, this.database.getStatements()
+                                     .size());
+        assertEquals(4 * 8 * 2, this.database.getParameters());
+    }
+
+
+    /**
+     * Tests that batch sizes smaller than one are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBatchSize() {
+
+        this.driver.setBatchSize(0);
+    }
+
+
+    /**
+     * Tests that statements of the same shape are borrowed from the statement
+     * cache instead of being prepared again.
+     *
+     * @throws SQLException
+     *         if preparing a statement fails.
+     */
+    @Test
+    public void testStatementReuse()
+            throws SQLException {
+
+        StatementCache cache = this.driver.getStatementCache();
+        long hits = cache.getHits();
+        long misses = cache.getMisses();
+
+        for (int i = 0; i < 3; i++) {
+
+            this.driver.prepareDeletion("schema", "table",
+                    Collections.singleton("id"));
+            this.driver.executeDeletion(Collections.singletonMap("id", i));
+            this.driver.closePreparedStatement();
+        }
+        this.driver.prepareInsertion("schema", "table",
+                Collections.singleton("id"));
+        this.driver.closePreparedStatement();
+
+        assertEquals(2, this.database.getStatements().size());
+        assertEquals(3, this.database.getUpdates());
+        assertEquals(hits + 2, cache.getHits());
+        assertEquals(misses + 2, cache.getMisses());
+        assertEquals(2, cache.getSize());
+        assertEquals(0, this.connection.getClosedStatements());
+    }
+
+
+    /**
+     * Tests that the {@link StatementCache} closes the least recently used
+     * idle statement when it exceeds its capacity.
+     *
+     * @throws SQLException
+     *         if preparing a statement fails.
+     */
+    @Test
+    public void testStatementCacheEviction()
+            throws SQLException {
+
+        StatementCache cache = new StatementCache(2);
+        Connection connection = this.connection.getConnection();
+
+        PreparedStatement first = cache.borrow(connection, "SELECT 1", null,
+                false);
+        PreparedStatement second = cache.borrow(connection, "SELECT 2", null,
+                false);
+
+        cache.release(first);
+        cache.release(second);
+        cache.release(cache.borrow(connection, "SELECT 1", null, false));
+        cache.release(cache.borrow(connection, "SELECT 3", null, false));
+
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, this.connection.getClosedStatements());
+
+        // "SELECT 2" was least recently used and has been evicted.
+        cache.borrow(connection, "SELECT 2", null, false);
+
+        assertEquals(4, cache.getMisses());
+
+        cache.clear();
+
+        assertEquals(0, cache.getSize());
+        assertEquals(4, this.connection.getClosedStatements());
+    }
+}
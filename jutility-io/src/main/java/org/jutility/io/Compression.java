@@ -0,0 +1,213 @@
+package org.jutility.io;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+
+/**
+ * The {@code Compression} enum lists the compression formats supported by the
+ * {@link ISerializer serializers} of this library.
+ * <p>
+ * The format of a resource is detected from its file extension
+ * ({@code .gz} or {@code .deflate}); all formats use the JDK's
+ * {@link java.util.zip} implementations with large buffers.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public enum Compression {
+
+    /**
+     * No compression.
+     */
+    NONE(""),
+
+    /**
+     * GZIP compression.
+     */
+    GZIP(".gz"),
+
+    /**
+     * GZIP compression of independent blocks on all available processors.
+     * The output is a sequence of GZIP members, which is read like any other
+     * GZIP file.
+     */
+    PARALLEL_GZIP(".gz"),
+
+    /**
+     * Deflate compression in the ZLIB format.
+     */
+    DEFLATE(".deflate");
+
+
+    /**
+     * The size of the buffers used for compression and decompression.
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final String extension;
+
+
+    Compression(final String extension) {
+
+        this.extension = extension;
+    }
+
+
+    /**
+     * Returns the file extension of this compression format.
+     *
+     * @return the file extension (empty for {@link #NONE}).
+     */
+    public String extension() {
+
+        return this.extension;
+    }
+
+
+    /**
+     * Returns the compression format of the file with the provided name or
+     * path, as determined by its extension.
+     *
+     * @param filename
+     *         the file name or path.
+     *
+     * @return the compression format; {@link #NONE}, if the extension denotes
+     * no supported compression format.
+     */
+    public static Compression of(final String filename) {
+
+        if (filename != null) {
+
+            final String name = filename.toLowerCase(Locale.ROOT);
+
+            if (name.endsWith(Compression.GZIP.extension)) {
+
+                return Compression.GZIP;
+            }
+            if (name.endsWith(Compression.DEFLATE.extension)) {
+
+                return Compression.DEFLATE;
+            }
+        }
+
+        return Compression.NONE;
+    }
+
+
+    /**
+     * Wraps the provided {@link InputStream} so that it is decompressed
+     * according to this compression format.
+     *
+     * @param inputStream
+     *         the compressed {@link InputStream}.
+     *
+     * @return the decompressed {@link InputStream}.
+     *
+     * @throws IOException
+     *         if the header of the compressed stream cannot be read.
+     */
+    public InputStream decompress(final InputStream inputStream)
+            throws IOException {
+
+        switch (this) {
+            case GZIP:
+            case PARALLEL_GZIP:
+
+                return new GZIPInputStream(inputStream,
+                        Compression.BUFFER_SIZE);
+
+            case DEFLATE:
+
+                // The default inflater is released when the stream is closed.
+                return new InflaterInputStream(new BufferedInputStream(
+                        inputStream, Compression.BUFFER_SIZE));
+
+            case NONE:
+            default:
+
+                return inputStream;
+        }
+    }
+
+
+    /**
+     * Wraps the provided {@link OutputStream} so that everything written to
+     * the returned stream is compressed according to this compression format.
+     * Closing the returned stream finishes compression and closes the provided
+     * stream.
+     *
+     * @param outputStream
+     *         the {@link OutputStream} receiving the compressed data.
+     *
+     * @return the compressing {@link OutputStream}.
+     *
+     * @throws IOException
+     *         if the header of the compressed stream cannot be written.
+     */
+    public OutputStream compress(final OutputStream outputStream)
+            throws IOException {
+
+        switch (this) {
+            case GZIP:
+
+                return new BufferedOutputStream(new GZIPOutputStream(
+                        outputStream, Compression.BUFFER_SIZE),
+                        Compression.BUFFER_SIZE);
+
+            case PARALLEL_GZIP:
+
+                return new ParallelGzipOutputStream(outputStream,
+                        Runtime.getRuntime()
+                               .availableProcessors(),
+                        ParallelGzipOutputStream.DEFAULT_BLOCK_SIZE);
+
+            case DEFLATE:
+
+                // The default deflater is released when the stream is closed.
+                return new BufferedOutputStream(new DeflaterOutputStream(
+                        new BufferedOutputStream(outputStream,
+                                Compression.BUFFER_SIZE)),
+                        Compression.BUFFER_SIZE);
+
+            case NONE:
+            default:
+
+                return outputStream;
+        }
+    }
+}
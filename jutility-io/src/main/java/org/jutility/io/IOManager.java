@@ -20,16 +20,45 @@ package org.jutility.io;
  * #L%
  */
 
+import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 /**
+ * The {@code IOManager} singleton class dispatches serialization and
+ * deserialization to the registered {@link ISerializer serializers}.
+ * <p>
+ * Serializers are resolved by the {@link Class type} of a document, by file
+ * extension (ignoring {@link Compression compression} extensions), or by MIME
+ * type. Serializers described by an {@link ISerializerProvider} are discovered
+ * through the {@link ServiceLoader} when the registry is first used, but each
+ * serializer is only created when it is first resolved: providers decide
+ * whether their serializer supports a type without creating it, whereas
+ * serializer classes registered directly have to be created to answer.
+ * Resolutions by type are cached per class using a {@link ClassValue}, so the
+ * registered serializers are only scanned once per type until the
+ * registrations change; extensions and MIME types are resolved through maps.
+ * </p>
+ * <p>
+ * Registrations are thread-safe. When several serializers support a type,
+ * extension, or MIME type, the one registered first is used.
+ * </p>
+ *
  * @author Peter J. Radics
- * @version 0.1.2
+ * @version 0.1.6
  * @since 0.1.0
  */
 public final class IOManager {
@@ -37,9 +66,15 @@ public final class IOManager {
     @SuppressWarnings("unused")
     private final Map<Class<?>, Class<? extends
             IConverter>> converters;
-    @SuppressWarnings("unused")
-    private final Set<Class<? extends
-            ISerializer>> serializers;
+
+    private final List<Registration> serializers;
+
+    private volatile Map<String, Registration> extensions;
+    private volatile Map<String, Registration> mimeTypes;
+    private volatile int                       version;
+    private volatile boolean                   providersLoaded;
+
+    private final ClassValue<CachedResolution[]> resolutions;
 
     private static IOManager instance;
 
@@ -48,7 +83,7 @@ public final class IOManager {
      *
      * @return the singleton instance.
      */
-    public static IOManager instance() {
+    public static synchronized IOManager instance() {
 
         if (instance == null) {
 
@@ -61,18 +96,54 @@ public final class IOManager {
     private IOManager() {
 
         this.converters = new LinkedHashMap<>();
-        this.serializers = new LinkedHashSet<>();
+        this.serializers = new CopyOnWriteArrayList<>();
+        this.extensions = Collections.emptyMap();
+        this.mimeTypes = Collections.emptyMap();
+        this.version = 0;
+        this.providersLoaded = false;
+        this.resolutions = new ClassValue<CachedResolution[]>() {
+
+            @Override
+            protected CachedResolution[] computeValue(Class<?> type) {
+
+                return new CachedResolution[2];
+            }
+        };
     }
 
     /**
-     * Registers the provided {@link ISerializer serializer}.
+     * Registers the provided {@link ISerializer serializer}. The serializer
+     * class has to declare a static {@code instance()} method, which is only
+     * invoked when the serializer is first resolved.
      *
      * @param serializer
      *         the {@link ISerializer serializer} to register.
      */
     public void registerSerializer(Class<? extends ISerializer> serializer) {
 
-        // TODO: implement
+        Method method = this.getMethod("instance", serializer);
+
+        if (!Modifier.isStatic(method.getModifiers())) {
+
+            throw new IllegalArgumentException("Trying to register serializer "
+                    + "class that does not declare static instance() method!");
+        }
+
+        this.register(new Registration(serializer,
+                () -> serializer.cast(this.invokeMethod(method))));
+    }
+
+    /**
+     * Registers the {@link ISerializer serializer} described by the provided
+     * {@link ISerializerProvider provider}, including its file extensions and
+     * MIME types.
+     *
+     * @param provider
+     *         the {@link ISerializerProvider provider}.
+     */
+    public void registerProvider(ISerializerProvider provider) {
+
+        this.register(new Registration(provider));
     }
 
     /**
@@ -83,10 +154,351 @@ public final class IOManager {
      */
     public void unregisterSerializer(Class<? extends ISerializer> serializer) {
 
-        // TODO: implement
+        this.loadProviders();
+
+        synchronized (this.serializers) {
+
+            if (this.serializers.removeIf(
+                    registration -> registration.type == serializer)) {
+
+                this.update();
+            }
+        }
+    }
+
+    /**
+     * Returns the registered {@link ISerializer serializer} supporting
+     * serialization of the provided type.
+     *
+     * @param type
+     *         the type of the document.
+     *
+     * @return the serializer or {@code null}, if no registered serializer
+     * supports the type.
+     */
+    public ISerializer getSerializer(Class<?> type) {
+
+        return this.resolve(type, 0);
+    }
+
+    /**
+     * Returns the registered {@link ISerializer serializer} supporting
+     * deserialization of the provided type.
+     *
+     * @param type
+     *         the type of the document.
+     *
+     * @return the serializer or {@code null}, if no registered serializer
+     * supports the type.
+     */
+    public ISerializer getDeserializer(Class<?> type) {
+
+        return this.resolve(type, 1);
+    }
+
+    /**
+     * Returns the registered {@link ISerializer serializer} handling files
+     * with the extension of the provided file name. Compression extensions
+     * (e.g., {@code .gz}) are ignored.
+     *
+     * @param filename
+     *         the file name, path, or extension (e.g., {@code "table.csv.gz"}
+     *         or {@code "csv"}).
+     *
+     * @return the serializer or {@code null}, if no registered serializer
+     * handles the extension.
+     */
+    public ISerializer getSerializerForExtension(String filename) {
+
+        this.loadProviders();
+
+        Registration registration = this.extensions.get(
+                IOManager.extension(filename));
+
+        return registration != null ? registration.serializer() : null;
+    }
+
+    /**
+     * Returns the registered {@link ISerializer serializer} handling the
+     * provided MIME type. Parameters of the MIME type (e.g.,
+     * {@code ;charset=UTF-8}) are ignored.
+     *
+     * @param mimeType
+     *         the MIME type.
+     *
+     * @return the serializer or {@code null}, if no registered serializer
+     * handles the MIME type.
+     */
+    public ISerializer getSerializerForMimeType(String mimeType) {
+
+        this.loadProviders();
+
+        String baseType = mimeType;
+        int parameters = baseType.indexOf(';');
+
+        if (parameters >= 0) {
+
+            baseType = baseType.substring(0, parameters);
+        }
+
+        Registration registration = this.mimeTypes.get(baseType.trim()
+                .toLowerCase(Locale.ROOT));
+
+        return registration != null ? registration.serializer() : null;
+    }
+
+    /**
+     * Serializes the provided document into a file, using the serializer for
+     * the extension of the file, if it supports the type of the document, or
+     * the serializer for the type of the document otherwise.
+     *
+     * @param <T>
+     *         the document type.
+     * @param document
+     *         the document to be serialized.
+     * @param filename
+     *         the file name.
+     *
+     * @throws SerializationException
+     *         if no serializer supports the document or serialization fails.
+     */
+    public <T> void serialize(T document, String filename)
+            throws SerializationException {
+
+        Class<?> type = document.getClass();
+        ISerializer serializer = this.getSerializerForExtension(filename);
+
+        if (serializer == null || !serializer.supportsSerializationOf(type)) {
+
+            serializer = this.getSerializer(type);
+        }
+        if (serializer == null) {
+
+            throw new SerializationException("No serializer supports "
+                    + "serialization of type " + type + "!");
+        }
+
+        serializer.serialize(document, filename);
+    }
+
+    /**
+     * Deserializes a document of the provided type from a file, using the
+     * serializer for the extension of the file, if it supports the type, or
+     * the serializer for the type otherwise.
+     *
+     * @param <T>
+     *         the document type.
+     * @param file
+     *         the file.
+     * @param type
+     *         the desired return type.
+     *
+     * @return the deserialized document.
+     *
+     * @throws SerializationException
+     *         if no serializer supports the type or deserialization fails.
+     */
+    public <T> T deserialize(File file, Class<? extends T> type)
+            throws SerializationException {
+
+        return this.deserializer(file.getName(), type)
+                   .deserialize(file, type);
+    }
+
+    /**
+     * Deserializes a document of the provided type from a URL, using the
+     * serializer for the extension of the URL's path, if it supports the type,
+     * or the serializer for the type otherwise.
+     *
+     * @param <T>
+     *         the document type.
+     * @param url
+     *         the URL.
+     * @param type
+     *         the desired return type.
+     *
+     * @return the deserialized document.
+     *
+     * @throws SerializationException
+     *         if no serializer supports the type or deserialization fails.
+     */
+    public <T> T deserialize(URL url, Class<? extends T> type)
+            throws SerializationException {
+
+        return this.deserializer(url.getPath(), type)
+                   .deserialize(url, type);
+    }
+
+    private ISerializer deserializer(String filename, Class<?> type)
+            throws SerializationException {
+
+        ISerializer serializer = this.getSerializerForExtension(filename);
+
+        if (serializer == null || !serializer.supportsDeserializationOf(type)) {
+
+            serializer = this.getDeserializer(type);
+        }
+        if (serializer == null) {
+
+            throw new SerializationException("No serializer supports "
+                    + "deserialization of type " + type + "!");
+        }
+
+        return serializer;
+    }
+
+    private ISerializer resolve(Class<?> type, int direction) {
+
+        this.loadProviders();
+
+        CachedResolution[] cache = this.resolutions.get(type);
+        CachedResolution cached = cache[direction];
+        int currentVersion = this.version;
+
+        if (cached == null || cached.version != currentVersion) {
+
+            ISerializer resolved = null;
+
+            for (Registration registration : this.serializers) {
+
+                if (registration.supports(type, direction)) {
+
+                    resolved = registration.serializer();
+                    break;
+                }
+            }
+
+            // Races between resolution and registration at worst cache a
+            // result under an outdated version, which is recomputed.
+            cached = new CachedResolution(currentVersion, resolved);
+            cache[direction] = cached;
+        }
+
+        return cached.serializer;
+    }
+
+    private void register(Registration registration) {
+
+        this.loadProviders();
+
+        synchronized (this.serializers) {
+
+            for (Registration existing : this.serializers) {
+
+                if (existing.type == registration.type) {
+
+                    return;
+                }
+            }
+
+            this.serializers.add(registration);
+            this.update();
+        }
+    }
+
+    /**
+     * Rebuilds the extension and MIME type maps and invalidates all cached
+     * resolutions. Has to be called while holding the lock on the list of
+     * serializers.
+     */
+    private void update() {
+
+        Map<String, Registration> byExtension = new HashMap<>();
+        Map<String, Registration> byMimeType = new HashMap<>();
+
+        for (Registration registration : this.serializers) {
+
+            for (String extension : registration.extensions) {
+
+                byExtension.putIfAbsent(IOManager.extension(extension),
+                        registration);
+            }
+            for (String mimeType : registration.mimeTypes) {
+
+                byMimeType.putIfAbsent(mimeType.toLowerCase(Locale.ROOT),
+                        registration);
+            }
+        }
+
+        this.extensions = byExtension;
+        this.mimeTypes = byMimeType;
+        this.version++;
+    }
+
+    /**
+     * Registers the {@link ISerializerProvider providers} found by the
+     * {@link ServiceLoader}, once.
+     */
+    private void loadProviders() {
+
+        if (this.providersLoaded) {
+
+            return;
+        }
+
+        synchronized (this.serializers) {
+
+            if (this.providersLoaded) {
+
+                return;
+            }
+
+            try {
+
+                for (ISerializerProvider provider : ServiceLoader.load(
+                        ISerializerProvider.class,
+                        IOManager.class.getClassLoader())) {
+
+                    Registration registration = new Registration(provider);
+
+                    if (this.serializers.stream()
+                                        .noneMatch(existing -> existing.type
+                                                == registration.type)) {
+
+                        this.serializers.add(registration);
+                    }
+                }
+            }
+            catch (ServiceConfigurationError e) {
+
+                throw new IllegalStateException(
+                        "Could not load serializer providers!", e);
+            }
+
+            this.providersLoaded = true;
+            this.update();
+        }
+    }
+
+    /**
+     * Returns the normalized extension of the provided file name, ignoring
+     * compression extensions.
+     *
+     * @param filename
+     *         the file name, path, or extension.
+     *
+     * @return the lower-case extension without leading dot.
+     */
+    private static String extension(String filename) {
+
+        String name = filename.toLowerCase(Locale.ROOT);
+        Compression compression = Compression.of(name);
+
+        if (compression != Compression.NONE) {
+
+            name = name.substring(0,
+                    name.length() - compression.extension()
+                                               .length());
+        }
+
+        int separator = Math.max(name.lastIndexOf('/'),
+                name.lastIndexOf(File.separatorChar));
+        int dot = name.lastIndexOf('.');
+
+        return dot > separator ? name.substring(dot + 1)
+                : name.substring(separator + 1);
     }
 
-    @SuppressWarnings("unused")
     private Method getMethod(String name, Class<?> clazz) {
 
         Method method;
@@ -96,20 +508,19 @@ public final class IOManager {
         }
         catch (NoSuchMethodException e) {
             throw new IllegalArgumentException(
-                    "Trying to register Layout " + "Component class that does "
+                    "Trying to register serializer class that does "
                             + "not declare static " + name + "() method!");
         }
         catch (SecurityException e) {
 
             throw new IllegalArgumentException(
-                    "Trying to register Layout " + "Component class that does "
+                    "Trying to register serializer class that does "
                             + "not have accessible static " + name + "() method!");
         }
 
         return method;
     }
 
-    @SuppressWarnings("unused")
     private Object invokeMethod(Method method) {
 
         try {
@@ -119,8 +530,147 @@ public final class IOManager {
         catch (IllegalAccessException | IllegalArgumentException
                 | InvocationTargetException e) {
             throw new IllegalArgumentException(
-                    "Trying to register Layout " + "Component class that cannot"
+                    "Trying to register serializer class that cannot"
                             + " execute static " + method.getName() + "() method!");
         }
     }
+
+
+    /**
+     * The {@code Registration} class holds a registered serializer, which is
+     * created when it is first requested.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class Registration {
+
+        private final Class<? extends ISerializer> type;
+        private final Supplier<ISerializer>        supplier;
+        private final ISerializerProvider          provider;
+        private final Set<String>                  extensions;
+        private final Set<String>                  mimeTypes;
+
+        private volatile ISerializer serializer;
+
+        /**
+         * Creates a new instance of the {@code Registration} class for a
+         * serializer class without extensions or MIME types.
+         *
+         * @param type
+         *         the type of the serializer.
+         * @param supplier
+         *         the supplier of the serializer.
+         */
+        Registration(Class<? extends ISerializer> type,
+                Supplier<ISerializer> supplier) {
+
+            this.type = type;
+            this.supplier = supplier;
+            this.provider = null;
+            this.extensions = Collections.emptySet();
+            this.mimeTypes = Collections.emptySet();
+        }
+
+        /**
+         * Creates a new instance of the {@code Registration} class for the
+         * serializer described by a provider.
+         *
+         * @param provider
+         *         the provider of the serializer.
+         */
+        Registration(ISerializerProvider provider) {
+
+            this.type = provider.getSerializerType();
+            this.supplier = provider::getSerializer;
+            this.provider = provider;
+            this.extensions = provider.getExtensions();
+            this.mimeTypes = provider.getMimeTypes();
+        }
+
+        /**
+         * Determines whether the serializer supports the provided type. Only
+         * registrations without a provider create the serializer to answer.
+         *
+         * @param type
+         *         the type.
+         * @param direction
+         *         {@code 0} for serialization, {@code 1} for
+         *         deserialization.
+         * @return {@code true}, if the serializer supports the type;
+         *         {@code false} otherwise.
+         */
+        boolean supports(Class<?> type, int direction) {
+
+            if (this.provider != null) {
+
+                return direction == 0
+                        ? this.provider.supportsSerializationOf(type)
+                        : this.provider.supportsDeserializationOf(type);
+            }
+
+            ISerializer serializer = this.serializer();
+
+            return direction == 0
+                    ? serializer.supportsSerializationOf(type)
+                    : serializer.supportsDeserializationOf(type);
+        }
+
+        /**
+         * Returns the serializer, creating it if necessary.
+         *
+         * @return the serializer.
+         */
+        ISerializer serializer() {
+
+            ISerializer result = this.serializer;
+
+            if (result == null) {
+
+                synchronized (this) {
+
+                    result = this.serializer;
+
+                    if (result == null) {
+
+                        result = this.supplier.get();
+                        this.serializer = result;
+                    }
+                }
+            }
+
+            return result;
+        }
+    }
+
+
+    /**
+     * The {@code CachedResolution} class holds the serializer resolved for a
+     * type together with the version of the registrations it was resolved
+     * against.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class CachedResolution {
+
+        private final int         version;
+        private final ISerializer serializer;
+
+        /**
+         * Creates a new instance of the {@code CachedResolution} class.
+         *
+         * @param version
+         *         the version of the registrations.
+         * @param serializer
+         *         the resolved serializer or {@code null}.
+         */
+        CachedResolution(int version, ISerializer serializer) {
+
+            this.version = version;
+            this.serializer = serializer;
+        }
+    }
 }
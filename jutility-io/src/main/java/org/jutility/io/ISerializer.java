@@ -27,14 +27,33 @@ package org.jutility.io;
 import java.io.File;
 import java.net.URI;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 
 /**
  * The {@code ISerializer} interface provides a common contract for classes
  * implementing serialization for a specific type.
+ * <p>
+ * Implementations that support {@link Compression compression} detect the
+ * compression format of resources from their file extension.
+ * </p>
+ * <p>
+ * The asynchronous variants run the blocking operations on an
+ * {@link Executor}, by default the bounded
+ * {@link SerializationExecutor#defaultExecutor() default executor}, and
+ * complete the returned {@link CompletableFuture} exceptionally with a
+ * {@link CompletionException} wrapping the {@link SerializationException} if
+ * the operation fails, or with the
+ * {@link java.util.concurrent.RejectedExecutionException
+ * RejectedExecutionException} if the executor rejects the operation (e.g.,
+ * because the default executor already holds its maximum number of pending
+ * tasks). They never block the calling thread.
+ * </p>
  *
  * @author Peter J. Radics
- * @version 0.1.2
+ * @version 0.1.6
  * @since 0.1.0
  */
 public interface ISerializer {
@@ -79,6 +98,39 @@ public interface ISerializer {
     <T> void serialize(final T document, final String filename)
             throws SerializationException;
 
+    /**
+     * Serializes a document into a file using the provided compression
+     * format.
+     * <p>
+     * The default implementation only supports {@link Compression#NONE}.
+     * </p>
+     *
+     * @param <T>
+     *            the document type.
+     *
+     * @param document
+     *            the document to be serialized.
+     * @param filename
+     *            the file name.
+     * @param compression
+     *            the compression format.
+     * @throws SerializationException
+     *             if serialization fails or the compression format is not
+     *             supported.
+     */
+    default <T> void serialize(final T document, final String filename,
+            final Compression compression)
+            throws SerializationException {
+
+        if (compression != Compression.NONE) {
+
+            throw new SerializationException("Compression " + compression
+                    + " is not supported!");
+        }
+
+        this.serialize(document, filename);
+    }
+
 
 
     /**
@@ -129,4 +181,159 @@ public interface ISerializer {
      */
     <T> T deserialize(final URL url, Class<? extends T> type)
             throws SerializationException;
+
+
+    /**
+     * Serializes a document into a file asynchronously on the
+     * {@link SerializationExecutor#defaultExecutor() default executor}.
+     *
+     * @param <T>
+     *            the document type.
+     *
+     * @param document
+     *            the document to be serialized.
+     * @param filename
+     *            the file name.
+     * @return a future completed when the document has been serialized.
+     */
+    default <T> CompletableFuture<Void> serializeAsync(final T document,
+            final String filename) {
+
+        return this.serializeAsync(document, filename,
+                SerializationExecutor.defaultExecutor());
+    }
+
+    /**
+     * Serializes a document into a file asynchronously on the provided
+     * {@link Executor}.
+     *
+     * @param <T>
+     *            the document type.
+     *
+     * @param document
+     *            the document to be serialized.
+     * @param filename
+     *            the file name.
+     * @param executor
+     *            the executor.
+     * @return a future completed when the document has been serialized.
+     */
+    default <T> CompletableFuture<Void> serializeAsync(final T document,
+            final String filename, final Executor executor) {
+
+        return SerializationExecutor.supplyAsync(() -> {
+
+            try {
+
+                this.serialize(document, filename);
+                return null;
+            }
+            catch (SerializationException e) {
+
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Deserializes a class of the provided type from a file asynchronously on
+     * the {@link SerializationExecutor#defaultExecutor() default executor}.
+     *
+     * @param <T>
+     *            the document type.
+     *
+     * @param file
+     *            the file.
+     * @param type
+     *            the desired return type.
+     * @return a future completed with the deserialized document.
+     */
+    default <T> CompletableFuture<T> deserializeAsync(final File file,
+            final Class<? extends T> type) {
+
+        return this.deserializeAsync(file, type,
+                SerializationExecutor.defaultExecutor());
+    }
+
+    /**
+     * Deserializes a class of the provided type from a file asynchronously on
+     * the provided {@link Executor}.
+     *
+     * @param <T>
+     *            the document type.
+     *
+     * @param file
+     *            the file.
+     * @param type
+     *            the desired return type.
+     * @param executor
+     *            the executor.
+     * @return a future completed with the deserialized document.
+     */
+    default <T> CompletableFuture<T> deserializeAsync(final File file,
+            final Class<? extends T> type, final Executor executor) {
+
+        return SerializationExecutor.supplyAsync(() -> {
+
+            try {
+
+                return this.<T> deserialize(file, type);
+            }
+            catch (SerializationException e) {
+
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Deserializes a class of the provided type from a URL asynchronously on
+     * the {@link SerializationExecutor#defaultExecutor() default executor}.
+     *
+     * @param <T>
+     *            the document type.
+     *
+     * @param url
+     *            the URL.
+     * @param type
+     *            the desired return type.
+     * @return a future completed with the deserialized document.
+     */
+    default <T> CompletableFuture<T> deserializeAsync(final URL url,
+            final Class<? extends T> type) {
+
+        return this.deserializeAsync(url, type,
+                SerializationExecutor.defaultExecutor());
+    }
+
+    /**
+     * Deserializes a class of the provided type from a URL asynchronously on
+     * the provided {@link Executor}.
+     *
+     * @param <T>
+     *            the document type.
+     *
+     * @param url
+     *            the URL.
+     * @param type
+     *            the desired return type.
+     * @param executor
+     *            the executor.
+     * @return a future completed with the deserialized document.
+     */
+    default <T> CompletableFuture<T> deserializeAsync(final URL url,
+            final Class<? extends T> type, final Executor executor) {
+
+        return SerializationExecutor.supplyAsync(() -> {
+
+            try {
+
+                return this.<T> deserialize(url, type);
+            }
+            catch (SerializationException e) {
+
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
 }
@@ -0,0 +1,116 @@
+package org.jutility.io;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.util.Collections;
+import java.util.Set;
+
+
+/**
+ * The {@code ISerializerProvider} interface provides a contract for classes
+ * describing an {@link ISerializer serializer} to the {@link IOManager}.
+ * <p>
+ * Providers are discovered through the {@link java.util.ServiceLoader} by
+ * listing them in
+ * {@code META-INF/services/org.jutility.io.ISerializerProvider}. They are
+ * expected to be cheap to create; the serializer itself is only requested when
+ * the {@link IOManager} first resolves it. Providers should therefore answer
+ * whether their serializer supports a type without creating the serializer;
+ * the default implementations fall back to asking the serializer.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public interface ISerializerProvider {
+
+    /**
+     * Returns the type of the provided {@link ISerializer serializer}.
+     *
+     * @return the type of the serializer.
+     */
+    Class<? extends ISerializer> getSerializerType();
+
+    /**
+     * Returns the provided {@link ISerializer serializer}.
+     *
+     * @return the serializer.
+     */
+    ISerializer getSerializer();
+
+    /**
+     * Returns whether or not the provided {@link ISerializer serializer}
+     * supports serialization of the provided type.
+     *
+     * @param type
+     *            the type.
+     * @return {@code true}, if the serializer supports serialization of the
+     *         type; {@code false} otherwise.
+     */
+    default boolean supportsSerializationOf(Class<?> type) {
+
+        return this.getSerializer()
+                   .supportsSerializationOf(type);
+    }
+
+    /**
+     * Returns whether or not the provided {@link ISerializer serializer}
+     * supports deserialization of the provided type.
+     *
+     * @param type
+     *            the type.
+     * @return {@code true}, if the serializer supports deserialization of the
+     *         type; {@code false} otherwise.
+     */
+    default boolean supportsDeserializationOf(Class<?> type) {
+
+        return this.getSerializer()
+                   .supportsDeserializationOf(type);
+    }
+
+    /**
+     * Returns the file extensions handled by the provided
+     * {@link ISerializer serializer}, without leading dots (e.g.,
+     * {@code "csv"}).
+     *
+     * @return the file extensions.
+     */
+    default Set<String> getExtensions() {
+
+        return Collections.emptySet();
+    }
+
+    /**
+     * Returns the MIME types handled by the provided
+     * {@link ISerializer serializer} (e.g., {@code "text/csv"}).
+     *
+     * @return the MIME types.
+     */
+    default Set<String> getMimeTypes() {
+
+        return Collections.emptySet();
+    }
+}
@@ -0,0 +1,283 @@
+package org.jutility.io;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * The {@code ParallelGzipOutputStream} class compresses its data in parallel.
+ * <p>
+ * The data is split into blocks of a fixed size, each of which is compressed
+ * into an independent GZIP member on the {@link ForkJoinPool#commonPool()
+ * common pool}, which is shared by all streams. The members are written in
+ * order, so the output is a valid GZIP file that can be read by any GZIP
+ * implementation, including {@link java.util.zip.GZIPInputStream}. The number
+ * of blocks of a stream that are compressed or waiting to be written is
+ * bounded, so memory use does not depend on the size of the output.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+final class ParallelGzipOutputStream
+        extends OutputStream {
+
+    /**
+     * The default size of a block.
+     */
+    static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private final OutputStream                outputStream;
+    private final int                         blockSize;
+    private final int                         maxPending;
+    private final Deque<ForkJoinTask<byte[]>> pending;
+
+    private byte[]  block;
+    private int     position;
+    private boolean submitted;
+    private boolean closed;
+
+
+    /**
+     * Creates a new instance of the {@code ParallelGzipOutputStream} class.
+     *
+     * @param outputStream
+     *         the {@link OutputStream} receiving the compressed data.
+     * @param parallelism
+     *         the level of parallelism, i.e., half the maximum number of
+     *         blocks of this stream that are compressed or waiting to be
+     *         written.
+     * @param blockSize
+     *         the size of a block.
+     */
+    ParallelGzipOutputStream(final OutputStream outputStream,
+            final int parallelism, final int blockSize) {
+
+        if (parallelism < 1) {
+
+            throw new IllegalArgumentException(
+                    "Parallelism must be positive!");
+        }
+        if (blockSize < 1) {
+
+            throw new IllegalArgumentException(
+                    "Block size must be positive!");
+        }
+
+        this.outputStream = outputStream;
+        this.blockSize = blockSize;
+        this.maxPending = 2 * parallelism;
+        this.pending = new ArrayDeque<>();
+        this.block = new byte[blockSize];
+        this.position = 0;
+        this.submitted = false;
+        this.closed = false;
+    }
+
+
+    @Override
+    public void write(final int b)
+            throws IOException {
+
+        this.ensureOpen();
+
+        if (this.position == this.blockSize) {
+
+            this.submit();
+        }
+        this.block[this.position++] = (byte) b;
+    }
+
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length)
+            throws IOException {
+
+        this.ensureOpen();
+
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+
+            throw new IndexOutOfBoundsException();
+        }
+
+        int written = 0;
+
+        while (written < length) {
+
+            if (this.position == this.blockSize) {
+
+                this.submit();
+            }
+
+            final int count = Math.min(length - written,
+                    this.blockSize - this.position);
+
+            System.arraycopy(bytes, offset + written, this.block,
+                    this.position, count);
+            this.position += count;
+            written += count;
+        }
+    }
+
+
+    /**
+     * Compresses the buffered data as a separate block and writes all pending
+     * blocks.
+     *
+     * @throws IOException
+     *         if the data cannot be written.
+     */
+    @Override
+    public void flush()
+            throws IOException {
+
+        this.ensureOpen();
+
+        if (this.position > 0) {
+
+            this.submit();
+        }
+        while (!this.pending.isEmpty()) {
+
+            this.writeNext();
+        }
+        this.outputStream.flush();
+    }
+
+
+    @Override
+    public void close()
+            throws IOException {
+
+        if (this.closed) {
+
+            return;
+        }
+        this.closed = true;
+
+        try {
+
+            // An empty output still requires one member to be valid GZIP.
+            if (this.position > 0 || !this.submitted) {
+
+                this.submit();
+            }
+            while (!this.pending.isEmpty()) {
+
+                this.writeNext();
+            }
+        }
+        finally {
+
+            // Blocks that can no longer be written are not compressed.
+            for (final ForkJoinTask<byte[]> task : this.pending) {
+
+                task.cancel(false);
+            }
+            this.pending.clear();
+            this.outputStream.close();
+        }
+    }
+
+
+    private void ensureOpen()
+            throws IOException {
+
+        if (this.closed) {
+
+            throw new IOException("Stream closed");
+        }
+    }
+
+
+    private void submit()
+            throws IOException {
+
+        final byte[] data = this.block;
+        final int length = this.position;
+
+        this.pending.add(ForkJoinPool.commonPool()
+                                     .submit(() -> ParallelGzipOutputStream
+                                             .compress(data, length)));
+        this.submitted = true;
+        this.block = new byte[this.blockSize];
+        this.position = 0;
+
+        while (this.pending.size() > this.maxPending) {
+
+            this.writeNext();
+        }
+    }
+
+
+    private void writeNext()
+            throws IOException {
+
+        final ForkJoinTask<byte[]> task = this.pending.poll();
+
+        try {
+
+            this.outputStream.write(task.get());
+        }
+        catch (InterruptedException e) {
+
+            Thread.currentThread()
+                  .interrupt();
+            throw new InterruptedIOException(
+                    "Interrupted while compressing data!");
+        }
+        catch (ExecutionException e) {
+
+            throw new IOException("Could not compress data!", e.getCause());
+        }
+    }
+
+
+    private static byte[] compress(final byte[] data, final int length)
+            throws IOException {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                length / 2 + 64);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes,
+                Compression.BUFFER_SIZE)) {
+
+            gzip.write(data, 0, length);
+        }
+
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,241 @@
+package org.jutility.io;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+
+/**
+ * The {@code SerializationExecutor} class provides a bounded {@link Executor}
+ * for the asynchronous operations of {@link ISerializer serializers}.
+ * <p>
+ * At most a fixed number of tasks can be pending (queued or running) at any
+ * time, so that a large number of concurrent requests cannot exhaust the heap
+ * with queued documents and serialization buffers. Further tasks are rejected
+ * immediately with a {@link RejectedExecutionException} rather than blocking
+ * the submitting thread, which could deadlock if the submitting thread is
+ * itself running a pending task; the asynchronous operations of
+ * {@link ISerializer serializers} complete their futures exceptionally in
+ * that case. The number of tasks running concurrently is bounded by the
+ * delegate executor.
+ * </p>
+ * <p>
+ * The default executor runs tasks on a fixed pool of daemon threads, one per
+ * available processor, and admits twice as many pending tasks; it can be
+ * replaced through {@link #setDefaultExecutor(Executor)}.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class SerializationExecutor
+        implements Executor {
+
+    private static Executor defaultExecutor;
+
+    private final Executor  delegate;
+    private final Semaphore permits;
+    private final int       maxPending;
+
+
+    /**
+     * Creates a new instance of the {@code SerializationExecutor} class.
+     *
+     * @param delegate
+     *         the {@link Executor} running the tasks.
+     * @param maxPending
+     *         the maximum number of pending tasks.
+     */
+    public SerializationExecutor(final Executor delegate,
+            final int maxPending) {
+
+        if (delegate == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create executor without delegate!");
+        }
+        if (maxPending < 1) {
+
+            throw new IllegalArgumentException(
+                    "Maximum number of pending tasks must be positive!");
+        }
+
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxPending);
+        this.maxPending = maxPending;
+    }
+
+
+    /**
+     * Returns the default {@link Executor} for asynchronous serialization.
+     *
+     * @return the default {@link Executor}.
+     */
+    public static synchronized Executor defaultExecutor() {
+
+        if (SerializationExecutor.defaultExecutor == null) {
+
+            final int parallelism = Runtime.getRuntime()
+                                           .availableProcessors();
+            final AtomicInteger threads = new AtomicInteger();
+            final ExecutorService pool = Executors.newFixedThreadPool(
+                    parallelism, runnable -> {
+
+                        final Thread thread = new Thread(runnable,
+                                "jutility-serializer-"
+                                + threads.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+            SerializationExecutor.defaultExecutor = new SerializationExecutor(
+                    pool, 2 * parallelism);
+        }
+
+        return SerializationExecutor.defaultExecutor;
+    }
+
+
+    /**
+     * Replaces the default {@link Executor} for asynchronous serialization.
+     * The previous default executor is not shut down.
+     *
+     * @param executor
+     *         the new default {@link Executor}.
+     */
+    public static synchronized void setDefaultExecutor(
+            final Executor executor) {
+
+        if (executor == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot set null default executor!");
+        }
+
+        SerializationExecutor.defaultExecutor = executor;
+    }
+
+
+    /**
+     * Returns the maximum number of pending tasks.
+     *
+     * @return the maximum number of pending tasks.
+     */
+    public int getMaxPending() {
+
+        return this.maxPending;
+    }
+
+
+    /**
+     * Returns the number of pending tasks.
+     *
+     * @return the number of pending tasks.
+     */
+    public int getPending() {
+
+        return this.maxPending - this.permits.availablePermits();
+    }
+
+
+    /**
+     * Executes the provided task, unless the maximum number of tasks is
+     * already pending. This method never blocks.
+     *
+     * @param task
+     *         the task.
+     *
+     * @throws RejectedExecutionException
+     *         if the maximum number of tasks is pending or the delegate
+     *         rejects the task.
+     */
+    @Override
+    public void execute(final Runnable task) {
+
+        if (!this.permits.tryAcquire()) {
+
+            throw new RejectedExecutionException("Cannot execute task, "
+                    + this.maxPending + " tasks are already pending!");
+        }
+
+        try {
+
+            this.delegate.execute(() -> {
+
+                try {
+
+                    task.run();
+                }
+                finally {
+
+                    this.permits.release();
+                }
+            });
+        }
+        catch (RuntimeException e) {
+
+            this.permits.release();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Runs the provided supplier on the provided {@link Executor} like
+     * {@link CompletableFuture#supplyAsync(Supplier, Executor)}, but completes
+     * the returned future exceptionally if the executor rejects the task
+     * instead of throwing.
+     *
+     * @param <T>
+     *         the type of the result.
+     * @param supplier
+     *         the supplier.
+     * @param executor
+     *         the executor.
+     *
+     * @return a future completed with the result of the supplier.
+     */
+    static <T> CompletableFuture<T> supplyAsync(final Supplier<T> supplier,
+            final Executor executor) {
+
+        try {
+
+            return CompletableFuture.supplyAsync(supplier, executor);
+        }
+        catch (RejectedExecutionException e) {
+
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package org.jutility.io.binary;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jutility.common.datatype.table.ITable;
+import org.jutility.common.datatype.table.Table;
+import org.jutility.io.ISerializer;
+import org.jutility.io.SerializationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@code BinaryTableSerializer} class provides an implementation of the
+ * {@link ISerializer} interface for binary columnar table files.
+ * <p>
+ * Each column is stored according to the {@link ColumnType} derived from the
+ * effective type of its values: numbers and booleans as primitive arrays,
+ * strings dictionary-encoded, and other serializable values using Java
+ * serialization. Files can be opened lazily as a {@link MappedTable} with
+ * {@link #open(Path)}, which maps columns into memory only when they are
+ * accessed, or deserialized into a {@link Table}.
+ * </p>
+ * <p>
+ * Values of object columns are only deserialized if their classes have been
+ * {@link #registerClass(Class) registered} as trusted, as Java deserialization
+ * of untrusted files (e.g., files downloaded from a URL) can execute
+ * arbitrary code.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class BinaryTableSerializer
+        implements ISerializer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryTableSerializer.class);
+    private static BinaryTableSerializer instance;
+
+    /**
+     * Returns the Singleton instance of the {@code BinaryTableSerializer}.
+     *
+     * @return the Singleton instance.
+     */
+    public static synchronized BinaryTableSerializer instance() {
+
+        if (instance == null) {
+
+            instance = new BinaryTableSerializer();
+        }
+
+        return instance;
+    }
+
+    private final Set<Class<?>> trustedClasses;
+
+    private BinaryTableSerializer() {
+
+        this.trustedClasses = new LinkedHashSet<>();
+    }
+
+    /**
+     * Registers a {@link Class type} whose instances may be deserialized from
+     * object columns.
+     *
+     * @param type
+     *         the type.
+     */
+    public synchronized void registerClass(Class<?> type) {
+
+        if (type == null) {
+
+            throw new IllegalArgumentException("Cannot register null type!");
+        }
+
+        this.trustedClasses.add(type);
+    }
+
+    /**
+     * Removes a {@link Class type} from the types whose instances may be
+     * deserialized from object columns.
+     *
+     * @param type
+     *         the type.
+     */
+    public synchronized void unregisterClass(Class<?> type) {
+
+        this.trustedClasses.remove(type);
+    }
+
+    @Override
+    public boolean supportsSerializationOf(Class<?> type) {
+
+        return ITable.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public boolean supportsDeserializationOf(Class<?> type) {
+
+        return type.isAssignableFrom(Table.class);
+    }
+
+    @Override
+    public <T> void serialize(T document, String filename)
+            throws SerializationException {
+
+        Class<?> documentType = document.getClass();
+
+        if (!this.supportsSerializationOf(documentType)) {
+
+            LOGGER.info("Serialization of type {} is not supported!", documentType);
+            throw new SerializationException("Serialization of type " + documentType + " is not supported!");
+        }
+
+        try {
+
+            BinaryTableWriter.write((ITable<?>) document, Paths.get(filename));
+        }
+        catch (IOException e) {
+
+            LOGGER.info("Could not serialize resource.");
+            throw new SerializationException("Could not serialize resource.",
+                    e);
+        }
+    }
+
+    /**
+     * Opens the binary table file at the provided {@link Path} as a read-only
+     * {@link MappedTable}. Only the header of the file is read; columns are
+     * mapped into memory when they are first accessed. Values of object
+     * columns can only be read if their classes are
+     * {@link #registerClass(Class) registered}.
+     *
+     * @param path
+     *         the path of the binary table file.
+     *
+     * @return the {@link MappedTable}, which has to be closed.
+     *
+     * @throws IOException
+     *         if the file cannot be opened or is not a binary table file.
+     */
+    public MappedTable open(final Path path)
+            throws IOException {
+
+        final Set<Class<?>> trusted;
+
+        synchronized (this) {
+
+            trusted = new LinkedHashSet<>(this.trustedClasses);
+        }
+
+        return new MappedTable(path, trusted);
+    }
+
+    @Override
+    public <T> T deserialize(File file, Class<? extends T> type)
+            throws SerializationException {
+
+        return this.deserialize(file.toURI(), type);
+    }
+
+    @Override
+    public <T> T deserialize(URI uri, Class<? extends T> type)
+            throws SerializationException {
+
+        try {
+
+            return this.deserialize(uri.toURL(), type);
+        }
+        catch (MalformedURLException e) {
+
+            LOGGER.info("URI {} is malformed.", uri);
+            throw new SerializationException("URI " + uri + " is malformed.",
+                    e);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(URL url, Class<? extends T> type)
+            throws SerializationException {
+
+        if (!this.supportsDeserializationOf(type)) {
+
+            LOGGER.info("Deserialization of type {} is not supported!", type);
+            throw new SerializationException(
+                    "Deserialization of type " + type + " is not supported!");
+        }
+
+        Path temporary = null;
+        try {
+
+            final Path path;
+
+            if ("file".equalsIgnoreCase(url.getProtocol())
+                && url.getAuthority() == null && url.getQuery() == null) {
+
+                path = Paths.get(url.toURI());
+            }
+            else {
+
+                // Remote resources are copied, as they cannot be mapped.
+                temporary = Files.createTempFile("jutility", ".jtbl");
+
+                try (InputStream inputStream = url.openStream()) {
+
+                    Files.copy(inputStream, temporary,
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+                path = temporary;
+            }
+
+            try (MappedTable table = this.open(path)) {
+
+                return type.cast(table.toTable());
+            }
+        }
+        catch (IOException | URISyntaxException | IllegalStateException e) {
+
+            LOGGER.info("Could not deserialize binary table {}!", url);
+            throw new SerializationException(
+                    "Could not deserialize binary table " + url + "!", e);
+        }
+        finally {
+
+            if (temporary != null) {
+
+                try {
+
+                    Files.deleteIfExists(temporary);
+                }
+                catch (IOException e) {
+
+                    LOGGER.info("Could not delete temporary file {}.",
+                            temporary);
+                }
+            }
+        }
+    }
+}
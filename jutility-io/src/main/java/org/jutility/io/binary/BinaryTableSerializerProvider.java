@@ -0,0 +1,88 @@
+package org.jutility.io.binary;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jutility.common.datatype.table.ITable;
+import org.jutility.common.datatype.table.Table;
+import org.jutility.io.ISerializer;
+import org.jutility.io.ISerializerProvider;
+
+/**
+ * The {@code BinaryTableSerializerProvider} class provides the {@link BinaryTableSerializer} to the
+ * {@link org.jutility.io.IOManager}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class BinaryTableSerializerProvider
+        implements ISerializerProvider {
+
+    private static final Set<String> EXTENSIONS = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList("jtbl")));
+    private static final Set<String> MIME_TYPES = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList("application/x-jutility-table")));
+
+    @Override
+    public Class<? extends ISerializer> getSerializerType() {
+
+        return BinaryTableSerializer.class;
+    }
+
+    @Override
+    public ISerializer getSerializer() {
+
+        return BinaryTableSerializer.instance();
+    }
+
+    // The following mirror BinaryTableSerializer, without creating the serializer.
+
+    @Override
+    public boolean supportsSerializationOf(Class<?> type) {
+
+        return ITable.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public boolean supportsDeserializationOf(Class<?> type) {
+
+        return type.isAssignableFrom(Table.class);
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+
+        return BinaryTableSerializerProvider.EXTENSIONS;
+    }
+
+    @Override
+    public Set<String> getMimeTypes() {
+
+        return BinaryTableSerializerProvider.MIME_TYPES;
+    }
+}
@@ -0,0 +1,515 @@
+package org.jutility.io.binary;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.jutility.common.datatype.table.CellLocation;
+import org.jutility.common.datatype.table.ICell;
+import org.jutility.common.datatype.table.ICellTable;
+import org.jutility.common.datatype.table.ITable;
+import org.jutility.common.datatype.table.Table;
+
+/**
+ * The {@code BinaryTableWriter} class writes tables in the binary columnar
+ * format described by the {@link MappedTable} class.
+ * <p>
+ * The table is traversed once to split it into columns; each column is then
+ * encoded according to its {@link ColumnType} and written through a large,
+ * reusable buffer. The column directory is written last, once the offsets and
+ * lengths of all column sections are known.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+final class BinaryTableWriter
+        implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int ALIGNMENT   = 8;
+
+    private final FileChannel channel;
+    private final ByteBuffer  buffer;
+
+    private long position;
+
+
+    /**
+     * Creates a new instance of the {@code BinaryTableWriter} class writing to
+     * the file at the provided {@link Path}, which is created or truncated.
+     *
+     * @param path
+     *         the path of the file.
+     *
+     * @throws IOException
+     *         if the file cannot be opened for writing.
+     */
+    private BinaryTableWriter(final Path path)
+            throws IOException {
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocate(BinaryTableWriter.BUFFER_SIZE)
+                                .order(ByteOrder.LITTLE_ENDIAN);
+        this.position = 0;
+    }
+
+
+    /**
+     * Writes the provided table to the file at the provided {@link Path}.
+     *
+     * @param table
+     *         the table.
+     * @param path
+     *         the path of the file.
+     *
+     * @throws IOException
+     *         if the file cannot be written or a value of an object column is
+     *         not serializable.
+     */
+    static void write(final ITable<?> table, final Path path)
+            throws IOException {
+
+        final Object[][] columns = BinaryTableWriter.split(table);
+        final int rows = columns.length > 0 ? columns[0].length : 0;
+
+        try (BinaryTableWriter writer = new BinaryTableWriter(path)) {
+
+            writer.write(columns, rows);
+        }
+    }
+
+
+    /**
+     * Splits the provided table into columns covering its
+     * {@link ITable#cellRange() cell range}, starting at row and column
+     * {@code 0}.
+     *
+     * @param table
+     *         the table.
+     *
+     * @return the values of the columns, {@code null} for missing values.
+     */
+    private static Object[][] split(final ITable<?> table) {
+
+        if (table.size() == 0) {
+
+            return new Object[0][];
+        }
+
+        final CellLocation end = table.cellRange()
+                                      .getEnd();
+        final int rows = end.getRow();
+        final Object[][] columns = new Object[end.getColumn()][rows];
+
+        if (table instanceof ICellTable) {
+
+            final Iterator<? extends ICell<?>> cells = ((ICellTable<?, ?>) table)
+                    .rowMajorOrderCellIterator();
+
+            while (cells.hasNext()) {
+
+                final ICell<?> cell = cells.next();
+
+                columns[cell.getColumn()][cell.getRow()] = cell.getValue();
+            }
+        }
+        else {
+
+            for (int column = 0; column < columns.length; column++) {
+
+                for (int row = 0; row < rows; row++) {
+
+                    columns[column][row] = table.get(row, column);
+                }
+            }
+        }
+
+        return columns;
+    }
+
+
+    private void write(final Object[][] columns, final int rows)
+            throws IOException {
+
+        final int directorySize = columns.length * MappedTable.ENTRY_SIZE;
+        final ByteBuffer header = ByteBuffer.allocate(
+                MappedTable.HEADER_SIZE + directorySize)
+                                            .order(ByteOrder.LITTLE_ENDIAN);
+
+        header.putInt(MappedTable.MAGIC);
+        header.putInt(MappedTable.VERSION);
+        header.putInt(rows);
+        header.putInt(columns.length);
+
+        // The directory is filled in once the column sections are written.
+        this.skip(header.capacity());
+
+        for (final Object[] values : columns) {
+
+            final ColumnType type = ColumnType.of(Table.getEffectiveType(
+                    Arrays.asList(values)));
+
+            this.align();
+
+            final long offset = this.offset();
+            final int dictionarySize = this.writeColumn(type, values);
+            final long length = this.offset() - offset;
+
+            if (length > Integer.MAX_VALUE) {
+
+                throw new IOException("Column section exceeds 2 GiB!");
+            }
+
+            int count = 0;
+            for (final Object value : values) {
+
+                if (value != null) {
+
+                    count++;
+                }
+            }
+
+            header.putInt(type.tag());
+            header.putInt(count);
+            header.putLong(offset);
+            header.putLong(length);
+            header.putInt(dictionarySize);
+            header.putInt(0);
+        }
+
+        this.flush();
+
+        header.flip();
+        while (header.hasRemaining()) {
+
+            this.channel.write(header, header.position());
+        }
+    }
+
+
+    /**
+     * Writes the section of a column.
+     *
+     * @param type
+     *         the type of the column.
+     * @param values
+     *         the values of the column.
+     *
+     * @return the size of the dictionary of the column.
+     *
+     * @throws IOException
+     *         if the section cannot be written.
+     */
+    private int writeColumn(final ColumnType type, final Object[] values)
+            throws IOException {
+
+        switch (type) {
+            case EMPTY:
+
+                return 0;
+
+            case INT:
+
+                this.writeBitmap(values);
+                for (final Object value : values) {
+
+                    this.ensureCapacity(Integer.BYTES);
+                    this.buffer.putInt(value != null ? (Integer) value : 0);
+                }
+                return 0;
+
+            case LONG:
+
+                this.writeBitmap(values);
+                for (final Object value : values) {
+
+                    this.ensureCapacity(Long.BYTES);
+                    this.buffer.putLong(value != null ? (Long) value : 0L);
+                }
+                return 0;
+
+            case FLOAT:
+
+                this.writeBitmap(values);
+                for (final Object value : values) {
+
+                    this.ensureCapacity(Float.BYTES);
+                    this.buffer.putFloat(value != null ? (Float) value : 0f);
+                }
+                return 0;
+
+            case DOUBLE:
+
+                this.writeBitmap(values);
+                for (final Object value : values) {
+
+                    this.ensureCapacity(Double.BYTES);
+                    this.buffer.putDouble(value != null ? (Double) value : 0d);
+                }
+                return 0;
+
+            case BOOLEAN:
+
+                this.writeBitmap(values);
+                for (final Object value : values) {
+
+                    this.ensureCapacity(1);
+                    this.buffer.put((byte) (Boolean.TRUE.equals(value) ? 1 : 0));
+                }
+                return 0;
+
+            case STRING:
+
+                return this.writeStrings(values);
+
+            case OBJECT:
+            default:
+
+                this.writeObjects(values);
+                return 0;
+        }
+    }
+
+
+    private void writeBitmap(final Object[] values)
+            throws IOException {
+
+        final int words = MappedTable.bitmapSize(values.length) >>> 3;
+
+        for (int word = 0; word < words; word++) {
+
+            long bits = 0;
+            final int end = Math.min(values.length, (word + 1) << 6);
+
+            for (int row = word << 6; row < end; row++) {
+
+                if (values[row] != null) {
+
+                    bits |= 1L << row;
+                }
+            }
+
+            this.ensureCapacity(Long.BYTES);
+            this.buffer.putLong(bits);
+        }
+    }
+
+
+    private int writeStrings(final Object[] values)
+            throws IOException {
+
+        final Map<String, Integer> codes = new HashMap<>();
+        final List<byte[]> entries = new ArrayList<>();
+
+        for (final Object value : values) {
+
+            if (value == null) {
+
+                this.ensureCapacity(Integer.BYTES);
+                this.buffer.putInt(-1);
+                continue;
+            }
+
+            Integer code = codes.get(value);
+
+            if (code == null) {
+
+                code = entries.size();
+                codes.put((String) value, code);
+                entries.add(((String) value).getBytes(StandardCharsets.UTF_8));
+            }
+
+            this.ensureCapacity(Integer.BYTES);
+            this.buffer.putInt(code);
+        }
+
+        long offset = 0;
+        for (int i = 0; i <= entries.size(); i++) {
+
+            if (offset > Integer.MAX_VALUE) {
+
+                throw new IOException("String dictionary exceeds 2 GiB!");
+            }
+
+            this.ensureCapacity(Integer.BYTES);
+            this.buffer.putInt((int) offset);
+
+            if (i < entries.size()) {
+
+                offset += entries.get(i).length;
+            }
+        }
+
+        for (final byte[] entry : entries) {
+
+            this.put(entry);
+        }
+
+        return entries.size();
+    }
+
+
+    private void writeObjects(final Object[] values)
+            throws IOException {
+
+        this.writeBitmap(values);
+
+        final byte[][] serialized = new byte[values.length][];
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        for (int row = 0; row < values.length; row++) {
+
+            if (values[row] != null) {
+
+                bytes.reset();
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+
+                    out.writeObject(values[row]);
+                }
+                serialized[row] = bytes.toByteArray();
+            }
+        }
+
+        long offset = 0;
+        for (int row = 0; row <= values.length; row++) {
+
+            this.ensureCapacity(Long.BYTES);
+            this.buffer.putLong(offset);
+
+            if (row < values.length && serialized[row] != null) {
+
+                offset += serialized[row].length;
+            }
+        }
+
+        for (final byte[] value : serialized) {
+
+            if (value != null) {
+
+                this.put(value);
+            }
+        }
+    }
+
+
+    private void put(final byte[] bytes)
+            throws IOException {
+
+        int written = 0;
+
+        while (written < bytes.length) {
+
+            this.ensureCapacity(1);
+
+            final int count = Math.min(bytes.length - written,
+                    this.buffer.remaining());
+
+            this.buffer.put(bytes, written, count);
+            written += count;
+        }
+    }
+
+
+    private void skip(final int bytes)
+            throws IOException {
+
+        for (int i = 0; i < bytes; i++) {
+
+            this.ensureCapacity(1);
+            this.buffer.put((byte) 0);
+        }
+    }
+
+
+    private void align()
+            throws IOException {
+
+        final long offset = this.offset();
+
+        this.skip((int) ((BinaryTableWriter.ALIGNMENT
+                          - offset % BinaryTableWriter.ALIGNMENT)
+                         % BinaryTableWriter.ALIGNMENT));
+    }
+
+
+    /**
+     * Returns the offset in the file at which the next byte is written.
+     *
+     * @return the offset.
+     */
+    private long offset() {
+
+        return this.position + this.buffer.position();
+    }
+
+
+    private void ensureCapacity(final int bytes)
+            throws IOException {
+
+        if (this.buffer.remaining() < bytes) {
+
+            this.flush();
+        }
+    }
+
+
+    private void flush()
+            throws IOException {
+
+        this.buffer.flip();
+
+        while (this.buffer.hasRemaining()) {
+
+            this.position += this.channel.write(this.buffer);
+        }
+
+        this.buffer.clear();
+    }
+
+
+    @Override
+    public void close()
+            throws IOException {
+
+        this.channel.close();
+    }
+}
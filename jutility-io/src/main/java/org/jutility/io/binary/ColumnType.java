@@ -0,0 +1,170 @@
+package org.jutility.io.binary;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+/**
+ * The {@code ColumnType} enum lists the types of the columns of a binary table
+ * file or an {@link org.jutility.io.csv.TypedTable}.
+ * <p>
+ * The type of a column is derived from the
+ * {@link org.jutility.common.datatype.table.Table#getEffectiveType(Iterable)
+ * effective type} of its values: {@link Integer}, {@link Long}, {@link Float},
+ * {@link Double}, and {@link Boolean} columns are stored as primitive arrays,
+ * {@link String} columns are dictionary-encoded, and all other columns are
+ * stored using Java serialization.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public enum ColumnType {
+
+    /**
+     * A column without values.
+     */
+    EMPTY(0, null),
+
+    /**
+     * A column of {@link Integer Integers}.
+     */
+    INT(1, Integer.class),
+
+    /**
+     * A column of {@link Long Longs}.
+     */
+    LONG(2, Long.class),
+
+    /**
+     * A column of {@link Float Floats}.
+     */
+    FLOAT(3, Float.class),
+
+    /**
+     * A column of {@link Double Doubles}.
+     */
+    DOUBLE(4, Double.class),
+
+    /**
+     * A column of {@link Boolean Booleans}.
+     */
+    BOOLEAN(5, Boolean.class),
+
+    /**
+     * A dictionary-encoded column of {@link String Strings}.
+     */
+    STRING(6, String.class),
+
+    /**
+     * A column of serializable objects of any other type.
+     */
+    OBJECT(7, Object.class);
+
+
+    private final int      tag;
+    private final Class<?> type;
+
+
+    ColumnType(final int tag, final Class<?> type) {
+
+        this.tag = tag;
+        this.type = type;
+    }
+
+
+    /**
+     * Returns the tag identifying this column type in a file.
+     *
+     * @return the tag.
+     */
+    public int tag() {
+
+        return this.tag;
+    }
+
+
+    /**
+     * Returns the type of the values of this column type.
+     *
+     * @return the type of the values ({@code null} for {@link #EMPTY}).
+     */
+    public Class<?> type() {
+
+        return this.type;
+    }
+
+
+    /**
+     * Returns the column type for values of the provided effective type.
+     *
+     * @param effectiveType
+     *         the effective type of the values of a column ({@code null}, if
+     *         the column has no values).
+     *
+     * @return the column type.
+     */
+    public static ColumnType of(final Class<?> effectiveType) {
+
+        if (effectiveType == null) {
+
+            return ColumnType.EMPTY;
+        }
+
+        for (final ColumnType columnType : ColumnType.values()) {
+
+            if (columnType.type == effectiveType) {
+
+                return columnType;
+            }
+        }
+
+        return ColumnType.OBJECT;
+    }
+
+
+    /**
+     * Returns the column type identified by the provided tag.
+     *
+     * @param tag
+     *         the tag.
+     *
+     * @return the column type.
+     *
+     * @throws IllegalArgumentException
+     *         if the tag does not identify a column type.
+     */
+    public static ColumnType fromTag(final int tag) {
+
+        for (final ColumnType columnType : ColumnType.values()) {
+
+            if (columnType.tag == tag) {
+
+                return columnType;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown column type tag " + tag
+                                           + "!");
+    }
+}
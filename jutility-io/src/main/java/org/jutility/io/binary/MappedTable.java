@@ -0,0 +1,1374 @@
+package org.jutility.io.binary;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.jutility.common.datatype.table.CellLocation;
+import org.jutility.common.datatype.table.CellRange;
+import org.jutility.common.datatype.table.ITable;
+import org.jutility.common.datatype.table.IterationOrder;
+import org.jutility.common.datatype.table.Table;
+
+/**
+ * The {@code MappedTable} class provides a read-only {@link ITable} view of a
+ * binary table file written by the {@link BinaryTableSerializer}.
+ * <p>
+ * Opening a table only reads the header and the column directory. Each column
+ * is mapped into memory using {@link FileChannel#map} when it is first
+ * accessed, and values are decoded directly from the mapped bytes on every
+ * access, so the cost of opening a table does not depend on its size and
+ * untouched columns are never read. Dictionary entries of {@link String}
+ * columns are decoded once and cached.
+ * </p>
+ * <p>
+ * A binary table file is encoded in little-endian byte order and starts with
+ * a header consisting of the magic number {@code "JTBL"}, the format version,
+ * and the number of rows and columns (four {@code int}s), followed by one
+ * directory entry per column: the {@link ColumnType#tag() column type tag},
+ * the number of values, the offset and length of the column section, and the
+ * size of the dictionary ({@code int}, {@code int}, {@code long},
+ * {@code long}, {@code int}, and four bytes of padding). Column sections start
+ * at offsets that are multiples of eight and contain
+ * </p>
+ * <ul>
+ * <li>a bitmap of the rows containing values ({@code long}s, one bit per row)
+ * followed by one primitive value per row for primitive columns,</li>
+ * <li>one dictionary code per row ({@code int}, {@code -1} for missing
+ * values), the offsets of the dictionary entries ({@code int}, one more than
+ * the number of entries), and the UTF-8 encoded entries for {@link String}
+ * columns, and</li>
+ * <li>the bitmap, the offsets of the values ({@code long}, one more than the
+ * number of rows), and the serialized values for object columns.</li>
+ * </ul>
+ * <p>
+ * A single column section may not exceed 2 GiB. Columns not yet accessed can
+ * no longer be mapped once the table is {@link #close() closed}.
+ * </p>
+ * <p>
+ * As Java deserialization of untrusted content can execute arbitrary code,
+ * values of object columns are only deserialized if every class in their
+ * object graph is one of the trusted classes the table was opened with, a
+ * superclass of a trusted class, or an array of such classes or of primitive
+ * types. Accessing any other value fails with an
+ * {@link IllegalStateException}; in particular, no object values can be read
+ * from a table opened without trusted classes.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class MappedTable
+        implements ITable<Object>, Closeable {
+
+    /**
+     * The magic number identifying binary table files ({@code "JTBL"}).
+     */
+    static final int MAGIC   = 0x4C42544A;
+    /**
+     * The version of the file format.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The size of the header preceding the column directory.
+     */
+    static final int HEADER_SIZE = 16;
+    /**
+     * The size of a column directory entry.
+     */
+    static final int ENTRY_SIZE  = 32;
+
+    private final FileChannel   channel;
+    private final int           rows;
+    private final int           columns;
+    private final ColumnType[]  types;
+    private final int[]         counts;
+    private final long[]        offsets;
+    private final long[]        lengths;
+    private final int[]         dictionarySizes;
+    private final Column[]      mappedColumns;
+    private final Set<Class<?>> trustedClasses;
+
+    private IterationOrder iterationOrder;
+
+
+    /**
+     * Opens the binary table file at the provided {@link Path}.
+     *
+     * @param path
+     *         the path of the file.
+     * @param trustedClasses
+     *         the classes whose instances may be deserialized from object
+     *         columns.
+     *
+     * @throws IOException
+     *         if the file cannot be opened or is not a binary table file.
+     */
+    MappedTable(final Path path, final Set<Class<?>> trustedClasses)
+            throws IOException {
+
+        this.trustedClasses = Collections.unmodifiableSet(
+                new LinkedHashSet<>(trustedClasses));
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+
+            final ByteBuffer header = this.read(0, MappedTable.HEADER_SIZE);
+
+            if (header.getInt(0) != MappedTable.MAGIC) {
+
+                throw new IOException(path + " is not a binary table file!");
+            }
+            if (header.getInt(4) != MappedTable.VERSION) {
+
+                throw new IOException("Unsupported binary table version "
+                                      + header.getInt(4) + "!");
+            }
+
+            this.rows = header.getInt(8);
+            this.columns = header.getInt(12);
+
+            if (this.rows < 0 || this.columns < 0) {
+
+                throw new IOException(path + " is corrupt!");
+            }
+
+            this.types = new ColumnType[this.columns];
+            this.counts = new int[this.columns];
+            this.offsets = new long[this.columns];
+            this.lengths = new long[this.columns];
+            this.dictionarySizes = new int[this.columns];
+            this.mappedColumns = new Column[this.columns];
+
+            final ByteBuffer directory = this.read(MappedTable.HEADER_SIZE,
+                    this.columns * MappedTable.ENTRY_SIZE);
+            final long size = this.channel.size();
+
+            for (int column = 0; column < this.columns; column++) {
+
+                final int entry = column * MappedTable.ENTRY_SIZE;
+
+                this.types[column] = ColumnType.fromTag(
+                        directory.getInt(entry));
+                this.counts[column] = directory.getInt(entry + 4);
+                this.offsets[column] = directory.getLong(entry + 8);
+                this.lengths[column] = directory.getLong(entry + 16);
+                this.dictionarySizes[column] = directory.getInt(entry + 24);
+
+                if (this.offsets[column] < 0 || this.lengths[column] < 0
+                    || this.lengths[column] > Integer.MAX_VALUE
+                    || this.offsets[column] + this.lengths[column] > size) {
+
+                    throw new IOException(path + " is corrupt!");
+                }
+            }
+        }
+        catch (IOException | IllegalArgumentException e) {
+
+            this.channel.close();
+
+            if (e instanceof IOException) {
+
+                throw (IOException) e;
+            }
+            throw new IOException(path + " is corrupt!", e);
+        }
+
+        this.iterationOrder = IterationOrder.ROW_MAJOR;
+    }
+
+
+    private ByteBuffer read(final long position, final int length)
+            throws IOException {
+
+        final ByteBuffer buffer = ByteBuffer.allocate(length)
+                                            .order(ByteOrder.LITTLE_ENDIAN);
+
+        while (buffer.hasRemaining()) {
+
+            if (this.channel.read(buffer, position + buffer.position()) < 0) {
+
+                throw new IOException("Unexpected end of binary table file!");
+            }
+        }
+
+        return buffer;
+    }
+
+
+    /**
+     * Returns the {@link ColumnType} of the column with the provided index.
+     *
+     * @param column
+     *         the column index.
+     *
+     * @return the {@link ColumnType} of the column.
+     */
+    public ColumnType getColumnType(final int column) {
+
+        this.checkColumn(column);
+
+        return this.types[column];
+    }
+
+
+    /**
+     * Determines whether the cell with the provided row and column contains a
+     * value.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return {@code true}, if the cell contains a value; {@code false}
+     * otherwise.
+     */
+    public boolean contains(final int row, final int column) {
+
+        return this.inExtent(row, column)
+               && this.column(column)
+                      .contains(row);
+    }
+
+
+    /**
+     * Returns the value of the cell with the provided row and column of an
+     * {@link ColumnType#INT int column}, or {@code 0} if the cell contains no
+     * value.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value of the cell.
+     */
+    public int getInt(final int row, final int column) {
+
+        return ((IntColumn) this.typedColumn(row, column, ColumnType.INT))
+                .getInt(row);
+    }
+
+
+    /**
+     * Returns the value of the cell with the provided row and column of a
+     * {@link ColumnType#LONG long column}, or {@code 0} if the cell contains no
+     * value.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value of the cell.
+     */
+    public long getLong(final int row, final int column) {
+
+        return ((LongColumn) this.typedColumn(row, column, ColumnType.LONG))
+                .getLong(row);
+    }
+
+
+    /**
+     * Returns the value of the cell with the provided row and column of a
+     * {@link ColumnType#FLOAT float} or {@link ColumnType#DOUBLE double
+     * column}, or {@code 0} if the cell contains no value.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value of the cell.
+     */
+    public double getDouble(final int row, final int column) {
+
+        this.checkCell(row, column);
+
+        final Column mapped = this.column(column);
+
+        if (mapped instanceof DoubleColumn) {
+
+            return ((DoubleColumn) mapped).getDouble(row);
+        }
+        if (mapped instanceof FloatColumn) {
+
+            return ((FloatColumn) mapped).getFloat(row);
+        }
+
+        throw new IllegalArgumentException("Column " + column + " is of type "
+                                           + this.types[column] + "!");
+    }
+
+
+    /**
+     * Returns the value of the cell with the provided row and column of a
+     * {@link ColumnType#STRING string column}.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value of the cell or {@code null}, if the cell contains no
+     * value.
+     */
+    public String getString(final int row, final int column) {
+
+        return ((StringColumn) this.typedColumn(row, column,
+                ColumnType.STRING)).get(row);
+    }
+
+
+    /**
+     * Copies this table into a new {@link Table}.
+     *
+     * @return the copy.
+     */
+    public Table<Object> toTable() {
+
+        final Table<Object> table = new Table<>();
+
+        for (int column = 0; column < this.columns; column++) {
+
+            final Column mapped = this.column(column);
+
+            for (int row = 0; row < this.rows; row++) {
+
+                if (mapped.contains(row)) {
+
+                    table.add(row, column, mapped.get(row));
+                }
+            }
+        }
+
+        return table;
+    }
+
+
+    /**
+     * Closes the underlying file. Columns that have already been accessed
+     * remain accessible.
+     *
+     * @throws IOException
+     *         if the file cannot be closed.
+     */
+    @Override
+    public void close()
+            throws IOException {
+
+        this.channel.close();
+    }
+
+
+    @Override
+    public IterationOrder getIterationOrder() {
+
+        return this.iterationOrder;
+    }
+
+
+    @Override
+    public void setIterationOrder(final IterationOrder iterationOrder) {
+
+        this.iterationOrder = iterationOrder;
+    }
+
+
+    @Override
+    public boolean add(final int row, final int column, final Object value) {
+
+        throw MappedTable.readOnly();
+    }
+
+
+    @Override
+    public Object get(final int row, final int column) {
+
+        if (this.inExtent(row, column)) {
+
+            return this.column(column)
+                       .get(row);
+        }
+        return null;
+    }
+
+
+    @Override
+    public boolean remove(final int row, final int column) {
+
+        throw MappedTable.readOnly();
+    }
+
+
+    @Override
+    public boolean add(final CellLocation location, final Object value) {
+
+        throw MappedTable.readOnly();
+    }
+
+
+    @Override
+    public Object get(final CellLocation location) {
+
+        return this.get(location.getRow(), location.getColumn());
+    }
+
+
+    @Override
+    public boolean remove(final CellLocation location) {
+
+        throw MappedTable.readOnly();
+    }
+
+
+    @Override
+    public List<List<Object>> getRows() {
+
+        return new AbstractList<List<Object>>() {
+
+            @Override
+            public List<Object> get(final int index) {
+
+                if (index < 0 || index >= this.size()) {
+
+                    throw new IndexOutOfBoundsException("Row " + index
+                                                        + " does not exist!");
+                }
+                return new LineView(index, true);
+            }
+
+
+            @Override
+            public int size() {
+
+                return MappedTable.this.rows;
+            }
+        };
+    }
+
+
+    @Override
+    public List<Object> getRow(final int index) {
+
+        if (index >= 0 && index < this.rows) {
+
+            return new LineView(index, true);
+        }
+        return null;
+    }
+
+
+    @Override
+    public List<Object> removeRow(final int index) {
+
+        throw MappedTable.readOnly();
+    }
+
+
+    @Override
+    public List<List<Object>> getColumns() {
+
+        return new AbstractList<List<Object>>() {
+
+            @Override
+            public List<Object> get(final int index) {
+
+                if (index < 0 || index >= this.size()) {
+
+                    throw new IndexOutOfBoundsException("Column " + index
+                                                        + " does not exist!");
+                }
+                return new LineView(index, false);
+            }
+
+
+            @Override
+            public int size() {
+
+                return MappedTable.this.columns;
+            }
+        };
+    }
+
+
+    @Override
+    public List<Object> getColumn(final int index) {
+
+        if (index >= 0 && index < this.columns) {
+
+            return new LineView(index, false);
+        }
+        return null;
+    }
+
+
+    @Override
+    public List<Object> removeColumn(final int index) {
+
+        throw MappedTable.readOnly();
+    }
+
+
+    @Override
+    public List<Object> getValues() {
+
+        final List<Object> values = new ArrayList<>(this.size());
+
+        for (final Object value : this) {
+
+            values.add(value);
+        }
+
+        return values;
+    }
+
+
+    @Override
+    public void clear() {
+
+        throw MappedTable.readOnly();
+    }
+
+
+    @Override
+    public CellRange cellRange() {
+
+        return new CellRange(0, 0, this.rows, this.columns);
+    }
+
+
+    @Override
+    public int rows() {
+
+        return this.rows;
+    }
+
+
+    @Override
+    public int columns() {
+
+        return this.columns;
+    }
+
+
+    @Override
+    public int size() {
+
+        int size = 0;
+
+        for (final int count : this.counts) {
+
+            size += count;
+        }
+
+        return size;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return this.getValues()
+                   .toString();
+    }
+
+
+    @Override
+    public Iterator<Object> iterator() {
+
+        return new ValueIterator(this.iterationOrder);
+    }
+
+
+    @Override
+    public Iterator<Object> rowMajorOrderIterator() {
+
+        return new ValueIterator(IterationOrder.ROW_MAJOR);
+    }
+
+
+    @Override
+    public Iterator<Object> columnMajorOrderIterator() {
+
+        return new ValueIterator(IterationOrder.COLUMN_MAJOR);
+    }
+
+
+    private static UnsupportedOperationException readOnly() {
+
+        return new UnsupportedOperationException(
+                "Mapped tables are read-only!");
+    }
+
+
+    private boolean inExtent(final int row, final int column) {
+
+        return row >= 0 && row < this.rows && column >= 0
+               && column < this.columns;
+    }
+
+
+    private void checkColumn(final int column) {
+
+        if (column < 0 || column >= this.columns) {
+
+            throw new IllegalArgumentException("Column " + column
+                                               + " does not exist!");
+        }
+    }
+
+
+    private void checkCell(final int row, final int column) {
+
+        if (!this.inExtent(row, column)) {
+
+            throw new IllegalArgumentException("Cell (" + row + ", " + column
+                                               + ") is outside of the table!");
+        }
+    }
+
+
+    private Column typedColumn(final int row, final int column,
+            final ColumnType type) {
+
+        this.checkCell(row, column);
+
+        if (this.types[column] != type) {
+
+            throw new IllegalArgumentException("Column " + column
+                                               + " is of type "
+                                               + this.types[column] + "!");
+        }
+
+        return this.column(column);
+    }
+
+
+    /**
+     * Returns the column with the provided index, mapping it if necessary.
+     * Columns are immutable, so concurrent first accesses at worst map a
+     * column twice.
+     *
+     * @param index
+     *         the column index.
+     *
+     * @return the column.
+     */
+    private Column column(final int index) {
+
+        Column column = this.mappedColumns[index];
+
+        if (column == null) {
+
+            column = this.map(index);
+            this.mappedColumns[index] = column;
+        }
+
+        return column;
+    }
+
+
+    private Column map(final int index) {
+
+        if (this.types[index] == ColumnType.EMPTY) {
+
+            return EmptyColumn.INSTANCE;
+        }
+
+        final ByteBuffer buffer;
+        try {
+
+            buffer = this.channel.map(FileChannel.MapMode.READ_ONLY,
+                    this.offsets[index], this.lengths[index])
+                                 .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        catch (IOException e) {
+
+            throw new IllegalStateException("Could not map column " + index
+                                            + "!", e);
+        }
+
+        switch (this.types[index]) {
+            case INT:
+
+                return new IntColumn(buffer, this.rows);
+
+            case LONG:
+
+                return new LongColumn(buffer, this.rows);
+
+            case FLOAT:
+
+                return new FloatColumn(buffer, this.rows);
+
+            case DOUBLE:
+
+                return new DoubleColumn(buffer, this.rows);
+
+            case BOOLEAN:
+
+                return new BooleanColumn(buffer, this.rows);
+
+            case STRING:
+
+                return new StringColumn(buffer, this.rows,
+                        this.dictionarySizes[index]);
+
+            case OBJECT:
+            default:
+
+                return new ObjectColumn(buffer, this.rows,
+                        this.trustedClasses);
+        }
+    }
+
+
+    /**
+     * Returns the size of the bitmap of the rows containing values.
+     *
+     * @param rows
+     *         the number of rows.
+     *
+     * @return the size of the bitmap in bytes.
+     */
+    static int bitmapSize(final int rows) {
+
+        return ((rows + 63) >>> 6) << 3;
+    }
+
+
+    /**
+     * The {@code Column} class provides access to the values of a mapped
+     * column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private abstract static class Column {
+
+        /**
+         * Determines whether the provided row contains a value.
+         *
+         * @param row
+         *         the row.
+         *
+         * @return {@code true}, if the row contains a value; {@code false}
+         * otherwise.
+         */
+        abstract boolean contains(int row);
+
+
+        /**
+         * Returns the value of the provided row.
+         *
+         * @param row
+         *         the row.
+         *
+         * @return the value or {@code null}, if the row contains no value.
+         */
+        abstract Object get(int row);
+    }
+
+
+    /**
+     * The {@code EmptyColumn} class represents a column without values.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class EmptyColumn
+            extends Column {
+
+        private static final EmptyColumn INSTANCE = new EmptyColumn();
+
+
+        @Override
+        boolean contains(final int row) {
+
+            return false;
+        }
+
+
+        @Override
+        Object get(final int row) {
+
+            return null;
+        }
+    }
+
+
+    /**
+     * The {@code BitmapColumn} class provides access to the bitmap of the rows
+     * containing values, which precedes the data of the column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private abstract static class BitmapColumn
+            extends Column {
+
+        final ByteBuffer buffer;
+        final int        data;
+
+
+        /**
+         * Creates a new instance of the {@code BitmapColumn} class.
+         *
+         * @param buffer
+         *         the mapped column section.
+         * @param rows
+         *         the number of rows.
+         */
+        BitmapColumn(final ByteBuffer buffer, final int rows) {
+
+            this.buffer = buffer;
+            this.data = MappedTable.bitmapSize(rows);
+        }
+
+
+        @Override
+        boolean contains(final int row) {
+
+            return (this.buffer.getLong((row >>> 6) << 3) & 1L << row) != 0;
+        }
+
+
+        @Override
+        Object get(final int row) {
+
+            return this.contains(row) ? this.value(row) : null;
+        }
+
+
+        /**
+         * Returns the value of the provided row, which contains a value.
+         *
+         * @param row
+         *         the row.
+         *
+         * @return the value.
+         */
+        abstract Object value(int row);
+    }
+
+
+    /**
+     * The {@code IntColumn} class provides access to a mapped {@code int}
+     * column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class IntColumn
+            extends BitmapColumn {
+
+        IntColumn(final ByteBuffer buffer, final int rows) {
+
+            super(buffer, rows);
+        }
+
+
+        int getInt(final int row) {
+
+            return this.buffer.getInt(this.data + (row << 2));
+        }
+
+
+        @Override
+        Object value(final int row) {
+
+            return this.getInt(row);
+        }
+    }
+
+
+    /**
+     * The {@code LongColumn} class provides access to a mapped {@code long}
+     * column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class LongColumn
+            extends BitmapColumn {
+
+        LongColumn(final ByteBuffer buffer, final int rows) {
+
+            super(buffer, rows);
+        }
+
+
+        long getLong(final int row) {
+
+            return this.buffer.getLong(this.data + (row << 3));
+        }
+
+
+        @Override
+        Object value(final int row) {
+
+            return this.getLong(row);
+        }
+    }
+
+
+    /**
+     * The {@code FloatColumn} class provides access to a mapped {@code float}
+     * column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class FloatColumn
+            extends BitmapColumn {
+
+        FloatColumn(final ByteBuffer buffer, final int rows) {
+
+            super(buffer, rows);
+        }
+
+
+        float getFloat(final int row) {
+
+            return this.buffer.getFloat(this.data + (row << 2));
+        }
+
+
+        @Override
+        Object value(final int row) {
+
+            return this.getFloat(row);
+        }
+    }
+
+
+    /**
+     * The {@code DoubleColumn} class provides access to a mapped
+     * {@code double} column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class DoubleColumn
+            extends BitmapColumn {
+
+        DoubleColumn(final ByteBuffer buffer, final int rows) {
+
+            super(buffer, rows);
+        }
+
+
+        double getDouble(final int row) {
+
+            return this.buffer.getDouble(this.data + (row << 3));
+        }
+
+
+        @Override
+        Object value(final int row) {
+
+            return this.getDouble(row);
+        }
+    }
+
+
+    /**
+     * The {@code BooleanColumn} class provides access to a mapped
+     * {@code boolean} column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class BooleanColumn
+            extends BitmapColumn {
+
+        BooleanColumn(final ByteBuffer buffer, final int rows) {
+
+            super(buffer, rows);
+        }
+
+
+        @Override
+        Object value(final int row) {
+
+            return this.buffer.get(this.data + row) != 0;
+        }
+    }
+
+
+    /**
+     * The {@code StringColumn} class provides access to a mapped,
+     * dictionary-encoded {@link String} column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class StringColumn
+            extends Column {
+
+        private final ByteBuffer buffer;
+        private final int        entryOffsets;
+        private final int        entries;
+        private final String[]   dictionary;
+
+
+        /**
+         * Creates a new instance of the {@code StringColumn} class.
+         *
+         * @param buffer
+         *         the mapped column section.
+         * @param rows
+         *         the number of rows.
+         * @param dictionarySize
+         *         the number of dictionary entries.
+         */
+        StringColumn(final ByteBuffer buffer, final int rows,
+                final int dictionarySize) {
+
+            this.buffer = buffer;
+            this.entryOffsets = rows << 2;
+            this.entries = this.entryOffsets + ((dictionarySize + 1) << 2);
+            this.dictionary = new String[dictionarySize];
+        }
+
+
+        @Override
+        boolean contains(final int row) {
+
+            return this.buffer.getInt(row << 2) >= 0;
+        }
+
+
+        @Override
+        String get(final int row) {
+
+            final int code = this.buffer.getInt(row << 2);
+
+            if (code < 0) {
+
+                return null;
+            }
+
+            String value = this.dictionary[code];
+
+            if (value == null) {
+
+                final int start = this.buffer.getInt(
+                        this.entryOffsets + (code << 2));
+                final int end = this.buffer.getInt(
+                        this.entryOffsets + (code + 1 << 2));
+                final byte[] bytes = new byte[end - start];
+                final ByteBuffer entry = this.buffer.duplicate();
+
+                entry.position(this.entries + start);
+                entry.get(bytes);
+
+                value = new String(bytes, StandardCharsets.UTF_8);
+                this.dictionary[code] = value;
+            }
+
+            return value;
+        }
+    }
+
+
+    /**
+     * The {@code ObjectColumn} class provides access to a mapped column of
+     * serialized objects.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class ObjectColumn
+            extends BitmapColumn {
+
+        private final int           valueOffsets;
+        private final int           values;
+        private final Set<Class<?>> trustedClasses;
+
+
+        ObjectColumn(final ByteBuffer buffer, final int rows,
+                final Set<Class<?>> trustedClasses) {
+
+            super(buffer, rows);
+
+            this.valueOffsets = this.data;
+            this.values = this.valueOffsets + ((rows + 1) << 3);
+            this.trustedClasses = trustedClasses;
+        }
+
+
+        @Override
+        Object value(final int row) {
+
+            final long start = this.buffer.getLong(this.valueOffsets
+                                                   + (row << 3));
+            final long end = this.buffer.getLong(this.valueOffsets
+                                                 + (row + 1 << 3));
+            final byte[] bytes = new byte[(int) (end - start)];
+            final ByteBuffer value = this.buffer.duplicate();
+
+            value.position(this.values + (int) start);
+            value.get(bytes);
+
+            try (ObjectInputStream in = new ObjectInputStream(
+                    new ByteArrayInputStream(bytes)) {
+
+                @Override
+                protected Class<?> resolveClass(final ObjectStreamClass desc)
+                        throws IOException, ClassNotFoundException {
+
+                    final Class<?> type = super.resolveClass(desc);
+
+                    if (!ObjectColumn.this.isTrusted(type)) {
+
+                        throw new InvalidClassException(desc.getName(),
+                                "Class is not trusted!");
+                    }
+
+                    return type;
+                }
+
+
+                @Override
+                protected Class<?> resolveProxyClass(
+                        final String[] interfaces)
+                        throws IOException {
+
+                    throw new InvalidClassException(
+                            "Proxy classes are not trusted!");
+                }
+            }) {
+
+                return in.readObject();
+            }
+            catch (IOException | ClassNotFoundException e) {
+
+                throw new IllegalStateException("Could not deserialize value "
+                                                + "in row " + row + "!", e);
+            }
+        }
+
+
+        private boolean isTrusted(final Class<?> type) {
+
+            Class<?> component = type;
+
+            while (component.isArray()) {
+
+                component = component.getComponentType();
+            }
+
+            if (component.isPrimitive()) {
+
+                return true;
+            }
+
+            for (final Class<?> trustedClass : this.trustedClasses) {
+
+                if (component.isAssignableFrom(trustedClass)) {
+
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+
+    /**
+     * The {@code LineView} class provides a {@link List} view of a row or
+     * column of the table.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private final class LineView
+            extends AbstractList<Object> {
+
+        private final int     index;
+        private final boolean row;
+
+
+        /**
+         * Creates a new instance of the {@code LineView} class.
+         *
+         * @param index
+         *         the row or column index.
+         * @param row
+         *         whether the view represents a row or a column.
+         */
+        LineView(final int index, final boolean row) {
+
+            this.index = index;
+            this.row = row;
+        }
+
+
+        @Override
+        public Object get(final int index) {
+
+            if (index < 0 || index >= this.size()) {
+
+                throw new IndexOutOfBoundsException("Index " + index
+                                                    + " does not exist!");
+            }
+
+            return this.row ? MappedTable.this.get(this.index, index)
+                    : MappedTable.this.get(index, this.index);
+        }
+
+
+        @Override
+        public int size() {
+
+            return this.row ? MappedTable.this.columns : MappedTable.this.rows;
+        }
+    }
+
+
+    /**
+     * The {@code ValueIterator} class provides an iterator over the values of
+     * the table, skipping empty cells.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private final class ValueIterator
+            implements Iterator<Object> {
+
+        private final boolean rowMajor;
+
+        private int row;
+        private int column;
+
+
+        /**
+         * Creates a new instance of the {@code ValueIterator} class.
+         *
+         * @param iterationOrder
+         *         the {@link IterationOrder} to use.
+         */
+        ValueIterator(final IterationOrder iterationOrder) {
+
+            this.rowMajor = iterationOrder != IterationOrder.COLUMN_MAJOR;
+            this.row = 0;
+            this.column = 0;
+            this.skipEmpty();
+        }
+
+
+        @Override
+        public boolean hasNext() {
+
+            return this.row < MappedTable.this.rows
+                   && this.column < MappedTable.this.columns;
+        }
+
+
+        @Override
+        public Object next() {
+
+            if (!this.hasNext()) {
+
+                throw new NoSuchElementException();
+            }
+
+            final Object value = MappedTable.this.column(this.column)
+                                                 .get(this.row);
+
+            this.advance();
+            this.skipEmpty();
+
+            return value;
+        }
+
+
+        private void advance() {
+
+            if (this.rowMajor) {
+
+                if (++this.column == MappedTable.this.columns) {
+
+                    this.column = 0;
+                    this.row++;
+                }
+            }
+            else {
+
+                if (++this.row == MappedTable.this.rows) {
+
+                    this.row = 0;
+                    this.column++;
+                }
+            }
+        }
+
+
+        private void skipEmpty() {
+
+            while (this.hasNext() && !MappedTable.this.column(this.column)
+                                                      .contains(this.row)) {
+
+                this.advance();
+            }
+        }
+    }
+}
@@ -0,0 +1,528 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import org.jutility.io.binary.ColumnType;
+
+/**
+ * The {@code CsvFieldParser} class provides allocation-free classification and
+ * parsing of CSV fields.
+ * <p>
+ * Fields are parsed directly from {@link CharSequence} views, such as those of
+ * the {@link MappedCsvReader}, without creating substrings. Like
+ * {@link CsvSerializer#read(java.net.URL, org.jutility.common.datatype.table.ITable)
+ * reading}, surrounding whitespace is ignored. Integral values are parsed
+ * exactly; floating-point values whose mantissa has at most 18 significant
+ * digits and whose magnitude can be computed with a single exact
+ * multiplication or division by a power of ten are parsed without allocation
+ * (and correctly rounded), all others are delegated to
+ * {@link Double#parseDouble(String)}.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+final class CsvFieldParser {
+
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final int MAX_EXACT_EXPONENT  = 22;
+    private static final int MAX_EXPONENT        = 9999;
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private static final double[] POWERS_OF_TEN = new double[
+            CsvFieldParser.MAX_EXACT_EXPONENT + 1];
+
+    static {
+
+        double power = 1;
+
+        for (int i = 0; i < CsvFieldParser.POWERS_OF_TEN.length; i++) {
+
+            CsvFieldParser.POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
+
+    private CsvFieldParser() {
+
+        // Utility class.
+    }
+
+
+    /**
+     * Returns the narrowest {@link ColumnType} that can represent the provided
+     * field: {@link ColumnType#EMPTY} for blank fields, {@link ColumnType#INT},
+     * {@link ColumnType#LONG}, or {@link ColumnType#DOUBLE} for numbers,
+     * {@link ColumnType#BOOLEAN} for {@code true} and {@code false} (ignoring
+     * case), and {@link ColumnType#STRING} otherwise.
+     *
+     * @param field
+     *         the field.
+     *
+     * @return the narrowest {@link ColumnType} of the field.
+     */
+    static ColumnType classify(final CharSequence field) {
+
+        final int end = CsvFieldParser.end(field);
+        final int start = CsvFieldParser.start(field, end);
+
+        if (start == end) {
+
+            return ColumnType.EMPTY;
+        }
+
+        final ColumnType integral = CsvFieldParser.classifyIntegral(field,
+                start, end);
+
+        if (integral != null) {
+
+            return integral;
+        }
+        if (CsvFieldParser.isDouble(field, start, end)) {
+
+            return ColumnType.DOUBLE;
+        }
+        if (CsvFieldParser.isBoolean(field, start, end)) {
+
+            return ColumnType.BOOLEAN;
+        }
+
+        return ColumnType.STRING;
+    }
+
+
+    /**
+     * Returns the {@link ColumnType} able to represent values of both provided
+     * types: numeric types are promoted to the wider type ({@code int} to
+     * {@code long} to {@code double}), {@link ColumnType#EMPTY} is ignored,
+     * and all other combinations of different types yield
+     * {@link ColumnType#STRING}.
+     *
+     * @param lhs
+     *         the first type.
+     * @param rhs
+     *         the second type.
+     *
+     * @return the promoted type.
+     */
+    static ColumnType promote(final ColumnType lhs, final ColumnType rhs) {
+
+        if (lhs == rhs || rhs == ColumnType.EMPTY) {
+
+            return lhs;
+        }
+        if (lhs == ColumnType.EMPTY) {
+
+            return rhs;
+        }
+        if (CsvFieldParser.isNumeric(lhs) && CsvFieldParser.isNumeric(rhs)) {
+
+            return lhs.compareTo(rhs) >= 0 ? lhs : rhs;
+        }
+
+        return ColumnType.STRING;
+    }
+
+
+    private static boolean isNumeric(final ColumnType type) {
+
+        return type == ColumnType.INT || type == ColumnType.LONG
+               || type == ColumnType.DOUBLE;
+    }
+
+
+    /**
+     * Parses the provided field, which has been {@link #classify classified}
+     * as {@link ColumnType#INT} or {@link ColumnType#LONG}.
+     *
+     * @param field
+     *         the field.
+     *
+     * @return the value of the field.
+     */
+    static long parseLong(final CharSequence field) {
+
+        final int end = CsvFieldParser.end(field);
+        int i = CsvFieldParser.start(field, end);
+
+        final boolean negative = field.charAt(i) == '-';
+
+        if (negative || field.charAt(i) == '+') {
+
+            i++;
+        }
+
+        // Accumulated negatively to cover Long.MIN_VALUE.
+        long value = 0;
+
+        for (; i < end; i++) {
+
+            value = value * 10 - (field.charAt(i) - '0');
+        }
+
+        return negative ? value : -value;
+    }
+
+
+    /**
+     * Parses the provided field, which has been {@link #classify classified}
+     * as a number.
+     *
+     * @param field
+     *         the field.
+     *
+     * @return the value of the field.
+     */
+    static double parseDouble(final CharSequence field) {
+
+        final int end = CsvFieldParser.end(field);
+        final int start = CsvFieldParser.start(field, end);
+
+        int i = start;
+        final boolean negative = field.charAt(i) == '-';
+
+        if (negative || field.charAt(i) == '+') {
+
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean fraction = false;
+        boolean mantissaDigits = false;
+
+        for (; i < end; i++) {
+
+            final char c = field.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+
+                mantissaDigits = true;
+
+                if (digits < CsvFieldParser.MAX_MANTISSA_DIGITS) {
+
+                    if (mantissa != 0 || c != '0') {
+
+                        digits++;
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+
+                    if (fraction) {
+
+                        exponent--;
+                    }
+                }
+                else if (c != '0' || !fraction) {
+
+                    // Too many significant digits for an exact mantissa.
+                    return CsvFieldParser.parseSlow(field, start, end);
+                }
+            }
+            else if (c == '.' && !fraction) {
+
+                fraction = true;
+            }
+            else {
+
+                break;
+            }
+        }
+
+        if (!mantissaDigits) {
+
+            // NaN or Infinity.
+            return CsvFieldParser.parseSlow(field, start, end);
+        }
+
+        if (i < end) {
+
+            // The exponent is all that can follow the mantissa.
+            i++;
+
+            final boolean negativeExponent = field.charAt(i) == '-';
+
+            if (negativeExponent || field.charAt(i) == '+') {
+
+                i++;
+            }
+
+            int explicit = 0;
+
+            for (; i < end; i++) {
+
+                explicit = Math.min(CsvFieldParser.MAX_EXPONENT,
+                        explicit * 10 + field.charAt(i) - '0');
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        final double value;
+
+        if (mantissa == 0) {
+
+            value = 0;
+        }
+        else if (mantissa > CsvFieldParser.MAX_EXACT_MANTISSA
+                 || exponent < -CsvFieldParser.MAX_EXACT_EXPONENT
+                 || exponent > CsvFieldParser.MAX_EXACT_EXPONENT) {
+
+            return CsvFieldParser.parseSlow(field, start, end);
+        }
+        else if (exponent < 0) {
+
+            value = mantissa / CsvFieldParser.POWERS_OF_TEN[-exponent];
+        }
+        else {
+
+            value = mantissa * CsvFieldParser.POWERS_OF_TEN[exponent];
+        }
+
+        return negative ? -value : value;
+    }
+
+
+    /**
+     * Parses the provided field, which has been {@link #classify classified}
+     * as {@link ColumnType#BOOLEAN}.
+     *
+     * @param field
+     *         the field.
+     *
+     * @return the value of the field.
+     */
+    static boolean parseBoolean(final CharSequence field) {
+
+        final int end = CsvFieldParser.end(field);
+
+        return end - CsvFieldParser.start(field, end) == 4;
+    }
+
+
+    private static double parseSlow(final CharSequence field, final int start,
+            final int end) {
+
+        return Double.parseDouble(field.subSequence(start, end)
+                                       .toString());
+    }
+
+
+    private static ColumnType classifyIntegral(final CharSequence field,
+            final int start, final int end) {
+
+        int i = start;
+        final boolean negative = field.charAt(i) == '-';
+
+        if (negative || field.charAt(i) == '+') {
+
+            i++;
+        }
+        if (i == end) {
+
+            return null;
+        }
+
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multiplicationLimit = limit / 10;
+        long value = 0;
+        boolean overflow = false;
+
+        for (; i < end; i++) {
+
+            final char c = field.charAt(i);
+
+            if (c < '0' || c > '9') {
+
+                return null;
+            }
+
+            final int digit = c - '0';
+
+            if (value < multiplicationLimit
+                || value * 10 < limit + digit) {
+
+                overflow = true;
+            }
+            else {
+
+                value = value * 10 - digit;
+            }
+        }
+
+        if (overflow) {
+
+            return ColumnType.DOUBLE;
+        }
+        if (negative ? value >= Integer.MIN_VALUE
+                : value >= -Integer.MAX_VALUE) {
+
+            return ColumnType.INT;
+        }
+
+        return ColumnType.LONG;
+    }
+
+
+    private static boolean isDouble(final CharSequence field, final int start,
+            final int end) {
+
+        int i = start;
+
+        if (field.charAt(i) == '-' || field.charAt(i) == '+') {
+
+            i++;
+        }
+        if (CsvFieldParser.matches(field, i, end, "NaN")
+            || CsvFieldParser.matches(field, i, end, "Infinity")) {
+
+            return true;
+        }
+
+        int digits = 0;
+
+        for (; i < end && CsvFieldParser.isDigit(field.charAt(i)); i++) {
+
+            digits++;
+        }
+        if (i < end && field.charAt(i) == '.') {
+
+            for (i++; i < end && CsvFieldParser.isDigit(field.charAt(i)); i++) {
+
+                digits++;
+            }
+        }
+        if (digits == 0) {
+
+            return false;
+        }
+        if (i < end && (field.charAt(i) == 'e' || field.charAt(i) == 'E')) {
+
+            i++;
+
+            if (i < end && (field.charAt(i) == '-' || field.charAt(i) == '+')) {
+
+                i++;
+            }
+            if (i == end) {
+
+                return false;
+            }
+            for (; i < end && CsvFieldParser.isDigit(field.charAt(i)); i++) {
+
+                // Skip the digits of the exponent.
+            }
+        }
+
+        return i == end;
+    }
+
+
+    private static boolean isBoolean(final CharSequence field, final int start,
+            final int end) {
+
+        return CsvFieldParser.matchesIgnoreCase(field, start, end, "true")
+               || CsvFieldParser.matchesIgnoreCase(field, start, end, "false");
+    }
+
+
+    private static boolean isDigit(final char c) {
+
+        return c >= '0' && c <= '9';
+    }
+
+
+    private static boolean matches(final CharSequence field, final int start,
+            final int end, final String value) {
+
+        if (end - start != value.length()) {
+
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+
+            if (field.charAt(start + i) != value.charAt(i)) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    private static boolean matchesIgnoreCase(final CharSequence field,
+            final int start, final int end, final String value) {
+
+        if (end - start != value.length()) {
+
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+
+            if (Character.toLowerCase(field.charAt(start + i))
+                != value.charAt(i)) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Returns the index of the first character that is not whitespace, as
+     * defined by {@link String#trim()}.
+     */
+    private static int start(final CharSequence field, final int end) {
+
+        int start = 0;
+
+        while (start < end && field.charAt(start) <= ' ') {
+
+            start++;
+        }
+
+        return start;
+    }
+
+
+    /**
+     * Returns the index following the last character that is not whitespace,
+     * as defined by {@link String#trim()}.
+     */
+    private static int end(final CharSequence field) {
+
+        int end = field.length();
+
+        while (end > 0 && field.charAt(end - 1) <= ' ') {
+
+            end--;
+        }
+
+        return end;
+    }
+}
@@ -23,38 +23,58 @@ package org.jutility.io.csv;
 //@formatter:on
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.net.URL;
-import java.util.Arrays;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.jutility.common.datatype.table.CellLocation;
+import org.jutility.common.datatype.table.DoubleDenseTable;
+import org.jutility.common.datatype.table.ICell;
+import org.jutility.common.datatype.table.ICellTable;
 import org.jutility.common.datatype.table.ITable;
+import org.jutility.common.datatype.table.IntDenseTable;
 import org.jutility.common.datatype.table.Table;
+import org.jutility.io.Compression;
 import org.jutility.io.ISerializer;
 import org.jutility.io.SerializationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.supercsv.io.CsvMapReader;
-import org.supercsv.io.CsvMapWriter;
-import org.supercsv.io.ICsvMapReader;
-import org.supercsv.io.ICsvMapWriter;
+import org.supercsv.io.CsvListReader;
+import org.supercsv.io.ICsvListReader;
 import org.supercsv.prefs.CsvPreference;
 
 /**
  * The {@code CsvSerializer} class provides an implementation of the
  * {@link ISerializer} interface for CSV files.
+ * <p>
+ * CSV resources are written and read as UTF-8, regardless of the platform's
+ * default charset.
+ * </p>
  *
  * @author Peter J. Radics
- * @version 0.1.2
+ * @version 0.1.6
  * @since 0.1.0
  */
 public final class CsvSerializer
@@ -68,7 +88,7 @@ public final class CsvSerializer
      *
      * @return the Singleton instance.
      */
-    public static CsvSerializer instance() {
+    public static synchronized CsvSerializer instance() {
 
         if (instance == null) {
 
@@ -99,6 +119,15 @@ public final class CsvSerializer
     public <T> void serialize(T document, String filename)
             throws SerializationException {
 
+        this.serialize(document, filename, Compression.of(filename));
+    }
+
+
+    @Override
+    public <T> void serialize(T document, String filename,
+            Compression compression)
+            throws SerializationException {
+
         Class<?> documentType = document.getClass();
 
         if (!this.supportsSerializationOf(documentType)) {
@@ -107,58 +136,263 @@ public final class CsvSerializer
             throw new SerializationException("Serialization of type " + documentType + " is not supported!");
         }
 
-        Table<?> table = (Table) document;
-        try (ICsvMapWriter mapWriter = new CsvMapWriter(new FileWriter(filename),
-                CsvPreference.STANDARD_PREFERENCE)) {
+        try {
+
+            this.write((Table<?>) document, Paths.get(filename), compression,
+                    ICsvValueFormatter.DEFAULT);
+        }
+        catch (IOException e) {
+
+            LOGGER.info("Could not serialize resource.");
+            throw new SerializationException("Could not serialize resource.",
+                    e);
+        }
+    }
+
+
+    /**
+     * Writes the provided table to the file at the provided {@link Path} in
+     * row-major order, formatting values with the
+     * {@link ICsvValueFormatter#DEFAULT default formatter}. The file is
+     * compressed if its extension denotes a {@link Compression} format.
+     *
+     * @param table
+     *         the table, whose first row is the header.
+     * @param path
+     *         the path of the CSV file.
+     *
+     * @throws IOException
+     *         if the file cannot be written.
+     * @see #write(ITable, Path, ICsvValueFormatter)
+     */
+    public void write(final ITable<?> table, final Path path)
+            throws IOException {
+
+        this.write(table, path, ICsvValueFormatter.DEFAULT);
+    }
+
+
+    /**
+     * Writes the provided table to the file at the provided {@link Path} in
+     * row-major order, formatting values with the provided
+     * {@link ICsvValueFormatter}. The file is compressed if its extension
+     * denotes a {@link Compression} format.
+     * <p>
+     * The table is traversed once: tables of {@link ICell cells} are traversed
+     * using their {@link ICellTable#rowMajorOrderCellIterator() row-major cell
+     * iterator}, while dense tables
+     * are accessed by index. Numeric dense tables are written without boxing
+     * their values when the default formatter is used. Every record has as
+     * many fields as the {@link ITable#cellRange() cell range} of the table
+     * has columns; missing cells within the cell range are written as empty
+     * fields.
+     * </p>
+     *
+     * @param table
+     *         the table, whose first row is the header.
+     * @param path
+     *         the path of the CSV file.
+     * @param formatter
+     *         the formatter of the values.
+     * @param <T>
+     *         the type of the values.
+     *
+     * @throws IOException
+     *         if the file cannot be written.
+     */
+    public <T> void write(final ITable<? extends T> table, final Path path,
+            final ICsvValueFormatter<? super T> formatter)
+            throws IOException {
+
+        this.write(table, path, Compression.of(path.toString()), formatter);
+    }
+
+
+    /**
+     * Writes the provided table to the file at the provided {@link Path} in
+     * row-major order, compressing it with the provided {@link Compression}
+     * and formatting values with the provided {@link ICsvValueFormatter}.
+     *
+     * @param table
+     *         the table, whose first row is the header.
+     * @param path
+     *         the path of the CSV file.
+     * @param compression
+     *         the compression format.
+     * @param formatter
+     *         the formatter of the values.
+     * @param <T>
+     *         the type of the values.
+     *
+     * @throws IOException
+     *         if the file cannot be written.
+     * @see #write(ITable, Path, ICsvValueFormatter)
+     */
+    public <T> void write(final ITable<? extends T> table, final Path path,
+            final Compression compression,
+            final ICsvValueFormatter<? super T> formatter)
+            throws IOException {
+
+        try (CsvWriter writer = CsvSerializer.open(path, compression)) {
+
+            CsvSerializer.write(table, writer, formatter);
+        }
+    }
+
+
+    private static CsvWriter open(final Path path,
+            final Compression compression)
+            throws IOException {
+
+        if (compression == Compression.NONE) {
+
+            return new CsvWriter(path);
+        }
+
+        final OutputStream outputStream = Files.newOutputStream(path);
+        try {
+
+            return new CsvWriter(compression.compress(outputStream));
+        }
+        catch (IOException e) {
+
+            outputStream.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Writes the provided table to the provided {@link CsvWriter} in
+     * row-major order.
+     *
+     * @param table
+     *         the table.
+     * @param writer
+     *         the writer.
+     * @param formatter
+     *         the formatter of the values.
+     * @param <T>
+     *         the type of the values.
+     *
+     * @throws IOException
+     *         if the table cannot be written.
+     */
+    static <T> void write(final ITable<? extends T> table,
+            final CsvWriter writer,
+            final ICsvValueFormatter<? super T> formatter)
+            throws IOException {
+
+        if (table.size() == 0) {
+
+            return;
+        }
+
+        // The number of rows and columns of sparse tables does not account
+        // for gaps, so the extent is taken from the cell range.
+        final CellLocation end = table.cellRange()
+                                      .getEnd();
+        final int rows = end.getRow();
+        final int columns = end.getColumn();
+        final boolean defaultFormatter = formatter == ICsvValueFormatter.DEFAULT;
 
-            String[] header = new String[table.columns()];
+        if (defaultFormatter && table instanceof DoubleDenseTable) {
 
-            for (int i = 0; i < table.columns(); i++) {
+            final DoubleDenseTable doubles = (DoubleDenseTable) table;
 
-                Object value = table.get(0, i);
+            for (int row = 0; row < rows; row++) {
 
-                if (value != null) {
+                for (int column = 0; column < columns; column++) {
 
-                    header[i] = value.toString();
+                    writer.field(doubles.getDouble(row, column));
                 }
-                else {
+                writer.endRecord();
+            }
+        }
+        else if (defaultFormatter && table instanceof IntDenseTable) {
 
-                    header[i] = "";
+            final IntDenseTable ints = (IntDenseTable) table;
+
+            for (int row = 0; row < rows; row++) {
+
+                for (int column = 0; column < columns; column++) {
+
+                    writer.field(ints.getInt(row, column));
                 }
+                writer.endRecord();
             }
+        }
+        else if (table instanceof ICellTable) {
 
-            mapWriter.writeHeader(header);
+            // An ICellTable<CELL, V> is an ITable<V>, so the cells of an
+            // ITable<? extends T> hold values of some V extends T.
+            @SuppressWarnings("unchecked")
+            final ICellTable<? extends ICell<? extends T>, ? extends T> cellTable =
+                    (ICellTable<? extends ICell<? extends T>, ? extends T>) table;
 
-            for (int row = 1; row < table.rows(); row++) {
+            CsvSerializer.writeCells(cellTable.rowMajorOrderCellIterator(),
+                    rows, columns, writer, formatter);
+        }
+        else {
 
-                Map<String, String> values = new LinkedHashMap<>();
+            for (int row = 0; row < rows; row++) {
 
-                for (int column = 0; column < table.columns(); column++) {
+                for (int column = 0; column < columns; column++) {
 
-                    String key = header[column];
-                    Object value = table.get(row, column);
+                    writer.field(table.get(row, column), formatter);
+                }
+                writer.endRecord();
+            }
+        }
+    }
 
-                    if (value != null) {
 
-                        values.put(key, value.toString());
-                    }
-                    else {
+    private static <T> void writeCells(
+            final Iterator<? extends ICell<? extends T>> cells,
+            final int rows, final int columns, final CsvWriter writer,
+            final ICsvValueFormatter<? super T> formatter)
+            throws IOException {
 
-                        values.put(key, "");
-                    }
+        int row = 0;
+        int column = 0;
+
+        while (cells.hasNext()) {
+
+            final ICell<? extends T> cell = cells.next();
+
+            // Fill the gap up to the cell with empty fields.
+            while (row < cell.getRow()) {
+
+                for (; column < columns; column++) {
+
+                    writer.field(null);
                 }
+                writer.endRecord();
+                row++;
+                column = 0;
+            }
+            for (; column < cell.getColumn(); column++) {
 
-                mapWriter.write(values, header);
+                writer.field(null);
             }
+
+            writer.field(cell.getValue(), formatter);
+            column++;
         }
-        catch (IOException e) {
 
-            LOGGER.info("Could not serialize resource.");
-            throw new SerializationException("Could not serialize resource.",
-                    e);
+        while (row < rows) {
+
+            for (; column < columns; column++) {
+
+                writer.field(null);
+            }
+            writer.endRecord();
+            row++;
+            column = 0;
         }
     }
 
+
     @Override
     public <T> T deserialize(File file, Class<? extends T> type)
             throws SerializationException {
@@ -193,63 +427,501 @@ public final class CsvSerializer
                     "Deserialization of type " + type + " is not supported!");
         }
 
-        Map<String, List<String>> contents = new LinkedHashMap<>();
+        return type.cast(this.read(url, new Table<>()));
+    }
+
 
-        ITable<String> table = new Table<>();
-        try (ICsvMapReader mapReader = new CsvMapReader(new BufferedReader(new InputStreamReader(url.openStream())),
-                CsvPreference.STANDARD_PREFERENCE)) {
+    /**
+     * Returns a lazily populated {@link Stream} over the rows of the provided
+     * CSV resource, starting with the header row. Rows are read from the
+     * resource only as the stream is consumed, so the memory footprint is
+     * bounded by a single row regardless of the size of the resource. Values
+     * are trimmed; empty values are {@code null}.
+     * <p>
+     * Uncompressed local files are read through the memory-mapped
+     * {@link MappedCsvReader}; all other resources are read using SuperCSV,
+     * decompressing them if their extension denotes a {@link Compression}
+     * format.
+     * </p>
+     * <p>
+     * The returned stream holds the underlying resource open and must be
+     * closed, e.g., using a {@code try}-with-resources statement. I/O errors
+     * occurring while the stream is consumed are reported as
+     * {@link UncheckedIOException UncheckedIOExceptions}.
+     * </p>
+     *
+     * @param url
+     *         the URL of the CSV resource.
+     *
+     * @return a {@link Stream} over the rows of the resource.
+     *
+     * @throws SerializationException
+     *         if the resource could not be opened.
+     */
+    public Stream<String[]> stream(final URL url)
+            throws SerializationException {
 
-            // the header columns are used as the keys to the Map
-            final String[] headerArray = mapReader.getHeader(true);
-            final List<String> header = Arrays.asList(headerArray);
+        final Closeable reader;
+        final Iterator<String[]> rows;
+        try {
 
-            AtomicInteger headerIndex = new AtomicInteger(0);
-            header.forEach(columnHeader -> {
+            final Path path = CsvSerializer.localFile(url);
 
-                contents.put(columnHeader, new LinkedList<>());
+            if (path != null) {
 
-                table.add(0, headerIndex.get(),
-                        columnHeader != null ? columnHeader.trim() : null);
-                headerIndex.incrementAndGet();
-            });
+                final MappedCsvReader mappedReader = new MappedCsvReader(path);
 
-            Map<String, String> rowValueMap;
-            while ((rowValueMap = mapReader.read(headerArray)) != null) {
+                reader = mappedReader;
+                rows = new MappedRowIterator(mappedReader);
+            }
+            else {
 
-                final Map<String, String> finalRowValueMap = rowValueMap;
-                rowValueMap.keySet()
-                        .forEach(key -> contents.get(key)
-                                .add(finalRowValueMap.get(key)));
+                final ICsvListReader listReader = new CsvListReader(
+                        new BufferedReader(new InputStreamReader(
+                                Compression.of(url.getPath())
+                                           .decompress(url.openStream()),
+                                StandardCharsets.UTF_8)),
+                        CsvPreference.STANDARD_PREFERENCE);
+
+                reader = listReader;
+                rows = new CsvRowIterator(listReader);
             }
+        }
+        catch (IOException e) {
 
-            AtomicInteger column = new AtomicInteger(0);
-            contents.keySet()
-                    .forEach(key -> {
+            LOGGER.info("Could not open CSV file {}!", url);
+            throw new SerializationException(
+                    "Could not open CSV file " + url + "!", e);
+        }
 
-                        AtomicInteger row = new AtomicInteger(1);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(rows,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
 
-                        contents.get(key)
-                                .forEach(value -> {
+                    try {
 
-                                    if (value != null) {
+                        reader.close();
+                    }
+                    catch (IOException e) {
 
-                                        table.add(row.get(), column.get(), value.trim());
-                                    }
-                                    row.incrementAndGet();
-                                });
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
 
-                        column.incrementAndGet();
-                    });
 
+    /**
+     * Returns the path of the uncompressed local file denoted by the provided
+     * URL, which can be read using the memory-mapped {@link MappedCsvReader}.
+     * URLs that do not denote such a file, or that are not valid URIs (e.g.,
+     * {@code file:/tmp/my dir/table.csv}), are read as streams instead.
+     *
+     * @param url
+     *         the URL.
+     *
+     * @return the path of the local file, or {@code null} if the URL does not
+     * denote an uncompressed local file.
+     */
+    private static Path localFile(final URL url) {
+
+        if (!"file".equalsIgnoreCase(url.getProtocol())
+            || url.getAuthority() != null || url.getQuery() != null
+            || Compression.of(url.getPath()) != Compression.NONE) {
+
+            return null;
         }
-        catch (IOException e) {
+
+        try {
+
+            return Paths.get(url.toURI());
+        }
+        catch (URISyntaxException | IllegalArgumentException e) {
+
+            return null;
+        }
+    }
+
+
+    /**
+     * Reads the rows of the provided CSV resource directly into the provided
+     * {@link ITable table}, starting with the header row in row {@code 0}.
+     * Values are trimmed; empty values are not added to the table.
+     *
+     * @param <TABLE>
+     *         the type of the table.
+     * @param url
+     *         the URL of the CSV resource.
+     * @param table
+     *         the table to fill.
+     *
+     * @return the provided table.
+     *
+     * @throws SerializationException
+     *         if the resource could not be read.
+     */
+    public <TABLE extends ITable<String>> TABLE read(final URL url,
+            final TABLE table)
+            throws SerializationException {
+
+        try (Stream<String[]> rows = this.stream(url)) {
+
+            final Iterator<String[]> iterator = rows.iterator();
+
+            for (int row = 0; iterator.hasNext(); row++) {
+
+                CsvSerializer.addRow(table, row, iterator.next());
+            }
+        }
+        catch (UncheckedIOException e) {
 
             LOGGER.info("Could not deserialize CSV file {}!", url);
             throw new SerializationException(
                     "Could not deserialize CSV file " + url + "!",
-                    e);
+                    e.getCause());
         }
 
-        return type.cast(table);
+        return table;
+    }
+
+
+    /**
+     * Reads the rows of the provided CSV resource directly into the provided
+     * {@link ITable table} using the provided level of parallelism. The rows
+     * are identical to those produced by {@link #read(URL, ITable)}.
+     * <p>
+     * Uncompressed local files larger than a single chunk (1 MiB) are split at
+     * record boundaries and the chunks are parsed on a {@link ForkJoinPool}
+     * with the provided parallelism; the rows are added to the table in file
+     * order on the calling thread. All other resources are read sequentially.
+     * </p>
+     *
+     * @param <TABLE>
+     *         the type of the table.
+     * @param url
+     *         the URL of the CSV resource.
+     * @param table
+     *         the table to fill.
+     * @param parallelism
+     *         the level of parallelism.
+     *
+     * @return the provided table.
+     *
+     * @throws SerializationException
+     *         if the resource could not be read.
+     */
+    public <TABLE extends ITable<String>> TABLE read(final URL url,
+            final TABLE table, final int parallelism)
+            throws SerializationException {
+
+        if (parallelism < 1) {
+
+            throw new IllegalArgumentException(
+                    "Parallelism must be positive!");
+        }
+
+        final Path path = CsvSerializer.localFile(url);
+
+        if (parallelism == 1 || path == null) {
+
+            return this.read(url, table);
+        }
+
+        final AtomicInteger row = new AtomicInteger(0);
+        try {
+
+            ParallelCsvReader.read(path, parallelism,
+                    ParallelCsvReader.MIN_CHUNK_SIZE,
+                    values -> CsvSerializer.addRow(table,
+                            row.getAndIncrement(), values));
+        }
+        catch (IOException e) {
+
+            LOGGER.info("Could not deserialize CSV file {}!", url);
+            throw new SerializationException(
+                    "Could not deserialize CSV file " + url + "!", e);
+        }
+
+        return table;
+    }
+
+
+    /**
+     * Reads the provided CSV resource into a {@link TypedTable}, inferring the
+     * type of each column from a sample of its values.
+     *
+     * @param url
+     *         the URL of the CSV resource.
+     * @param header
+     *         whether the first record contains the names of the columns.
+     *
+     * @return the table.
+     *
+     * @throws SerializationException
+     *         if the resource could not be read.
+     *
+     * @see #readTyped(URL, boolean, int)
+     */
+    public TypedTable readTyped(final URL url, final boolean header)
+            throws SerializationException {
+
+        return this.readTyped(url, header, TypedCsvReader.DEFAULT_SAMPLE_SIZE);
+    }
+
+
+    /**
+     * Reads the provided CSV resource into a {@link TypedTable}, inferring the
+     * type of each column from the provided number of leading records.
+     * <p>
+     * Columns whose values are all integral, floating-point, or boolean are
+     * parsed directly into primitive storage, promoting {@code int} to
+     * {@code long} to {@code double} as needed; all other columns hold
+     * {@link String Strings}. Values outside the sample that do not fit the
+     * inferred type widen it, so the sample size only affects performance.
+     * Uncompressed local files are read in place; all other resources are
+     * first copied to a temporary file, decompressing them if their extension
+     * denotes a {@link Compression} format.
+     * </p>
+     *
+     * @param url
+     *         the URL of the CSV resource.
+     * @param header
+     *         whether the first record contains the names of the columns.
+     * @param sampleSize
+     *         the number of records sampled to infer the column types.
+     *
+     * @return the table.
+     *
+     * @throws SerializationException
+     *         if the resource could not be read.
+     */
+    public TypedTable readTyped(final URL url, final boolean header,
+            final int sampleSize)
+            throws SerializationException {
+
+        try {
+
+            final Path path = CsvSerializer.localFile(url);
+
+            if (path != null) {
+
+                return TypedCsvReader.read(path, header, sampleSize);
+            }
+
+            final Path temporary = Files.createTempFile("jutility", ".csv");
+            try {
+
+                try (InputStream inputStream = Compression.of(url.getPath())
+                        .decompress(url.openStream())) {
+
+                    Files.copy(inputStream, temporary,
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                return TypedCsvReader.read(temporary, header, sampleSize);
+            }
+            finally {
+
+                Files.deleteIfExists(temporary);
+            }
+        }
+        catch (IOException e) {
+
+            LOGGER.info("Could not deserialize CSV file {}!", url);
+            throw new SerializationException(
+                    "Could not deserialize CSV file " + url + "!", e);
+        }
+    }
+
+
+    private static void addRow(final ITable<String> table, final int row,
+            final String[] values) {
+
+        for (int column = 0; column < values.length; column++) {
+
+            if (values[column] != null) {
+
+                table.add(row, column, values[column]);
+            }
+        }
+    }
+
+
+    /**
+     * The {@code MappedRowIterator} class provides an {@link Iterator} over
+     * the rows of a {@link MappedCsvReader}, converting empty fields to
+     * {@code null} like {@link CsvListReader}.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class MappedRowIterator
+            implements Iterator<String[]> {
+
+        private final MappedCsvReader reader;
+
+        private boolean hasNext;
+        private boolean fetched;
+
+
+        /**
+         * Creates a new instance of the {@code MappedRowIterator} class.
+         *
+         * @param reader
+         *         the reader to iterate over.
+         */
+        MappedRowIterator(final MappedCsvReader reader) {
+
+            this.reader = reader;
+            this.hasNext = false;
+            this.fetched = false;
+        }
+
+
+        @Override
+        public boolean hasNext() {
+
+            if (!this.fetched) {
+
+                try {
+
+                    this.hasNext = this.reader.next();
+                    this.fetched = true;
+                }
+                catch (IOException e) {
+
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            return this.hasNext;
+        }
+
+
+        @Override
+        public String[] next() {
+
+            if (!this.hasNext()) {
+
+                throw new NoSuchElementException();
+            }
+
+            this.fetched = false;
+
+            return CsvSerializer.values(this.reader);
+        }
+    }
+
+
+    /**
+     * Returns the values of the current record of the provided
+     * {@link MappedCsvReader}, trimming values and converting empty fields to
+     * {@code null} like {@link CsvListReader}.
+     *
+     * @param reader
+     *         the reader.
+     *
+     * @return the values of the current record.
+     */
+    static String[] values(final MappedCsvReader reader) {
+
+        final String[] values = new String[reader.fields()];
+
+        for (int i = 0; i < values.length; i++) {
+
+            final CharSequence field = reader.field(i);
+
+            if (field.length() > 0) {
+
+                values[i] = field.toString()
+                                 .trim();
+            }
+        }
+
+        return values;
+    }
+
+
+    /**
+     * The {@code CsvRowIterator} class provides an {@link Iterator} over the
+     * rows of an {@link ICsvListReader} that reads one row ahead.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class CsvRowIterator
+            implements Iterator<String[]> {
+
+        private final ICsvListReader listReader;
+
+        private String[] next;
+        private boolean  fetched;
+
+
+        /**
+         * Creates a new instance of the {@code CsvRowIterator} class.
+         *
+         * @param listReader
+         *         the reader to iterate over.
+         */
+        CsvRowIterator(final ICsvListReader listReader) {
+
+            this.listReader = listReader;
+            this.next = null;
+            this.fetched = false;
+        }
+
+
+        @Override
+        public boolean hasNext() {
+
+            if (!this.fetched) {
+
+                try {
+
+                    final List<String> row = this.listReader.read();
+
+                    this.next = row != null ? CsvRowIterator.trim(row) : null;
+                    this.fetched = true;
+                }
+                catch (IOException e) {
+
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            return this.next != null;
+        }
+
+
+        @Override
+        public String[] next() {
+
+            if (!this.hasNext()) {
+
+                throw new NoSuchElementException();
+            }
+
+            this.fetched = false;
+
+            return this.next;
+        }
+
+
+        private static String[] trim(final List<String> row) {
+
+            final String[] values = new String[row.size()];
+
+            for (int i = 0; i < values.length; i++) {
+
+                final String value = row.get(i);
+
+                values[i] = value != null ? value.trim() : null;
+            }
+
+            return values;
+        }
     }
 }
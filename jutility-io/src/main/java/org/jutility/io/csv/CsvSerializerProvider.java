@@ -0,0 +1,87 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.jutility.common.datatype.table.Table;
+import org.jutility.io.ISerializer;
+import org.jutility.io.ISerializerProvider;
+
+/**
+ * The {@code CsvSerializerProvider} class provides the {@link CsvSerializer} to the
+ * {@link org.jutility.io.IOManager}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class CsvSerializerProvider
+        implements ISerializerProvider {
+
+    private static final Set<String> EXTENSIONS = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList("csv")));
+    private static final Set<String> MIME_TYPES = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList("text/csv")));
+
+    @Override
+    public Class<? extends ISerializer> getSerializerType() {
+
+        return CsvSerializer.class;
+    }
+
+    @Override
+    public ISerializer getSerializer() {
+
+        return CsvSerializer.instance();
+    }
+
+    // The following mirror CsvSerializer, without creating the serializer.
+
+    @Override
+    public boolean supportsSerializationOf(Class<?> type) {
+
+        return Table.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public boolean supportsDeserializationOf(Class<?> type) {
+
+        return type.isAssignableFrom(Table.class);
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+
+        return CsvSerializerProvider.EXTENSIONS;
+    }
+
+    @Override
+    public Set<String> getMimeTypes() {
+
+        return CsvSerializerProvider.MIME_TYPES;
+    }
+}
@@ -0,0 +1,439 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The {@code CsvWriter} class provides a fast writer for CSV files.
+ * <p>
+ * Fields are escaped and encoded as UTF-8 directly into a large, reusable byte
+ * buffer, which is written to the underlying {@link OutputStream} whenever it
+ * is full; no objects are allocated per record or per field. Values other than
+ * {@link CharSequence CharSequences} are formatted into a reusable buffer by an
+ * {@link ICsvValueFormatter}.
+ * </p>
+ * <p>
+ * The writer follows the conventions of
+ * {@link org.supercsv.prefs.CsvPreference#STANDARD_PREFERENCE}: fields are
+ * separated by commas, fields containing commas, quotes, or line breaks are
+ * enclosed in double quotes (with quotes escaped by doubling them), records
+ * are terminated by {@code \r\n}, and {@code null} values are written as empty
+ * fields.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class CsvWriter
+        implements Closeable, Flushable {
+
+    /**
+     * The default size of the byte buffer.
+     */
+    static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private static final byte DELIMITER = ',';
+    private static final byte QUOTE     = '"';
+    private static final byte CR        = '\r';
+    private static final byte LF        = '\n';
+
+    /**
+     * The maximum number of bytes a single {@code char} is encoded to.
+     */
+    private static final int MAX_CHAR_BYTES = 3;
+
+    private final OutputStream  outputStream;
+    private final byte[]        buffer;
+    private final StringBuilder valueBuffer;
+
+    private int     position;
+    private boolean recordStarted;
+
+
+    /**
+     * Creates a new instance of the {@code CsvWriter} class writing to the
+     * file at the provided {@link Path}, which is created or truncated.
+     *
+     * @param path
+     *         the path of the file.
+     *
+     * @throws IOException
+     *         if the file cannot be opened for writing.
+     */
+    public CsvWriter(final Path path)
+            throws IOException {
+
+        this(Channels.newOutputStream(FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)));
+    }
+
+
+    /**
+     * Creates a new instance of the {@code CsvWriter} class writing to the
+     * provided {@link OutputStream}.
+     *
+     * @param outputStream
+     *         the {@link OutputStream}.
+     */
+    public CsvWriter(final OutputStream outputStream) {
+
+        this(outputStream, CsvWriter.DEFAULT_BUFFER_SIZE);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code CsvWriter} class writing to the
+     * provided {@link OutputStream} using a buffer of the provided size.
+     *
+     * @param outputStream
+     *         the {@link OutputStream}.
+     * @param bufferSize
+     *         the size of the byte buffer.
+     */
+    CsvWriter(final OutputStream outputStream, final int bufferSize) {
+
+        if (outputStream == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot write to a null output stream!");
+        }
+        if (bufferSize < 2 * CsvWriter.MAX_CHAR_BYTES) {
+
+            throw new IllegalArgumentException("Buffer size " + bufferSize
+                                               + " is too small!");
+        }
+
+        this.outputStream = outputStream;
+        this.buffer = new byte[bufferSize];
+        this.valueBuffer = new StringBuilder();
+        this.position = 0;
+        this.recordStarted = false;
+    }
+
+
+    /**
+     * Appends a field to the current record.
+     *
+     * @param value
+     *         the value of the field ({@code null} is written as an empty
+     *         field).
+     *
+     * @throws IOException
+     *         if the field cannot be written.
+     */
+    public void field(final CharSequence value)
+            throws IOException {
+
+        this.startField();
+
+        if (value != null) {
+
+            this.escape(value);
+        }
+    }
+
+
+    /**
+     * Appends a field to the current record, formatting the value with the
+     * provided {@link ICsvValueFormatter}.
+     *
+     * @param value
+     *         the value of the field ({@code null} is written as an empty
+     *         field).
+     * @param formatter
+     *         the formatter.
+     * @param <T>
+     *         the type of the value.
+     *
+     * @throws IOException
+     *         if the field cannot be written.
+     */
+    public <T> void field(final T value,
+            final ICsvValueFormatter<? super T> formatter)
+            throws IOException {
+
+        this.startField();
+
+        if (value != null) {
+
+            this.valueBuffer.setLength(0);
+            formatter.format(value, this.valueBuffer);
+            this.escape(this.valueBuffer);
+        }
+    }
+
+
+    /**
+     * Appends a numeric field to the current record.
+     *
+     * @param value
+     *         the value of the field.
+     *
+     * @throws IOException
+     *         if the field cannot be written.
+     */
+    public void field(final long value)
+            throws IOException {
+
+        this.startField();
+        this.valueBuffer.setLength(0);
+        this.valueBuffer.append(value);
+        this.append(this.valueBuffer);
+    }
+
+
+    /**
+     * Appends a numeric field to the current record.
+     *
+     * @param value
+     *         the value of the field.
+     *
+     * @throws IOException
+     *         if the field cannot be written.
+     */
+    public void field(final double value)
+            throws IOException {
+
+        this.startField();
+        this.valueBuffer.setLength(0);
+        this.valueBuffer.append(value);
+        this.append(this.valueBuffer);
+    }
+
+
+    /**
+     * Terminates the current record.
+     *
+     * @throws IOException
+     *         if the record cannot be written.
+     */
+    public void endRecord()
+            throws IOException {
+
+        this.ensureCapacity(2);
+        this.buffer[this.position++] = CsvWriter.CR;
+        this.buffer[this.position++] = CsvWriter.LF;
+        this.recordStarted = false;
+    }
+
+
+    /**
+     * Writes a complete record.
+     *
+     * @param values
+     *         the values of the record.
+     *
+     * @throws IOException
+     *         if the record cannot be written.
+     */
+    public void record(final CharSequence... values)
+            throws IOException {
+
+        for (final CharSequence value : values) {
+
+            this.field(value);
+        }
+        this.endRecord();
+    }
+
+
+    @Override
+    public void flush()
+            throws IOException {
+
+        this.drain();
+        this.outputStream.flush();
+    }
+
+
+    @Override
+    public void close()
+            throws IOException {
+
+        try {
+
+            this.drain();
+        }
+        finally {
+
+            this.outputStream.close();
+        }
+    }
+
+
+    private void startField()
+            throws IOException {
+
+        if (this.recordStarted) {
+
+            this.ensureCapacity(1);
+            this.buffer[this.position++] = CsvWriter.DELIMITER;
+        }
+        this.recordStarted = true;
+    }
+
+
+    private void escape(final CharSequence value)
+            throws IOException {
+
+        final int length = value.length();
+        boolean quote = false;
+
+        for (int i = 0; i < length && !quote; i++) {
+
+            final char c = value.charAt(i);
+
+            quote = c == CsvWriter.DELIMITER || c == CsvWriter.QUOTE
+                    || c == CsvWriter.CR || c == CsvWriter.LF;
+        }
+
+        if (!quote) {
+
+            this.append(value);
+            return;
+        }
+
+        this.ensureCapacity(1);
+        this.buffer[this.position++] = CsvWriter.QUOTE;
+
+        for (int i = 0; i < length; i++) {
+
+            final char c = value.charAt(i);
+
+            if (c == CsvWriter.QUOTE) {
+
+                this.ensureCapacity(1);
+                this.buffer[this.position++] = CsvWriter.QUOTE;
+            }
+            i = this.append(value, i, c);
+        }
+
+        this.ensureCapacity(1);
+        this.buffer[this.position++] = CsvWriter.QUOTE;
+    }
+
+
+    private void append(final CharSequence value)
+            throws IOException {
+
+        final int length = value.length();
+
+        for (int i = 0; i < length; i++) {
+
+            i = this.append(value, i, value.charAt(i));
+        }
+    }
+
+
+    /**
+     * Encodes the character at the provided index as UTF-8.
+     *
+     * @param value
+     *         the value containing the character.
+     * @param index
+     *         the index of the character.
+     * @param c
+     *         the character.
+     *
+     * @return the index of the last character consumed (which differs from the
+     * provided index for surrogate pairs).
+     *
+     * @throws IOException
+     *         if the buffer cannot be drained.
+     */
+    private int append(final CharSequence value, final int index,
+            final char c)
+            throws IOException {
+
+        this.ensureCapacity(2 * CsvWriter.MAX_CHAR_BYTES);
+
+        final byte[] bytes = this.buffer;
+
+        if (c < 0x80) {
+
+            bytes[this.position++] = (byte) c;
+        }
+        else if (c < 0x800) {
+
+            bytes[this.position++] = (byte) (0xC0 | c >> 6);
+            bytes[this.position++] = (byte) (0x80 | c & 0x3F);
+        }
+        else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                 && Character.isLowSurrogate(value.charAt(index + 1))) {
+
+            final int codePoint = Character.toCodePoint(c,
+                    value.charAt(index + 1));
+
+            bytes[this.position++] = (byte) (0xF0 | codePoint >> 18);
+            bytes[this.position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+            bytes[this.position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            bytes[this.position++] = (byte) (0x80 | codePoint & 0x3F);
+
+            return index + 1;
+        }
+        else if (Character.isSurrogate(c)) {
+
+            // Unpaired surrogates are replaced, as by the UTF-8 encoder.
+            bytes[this.position++] = '?';
+        }
+        else {
+
+            bytes[this.position++] = (byte) (0xE0 | c >> 12);
+            bytes[this.position++] = (byte) (0x80 | c >> 6 & 0x3F);
+            bytes[this.position++] = (byte) (0x80 | c & 0x3F);
+        }
+
+        return index;
+    }
+
+
+    private void ensureCapacity(final int bytes)
+            throws IOException {
+
+        if (this.position + bytes > this.buffer.length) {
+
+            this.drain();
+        }
+    }
+
+
+    private void drain()
+            throws IOException {
+
+        if (this.position > 0) {
+
+            this.outputStream.write(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+    }
+}
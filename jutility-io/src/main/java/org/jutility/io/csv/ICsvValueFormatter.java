@@ -0,0 +1,85 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+/**
+ * The generic {@code ICsvValueFormatter} interface provides a contract for
+ * classes formatting the values written by a {@link CsvWriter}.
+ * <p>
+ * Formatters append the textual representation of a value to a reusable
+ * buffer instead of returning a new {@link String}; the {@link CsvWriter}
+ * escapes the buffer contents as necessary.
+ * </p>
+ *
+ * @param <T>
+ *         the type of the values.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@FunctionalInterface
+public interface ICsvValueFormatter<T> {
+
+    /**
+     * The default formatter, which produces the same text as
+     * {@link Object#toString()} but appends boxed numbers without creating an
+     * intermediate {@link String}.
+     */
+    ICsvValueFormatter<Object> DEFAULT = (value, buffer) -> {
+
+        if (value instanceof Integer || value instanceof Long
+            || value instanceof Short || value instanceof Byte) {
+
+            buffer.append(((Number) value).longValue());
+        }
+        else if (value instanceof Double) {
+
+            buffer.append(((Double) value).doubleValue());
+        }
+        else if (value instanceof Float) {
+
+            buffer.append(((Float) value).floatValue());
+        }
+        else if (value instanceof CharSequence) {
+
+            buffer.append((CharSequence) value);
+        }
+        else {
+
+            buffer.append(value.toString());
+        }
+    };
+
+
+    /**
+     * Appends the textual representation of the provided value to the
+     * provided buffer.
+     *
+     * @param value
+     *         the value (never {@code null}).
+     * @param buffer
+     *         the buffer.
+     */
+    void format(T value, StringBuilder buffer);
+}
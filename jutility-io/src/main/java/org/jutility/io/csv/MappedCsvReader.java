@@ -0,0 +1,668 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The {@code MappedCsvReader} class provides a fast, memory-mapped reader for
+ * local CSV files.
+ * <p>
+ * The file is mapped into memory using {@link FileChannel#map} and tokenized
+ * directly on the mapped bytes. After each call to {@link #next()}, the fields
+ * of the current record are available as {@link CharSequence} views of the
+ * mapped file; no objects are allocated per record or per field unless a
+ * field contains escaped quotes or non-ASCII characters, in which case it is
+ * decoded on first access. Views are only valid until the next call to
+ * {@link #next()}.
+ * </p>
+ * <p>
+ * The reader follows the conventions of
+ * {@link org.supercsv.prefs.CsvPreference#STANDARD_PREFERENCE}: fields are
+ * separated by commas, may be enclosed in double quotes (with quotes escaped by
+ * doubling them), records are terminated by {@code \n}, {@code \r\n}, or
+ * {@code \r}, and empty lines are skipped. The file must be encoded in UTF-8
+ * (or ASCII).
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class MappedCsvReader
+        implements Closeable {
+
+    static final int MAX_WINDOW = Integer.MAX_VALUE;
+
+    private static final byte DELIMITER = ',';
+    private static final byte QUOTE     = '"';
+    private static final byte SPACE     = ' ';
+    private static final byte LF        = '\n';
+    private static final byte CR        = '\r';
+
+    private static final byte QUOTED    = 1;
+    private static final byte ESCAPED   = 2;
+    private static final byte NON_ASCII = 4;
+
+    private static final int    TERMINATOR = -1;
+    private static final int    MULTI_BYTE = 1;
+    private static final int[]  BYTE_TYPES = new int[256];
+
+    static {
+
+        for (int b = 0x80; b < 0x100; b++) {
+
+            MappedCsvReader.BYTE_TYPES[b] = MappedCsvReader.MULTI_BYTE;
+        }
+        MappedCsvReader.BYTE_TYPES[MappedCsvReader.DELIMITER] =
+                MappedCsvReader.TERMINATOR;
+        MappedCsvReader.BYTE_TYPES[MappedCsvReader.LF] =
+                MappedCsvReader.TERMINATOR;
+        MappedCsvReader.BYTE_TYPES[MappedCsvReader.CR] =
+                MappedCsvReader.TERMINATOR;
+    }
+
+    private final FileChannel channel;
+    private final long        size;
+    private final long        end;
+
+    private int              windowSize;
+    private MappedByteBuffer window;
+    private long             windowStart;
+    private int              position;
+
+    private int     fieldCount;
+    private int[]   starts;
+    private int[]   ends;
+    private byte[]  flags;
+    private Field[] fields;
+
+
+    /**
+     * Creates a new instance of the {@code MappedCsvReader} class.
+     *
+     * @param path
+     *         the path of the CSV file.
+     *
+     * @throws IOException
+     *         if the file cannot be opened or mapped.
+     */
+    public MappedCsvReader(final Path path)
+            throws IOException {
+
+        this(path, MappedCsvReader.MAX_WINDOW);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code MappedCsvReader} class that maps at
+     * most the provided number of bytes at a time.
+     *
+     * @param path
+     *         the path of the CSV file.
+     * @param windowSize
+     *         the initial size of the mapped window.
+     *
+     * @throws IOException
+     *         if the file cannot be opened or mapped.
+     */
+    MappedCsvReader(final Path path, final int windowSize)
+            throws IOException {
+
+        this(path, 0, Long.MAX_VALUE, windowSize);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code MappedCsvReader} class that reads
+     * the records starting within the provided byte range of the file. The
+     * beginning of the range must be the beginning of a record; the last
+     * record may extend beyond the end of the range.
+     *
+     * @param path
+     *         the path of the CSV file.
+     * @param start
+     *         the offset of the first record.
+     * @param end
+     *         the offset (exclusive) at which no further records are started.
+     * @param windowSize
+     *         the initial size of the mapped window.
+     *
+     * @throws IOException
+     *         if the file cannot be opened or mapped.
+     */
+    MappedCsvReader(final Path path, final long start, final long end,
+            final int windowSize)
+            throws IOException {
+
+        if (windowSize <= 0) {
+
+            throw new IllegalArgumentException(
+                    "Window size must be positive!");
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = this.channel.size();
+        this.end = Math.min(end, this.size);
+        this.windowSize = windowSize;
+
+        if (start < 0 || start > this.size) {
+
+            this.channel.close();
+            throw new IllegalArgumentException("Offset " + start
+                                               + " lies outside of the file!");
+        }
+
+        this.fieldCount = 0;
+        this.starts = new int[16];
+        this.ends = new int[16];
+        this.flags = new byte[16];
+        this.fields = new Field[0];
+
+        try {
+
+            this.map(start);
+        }
+        catch (IOException e) {
+
+            this.channel.close();
+            throw e;
+        }
+    }
+
+
+    private void map(final long start)
+            throws IOException {
+
+        final int length = (int) Math.min(this.size - start, this.windowSize);
+
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start,
+                length);
+        this.windowStart = start;
+        this.position = 0;
+    }
+
+
+    /**
+     * Advances to the next record.
+     *
+     * @return {@code true}, if a record was read; {@code false}, if the end of
+     * the file has been reached.
+     *
+     * @throws IOException
+     *         if the file cannot be mapped or ends within a quoted field.
+     */
+    public boolean next()
+            throws IOException {
+
+        while (this.windowStart + this.position < this.end) {
+
+            if (!this.parseRecord()) {
+
+                // The record extends beyond the mapped window.
+                if (this.position == 0) {
+
+                    if (this.windowSize == MappedCsvReader.MAX_WINDOW) {
+
+                        throw new IOException("Record at offset "
+                                              + this.windowStart
+                                              + " exceeds the maximum "
+                                              + "record size!");
+                    }
+                    this.windowSize = (int) Math.min(MappedCsvReader.MAX_WINDOW,
+                            2L * this.windowSize);
+                }
+                this.map(this.windowStart + this.position);
+            }
+            else if (!this.isEmptyLine()) {
+
+                return true;
+            }
+        }
+
+        this.fieldCount = 0;
+
+        return false;
+    }
+
+
+    private boolean isEmptyLine() {
+
+        return this.fieldCount == 1 && this.flags[0] == 0
+               && this.starts[0] == this.ends[0];
+    }
+
+
+    /**
+     * Parses the record starting at the current position.
+     *
+     * @return {@code true}, if the record was parsed completely;
+     * {@code false}, if the record extends beyond the mapped window.
+     *
+     * @throws IOException
+     *         if the file ends within a quoted field.
+     */
+    private boolean parseRecord()
+            throws IOException {
+
+        final MappedByteBuffer buffer = this.window;
+        final int limit = buffer.limit();
+        final boolean eof = this.windowStart + limit >= this.size;
+
+        int p = this.position;
+
+        this.fieldCount = 0;
+
+        while (true) {
+
+            int q = p;
+            byte flag = 0;
+            final int start;
+            final int end;
+
+            while (q < limit && buffer.get(q) == MappedCsvReader.SPACE) {
+
+                q++;
+            }
+
+            if (q < limit && buffer.get(q) == MappedCsvReader.QUOTE) {
+
+                flag |= MappedCsvReader.QUOTED;
+                start = ++q;
+
+                while (true) {
+
+                    if (q >= limit) {
+
+                        if (eof) {
+
+                            throw new IOException("Unterminated quoted field "
+                                                  + "at offset "
+                                                  + (this.windowStart + start)
+                                                  + "!");
+                        }
+                        return false;
+                    }
+
+                    final byte b = buffer.get(q);
+
+                    if (b == MappedCsvReader.QUOTE) {
+
+                        if (q + 1 >= limit && !eof) {
+
+                            return false;
+                        }
+                        if (q + 1 < limit
+                            && buffer.get(q + 1) == MappedCsvReader.QUOTE) {
+
+                            flag |= MappedCsvReader.ESCAPED;
+                            q += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    if (b < 0) {
+
+                        flag |= MappedCsvReader.NON_ASCII;
+                    }
+                    q++;
+                }
+
+                end = q++;
+
+                // Skip anything between the closing quote and the delimiter.
+                while (q < limit) {
+
+                    final byte b = buffer.get(q);
+
+                    if (b == MappedCsvReader.DELIMITER
+                        || b == MappedCsvReader.LF || b == MappedCsvReader.CR) {
+
+                        break;
+                    }
+                    q++;
+                }
+            }
+            else {
+
+                start = p;
+                q = p;
+
+                int classes = 0;
+                while (q < limit) {
+
+                    final int type = MappedCsvReader.BYTE_TYPES[
+                            buffer.get(q) & 0xFF];
+
+                    if (type == MappedCsvReader.TERMINATOR) {
+
+                        break;
+                    }
+                    classes |= type;
+                    q++;
+                }
+
+                if (classes != 0) {
+
+                    flag |= MappedCsvReader.NON_ASCII;
+                }
+                end = q;
+            }
+
+            if (q >= limit && !eof) {
+
+                return false;
+            }
+
+            this.addField(start, end, flag);
+            p = q;
+
+            if (p >= limit) {
+
+                this.position = p;
+                return true;
+            }
+
+            final byte b = buffer.get(p);
+
+            if (b == MappedCsvReader.DELIMITER) {
+
+                p++;
+                continue;
+            }
+
+            if (b == MappedCsvReader.CR) {
+
+                if (p + 1 >= limit && !eof) {
+
+                    return false;
+                }
+                p++;
+                if (p < limit && buffer.get(p) == MappedCsvReader.LF) {
+
+                    p++;
+                }
+            }
+            else {
+
+                p++;
+            }
+
+            this.position = p;
+            return true;
+        }
+    }
+
+
+    private void addField(final int start, final int end, final byte flag) {
+
+        if (this.fieldCount == this.starts.length) {
+
+            final int capacity = this.starts.length << 1;
+
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+            this.flags = Arrays.copyOf(this.flags, capacity);
+        }
+
+        if (this.fieldCount == this.fields.length) {
+
+            final int length = this.fields.length;
+
+            this.fields = Arrays.copyOf(this.fields, this.starts.length);
+
+            for (int i = length; i < this.fields.length; i++) {
+
+                this.fields[i] = new Field(i);
+            }
+        }
+
+        this.starts[this.fieldCount] = start;
+        this.ends[this.fieldCount] = end;
+        this.flags[this.fieldCount] = flag;
+        this.fields[this.fieldCount].decoded = null;
+        this.fieldCount++;
+    }
+
+
+    /**
+     * Returns the number of fields of the current record.
+     *
+     * @return the number of fields.
+     */
+    public int fields() {
+
+        return this.fieldCount;
+    }
+
+
+    /**
+     * Returns the offset of the byte following the current record.
+     *
+     * @return the offset of the byte following the current record.
+     */
+    long offset() {
+
+        return this.windowStart + this.position;
+    }
+
+
+    /**
+     * Returns a view of the field with the provided index. The view is only
+     * valid until the next call to {@link #next()}.
+     *
+     * @param index
+     *         the index of the field.
+     *
+     * @return a view of the field.
+     */
+    public CharSequence field(final int index) {
+
+        this.checkIndex(index);
+
+        return this.fields[index];
+    }
+
+
+    /**
+     * Returns whether or not the field with the provided index was enclosed in
+     * quotes.
+     *
+     * @param index
+     *         the index of the field.
+     *
+     * @return {@code true}, if the field was quoted; {@code false} otherwise.
+     */
+    public boolean isQuoted(final int index) {
+
+        this.checkIndex(index);
+
+        return (this.flags[index] & MappedCsvReader.QUOTED) != 0;
+    }
+
+
+    /**
+     * Returns the field with the provided index as a {@link String}.
+     *
+     * @param index
+     *         the index of the field.
+     *
+     * @return the field.
+     */
+    public String getString(final int index) {
+
+        return this.field(index)
+                   .toString();
+    }
+
+
+    private void checkIndex(final int index) {
+
+        if (index < 0 || index >= this.fieldCount) {
+
+            throw new IllegalArgumentException("Field " + index
+                                               + " does not exist!");
+        }
+    }
+
+
+    @Override
+    public void close()
+            throws IOException {
+
+        this.window = null;
+        this.fieldCount = 0;
+        this.channel.close();
+    }
+
+
+    /**
+     * The {@code Field} class provides a {@link CharSequence} view of a field
+     * of the current record.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private final class Field
+            implements CharSequence {
+
+        private final int index;
+
+        private String decoded;
+
+
+        /**
+         * Creates a new instance of the {@code Field} class.
+         *
+         * @param index
+         *         the index of the field.
+         */
+        Field(final int index) {
+
+            this.index = index;
+        }
+
+
+        private boolean isPlain() {
+
+            return (MappedCsvReader.this.flags[this.index]
+                    & (MappedCsvReader.ESCAPED | MappedCsvReader.NON_ASCII))
+                   == 0;
+        }
+
+
+        private String decode() {
+
+            if (this.decoded == null) {
+
+                final int start = MappedCsvReader.this.starts[this.index];
+                final int end = MappedCsvReader.this.ends[this.index];
+                final byte[] bytes = new byte[end - start];
+
+                for (int i = 0; i < bytes.length; i++) {
+
+                    bytes[i] = MappedCsvReader.this.window.get(start + i);
+                }
+
+                final String value = new String(bytes, StandardCharsets.UTF_8);
+
+                if ((MappedCsvReader.this.flags[this.index]
+                     & MappedCsvReader.ESCAPED) != 0) {
+
+                    this.decoded = value.replace("\"\"", "\"");
+                }
+                else {
+
+                    this.decoded = value;
+                }
+            }
+            return this.decoded;
+        }
+
+
+        @Override
+        public int length() {
+
+            if (this.isPlain()) {
+
+                return MappedCsvReader.this.ends[this.index]
+                       - MappedCsvReader.this.starts[this.index];
+            }
+            return this.decode()
+                       .length();
+        }
+
+
+        @Override
+        public char charAt(final int index) {
+
+            if (this.isPlain()) {
+
+                if (index < 0 || index >= this.length()) {
+
+                    throw new IndexOutOfBoundsException("Index " + index
+                                                        + " out of bounds!");
+                }
+                return (char) MappedCsvReader.this.window.get(
+                        MappedCsvReader.this.starts[this.index] + index);
+            }
+            return this.decode()
+                       .charAt(index);
+        }
+
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+
+            return this.toString()
+                       .subSequence(start, end);
+        }
+
+
+        @Override
+        public String toString() {
+
+            if (this.isPlain()) {
+
+                final int start = MappedCsvReader.this.starts[this.index];
+                final char[] chars = new char[this.length()];
+
+                for (int i = 0; i < chars.length; i++) {
+
+                    chars[i] = (char) MappedCsvReader.this.window.get(
+                            start + i);
+                }
+                return new String(chars);
+            }
+            return this.decode();
+        }
+    }
+}
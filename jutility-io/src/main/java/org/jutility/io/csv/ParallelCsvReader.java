@@ -0,0 +1,431 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * The {@code ParallelCsvReader} class reads local CSV files in parallel.
+ * <p>
+ * The file is split into chunks at record boundaries: the quotes of equally
+ * sized byte ranges are counted in parallel to determine whether each range
+ * starts inside a quoted field, and every split point is moved forward to the
+ * next line terminator outside of quotes. The chunks are then parsed on a
+ * {@link ForkJoinPool} using the {@link MappedCsvReader} and the rows are
+ * emitted in file order.
+ * </p>
+ * <p>
+ * Each chunk is verified to end exactly where the next one begins. Should a
+ * split point turn out not to be a record boundary (e.g., due to a quote
+ * within an unquoted field), the remainder of the file is read sequentially,
+ * so the rows always match those of a sequential read.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+final class ParallelCsvReader {
+
+    /**
+     * The minimum size of a chunk.
+     */
+    static final long MIN_CHUNK_SIZE = 1L << 20;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int SCAN_BUFFER_SIZE  = 1 << 16;
+    private static final int COUNT_WINDOW_SIZE = 1 << 30;
+
+    private static final byte QUOTE = '"';
+    private static final byte LF    = '\n';
+    private static final byte CR    = '\r';
+
+
+    private ParallelCsvReader() {
+
+        // Nothing to be done.
+    }
+
+
+    /**
+     * Reads the provided file using the provided level of parallelism and
+     * passes each row to the provided consumer in file order.
+     *
+     * @param path
+     *         the path of the CSV file.
+     * @param parallelism
+     *         the level of parallelism.
+     * @param minChunkSize
+     *         the minimum size of a chunk.
+     * @param consumer
+     *         the consumer of the rows.
+     *
+     * @throws IOException
+     *         if the file cannot be read.
+     */
+    static void read(final Path path, final int parallelism,
+            final long minChunkSize, final Consumer<String[]> consumer)
+            throws IOException {
+
+        if (parallelism < 1) {
+
+            throw new IllegalArgumentException(
+                    "Parallelism must be positive!");
+        }
+
+        final long size;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+
+            size = channel.size();
+        }
+
+        final int chunks = (int) Math.max(1,
+                Math.min((long) parallelism
+                         * ParallelCsvReader.CHUNKS_PER_THREAD,
+                        size / Math.max(1, minChunkSize)));
+
+        if (parallelism == 1 || chunks == 1) {
+
+            ParallelCsvReader.readSequentially(path, 0, consumer);
+            return;
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+
+            final long[] boundaries = ParallelCsvReader.boundaries(path, size,
+                    chunks, pool);
+
+            final List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(chunks);
+
+            for (int i = 0; i < chunks; i++) {
+
+                final long start = boundaries[i];
+                final long end = boundaries[i + 1];
+
+                tasks.add(pool.submit(() -> ParallelCsvReader.parse(path,
+                        start, end)));
+            }
+
+            for (int i = 0; i < chunks; i++) {
+
+                final Chunk chunk = ParallelCsvReader.join(tasks.get(i));
+
+                chunk.rows.forEach(consumer);
+
+                if (chunk.end != boundaries[i + 1]) {
+
+                    // The next split point is not a record boundary.
+                    for (int j = i + 1; j < chunks; j++) {
+
+                        tasks.get(j)
+                             .cancel(true);
+                    }
+                    ParallelCsvReader.readSequentially(path, chunk.end,
+                            consumer);
+                    return;
+                }
+            }
+        }
+        finally {
+
+            pool.shutdownNow();
+        }
+    }
+
+
+    private static void readSequentially(final Path path, final long start,
+            final Consumer<String[]> consumer)
+            throws IOException {
+
+        try (MappedCsvReader reader = new MappedCsvReader(path, start,
+                Long.MAX_VALUE, MappedCsvReader.MAX_WINDOW)) {
+
+            while (reader.next()) {
+
+                consumer.accept(CsvSerializer.values(reader));
+            }
+        }
+    }
+
+
+    private static Chunk parse(final Path path, final long start,
+            final long end)
+            throws IOException {
+
+        final List<String[]> rows = new ArrayList<>();
+
+        if (start >= end) {
+
+            return new Chunk(rows, start);
+        }
+
+        try (MappedCsvReader reader = new MappedCsvReader(path, start, end,
+                MappedCsvReader.MAX_WINDOW)) {
+
+            while (reader.next()) {
+
+                rows.add(CsvSerializer.values(reader));
+            }
+
+            return new Chunk(rows, reader.offset());
+        }
+    }
+
+
+    /**
+     * Determines the offsets at which the chunks begin.
+     *
+     * @param path
+     *         the path of the CSV file.
+     * @param size
+     *         the size of the file.
+     * @param chunks
+     *         the number of chunks.
+     * @param pool
+     *         the pool counting the quotes.
+     *
+     * @return the {@code chunks + 1} chunk boundaries, starting with
+     * {@code 0} and ending with the size of the file.
+     *
+     * @throws IOException
+     *         if the file cannot be read.
+     */
+    private static long[] boundaries(final Path path, final long size,
+            final int chunks, final ForkJoinPool pool)
+            throws IOException {
+
+        final long[] nominal = new long[chunks + 1];
+
+        for (int i = 0; i <= chunks; i++) {
+
+            nominal[i] = size / chunks * i + Math.min(i, size % chunks);
+        }
+
+        final List<ForkJoinTask<Boolean>> parities = new ArrayList<>(chunks);
+
+        for (int i = 0; i < chunks; i++) {
+
+            final long start = nominal[i];
+            final long end = nominal[i + 1];
+
+            parities.add(pool.submit(() -> ParallelCsvReader.hasOddQuotes(
+                    path, start, end)));
+        }
+
+        final long[] boundaries = new long[chunks + 1];
+        boundaries[chunks] = size;
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+
+            boolean inQuotes = false;
+
+            for (int i = 1; i < chunks; i++) {
+
+                inQuotes ^= ParallelCsvReader.join(parities.get(i - 1));
+
+                final long boundary = ParallelCsvReader.nextRecord(channel,
+                        nominal[i], inQuotes);
+
+                boundaries[i] = Math.max(boundaries[i - 1], boundary);
+            }
+        }
+
+        return boundaries;
+    }
+
+
+    private static boolean hasOddQuotes(final Path path, final long start,
+            final long end)
+            throws IOException {
+
+        boolean odd = false;
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.READ)) {
+
+            for (long offset = start; offset < end;
+                 offset += ParallelCsvReader.COUNT_WINDOW_SIZE) {
+
+                final MappedByteBuffer buffer = channel.map(
+                        FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(end - offset,
+                                ParallelCsvReader.COUNT_WINDOW_SIZE));
+                final int limit = buffer.limit();
+
+                for (int i = 0; i < limit; i++) {
+
+                    if (buffer.get(i) == ParallelCsvReader.QUOTE) {
+
+                        odd = !odd;
+                    }
+                }
+            }
+        }
+
+        return odd;
+    }
+
+
+    /**
+     * Returns the offset following the first line terminator outside of
+     * quotes at or after the provided offset.
+     *
+     * @param channel
+     *         the channel of the file.
+     * @param start
+     *         the offset to start scanning at.
+     * @param quoted
+     *         whether or not the offset lies within quotes.
+     *
+     * @return the offset of the next record or the size of the file, if there
+     * is none.
+     *
+     * @throws IOException
+     *         if the file cannot be read.
+     */
+    private static long nextRecord(final FileChannel channel,
+            final long start, final boolean quoted)
+            throws IOException {
+
+        final ByteBuffer buffer = ByteBuffer.allocate(
+                ParallelCsvReader.SCAN_BUFFER_SIZE);
+
+        boolean inQuotes = quoted;
+        boolean afterCr = false;
+        long offset = start;
+
+        while (true) {
+
+            buffer.clear();
+
+            final int read = channel.read(buffer, offset);
+
+            if (read <= 0) {
+
+                return offset;
+            }
+
+            for (int i = 0; i < read; i++) {
+
+                final byte b = buffer.get(i);
+
+                if (afterCr) {
+
+                    return b == ParallelCsvReader.LF ? offset + i + 1
+                            : offset + i;
+                }
+                if (b == ParallelCsvReader.QUOTE) {
+
+                    inQuotes = !inQuotes;
+                }
+                else if (!inQuotes && b == ParallelCsvReader.LF) {
+
+                    return offset + i + 1;
+                }
+                else if (!inQuotes && b == ParallelCsvReader.CR) {
+
+                    afterCr = true;
+                }
+            }
+
+            offset += read;
+        }
+    }
+
+
+    private static <T> T join(final ForkJoinTask<T> task)
+            throws IOException {
+
+        try {
+
+            return task.get();
+        }
+        catch (InterruptedException e) {
+
+            Thread.currentThread()
+                  .interrupt();
+            throw new InterruptedIOException(
+                    "Interrupted while reading CSV file!");
+        }
+        catch (ExecutionException e) {
+
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException("Could not read CSV file!", cause);
+        }
+    }
+
+
+    /**
+     * The {@code Chunk} class holds the rows of a parsed chunk and the offset
+     * at which parsing ended.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class Chunk {
+
+        private final List<String[]> rows;
+        private final long           end;
+
+
+        /**
+         * Creates a new instance of the {@code Chunk} class.
+         *
+         * @param rows
+         *         the rows of the chunk.
+         * @param end
+         *         the offset at which parsing ended.
+         */
+        Chunk(final List<String[]> rows, final long end) {
+
+            this.rows = rows;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.jutility.io.binary.ColumnType;
+
+/**
+ * The {@code TypedCsvReader} class reads local CSV files into
+ * {@link TypedTable TypedTables}.
+ * <p>
+ * The type of each column is inferred from a sample of the leading records by
+ * {@link CsvFieldParser#classify classifying} its fields and
+ * {@link CsvFieldParser#promote promoting} their types. The file is then read
+ * with a {@link MappedCsvReader} and each field is parsed directly from the
+ * mapped file into the primitive storage of its column. Should a field not fit
+ * the inferred type of its column, the remaining fields are only classified and
+ * the file is read again with the widened types, so the sample size only
+ * affects performance, never the result.
+ * </p>
+ * <p>
+ * Empty and blank fields of non-{@link ColumnType#STRING string} columns are
+ * treated as missing values; {@link String} values are trimmed.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+final class TypedCsvReader {
+
+    /**
+     * The default number of records sampled to infer the column types.
+     */
+    static final int DEFAULT_SAMPLE_SIZE = 1024;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Path    path;
+    private final boolean header;
+
+    private String[]     names;
+    private ColumnType[] types;
+
+    private int      capacity;
+    private Object[] values;
+    private BitSet[] present;
+
+
+    private TypedCsvReader(final Path path, final boolean header) {
+
+        this.path = path;
+        this.header = header;
+        this.names = null;
+        this.types = new ColumnType[0];
+    }
+
+
+    /**
+     * Reads the provided CSV file into a {@link TypedTable}.
+     *
+     * @param path
+     *         the path of the CSV file.
+     * @param header
+     *         whether the first record contains the names of the columns.
+     * @param sampleSize
+     *         the number of records sampled to infer the column types.
+     *
+     * @return the table.
+     *
+     * @throws IOException
+     *         if the file cannot be read.
+     */
+    static TypedTable read(final Path path, final boolean header,
+            final int sampleSize)
+            throws IOException {
+
+        if (sampleSize < 0) {
+
+            throw new IllegalArgumentException(
+                    "Sample size must not be negative!");
+        }
+
+        final TypedCsvReader reader = new TypedCsvReader(path, header);
+
+        reader.sample(sampleSize);
+
+        TypedTable table = reader.parse();
+
+        while (table == null) {
+
+            table = reader.parse();
+        }
+
+        return table;
+    }
+
+
+    private MappedCsvReader open()
+            throws IOException {
+
+        final MappedCsvReader reader = new MappedCsvReader(this.path);
+
+        if (this.header) {
+
+            try {
+
+                if (reader.next() && this.names == null) {
+
+                    this.names = CsvSerializer.values(reader);
+                }
+            }
+            catch (IOException e) {
+
+                reader.close();
+                throw e;
+            }
+        }
+
+        return reader;
+    }
+
+
+    private void sample(final int sampleSize)
+            throws IOException {
+
+        try (MappedCsvReader reader = this.open()) {
+
+            for (int record = 0; record < sampleSize && reader.next();
+                 record++) {
+
+                this.ensureColumns(reader.fields());
+
+                for (int column = 0; column < reader.fields(); column++) {
+
+                    this.types[column] = CsvFieldParser.promote(
+                            this.types[column],
+                            CsvFieldParser.classify(reader.field(column)));
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Reads the file using the current column types.
+     *
+     * @return the table or {@code null}, if the column types had to be
+     * widened.
+     *
+     * @throws IOException
+     *         if the file cannot be read.
+     */
+    private TypedTable parse()
+            throws IOException {
+
+        this.allocate();
+
+        boolean widened = false;
+        int row = 0;
+
+        try (MappedCsvReader reader = this.open()) {
+
+            while (reader.next()) {
+
+                final int fields = reader.fields();
+
+                widened |= this.ensureColumns(fields);
+
+                if (!widened && row == this.capacity) {
+
+                    this.grow();
+                }
+
+                for (int column = 0; column < fields; column++) {
+
+                    final CharSequence field = reader.field(column);
+                    final ColumnType type = this.types[column];
+
+                    if (type == ColumnType.STRING) {
+
+                        if (!widened && field.length() > 0) {
+
+                            ((String[]) this.values[column])[row] =
+                                    field.toString()
+                                         .trim();
+                        }
+                        continue;
+                    }
+
+                    final ColumnType actual = CsvFieldParser.classify(field);
+
+                    if (actual == ColumnType.EMPTY) {
+
+                        continue;
+                    }
+
+                    final ColumnType promoted = CsvFieldParser.promote(type,
+                            actual);
+
+                    if (promoted != type) {
+
+                        this.types[column] = promoted;
+                        widened = true;
+                    }
+                    else if (!widened) {
+
+                        this.store(column, row, type, field);
+                    }
+                }
+
+                row++;
+            }
+        }
+
+        if (widened) {
+
+            return null;
+        }
+
+        return new TypedTable(this.names, row, this.types,
+                this.trim(row), this.present);
+    }
+
+
+    private boolean ensureColumns(final int columns) {
+
+        if (columns <= this.types.length) {
+
+            return false;
+        }
+
+        final int length = this.types.length;
+
+        this.types = Arrays.copyOf(this.types, columns);
+        Arrays.fill(this.types, length, columns, ColumnType.EMPTY);
+
+        return true;
+    }
+
+
+    private void allocate() {
+
+        final int columns = this.types.length;
+
+        this.capacity = TypedCsvReader.INITIAL_CAPACITY;
+        this.values = new Object[columns];
+        this.present = new BitSet[columns];
+
+        for (int column = 0; column < columns; column++) {
+
+            switch (this.types[column]) {
+                case INT:
+
+                    this.values[column] = new int[this.capacity];
+                    break;
+
+                case LONG:
+
+                    this.values[column] = new long[this.capacity];
+                    break;
+
+                case DOUBLE:
+
+                    this.values[column] = new double[this.capacity];
+                    break;
+
+                case BOOLEAN:
+
+                    this.values[column] = new BitSet();
+                    break;
+
+                case STRING:
+
+                    this.values[column] = new String[this.capacity];
+                    break;
+
+                default:
+
+                    break;
+            }
+            this.present[column] = new BitSet();
+        }
+    }
+
+
+    private void grow() {
+
+        this.capacity <<= 1;
+
+        for (int column = 0; column < this.values.length; column++) {
+
+            this.values[column] = TypedCsvReader.copyOf(this.values[column],
+                    this.capacity);
+        }
+    }
+
+
+    private Object[] trim(final int rows) {
+
+        for (int column = 0; column < this.values.length; column++) {
+
+            this.values[column] = TypedCsvReader.copyOf(this.values[column],
+                    rows);
+        }
+
+        return this.values;
+    }
+
+
+    private static Object copyOf(final Object values, final int length) {
+
+        if (values instanceof int[]) {
+
+            return Arrays.copyOf((int[]) values, length);
+        }
+        if (values instanceof long[]) {
+
+            return Arrays.copyOf((long[]) values, length);
+        }
+        if (values instanceof double[]) {
+
+            return Arrays.copyOf((double[]) values, length);
+        }
+        if (values instanceof String[]) {
+
+            return Arrays.copyOf((String[]) values, length);
+        }
+
+        // Bit sets grow on demand; empty columns have no storage.
+        return values;
+    }
+
+
+    private void store(final int column, final int row, final ColumnType type,
+            final CharSequence field) {
+
+        switch (type) {
+            case INT:
+
+                ((int[]) this.values[column])[row] =
+                        (int) CsvFieldParser.parseLong(field);
+                break;
+
+            case LONG:
+
+                ((long[]) this.values[column])[row] = CsvFieldParser.parseLong(
+                        field);
+                break;
+
+            case DOUBLE:
+
+                ((double[]) this.values[column])[row] =
+                        CsvFieldParser.parseDouble(field);
+                break;
+
+            case BOOLEAN:
+
+                if (CsvFieldParser.parseBoolean(field)) {
+
+                    ((BitSet) this.values[column]).set(row);
+                }
+                break;
+
+            default:
+
+                throw new IllegalStateException("Unexpected column type "
+                                                + type + "!");
+        }
+
+        this.present[column].set(row);
+    }
+}
@@ -0,0 +1,1077 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.jutility.common.datatype.table.CellLocation;
+import org.jutility.common.datatype.table.CellRange;
+import org.jutility.common.datatype.table.ITable;
+import org.jutility.common.datatype.table.IterationOrder;
+import org.jutility.common.datatype.table.Table;
+import org.jutility.io.binary.ColumnType;
+
+/**
+ * The {@code TypedTable} class provides a read-only {@link ITable} of typed
+ * columns produced by {@link CsvSerializer#readTyped(java.net.URL, boolean)
+ * typed CSV import}.
+ * <p>
+ * Each column has a single {@link ColumnType}. {@link ColumnType#INT int},
+ * {@link ColumnType#LONG long}, and {@link ColumnType#DOUBLE double} columns
+ * are stored in primitive arrays and {@link ColumnType#BOOLEAN boolean} columns
+ * in bit sets, each accompanied by a bit set of the rows containing values;
+ * {@link ColumnType#STRING string} columns are stored in arrays of
+ * {@link String Strings}. The primitive accessors read values without boxing;
+ * {@link #get(int, int)} returns boxed values.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class TypedTable
+        implements ITable<Object> {
+
+    private final String[]     names;
+    private final int          rows;
+    private final int          columns;
+    private final ColumnType[] types;
+    private final Column[]     typedColumns;
+    private final int          size;
+
+    private IterationOrder iterationOrder;
+
+
+    /**
+     * Creates a new instance of the {@code TypedTable} class.
+     *
+     * @param names
+     *         the names of the columns ({@code null}, if the columns are not
+     *         named).
+     * @param rows
+     *         the number of rows.
+     * @param types
+     *         the types of the columns.
+     * @param values
+     *         the values of the columns: an {@code int[]}, {@code long[]},
+     *         {@code double[]}, {@link BitSet}, or {@code String[]} per
+     *         column, according to its type ({@code null} for
+     *         {@link ColumnType#EMPTY empty} columns).
+     * @param present
+     *         the rows containing values for each primitive column.
+     */
+    TypedTable(final String[] names, final int rows, final ColumnType[] types,
+            final Object[] values, final BitSet[] present) {
+
+        this.names = names;
+        this.rows = rows;
+        this.columns = types.length;
+        this.types = types;
+        this.typedColumns = new Column[this.columns];
+
+        int size = 0;
+
+        for (int column = 0; column < this.columns; column++) {
+
+            final Column typed = TypedTable.column(types[column],
+                    values[column], present[column]);
+
+            this.typedColumns[column] = typed;
+            size += typed.size(rows);
+        }
+
+        this.size = size;
+        this.iterationOrder = IterationOrder.ROW_MAJOR;
+    }
+
+
+    private static Column column(final ColumnType type, final Object values,
+            final BitSet present) {
+
+        switch (type) {
+            case EMPTY:
+
+                return EmptyColumn.INSTANCE;
+
+            case INT:
+
+                return new IntColumn((int[]) values, present);
+
+            case LONG:
+
+                return new LongColumn((long[]) values, present);
+
+            case DOUBLE:
+
+                return new DoubleColumn((double[]) values, present);
+
+            case BOOLEAN:
+
+                return new BooleanColumn((BitSet) values, present);
+
+            case STRING:
+
+                return new StringColumn((String[]) values);
+
+            default:
+
+                throw new IllegalArgumentException("Unsupported column type "
+                                                   + type + "!");
+        }
+    }
+
+
+    /**
+     * Returns the name of the column with the provided index.
+     *
+     * @param column
+     *         the column index.
+     *
+     * @return the name of the column or {@code null}, if the columns are not
+     * named.
+     */
+    public String getColumnName(final int column) {
+
+        this.checkColumn(column);
+
+        return this.names != null && column < this.names.length
+                ? this.names[column] : null;
+    }
+
+
+    /**
+     * Returns the {@link ColumnType} of the column with the provided index.
+     *
+     * @param column
+     *         the column index.
+     *
+     * @return the {@link ColumnType} of the column.
+     */
+    public ColumnType getColumnType(final int column) {
+
+        this.checkColumn(column);
+
+        return this.types[column];
+    }
+
+
+    /**
+     * Determines whether the cell with the provided row and column contains a
+     * value.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return {@code true}, if the cell contains a value; {@code false}
+     * otherwise.
+     */
+    public boolean contains(final int row, final int column) {
+
+        return this.inExtent(row, column)
+               && this.typedColumns[column].contains(row);
+    }
+
+
+    /**
+     * Returns the value of the cell with the provided row and column of an
+     * {@link ColumnType#INT int column}, or {@code 0} if the cell contains no
+     * value.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value of the cell.
+     */
+    public int getInt(final int row, final int column) {
+
+        return ((IntColumn) this.typedColumn(row, column, ColumnType.INT))
+                .values[row];
+    }
+
+
+    /**
+     * Returns the value of the cell with the provided row and column of an
+     * {@link ColumnType#INT int} or {@link ColumnType#LONG long column}, or
+     * {@code 0} if the cell contains no value.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value of the cell.
+     */
+    public long getLong(final int row, final int column) {
+
+        this.checkCell(row, column);
+
+        final Column typed = this.typedColumns[column];
+
+        if (typed instanceof LongColumn) {
+
+            return ((LongColumn) typed).values[row];
+        }
+        if (typed instanceof IntColumn) {
+
+            return ((IntColumn) typed).values[row];
+        }
+
+        throw new IllegalArgumentException("Column " + column + " is of type "
+                                           + this.types[column] + "!");
+    }
+
+
+    /**
+     * Returns the value of the cell with the provided row and column of a
+     * numeric column, or {@code 0} if the cell contains no value.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value of the cell.
+     */
+    public double getDouble(final int row, final int column) {
+
+        this.checkCell(row, column);
+
+        final Column typed = this.typedColumns[column];
+
+        if (typed instanceof DoubleColumn) {
+
+            return ((DoubleColumn) typed).values[row];
+        }
+        if (typed instanceof LongColumn) {
+
+            return ((LongColumn) typed).values[row];
+        }
+        if (typed instanceof IntColumn) {
+
+            return ((IntColumn) typed).values[row];
+        }
+
+        throw new IllegalArgumentException("Column " + column + " is of type "
+                                           + this.types[column] + "!");
+    }
+
+
+    /**
+     * Returns the value of the cell with the provided row and column of a
+     * {@link ColumnType#BOOLEAN boolean column}, or {@code false} if the cell
+     * contains no value.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value of the cell.
+     */
+    public boolean getBoolean(final int row, final int column) {
+
+        return ((BooleanColumn) this.typedColumn(row, column,
+                ColumnType.BOOLEAN)).values.get(row);
+    }
+
+
+    /**
+     * Returns the value of the cell with the provided row and column of a
+     * {@link ColumnType#STRING string column}.
+     *
+     * @param row
+     *         the row.
+     * @param column
+     *         the column.
+     *
+     * @return the value of the cell or {@code null}, if the cell contains no
+     * value.
+     */
+    public String getString(final int row, final int column) {
+
+        return ((StringColumn) this.typedColumn(row, column,
+                ColumnType.STRING)).values[row];
+    }
+
+
+    /**
+     * Copies this table into a new {@link Table}.
+     *
+     * @return the copy.
+     */
+    public Table<Object> toTable() {
+
+        final Table<Object> table = new Table<>();
+
+        for (int column = 0; column < this.columns; column++) {
+
+            final Column typed = this.typedColumns[column];
+
+            for (int row = 0; row < this.rows; row++) {
+
+                if (typed.contains(row)) {
+
+                    table.add(row, column, typed.get(row));
+                }
+            }
+        }
+
+        return table;
+    }
+
+
+    @Override
+    public IterationOrder getIterationOrder() {
+
+        return this.iterationOrder;
+    }
+
+
+    @Override
+    public void setIterationOrder(final IterationOrder iterationOrder) {
+
+        this.iterationOrder = iterationOrder;
+    }
+
+
+    @Override
+    public boolean add(final int row, final int column, final Object value) {
+
+        throw TypedTable.readOnly();
+    }
+
+
+    @Override
+    public Object get(final int row, final int column) {
+
+        if (this.inExtent(row, column)) {
+
+            return this.typedColumns[column].get(row);
+        }
+        return null;
+    }
+
+
+    @Override
+    public boolean remove(final int row, final int column) {
+
+        throw TypedTable.readOnly();
+    }
+
+
+    @Override
+    public boolean add(final CellLocation location, final Object value) {
+
+        throw TypedTable.readOnly();
+    }
+
+
+    @Override
+    public Object get(final CellLocation location) {
+
+        return this.get(location.getRow(), location.getColumn());
+    }
+
+
+    @Override
+    public boolean remove(final CellLocation location) {
+
+        throw TypedTable.readOnly();
+    }
+
+
+    @Override
+    public List<List<Object>> getRows() {
+
+        return new AbstractList<List<Object>>() {
+
+            @Override
+            public List<Object> get(final int index) {
+
+                if (index < 0 || index >= this.size()) {
+
+                    throw new IndexOutOfBoundsException("Row " + index
+                                                        + " does not exist!");
+                }
+                return new LineView(index, true);
+            }
+
+
+            @Override
+            public int size() {
+
+                return TypedTable.this.rows;
+            }
+        };
+    }
+
+
+    @Override
+    public List<Object> getRow(final int index) {
+
+        if (index >= 0 && index < this.rows) {
+
+            return new LineView(index, true);
+        }
+        return null;
+    }
+
+
+    @Override
+    public List<Object> removeRow(final int index) {
+
+        throw TypedTable.readOnly();
+    }
+
+
+    @Override
+    public List<List<Object>> getColumns() {
+
+        return new AbstractList<List<Object>>() {
+
+            @Override
+            public List<Object> get(final int index) {
+
+                if (index < 0 || index >= this.size()) {
+
+                    throw new IndexOutOfBoundsException("Column " + index
+                                                        + " does not exist!");
+                }
+                return new LineView(index, false);
+            }
+
+
+            @Override
+            public int size() {
+
+                return TypedTable.this.columns;
+            }
+        };
+    }
+
+
+    @Override
+    public List<Object> getColumn(final int index) {
+
+        if (index >= 0 && index < this.columns) {
+
+            return new LineView(index, false);
+        }
+        return null;
+    }
+
+
+    @Override
+    public List<Object> removeColumn(final int index) {
+
+        throw TypedTable.readOnly();
+    }
+
+
+    @Override
+    public List<Object> getValues() {
+
+        final List<Object> values = new ArrayList<>(this.size);
+
+        for (final Object value : this) {
+
+            values.add(value);
+        }
+
+        return values;
+    }
+
+
+    @Override
+    public void clear() {
+
+        throw TypedTable.readOnly();
+    }
+
+
+    @Override
+    public CellRange cellRange() {
+
+        return new CellRange(0, 0, this.rows, this.columns);
+    }
+
+
+    @Override
+    public int rows() {
+
+        return this.rows;
+    }
+
+
+    @Override
+    public int columns() {
+
+        return this.columns;
+    }
+
+
+    @Override
+    public int size() {
+
+        return this.size;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return this.getValues()
+                   .toString();
+    }
+
+
+    @Override
+    public Iterator<Object> iterator() {
+
+        return new ValueIterator(this.iterationOrder);
+    }
+
+
+    @Override
+    public Iterator<Object> rowMajorOrderIterator() {
+
+        return new ValueIterator(IterationOrder.ROW_MAJOR);
+    }
+
+
+    @Override
+    public Iterator<Object> columnMajorOrderIterator() {
+
+        return new ValueIterator(IterationOrder.COLUMN_MAJOR);
+    }
+
+
+    private static UnsupportedOperationException readOnly() {
+
+        return new UnsupportedOperationException(
+                "Typed tables are read-only!");
+    }
+
+
+    private boolean inExtent(final int row, final int column) {
+
+        return row >= 0 && row < this.rows && column >= 0
+               && column < this.columns;
+    }
+
+
+    private void checkColumn(final int column) {
+
+        if (column < 0 || column >= this.columns) {
+
+            throw new IllegalArgumentException("Column " + column
+                                               + " does not exist!");
+        }
+    }
+
+
+    private void checkCell(final int row, final int column) {
+
+        if (!this.inExtent(row, column)) {
+
+            throw new IllegalArgumentException("Cell (" + row + ", " + column
+                                               + ") is outside of the table!");
+        }
+    }
+
+
+    private Column typedColumn(final int row, final int column,
+            final ColumnType type) {
+
+        this.checkCell(row, column);
+
+        if (this.types[column] != type) {
+
+            throw new IllegalArgumentException("Column " + column
+                                               + " is of type "
+                                               + this.types[column] + "!");
+        }
+
+        return this.typedColumns[column];
+    }
+
+
+    /**
+     * The {@code Column} class provides access to the values of a typed
+     * column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private abstract static class Column {
+
+        /**
+         * Determines whether the provided row contains a value.
+         *
+         * @param row
+         *         the row.
+         *
+         * @return {@code true}, if the row contains a value; {@code false}
+         * otherwise.
+         */
+        abstract boolean contains(int row);
+
+
+        /**
+         * Returns the value of the provided row.
+         *
+         * @param row
+         *         the row.
+         *
+         * @return the value or {@code null}, if the row contains no value.
+         */
+        abstract Object get(int row);
+
+
+        /**
+         * Returns the number of values of the column.
+         *
+         * @param rows
+         *         the number of rows.
+         *
+         * @return the number of values.
+         */
+        abstract int size(int rows);
+    }
+
+
+    /**
+     * The {@code EmptyColumn} class represents a column without values.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class EmptyColumn
+            extends Column {
+
+        private static final EmptyColumn INSTANCE = new EmptyColumn();
+
+
+        @Override
+        boolean contains(final int row) {
+
+            return false;
+        }
+
+
+        @Override
+        Object get(final int row) {
+
+            return null;
+        }
+
+
+        @Override
+        int size(final int rows) {
+
+            return 0;
+        }
+    }
+
+
+    /**
+     * The {@code PrimitiveColumn} class provides access to the bit set of the
+     * rows containing values of a primitive column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private abstract static class PrimitiveColumn
+            extends Column {
+
+        final BitSet present;
+
+
+        /**
+         * Creates a new instance of the {@code PrimitiveColumn} class.
+         *
+         * @param present
+         *         the rows containing values.
+         */
+        PrimitiveColumn(final BitSet present) {
+
+            this.present = present;
+        }
+
+
+        @Override
+        boolean contains(final int row) {
+
+            return this.present.get(row);
+        }
+
+
+        @Override
+        Object get(final int row) {
+
+            return this.contains(row) ? this.value(row) : null;
+        }
+
+
+        @Override
+        int size(final int rows) {
+
+            return this.present.cardinality();
+        }
+
+
+        /**
+         * Returns the value of the provided row, which contains a value.
+         *
+         * @param row
+         *         the row.
+         *
+         * @return the value.
+         */
+        abstract Object value(int row);
+    }
+
+
+    /**
+     * The {@code IntColumn} class provides access to an {@code int} column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class IntColumn
+            extends PrimitiveColumn {
+
+        private final int[] values;
+
+
+        IntColumn(final int[] values, final BitSet present) {
+
+            super(present);
+
+            this.values = values;
+        }
+
+
+        @Override
+        Object value(final int row) {
+
+            return this.values[row];
+        }
+    }
+
+
+    /**
+     * The {@code LongColumn} class provides access to a {@code long} column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class LongColumn
+            extends PrimitiveColumn {
+
+        private final long[] values;
+
+
+        LongColumn(final long[] values, final BitSet present) {
+
+            super(present);
+
+            this.values = values;
+        }
+
+
+        @Override
+        Object value(final int row) {
+
+            return this.values[row];
+        }
+    }
+
+
+    /**
+     * The {@code DoubleColumn} class provides access to a {@code double}
+     * column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class DoubleColumn
+            extends PrimitiveColumn {
+
+        private final double[] values;
+
+
+        DoubleColumn(final double[] values, final BitSet present) {
+
+            super(present);
+
+            this.values = values;
+        }
+
+
+        @Override
+        Object value(final int row) {
+
+            return this.values[row];
+        }
+    }
+
+
+    /**
+     * The {@code BooleanColumn} class provides access to a {@code boolean}
+     * column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class BooleanColumn
+            extends PrimitiveColumn {
+
+        private final BitSet values;
+
+
+        BooleanColumn(final BitSet values, final BitSet present) {
+
+            super(present);
+
+            this.values = values;
+        }
+
+
+        @Override
+        Object value(final int row) {
+
+            return this.values.get(row);
+        }
+    }
+
+
+    /**
+     * The {@code StringColumn} class provides access to a {@link String}
+     * column.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class StringColumn
+            extends Column {
+
+        private final String[] values;
+
+
+        StringColumn(final String[] values) {
+
+            this.values = values;
+        }
+
+
+        @Override
+        boolean contains(final int row) {
+
+            return this.values[row] != null;
+        }
+
+
+        @Override
+        String get(final int row) {
+
+            return this.values[row];
+        }
+
+
+        @Override
+        int size(final int rows) {
+
+            int size = 0;
+
+            for (int row = 0; row < rows; row++) {
+
+                if (this.values[row] != null) {
+
+                    size++;
+                }
+            }
+
+            return size;
+        }
+    }
+
+
+    /**
+     * The {@code LineView} class provides a {@link List} view of a row or
+     * column of the table.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private final class LineView
+            extends AbstractList<Object> {
+
+        private final int     index;
+        private final boolean row;
+
+
+        /**
+         * Creates a new instance of the {@code LineView} class.
+         *
+         * @param index
+         *         the row or column index.
+         * @param row
+         *         whether the view represents a row or a column.
+         */
+        LineView(final int index, final boolean row) {
+
+            this.index = index;
+            this.row = row;
+        }
+
+
+        @Override
+        public Object get(final int index) {
+
+            if (index < 0 || index >= this.size()) {
+
+                throw new IndexOutOfBoundsException("Index " + index
+                                                    + " does not exist!");
+            }
+
+            return this.row ? TypedTable.this.get(this.index, index)
+                    : TypedTable.this.get(index, this.index);
+        }
+
+
+        @Override
+        public int size() {
+
+            return this.row ? TypedTable.this.columns : TypedTable.this.rows;
+        }
+    }
+
+
+    /**
+     * The {@code ValueIterator} class provides an iterator over the values of
+     * the table, skipping empty cells.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private final class ValueIterator
+            implements Iterator<Object> {
+
+        private final boolean rowMajor;
+
+        private int row;
+        private int column;
+
+
+        /**
+         * Creates a new instance of the {@code ValueIterator} class.
+         *
+         * @param iterationOrder
+         *         the {@link IterationOrder} to use.
+         */
+        ValueIterator(final IterationOrder iterationOrder) {
+
+            this.rowMajor = iterationOrder != IterationOrder.COLUMN_MAJOR;
+            this.row = 0;
+            this.column = 0;
+            this.skipEmpty();
+        }
+
+
+        @Override
+        public boolean hasNext() {
+
+            return this.row < TypedTable.this.rows
+                   && this.column < TypedTable.this.columns;
+        }
+
+
+        @Override
+        public Object next() {
+
+            if (!this.hasNext()) {
+
+                throw new NoSuchElementException();
+            }
+
+            final Object value = TypedTable.this.typedColumns[this.column]
+                    .get(this.row);
+
+            this.advance();
+            this.skipEmpty();
+
+            return value;
+        }
+
+
+        private void advance() {
+
+            if (this.rowMajor) {
+
+                if (++this.column == TypedTable.this.columns) {
+
+                    this.column = 0;
+                    this.row++;
+                }
+            }
+            else {
+
+                if (++this.row == TypedTable.this.rows) {
+
+                    this.row = 0;
+                    this.column++;
+                }
+            }
+        }
+
+
+        private void skipEmpty() {
+
+            while (this.hasNext() && !TypedTable.this.typedColumns[this.column]
+                    .contains(this.row)) {
+
+                this.advance();
+            }
+        }
+    }
+}
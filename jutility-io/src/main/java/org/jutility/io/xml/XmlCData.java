@@ -110,13 +110,17 @@ public class XmlCData {
             return false;
         }
 
-        boolean startsWith = string.startsWith(CDATA_PREFIX);
-        boolean endsWith = string.endsWith(CDATA_SUFFIX);
-        boolean oneStart = string.lastIndexOf(CDATA_PREFIX) == 0;
-        boolean oneEnd = string.indexOf(CDATA_SUFFIX) == (string.length() - CDATA_SUFFIX
-                .length());
+        if (!string.startsWith(CDATA_PREFIX) || !string.endsWith(CDATA_SUFFIX)) {
 
-        return (startsWith && endsWith && oneStart && oneEnd);
+            return false;
+        }
+
+        // Exactly one prefix at the start and one suffix at the end.
+        boolean oneStart = string.indexOf(CDATA_PREFIX, 1) < 0;
+        boolean oneEnd = string.indexOf(CDATA_SUFFIX, CDATA_PREFIX.length()) == (string
+                .length() - CDATA_SUFFIX.length());
+
+        return (oneStart && oneEnd);
     }
 
     /**
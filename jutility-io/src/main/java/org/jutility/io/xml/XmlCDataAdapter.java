@@ -21,17 +21,29 @@ package org.jutility.io.xml;
  */
 
 
+import java.nio.CharBuffer;
+
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 
 
 /**
- * @author Peter J. Radics
+ * The {@code XmlCDataAdapter} class adapts {@link String Strings} to and from
+ * CDATA sections.
+ * <p>
+ * An adapter registered with a {@link javax.xml.bind.Marshaller} and an
+ * {@link XmlCDataStreamWriter} remembers the value it marshalled last, so that
+ * the writer can recognize that value when it is written and emit it as a
+ * CDATA section without inspecting its contents.
+ * </p>
  *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.0
  */
 public class XmlCDataAdapter
         extends XmlAdapter<String, String> {
 
-
+    private String marshalled;
 
     /*
      * (non-Javadoc)
@@ -58,11 +70,65 @@ public class XmlCDataAdapter
     @Override
     public String marshal(String value) {
 
-        if (!XmlCData.isCDATA(value)) {
+        String cdata = XmlCData.toCDATA(value);
+
+        this.marshalled = cdata;
+        return cdata;
+    }
+
+    /**
+     * Returns the value marshalled last, if the provided text is that value,
+     * and forgets it.
+     *
+     * @param text
+     *            the text being written.
+     * @return the marshalled value or {@code null}, if the text is not the
+     *         value marshalled last.
+     */
+    String consume(String text) {
+
+        String cdata = this.marshalled;
+
+        if (cdata != null && cdata == text) {
 
-            return XmlCData.toCDATA(value);
+            this.marshalled = null;
+            return cdata;
         }
-        return value;
+        return null;
     }
 
+    /**
+     * Returns the value marshalled last, if the provided characters are a copy
+     * of that value, and forgets it. The characters are compared in full, as a
+     * different value of the same length may be written in between.
+     *
+     * @param text
+     *            the characters being written.
+     * @param start
+     *            the offset of the first character.
+     * @param length
+     *            the number of characters.
+     * @return the marshalled value or {@code null}, if the characters are not
+     *         a copy of the value marshalled last.
+     */
+    String consume(char[] text, int start, int length) {
+
+        String cdata = this.marshalled;
+
+        if (cdata != null && cdata.length() == length
+                && cdata.contentEquals(CharBuffer.wrap(text, start, length))) {
+
+            this.marshalled = null;
+            return cdata;
+        }
+        return null;
+    }
+
+    /**
+     * Forgets the value marshalled last.
+     */
+    void clear() {
+
+        this.marshalled = null;
+    }
 }
@@ -27,14 +27,28 @@ import javax.xml.stream.XMLStreamWriter;
 
 
 /**
- * @author Peter J. Radics
+ * The {@code XmlCDataStreamWriter} class writes text produced by an
+ * {@link XmlCDataAdapter} as CDATA sections.
+ * <p>
+ * When created with the adapter registered with the marshaller, values
+ * marshalled by the adapter are recognized in constant time when they are
+ * written, regardless of whether the marshaller writes them as
+ * {@link String Strings} or as character arrays. Otherwise, and for all other
+ * {@link String Strings}, text is written as a CDATA section if it
+ * {@link XmlCData#isCDATA(String) is CDATA}, which is only checked for text
+ * starting with {@link XmlCData#CDATA_PREFIX}.
+ * </p>
  *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.0
  */
 public class XmlCDataStreamWriter
         implements XMLStreamWriter {
 
 
     private final XMLStreamWriter writer;
+    private final XmlCDataAdapter adapter;
 
     /**
      * Creates a new instance of the {@link XmlCDataStreamWriter} class.
@@ -44,7 +58,24 @@ public class XmlCDataStreamWriter
      */
     public XmlCDataStreamWriter(XMLStreamWriter writer) {
 
+        this(writer, null);
+    }
+
+    /**
+     * Creates a new instance of the {@link XmlCDataStreamWriter} class
+     * recognizing the values marshalled by the provided adapter.
+     *
+     * @param writer
+     *            the writer to delegate to.
+     * @param adapter
+     *            the adapter registered with the marshaller writing to this
+     *            writer.
+     */
+    public XmlCDataStreamWriter(XMLStreamWriter writer,
+            XmlCDataAdapter adapter) {
+
         this.writer = writer;
+        this.adapter = adapter;
     }
 
 
@@ -97,6 +128,7 @@ public class XmlCDataStreamWriter
     public void writeEndElement()
             throws XMLStreamException {
 
+        this.clear();
         this.writer.writeEndElement();
     }
 
@@ -125,6 +157,7 @@ public class XmlCDataStreamWriter
     public void writeAttribute(String localName, String value)
             throws XMLStreamException {
 
+        this.clear();
         this.writer.writeAttribute(localName, value);
     }
 
@@ -133,6 +166,7 @@ public class XmlCDataStreamWriter
             String localName, String value)
             throws XMLStreamException {
 
+        this.clear();
         this.writer.writeAttribute(prefix, namespaceURI, localName, value);
     }
 
@@ -141,6 +175,7 @@ public class XmlCDataStreamWriter
             String value)
             throws XMLStreamException {
 
+        this.clear();
         this.writer.writeAttribute(namespaceURI, localName, value);
     }
 
@@ -225,17 +260,40 @@ public class XmlCDataStreamWriter
     public void writeCharacters(char[] text, int start, int len)
             throws XMLStreamException {
 
-        this.writer.writeCharacters(text, start, len);
+        String cdata = null;
+        if (this.adapter != null && len > 0) {
+
+            cdata = this.adapter.consume(text, start, len);
+        }
+
+        if (cdata != null) {
+
+            this.writeCDataContent(cdata);
+        }
+        else {
+
+            this.writer.writeCharacters(text, start, len);
+        }
     }
 
     @Override
     public void writeCharacters(String text)
             throws XMLStreamException {
 
-        boolean useCData = XmlCData.isCDATA(text);
-        if (useCData) {
+        String cdata = null;
+        if (this.adapter != null) {
+
+            cdata = this.adapter.consume(text);
+        }
+
+        if (cdata != null) {
+
+            this.writeCDataContent(cdata);
+        }
+        else if (text != null && text.startsWith(XmlCData.CDATA_PREFIX)
+                && XmlCData.isCDATA(text)) {
 
-            this.writer.writeCData(XmlCData.fromCDATA(text));
+            this.writeCDataContent(text);
         }
         else {
 
@@ -243,6 +301,22 @@ public class XmlCDataStreamWriter
         }
     }
 
+    private void writeCDataContent(String cdata)
+            throws XMLStreamException {
+
+        this.writer.writeCData(cdata.substring(
+                XmlCData.CDATA_PREFIX.length(),
+                cdata.length() - XmlCData.CDATA_SUFFIX.length()));
+    }
+
+    private void clear() {
+
+        if (this.adapter != null) {
+
+            this.adapter.clear();
+        }
+    }
+
     @Override
     public String getPrefix(String uri)
             throws XMLStreamException {
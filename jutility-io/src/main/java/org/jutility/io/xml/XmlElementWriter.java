@@ -0,0 +1,173 @@
+package org.jutility.io.xml;
+
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.PropertyException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jutility.io.SerializationException;
+
+/**
+ * The {@code XmlElementWriter} class writes a document consisting of a root
+ * element containing a sequence of JAXB annotated elements, which are appended
+ * one at a time. Elements are marshalled directly onto the underlying
+ * {@link XmlCDataStreamWriter}, so memory use does not depend on the number of
+ * elements written.
+ * <p>
+ * Instances are obtained through
+ * {@link XmlSerializer#writer(OutputStream, String, Class)} and must be closed
+ * to complete the document.
+ * </p>
+ *
+ * @param <T>
+ *         the type of the elements.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class XmlElementWriter<T>
+        implements Closeable {
+
+    private final XMLStreamWriter      writer;
+    private final OutputStream         outputStream;
+    private final Marshaller           marshaller;
+    private final Consumer<Marshaller> release;
+
+    private boolean closed;
+
+    /**
+     * Creates a new instance of the {@code XmlElementWriter} class and writes
+     * the start of the document.
+     *
+     * @param writer
+     *         the writer to write to.
+     * @param outputStream
+     *         the output stream underlying the writer.
+     * @param rootElement
+     *         the name of the root element.
+     * @param marshaller
+     *         the marshaller to use exclusively until the writer is closed.
+     * @param release
+     *         the callback releasing the marshaller.
+     *
+     * @throws JAXBException
+     *         if the marshaller cannot be configured.
+     * @throws XMLStreamException
+     *         if the start of the document cannot be written.
+     */
+    XmlElementWriter(XMLStreamWriter writer, OutputStream outputStream,
+            String rootElement, Marshaller marshaller,
+            Consumer<Marshaller> release)
+            throws JAXBException, XMLStreamException {
+
+        XmlCDataAdapter adapter = new XmlCDataAdapter();
+
+        this.writer = new XmlCDataStreamWriter(writer, adapter);
+        this.outputStream = outputStream;
+        this.marshaller = marshaller;
+        this.release = release;
+        this.closed = false;
+
+        this.marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        this.marshaller.setAdapter(XmlCDataAdapter.class, adapter);
+
+        this.writer.writeStartDocument();
+        this.writer.writeStartElement(rootElement);
+    }
+
+    /**
+     * Appends the provided element to the document.
+     *
+     * @param element
+     *         the element.
+     *
+     * @throws SerializationException
+     *         if the element cannot be serialized.
+     */
+    public void write(T element)
+            throws SerializationException {
+
+        if (this.closed) {
+
+            throw new IllegalStateException("The writer has been closed!");
+        }
+
+        try {
+
+            this.marshaller.marshal(element, this.writer);
+        }
+        catch (JAXBException e) {
+
+            throw new SerializationException("Could not serialize element.",
+                    e);
+        }
+    }
+
+    /**
+     * Completes the document and closes the underlying output stream.
+     *
+     * @throws IOException
+     *         if the document cannot be completed.
+     */
+    @Override
+    public void close()
+            throws IOException {
+
+        if (this.closed) {
+
+            return;
+        }
+        this.closed = true;
+
+        try {
+
+            this.writer.writeEndElement();
+            this.writer.writeEndDocument();
+            this.writer.close();
+        }
+        catch (XMLStreamException e) {
+
+            throw new IOException("Could not complete document.", e);
+        }
+        finally {
+
+            try {
+
+                this.marshaller.setProperty(Marshaller.JAXB_FRAGMENT, false);
+                this.marshaller.setAdapter(XmlCDataAdapter.class, null);
+                this.release.accept(this.marshaller);
+            }
+            catch (PropertyException e) {
+
+                // The marshaller is discarded instead of being pooled.
+            }
+            this.outputStream.close();
+        }
+    }
+}
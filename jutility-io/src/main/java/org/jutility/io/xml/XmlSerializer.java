@@ -20,23 +20,47 @@ package org.jutility.io.xml;
  * #L%
  */
 
+import java.beans.Introspector;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
-import java.util.LinkedList;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.xml.bind.DataBindingException;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 
+import org.jutility.io.Compression;
 import org.jutility.io.ISerializer;
 import org.jutility.io.SerializationException;
 
@@ -44,15 +68,50 @@ import org.jutility.io.SerializationException;
  * The {@link XmlSerializer} singleton class implements the {@link ISerializer}
  * interface, providing capabilities to serialize/deserialize any property JAXB
  * annotated class.
+ * <p>
+ * {@link JAXBContext JAXBContexts} are cached per set of bound classes (the
+ * serialized type and all registered classes) and discarded whenever a class
+ * is registered or unregistered. Each cached context keeps a pool of
+ * {@link Marshaller Marshallers} and {@link Unmarshaller Unmarshallers}, which
+ * are not thread-safe themselves and are therefore only used by one thread at
+ * a time.
+ * </p>
+ * <p>
+ * Documents containing large numbers of repeated elements can be processed
+ * with flat memory use: {@link #stream(URL, Class)} unmarshals the matching
+ * elements one at a time while walking the document with an
+ * {@link XMLStreamReader}, and {@link #writer(OutputStream, String, Class)}
+ * appends elements one at a time to an {@link XmlElementWriter}.
+ * </p>
+ * <p>
+ * Resources whose extension denotes a {@link Compression} format are
+ * compressed and decompressed transparently.
+ * </p>
+ * <p>
+ * Files are written through a buffered {@link FileChannel}. Values adapted by
+ * the {@link XmlCDataAdapter} are written as CDATA sections; the adapter
+ * registered with the marshaller tells the {@link XmlCDataStreamWriter} which
+ * values it produced, so written text is not searched for CDATA markers.
+ * </p>
  *
  * @author Peter J. Radics
- * @version 0.1
+ * @version 0.1.6
  */
 public final class XmlSerializer
         implements ISerializer {
 
+    private static final XMLInputFactory  INPUT_FACTORY  = XMLInputFactory.newInstance();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    /**
+     * The size of the buffer used when writing files.
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
     private final List<Class<?>> contextBounds;
 
+    private final ConcurrentHashMap<Set<Class<?>>, CachedContext> contexts;
+
     private static XmlSerializer instance;
 
     /**
@@ -60,7 +119,7 @@ public final class XmlSerializer
      *
      * @return the singleton instance.
      */
-    public static XmlSerializer instance() {
+    public static synchronized XmlSerializer instance() {
 
         if (XmlSerializer.instance == null) {
 
@@ -77,10 +136,11 @@ public final class XmlSerializer
      * @param type
      *         the type.
      */
-    public void registerClass(Class<?> type) {
+    public synchronized void registerClass(Class<?> type) {
 
         if (!this.contextBounds.contains(type)) {
             this.contextBounds.add(type);
+            this.contexts.clear();
         }
     }
 
@@ -90,9 +150,11 @@ public final class XmlSerializer
      * @param type
      *         the type.
      */
-    public void unregisterClass(Class<?> type) {
+    public synchronized void unregisterClass(Class<?> type) {
 
-        this.contextBounds.remove(type);
+        if (this.contextBounds.remove(type)) {
+            this.contexts.clear();
+        }
     }
 
     @Override
@@ -112,19 +174,79 @@ public final class XmlSerializer
         return type.isAnnotationPresent(XmlRootElement.class);
     }
 
+    /**
+     * Returns the local name of the root element of the provided type.
+     *
+     * @param type
+     *         the type.
+     *
+     * @return the element name.
+     */
+    private static String elementName(Class<?> type) {
+
+        String name = type.getAnnotation(XmlRootElement.class)
+                          .name();
+
+        if ("##default".equals(name)) {
+
+            return Introspector.decapitalize(type.getSimpleName());
+        }
+
+        return name;
+    }
+
     /**
      * Creates a new instance of the {@link XmlSerializer} class.
      */
     private XmlSerializer() {
 
-        this.contextBounds = new LinkedList<>();
+        this.contextBounds = new CopyOnWriteArrayList<>();
+        this.contexts = new ConcurrentHashMap<>();
     }
 
-    private Class<?>[] createContextBounds(Class<?> type) {
+    private Set<Class<?>> createContextBounds(Class<?> type) {
 
-        this.contextBounds.add(0, type);
+        Set<Class<?>> bounds = new LinkedHashSet<>();
 
-        return this.contextBounds.toArray(new Class<?>[0]);
+        bounds.add(type);
+        bounds.addAll(this.contextBounds);
+
+        return Collections.unmodifiableSet(bounds);
+    }
+
+    /**
+     * Returns the cached {@link JAXBContext} for the provided type, creating it
+     * if necessary.
+     *
+     * @param type
+     *         the type.
+     *
+     * @return the cached context.
+     *
+     * @throws JAXBException
+     *         if the context cannot be created.
+     */
+    private CachedContext context(Class<?> type)
+            throws JAXBException {
+
+        Set<Class<?>> bounds = this.createContextBounds(type);
+        CachedContext context = this.contexts.get(bounds);
+
+        if (context == null) {
+
+            context = new CachedContext(JAXBContext.newInstance(
+                    bounds.toArray(new Class<?>[0])));
+
+            CachedContext existing = this.contexts.putIfAbsent(bounds,
+                    context);
+
+            if (existing != null) {
+
+                context = existing;
+            }
+        }
+
+        return context;
     }
 
     /**
@@ -142,6 +264,14 @@ public final class XmlSerializer
     public <T> void serialize(T document, String filename)
             throws SerializationException {
 
+        this.serialize(document, filename, Compression.of(filename));
+    }
+
+    @Override
+    public <T> void serialize(T document, String filename,
+            Compression compression)
+            throws SerializationException {
+
         Class<?> documentType = document.getClass();
 
         if (!this.supportsSerializationOf(documentType)) {
@@ -149,13 +279,60 @@ public final class XmlSerializer
             throw new SerializationException("Serialization of type " + documentType + " is not supported!");
         }
 
+        try (OutputStream outputStream = XmlSerializer.open(filename,
+                compression)) {
+
+            this.marshal(document, outputStream);
+        }
+        catch (IOException e) {
+
+            throw new SerializationException("Could not write to resource.", e);
+        }
+    }
+
+    /**
+     * Opens the provided file for writing through a buffered channel,
+     * compressing the written data using the provided compression format.
+     *
+     * @param filename
+     *         the file name.
+     * @param compression
+     *         the compression format.
+     *
+     * @return the {@link OutputStream}.
+     *
+     * @throws IOException
+     *         if the file cannot be opened.
+     */
+    private static OutputStream open(String filename, Compression compression)
+            throws IOException {
+
+        OutputStream outputStream = Channels.newOutputStream(FileChannel.open(
+                Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+
         try {
 
-            JAXBContext context = JAXBContext.newInstance(this.createContextBounds(documentType));
+            return new BufferedOutputStream(compression.compress(outputStream),
+                    XmlSerializer.BUFFER_SIZE);
+        }
+        catch (IOException e) {
+
+            XmlSerializer.closeQuietly(outputStream);
+            throw e;
+        }
+    }
 
-            Marshaller m = context.createMarshaller();
+    private void marshal(Object document, OutputStream outputStream)
+            throws SerializationException {
+
+        try {
+
+            CachedContext context = this.context(document.getClass());
+            Marshaller m = context.acquireMarshaller();
+            XmlCDataAdapter adapter = new XmlCDataAdapter();
 
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
             // m.setProperty(
             // "com.sun.xml.internal.bind.xmlHeaders",
             // "com.sun.xml.bind.xmlHeaders",
@@ -168,17 +345,22 @@ public final class XmlSerializer
             // m.setProperty("com.sun.xml.bind.marshaller
             // .CharacterEscapeHandler",
             // new CDataCharacterEscapeHandler());
-            XMLOutputFactory xof = XMLOutputFactory.newInstance();
-            XMLStreamWriter streamWriter = xof.createXMLStreamWriter(
-                    new FileOutputStream(filename));
-            XmlCDataStreamWriter cdataStreamWriter = new XmlCDataStreamWriter(
-                    streamWriter);
-            m.marshal(document, cdataStreamWriter);
+            XMLStreamWriter streamWriter = XmlSerializer.OUTPUT_FACTORY
+                    .createXMLStreamWriter(outputStream);
+            try {
 
-        }
-        catch (java.io.FileNotFoundException e) {
+                m.setAdapter(XmlCDataAdapter.class, adapter);
 
-            throw new SerializationException("Could not write to resource.", e);
+                XmlCDataStreamWriter cdataStreamWriter = new XmlCDataStreamWriter(
+                        streamWriter, adapter);
+                m.marshal(document, cdataStreamWriter);
+            }
+            finally {
+
+                streamWriter.close();
+                m.setAdapter(XmlCDataAdapter.class, null);
+                context.releaseMarshaller(m);
+            }
         }
         catch (JAXBException | XMLStreamException e) {
 
@@ -218,12 +400,21 @@ public final class XmlSerializer
         }
 
         T doc;
-        try {
-            JAXBContext jc = JAXBContext.newInstance(
-                    this.createContextBounds(type));
-            Unmarshaller u = jc.createUnmarshaller();
+        try (InputStream inputStream = Compression.of(url.getPath())
+                                                  .decompress(url.openStream())) {
+
+            CachedContext context = this.context(type);
+            Unmarshaller u = context.acquireUnmarshaller();
+
+            Object deserializedObject;
+            try {
+
+                deserializedObject = u.unmarshal(inputStream);
+            }
+            finally {
 
-            Object deserializedObject = u.unmarshal(url.openStream());
+                context.releaseUnmarshaller(u);
+            }
 
             if (deserializedObject != null && type.isAssignableFrom(
                     deserializedObject.getClass())) {
@@ -246,4 +437,405 @@ public final class XmlSerializer
 
         return doc;
     }
+
+
+    /**
+     * Returns a {@link Stream} of the elements of the provided type contained
+     * in the document at the provided {@link URL}, in document order.
+     * <p>
+     * The document is walked with an {@link XMLStreamReader} and every element
+     * whose local name matches the root element name of the provided type is
+     * unmarshalled on demand, so only one element is held in memory at a time.
+     * Elements nested within a matching element are part of that element and
+     * are not returned separately. Errors encountered while streaming are
+     * reported as {@link DataBindingException DataBindingExceptions}.
+     * </p>
+     * <p>
+     * The stream holds on to the underlying resource and has to be closed.
+     * </p>
+     *
+     * @param url
+     *         the {@link URL} of the document.
+     * @param type
+     *         the type of the elements.
+     * @param <T>
+     *         the type of the elements.
+     *
+     * @return a {@link Stream} of the elements.
+     *
+     * @throws SerializationException
+     *         if the document cannot be opened.
+     */
+    public <T> Stream<T> stream(URL url, Class<T> type)
+            throws SerializationException {
+
+        if (!this.supportsDeserializationOf(type)) {
+
+            throw new SerializationException("Deserialization of type " + type.toString() + " is not supported!");
+        }
+
+        InputStream inputStream = null;
+        try {
+
+            inputStream = url.openStream();
+            inputStream = Compression.of(url.getPath())
+                                     .decompress(inputStream);
+
+            CachedContext context = this.context(type);
+            XMLStreamReader reader = XmlSerializer.INPUT_FACTORY.createXMLStreamReader(
+                    inputStream);
+            Unmarshaller u = context.acquireUnmarshaller();
+
+            InputStream resource = inputStream;
+            Iterator<T> iterator = new XmlElementIterator<>(reader, u, type,
+                    XmlSerializer.elementName(type));
+
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                    iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                    false)
+                                .onClose(() -> {
+
+                                    context.releaseUnmarshaller(u);
+                                    try {
+
+                                        reader.close();
+                                        resource.close();
+                                    }
+                                    catch (XMLStreamException | IOException e) {
+
+                                        throw new DataBindingException(
+                                                "Could not close resource!",
+                                                e);
+                                    }
+                                });
+        }
+        catch (JAXBException | XMLStreamException e) {
+
+            XmlSerializer.closeQuietly(inputStream);
+            throw new SerializationException("Could not deserialize resource!", e);
+        }
+        catch (IOException e) {
+
+            XmlSerializer.closeQuietly(inputStream);
+            throw new SerializationException("Could not connect to resource!", e);
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+
+        if (closeable != null) {
+
+            try {
+
+                closeable.close();
+            }
+            catch (IOException e) {
+
+                // Nothing to be done.
+            }
+        }
+    }
+
+    /**
+     * Creates an {@link XmlElementWriter} writing a document with the provided
+     * root element to the provided file. The file is compressed if its
+     * extension denotes a {@link Compression} format.
+     *
+     * @param filename
+     *         the file name.
+     * @param rootElement
+     *         the name of the root element.
+     * @param type
+     *         the type of the elements.
+     * @param <T>
+     *         the type of the elements.
+     *
+     * @return the {@link XmlElementWriter}.
+     *
+     * @throws SerializationException
+     *         if the file cannot be opened for writing.
+     */
+    public <T> XmlElementWriter<T> writer(String filename, String rootElement,
+            Class<T> type)
+            throws SerializationException {
+
+        OutputStream outputStream;
+        try {
+
+            outputStream = XmlSerializer.open(filename,
+                    Compression.of(filename));
+        }
+        catch (IOException e) {
+
+            throw new SerializationException("Could not write to resource.", e);
+        }
+
+        try {
+
+            return this.writer(outputStream, rootElement, type);
+        }
+        catch (SerializationException e) {
+
+            try {
+
+                outputStream.close();
+            }
+            catch (IOException suppressed) {
+
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates an {@link XmlElementWriter} writing a document with the provided
+     * root element to the provided {@link OutputStream}. The
+     * {@link OutputStream} is closed when the writer is closed.
+     *
+     * @param outputStream
+     *         the {@link OutputStream}.
+     * @param rootElement
+     *         the name of the root element.
+     * @param type
+     *         the type of the elements.
+     * @param <T>
+     *         the type of the elements.
+     *
+     * @return the {@link XmlElementWriter}.
+     *
+     * @throws SerializationException
+     *         if the start of the document cannot be written.
+     */
+    public <T> XmlElementWriter<T> writer(OutputStream outputStream,
+            String rootElement, Class<T> type)
+            throws SerializationException {
+
+        if (!this.supportsSerializationOf(type)) {
+
+            throw new SerializationException("Serialization of type " + type + " is not supported!");
+        }
+        if (rootElement == null || rootElement.isEmpty()) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a writer without root element!");
+        }
+
+        try {
+
+            CachedContext context = this.context(type);
+            XMLStreamWriter streamWriter = XmlSerializer.OUTPUT_FACTORY
+                    .createXMLStreamWriter(outputStream);
+            Marshaller m = context.acquireMarshaller();
+
+            try {
+
+                return new XmlElementWriter<>(streamWriter, outputStream,
+                        rootElement, m, context::releaseMarshaller);
+            }
+            catch (JAXBException | XMLStreamException e) {
+
+                streamWriter.close();
+                throw e;
+            }
+        }
+        catch (JAXBException | XMLStreamException e) {
+
+            throw new SerializationException("Could not serialize resource.",
+                    e);
+        }
+    }
+
+
+    /**
+     * The {@code CachedContext} class holds a {@link JAXBContext} together with
+     * pools of idle {@link Marshaller Marshallers} and {@link Unmarshaller
+     * Unmarshallers} created from it.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class CachedContext {
+
+        private final JAXBContext         context;
+        private final Queue<Marshaller>   marshallers;
+        private final Queue<Unmarshaller> unmarshallers;
+
+        /**
+         * Creates a new instance of the {@code CachedContext} class.
+         *
+         * @param context
+         *         the context.
+         */
+        CachedContext(JAXBContext context) {
+
+            this.context = context;
+            this.marshallers = new ConcurrentLinkedQueue<>();
+            this.unmarshallers = new ConcurrentLinkedQueue<>();
+        }
+
+        /**
+         * Returns an idle {@link Marshaller}, creating one if necessary.
+         *
+         * @return a {@link Marshaller} for exclusive use by the caller.
+         *
+         * @throws JAXBException
+         *         if the {@link Marshaller} cannot be created.
+         */
+        Marshaller acquireMarshaller()
+                throws JAXBException {
+
+            Marshaller marshaller = this.marshallers.poll();
+
+            if (marshaller == null) {
+
+                marshaller = this.context.createMarshaller();
+                marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+            }
+
+            return marshaller;
+        }
+
+        /**
+         * Returns a {@link Marshaller} to the pool.
+         *
+         * @param marshaller
+         *         the {@link Marshaller}.
+         */
+        void releaseMarshaller(Marshaller marshaller) {
+
+            this.marshallers.offer(marshaller);
+        }
+
+        /**
+         * Returns an idle {@link Unmarshaller}, creating one if necessary.
+         *
+         * @return an {@link Unmarshaller} for exclusive use by the caller.
+         *
+         * @throws JAXBException
+         *         if the {@link Unmarshaller} cannot be created.
+         */
+        Unmarshaller acquireUnmarshaller()
+                throws JAXBException {
+
+            Unmarshaller unmarshaller = this.unmarshallers.poll();
+
+            if (unmarshaller == null) {
+
+                unmarshaller = this.context.createUnmarshaller();
+            }
+
+            return unmarshaller;
+        }
+
+        /**
+         * Returns an {@link Unmarshaller} to the pool.
+         *
+         * @param unmarshaller
+         *         the {@link Unmarshaller}.
+         */
+        void releaseUnmarshaller(Unmarshaller unmarshaller) {
+
+            this.unmarshallers.offer(unmarshaller);
+        }
+    }
+
+
+    /**
+     * The {@code XmlElementIterator} class iterates over the elements with a
+     * given local name, unmarshalling each of them when it is reached.
+     *
+     * @param <T>
+     *         the type of the elements.
+     *
+     * @author Peter J. Radics
+     * @version 0.1.6
+     * @since 0.1.6
+     */
+    private static final class XmlElementIterator<T>
+            implements Iterator<T> {
+
+        private final XMLStreamReader reader;
+        private final Unmarshaller    unmarshaller;
+        private final Class<T>        type;
+        private final String          elementName;
+
+        private T next;
+
+        /**
+         * Creates a new instance of the {@code XmlElementIterator} class.
+         *
+         * @param reader
+         *         the reader.
+         * @param unmarshaller
+         *         the unmarshaller.
+         * @param type
+         *         the type of the elements.
+         * @param elementName
+         *         the local name of the elements.
+         */
+        XmlElementIterator(XMLStreamReader reader, Unmarshaller unmarshaller,
+                Class<T> type, String elementName) {
+
+            this.reader = reader;
+            this.unmarshaller = unmarshaller;
+            this.type = type;
+            this.elementName = elementName;
+            this.next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            if (this.next == null) {
+
+                this.next = this.advance();
+            }
+
+            return this.next != null;
+        }
+
+        @Override
+        public T next() {
+
+            if (!this.hasNext()) {
+
+                throw new NoSuchElementException();
+            }
+
+            T element = this.next;
+            this.next = null;
+
+            return element;
+        }
+
+        private T advance() {
+
+            try {
+
+                while (this.reader.hasNext()) {
+
+                    // Unmarshalling leaves the reader past the element, so
+                    // the current event is examined before moving on.
+                    if (this.reader.isStartElement()
+                        && this.elementName.equals(this.reader.getLocalName())) {
+
+                        return this.unmarshaller.unmarshal(this.reader,
+                                this.type)
+                                                .getValue();
+                    }
+
+                    this.reader.next();
+                }
+
+                return null;
+            }
+            catch (JAXBException | XMLStreamException e) {
+
+                throw new DataBindingException("Could not deserialize element!",
+                        e);
+            }
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package org.jutility.io.xml;
+
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.jutility.io.ISerializer;
+import org.jutility.io.ISerializerProvider;
+
+/**
+ * The {@code XmlSerializerProvider} class provides the {@link XmlSerializer} to the
+ * {@link org.jutility.io.IOManager}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public final class XmlSerializerProvider
+        implements ISerializerProvider {
+
+    private static final Set<String> EXTENSIONS = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList("xml")));
+    private static final Set<String> MIME_TYPES = Collections.unmodifiableSet(
+            new LinkedHashSet<>(Arrays.asList("application/xml", "text/xml")));
+
+    @Override
+    public Class<? extends ISerializer> getSerializerType() {
+
+        return XmlSerializer.class;
+    }
+
+    @Override
+    public ISerializer getSerializer() {
+
+        return XmlSerializer.instance();
+    }
+
+    // The following mirror XmlSerializer, without creating the serializer.
+
+    @Override
+    public boolean supportsSerializationOf(Class<?> type) {
+
+        return type.isAnnotationPresent(XmlRootElement.class);
+    }
+
+    @Override
+    public boolean supportsDeserializationOf(Class<?> type) {
+
+        return type.isAnnotationPresent(XmlRootElement.class);
+    }
+
+    @Override
+    public Set<String> getExtensions() {
+
+        return XmlSerializerProvider.EXTENSIONS;
+    }
+
+    @Override
+    public Set<String> getMimeTypes() {
+
+        return XmlSerializerProvider.MIME_TYPES;
+    }
+}
@@ -0,0 +1,224 @@
+package org.jutility.io;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * The {@code CompressionTest} class provides unit tests for the
+ * {@link Compression enum} and the {@link ParallelGzipOutputStream class}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class CompressionTest {
+
+    private static byte[] data(final int length) {
+
+        final byte[] data = new byte[length];
+        final Random random = new Random(length);
+
+        for (int i = 0; i < length; i++) {
+
+            // Compressible, but not trivially so.
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+
+        return data;
+    }
+
+
+    private static byte[] readAll(final InputStream inputStream)
+            throws IOException {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+
+        try (InputStream in = inputStream) {
+
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+
+                bytes.write(buffer, 0, read);
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+
+
+    private static byte[] compress(final OutputStream compressed,
+            final ByteArrayOutputStream target, final byte[] data)
+            throws IOException {
+
+        try (OutputStream out = compressed) {
+
+            // Mixes single byte and bulk writes.
+            if (data.length > 0) {
+
+                out.write(data[0]);
+                out.write(data, 1, data.length - 1);
+            }
+        }
+
+        return target.toByteArray();
+    }
+
+
+    /**
+     * Test for {@link Compression#of(String)}.
+     */
+    @Test
+    public void testOf() {
+
+        assertEquals(Compression.GZIP, Compression.of("table.csv.gz"));
+        assertEquals(Compression.GZIP, Compression.of("/tmp/TABLE.XML.GZ"));
+        assertEquals(Compression.DEFLATE, Compression.of("table.deflate"));
+        assertEquals(Compression.NONE, Compression.of("table.csv"));
+        assertEquals(Compression.NONE, Compression.of(null));
+    }
+
+
+    /**
+     * Tests that data compressed in each format is decompressed unchanged.
+     *
+     * @throws IOException
+     *         if compression fails.
+     */
+    @Test
+    public void testRoundTrip()
+            throws IOException {
+
+        for (final Compression compression : Compression.values()) {
+
+            for (final int length : new int[] {0, 1, 1000, 3 << 20}) {
+
+                final byte[] data = CompressionTest.data(length);
+                final ByteArrayOutputStream target = new ByteArrayOutputStream();
+                final byte[] compressed = CompressionTest.compress(
+                        compression.compress(target), target, data);
+
+                assertArrayEquals(compression + "/" + length, data,
+                        CompressionTest.readAll(compression.decompress(
+                                new ByteArrayInputStream(compressed))));
+            }
+        }
+    }
+
+
+    /**
+     * Tests that the output of the {@link ParallelGzipOutputStream} is valid
+     * GZIP for various block sizes and levels of parallelism.
+     *
+     * @throws IOException
+     *         if compression fails.
+     */
+    @Test
+    public void testParallelGzip()
+            throws IOException {
+
+        final byte[] data = CompressionTest.data(100000);
+
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+
+            for (final int blockSize : new int[] {1, 777, 4096, 100000,
+                    200000}) {
+
+                final ByteArrayOutputStream target = new ByteArrayOutputStream();
+                final byte[] compressed = CompressionTest.compress(
+                        new ParallelGzipOutputStream(target, parallelism,
+                                blockSize), target,
+                        blockSize == 1 ? new byte[] {1, 2, 3} : data);
+
+                assertArrayEquals(blockSize == 1 ? new byte[] {1, 2, 3} : data,
+                        CompressionTest.readAll(new GZIPInputStream(
+                                new ByteArrayInputStream(compressed))));
+            }
+        }
+    }
+
+
+    /**
+     * Tests that concurrently open {@link ParallelGzipOutputStream
+     * ParallelGzipOutputStreams} share the common pool rather than starting
+     * threads of their own.
+     *
+     * @throws IOException
+     *         if compression fails.
+     */
+    @Test
+    public void testParallelGzipSharesPool()
+            throws IOException {
+
+        final byte[] data = CompressionTest.data(10000);
+        final List<ByteArrayOutputStream> targets = new ArrayList<>();
+        final List<OutputStream> streams = new ArrayList<>();
+        final int threads = Thread.activeCount();
+
+        for (int i = 0; i < 32; i++) {
+
+            final ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+            targets.add(target);
+            streams.add(new ParallelGzipOutputStream(target, 4, 1000));
+        }
+
+        for (final OutputStream stream : streams) {
+
+            stream.write(data);
+        }
+
+        assertTrue(Thread.activeCount() <= threads + ForkJoinPool
+                .getCommonPoolParallelism());
+
+        for (int i = 0; i < streams.size(); i++) {
+
+            streams.get(i)
+                   .close();
+
+            assertArrayEquals(data, CompressionTest.readAll(
+                    new GZIPInputStream(new ByteArrayInputStream(
+                            targets.get(i)
+                                   .toByteArray()))));
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package org.jutility.io;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import org.junit.Test;
+import org.jutility.common.datatype.table.Table;
+import org.jutility.io.binary.BinaryTableSerializer;
+import org.jutility.io.csv.CsvSerializer;
+import org.jutility.io.xml.XmlSerializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+
+/**
+ * The {@code IOManagerTest} class provides unit tests for the
+ * {@link IOManager class}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class IOManagerTest {
+
+    /**
+     * Test for the resolution of serializers by type.
+     */
+    @Test
+    public void testResolutionByType() {
+
+        IOManager manager = IOManager.instance();
+
+        assertSame(CsvSerializer.instance(), manager.getSerializer(Table.class));
+        assertSame(CsvSerializer.instance(),
+                manager.getDeserializer(Table.class));
+        // Cached resolutions are returned on subsequent calls.
+        assertSame(CsvSerializer.instance(), manager.getSerializer(Table.class));
+        assertNull(manager.getSerializer(Integer.class));
+    }
+
+
+    /**
+     * Test for the resolution of serializers by file extension.
+     */
+    @Test
+    public void testResolutionByExtension() {
+
+        IOManager manager = IOManager.instance();
+
+        assertSame(CsvSerializer.instance(),
+                manager.getSerializerForExtension("table.csv"));
+        assertSame(CsvSerializer.instance(),
+                manager.getSerializerForExtension("dir.d/table.CSV.gz"));
+        assertSame(CsvSerializer.instance(),
+                manager.getSerializerForExtension("csv"));
+        assertSame(XmlSerializer.instance(),
+                manager.getSerializerForExtension("document.xml.deflate"));
+        assertSame(BinaryTableSerializer.instance(),
+                manager.getSerializerForExtension("table.jtbl"));
+        assertNull(manager.getSerializerForExtension("table.unknown"));
+    }
+
+
+    /**
+     * Test for the resolution of serializers by MIME type.
+     */
+    @Test
+    public void testResolutionByMimeType() {
+
+        IOManager manager = IOManager.instance();
+
+        assertSame(CsvSerializer.instance(),
+                manager.getSerializerForMimeType("text/csv; charset=UTF-8"));
+        assertSame(XmlSerializer.instance(),
+                manager.getSerializerForMimeType("Application/XML"));
+        assertNull(manager.getSerializerForMimeType("text/plain"));
+    }
+
+
+    /**
+     * Test for {@link IOManager#registerSerializer(Class)} and
+     * {@link IOManager#unregisterSerializer(Class)}.
+     */
+    @Test
+    public void testRegistration() {
+
+        IOManager manager = IOManager.instance();
+
+        assertNull(manager.getSerializer(String.class));
+
+        manager.registerSerializer(StringSerializer.class);
+        try {
+
+            assertSame(StringSerializer.instance(),
+                    manager.getSerializer(String.class));
+            assertSame(StringSerializer.instance(),
+                    manager.getDeserializer(String.class));
+        }
+        finally {
+
+            manager.unregisterSerializer(StringSerializer.class);
+        }
+
+        assertNull(manager.getSerializer(String.class));
+    }
+
+
+    /**
+     * Test for {@link IOManager#registerProvider(ISerializerProvider)}, whose
+     * serializer is only created once it supports a resolved type.
+     */
+    @Test
+    public void testProviderRegistration() {
+
+        IOManager manager = IOManager.instance();
+        AtomicInteger created = new AtomicInteger();
+
+        manager.registerProvider(new ISerializerProvider() {
+
+            @Override
+            public Class<? extends ISerializer> getSerializerType() {
+
+                return StringSerializer.class;
+            }
+
+            @Override
+            public ISerializer getSerializer() {
+
+                created.incrementAndGet();
+                return StringSerializer.instance();
+            }
+
+            @Override
+            public boolean supportsSerializationOf(Class<?> type) {
+
+                return type == String.class;
+            }
+
+            @Override
+            public boolean supportsDeserializationOf(Class<?> type) {
+
+                return type == String.class;
+            }
+
+            @Override
+            public Set<String> getExtensions() {
+
+                return Collections.emptySet();
+            }
+
+            @Override
+            public Set<String> getMimeTypes() {
+
+                return Collections.emptySet();
+            }
+        });
+        try {
+
+            assertNull(manager.getSerializer(Integer.class));
+            assertNull(manager.getDeserializer(Integer.class));
+            assertEquals(0, created.get());
+
+            assertSame(StringSerializer.instance(),
+                    manager.getSerializer(String.class));
+            assertEquals(1, created.get());
+        }
+        finally {
+
+            manager.unregisterSerializer(StringSerializer.class);
+        }
+    }
+
+
+    /**
+     * Test for {@link IOManager#registerSerializer(Class)} with a serializer
+     * that does not declare a static {@code instance()} method.
+     */
+    @Test
+    public void testRegistrationWithoutInstanceMethod() {
+
+        try {
+
+            IOManager.instance()
+                     .registerSerializer(ISerializer.class);
+            fail("Registration should have failed!");
+        }
+        catch (IllegalArgumentException e) {
+
+            // expected
+        }
+    }
+
+
+    /**
+     * Test for dispatching serialization and deserialization by file name.
+     */
+    @Test
+    public void testSerializeDeserialize() {
+
+        Table<String> table = new Table<>();
+
+        table.add(0, 0, "foo");
+        table.add(0, 1, "bar");
+        table.add(1, 0, "baz");
+        table.add(1, 1, "qux");
+
+        File file = null;
+        try {
+
+            file = File.createTempFile("test", ".csv");
+
+            IOManager.instance()
+                     .serialize(table, file.getPath());
+
+            Table<?> result = IOManager.instance()
+                                       .deserialize(file, Table.class);
+
+            assertEquals(table.getValues(), result.getValues());
+        }
+        catch (IOException | SerializationException e) {
+
+            fail(e.getMessage());
+        }
+        finally {
+
+            if (file != null && !file.delete()) {
+
+                file.deleteOnExit();
+            }
+        }
+    }
+
+
+    /**
+     * The {@code StringSerializer} class is a stub serializer for
+     * {@link String Strings} used to test registration.
+     */
+    public static final class StringSerializer
+            implements ISerializer {
+
+        private static final StringSerializer INSTANCE = new StringSerializer();
+
+        /**
+         * Returns the singleton instance of the class.
+         *
+         * @return the singleton instance.
+         */
+        public static StringSerializer instance() {
+
+            return StringSerializer.INSTANCE;
+        }
+
+        @Override
+        public boolean supportsSerializationOf(Class<?> type) {
+
+            return type == String.class;
+        }
+
+        @Override
+        public boolean supportsDeserializationOf(Class<?> type) {
+
+            return type == String.class;
+        }
+
+        @Override
+        public <T> void serialize(T document, String filename) {
+
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deserialize(File file, Class<? extends T> type) {
+
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deserialize(URI uri, Class<? extends T> type) {
+
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deserialize(URL url, Class<? extends T> type) {
+
+            throw new UnsupportedOperationException();
+        }
+    }
+}
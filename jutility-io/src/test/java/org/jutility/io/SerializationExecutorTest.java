@@ -0,0 +1,164 @@
+package org.jutility.io;
+
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+import org.junit.Test;
+import org.jutility.common.datatype.table.Table;
+import org.jutility.io.csv.CsvSerializer;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * The {@code SerializationExecutorTest} class provides unit tests for the
+ * {@link SerializationExecutor class}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class SerializationExecutorTest {
+
+    /**
+     * Test for {@link SerializationExecutor#execute(Runnable)} when the
+     * maximum number of tasks is pending, including asynchronous
+     * deserialization submitted from a pending task.
+     *
+     * @throws Exception
+     *         if the test is interrupted or a task fails.
+     */
+    @Test(timeout = 10000)
+    public void testFullExecutor()
+            throws Exception {
+
+        final SerializationExecutor executor = new SerializationExecutor(
+                runnable -> new Thread(runnable).start(), 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<CompletableFuture<Object>> nested =
+                new CompletableFuture<>();
+
+        executor.execute(() -> {
+
+            // Submitting from a pending task must not deadlock.
+            nested.complete(CsvSerializer.instance()
+                                         .deserializeAsync(new File("x.csv"),
+                                                 Table.class, executor));
+            this.await(release);
+        });
+
+        final CompletableFuture<Object> future = nested.get(10,
+                TimeUnit.SECONDS);
+
+        assertTrue(future.isCompletedExceptionally());
+        try {
+
+            future.join();
+            fail("Deserialization should have been rejected!");
+        }
+        catch (CompletionException e) {
+
+            assertEquals(RejectedExecutionException.class, e.getCause()
+                                                            .getClass());
+        }
+
+        try {
+
+            executor.execute(() -> {
+
+                // never executed
+            });
+            fail("Execution should have been rejected!");
+        }
+        catch (RejectedExecutionException e) {
+
+            assertEquals(1, executor.getPending());
+        }
+
+        release.countDown();
+
+        while (executor.getPending() > 0) {
+
+            Thread.sleep(10);
+        }
+
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+
+    /**
+     * Test for {@link SerializationExecutor#execute(Runnable)} when the
+     * delegate rejects the task.
+     */
+    @Test
+    public void testRejection() {
+
+        final SerializationExecutor executor = new SerializationExecutor(
+                runnable -> {
+
+                    throw new RejectedExecutionException();
+                }, 1);
+
+        for (int i = 0; i < 2; i++) {
+
+            try {
+
+                executor.execute(() -> {
+
+                    // never executed
+                });
+                fail("Execution should have been rejected!");
+            }
+            catch (RejectedExecutionException e) {
+
+                assertEquals(0, executor.getPending());
+            }
+        }
+    }
+
+
+    private void await(final CountDownLatch latch) {
+
+        try {
+
+            latch.await();
+        }
+        catch (InterruptedException e) {
+
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+}
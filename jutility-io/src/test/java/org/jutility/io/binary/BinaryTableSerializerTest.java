@@ -0,0 +1,362 @@
+package org.jutility.io.binary;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.jutility.common.datatype.table.DoubleDenseTable;
+import org.jutility.common.datatype.table.Table;
+import org.jutility.io.SerializationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * The {@code BinaryTableSerializerTest} class provides unit tests for the
+ * {@link BinaryTableSerializer class} and the {@link MappedTable class}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@SuppressWarnings("ResultOfMethodCallIgnored")
+public class BinaryTableSerializerTest {
+
+    private Table<Object> referenceTable;
+    private File          tempFile;
+
+
+    /**
+     * Set up.
+     *
+     * @throws IOException
+     *         if the temporary file could not be created.
+     */
+    @Before
+    public void setUp()
+            throws IOException {
+
+        this.referenceTable = new Table<>();
+
+        String[] header = {"int", "long", "float", "double", "boolean",
+                "string", "object", "mixed", "empty", "sparse"};
+
+        for (int column = 0; column < header.length; column++) {
+
+            this.referenceTable.add(0, column, header[column]);
+        }
+
+        for (int row = 1; row <= 200; row++) {
+
+            this.referenceTable.add(row, 0, row);
+            this.referenceTable.add(row, 1, (long) row << 40);
+            this.referenceTable.add(row, 2, row / 4f);
+            this.referenceTable.add(row, 3, -row / 3d);
+            this.referenceTable.add(row, 4, row % 2 == 0);
+            this.referenceTable.add(row, 5, "value ä" + row % 7);
+            this.referenceTable.add(row, 6, new BigDecimal(row).scaleByPowerOfTen(-2));
+            this.referenceTable.add(row, 7, row % 3 == 0 ? "three" : row);
+
+            if (row % 65 == 0) {
+
+                this.referenceTable.add(row, 9, row);
+            }
+        }
+
+        this.tempFile = File.createTempFile("test", "jtbl");
+    }
+
+
+    /**
+     * Tear Down.
+     */
+    @After
+    public void tearDown() {
+
+        if (this.tempFile != null && this.tempFile.exists()) {
+
+            this.tempFile.delete();
+        }
+    }
+
+
+    /**
+     * Test for
+     * {@link BinaryTableSerializer#serialize(Object, String)} and
+     * {@link BinaryTableSerializer#deserialize(File, Class)}.
+     */
+    @Test
+    public void testRoundTrip() {
+
+        // Every column holds its header as well, so all columns are object
+        // columns.
+        List<Class<?>> trustedClasses = Arrays.asList(Integer.class,
+                Long.class, Float.class, Double.class, Boolean.class,
+                BigDecimal.class, BigInteger.class);
+
+        try {
+
+            trustedClasses.forEach(BinaryTableSerializer.instance()::registerClass);
+
+            BinaryTableSerializer.instance()
+                                 .serialize(this.referenceTable,
+                                         this.tempFile.getPath());
+
+            Table<?> table = BinaryTableSerializer.instance()
+                                                  .deserialize(this.tempFile,
+                                                          Table.class);
+
+            assertEquals(this.referenceTable.size(), table.size());
+
+            for (int row = 0; row < 201; row++) {
+
+                for (int column = 0; column < 10; column++) {
+
+                    assertEquals(this.referenceTable.get(row, column),
+                            table.get(row, column));
+                }
+            }
+        }
+        catch (SerializationException e) {
+
+            fail("Round trip failed with exception " + e.toString());
+        }
+        finally {
+
+            trustedClasses.forEach(BinaryTableSerializer.instance()::unregisterClass);
+        }
+    }
+
+
+    /**
+     * Tests that values of object columns are not deserialized unless their
+     * classes are registered.
+     *
+     * @throws Exception
+     *         if the table cannot be written or opened.
+     */
+    @Test
+    public void testUntrustedObjects()
+            throws Exception {
+
+        BinaryTableSerializer.instance()
+                             .serialize(this.referenceTable,
+                                     this.tempFile.getPath());
+
+        try {
+
+            BinaryTableSerializer.instance()
+                                 .deserialize(this.tempFile, Table.class);
+            fail("Untrusted objects were deserialized.");
+        }
+        catch (SerializationException e) {
+
+            assertEquals(IllegalStateException.class, e.getCause()
+                                                       .getClass());
+        }
+
+        BinaryTableSerializer.instance()
+                             .registerClass(BigDecimal.class);
+
+        try (MappedTable mapped = BinaryTableSerializer.instance()
+                                                       .open(this.tempFile.toPath())) {
+
+            assertEquals(ColumnType.OBJECT, mapped.getColumnType(6));
+            assertEquals("object", mapped.get(0, 6));
+
+            try {
+
+                mapped.get(1, 6);
+                fail("An object graph with an untrusted class was "
+                     + "deserialized.");
+            }
+            catch (IllegalStateException e) {
+
+                // BigDecimal refers to an unregistered BigInteger.
+                assertEquals(InvalidClassException.class, e.getCause()
+                                                           .getClass());
+            }
+        }
+        finally {
+
+            BinaryTableSerializer.instance()
+                                 .unregisterClass(BigDecimal.class);
+        }
+    }
+
+
+    /**
+     * Test for {@link BinaryTableSerializer#open(java.nio.file.Path)} and the
+     * typed accessors of the {@link MappedTable}.
+     *
+     * @throws Exception
+     *         if the table cannot be written or opened.
+     */
+    @Test
+    public void testOpen()
+            throws Exception {
+
+        Table<Object> table = new Table<>();
+
+        for (int row = 0; row < 100; row++) {
+
+            table.add(row, 0, row);
+            table.add(row, 1, (long) row);
+            table.add(row, 2, row * 0.5);
+            table.add(row, 3, "s" + row % 3);
+        }
+        table.add(120, 1, 7L);
+
+        BinaryTableSerializer.instance()
+                             .serialize(table, this.tempFile.getPath());
+
+        try (MappedTable mapped = BinaryTableSerializer.instance()
+                                                       .open(this.tempFile.toPath())) {
+
+            assertEquals(121, mapped.rows());
+            assertEquals(4, mapped.columns());
+            assertEquals(table.size(), mapped.size());
+
+            assertEquals(ColumnType.INT, mapped.getColumnType(0));
+            assertEquals(ColumnType.LONG, mapped.getColumnType(1));
+            assertEquals(ColumnType.DOUBLE, mapped.getColumnType(2));
+            assertEquals(ColumnType.STRING, mapped.getColumnType(3));
+
+            assertEquals(42, mapped.getInt(42, 0));
+            assertEquals(7L, mapped.getLong(120, 1));
+            assertEquals(21.0, mapped.getDouble(42, 2), 0.0);
+            assertEquals("s0", mapped.getString(42, 3));
+
+            assertFalse(mapped.contains(120, 0));
+            assertTrue(mapped.contains(120, 1));
+            assertNull(mapped.get(120, 3));
+            assertNull(mapped.get(500, 0));
+
+            assertEquals(Arrays.asList(99, 99L, 49.5, "s0"),
+                    mapped.getRow(99));
+            assertEquals(table.getValues(), mapped.getValues());
+
+            try {
+
+                mapped.getInt(0, 1);
+                fail("Typed access to a column of another type succeeded.");
+            }
+            catch (IllegalArgumentException e) {
+
+                // Expected.
+            }
+            try {
+
+                mapped.add(0, 0, 1);
+                fail("Mapped table is writable.");
+            }
+            catch (UnsupportedOperationException e) {
+
+                // Expected.
+            }
+        }
+    }
+
+
+    /**
+     * Tests serialization of dense and empty tables.
+     *
+     * @throws Exception
+     *         if the tables cannot be written or opened.
+     */
+    @Test
+    public void testDenseAndEmptyTables()
+            throws Exception {
+
+        DoubleDenseTable dense = new DoubleDenseTable();
+
+        dense.set(2, 3, 1.5);
+
+        BinaryTableSerializer.instance()
+                             .serialize(dense, this.tempFile.getPath());
+
+        try (MappedTable mapped = BinaryTableSerializer.instance()
+                                                       .open(this.tempFile.toPath())) {
+
+            assertEquals(3, mapped.rows());
+            assertEquals(4, mapped.columns());
+            assertEquals(1.5, mapped.getDouble(2, 3), 0.0);
+            assertEquals(0.0, mapped.getDouble(0, 0), 0.0);
+            assertEquals(12, mapped.size());
+        }
+
+        BinaryTableSerializer.instance()
+                             .serialize(new Table<>(), this.tempFile.getPath());
+
+        try (MappedTable mapped = BinaryTableSerializer.instance()
+                                                       .open(this.tempFile.toPath())) {
+
+            assertEquals(0, mapped.rows());
+            assertEquals(0, mapped.columns());
+            assertFalse(mapped.iterator()
+                              .hasNext());
+        }
+    }
+
+
+    /**
+     * Tests that files of other formats are rejected.
+     *
+     * @throws IOException
+     *         if the file cannot be written.
+     */
+    @Test
+    public void testInvalidFile()
+            throws IOException {
+
+        Files.write(this.tempFile.toPath(),
+                "a,b,c\n1,2,3\n4,5,6\n".getBytes(StandardCharsets.UTF_8));
+
+        try {
+
+            BinaryTableSerializer.instance()
+                                 .deserialize(this.tempFile, Table.class);
+            fail("Deserialization of a CSV file succeeded.");
+        }
+        catch (SerializationException e) {
+
+            // Expected.
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import org.junit.Test;
+import org.jutility.io.binary.ColumnType;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * The {@code CsvFieldParserTest} class provides unit tests for the
+ * {@link CsvFieldParser class}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class CsvFieldParserTest {
+
+    /**
+     * Test for {@link CsvFieldParser#classify(CharSequence)}.
+     */
+    @Test
+    public void testClassify() {
+
+        assertEquals(ColumnType.EMPTY, CsvFieldParser.classify(""));
+        assertEquals(ColumnType.EMPTY, CsvFieldParser.classify("  "));
+        assertEquals(ColumnType.INT, CsvFieldParser.classify(" 42 "));
+        assertEquals(ColumnType.INT, CsvFieldParser.classify("-2147483648"));
+        assertEquals(ColumnType.LONG, CsvFieldParser.classify("2147483648"));
+        assertEquals(ColumnType.LONG,
+                CsvFieldParser.classify("-9223372036854775808"));
+        assertEquals(ColumnType.DOUBLE,
+                CsvFieldParser.classify("9223372036854775808"));
+        assertEquals(ColumnType.DOUBLE, CsvFieldParser.classify("1.5e-3"));
+        assertEquals(ColumnType.DOUBLE, CsvFieldParser.classify(".5"));
+        assertEquals(ColumnType.DOUBLE, CsvFieldParser.classify("-Infinity"));
+        assertEquals(ColumnType.BOOLEAN, CsvFieldParser.classify("TRUE"));
+        assertEquals(ColumnType.BOOLEAN, CsvFieldParser.classify("false"));
+        assertEquals(ColumnType.STRING, CsvFieldParser.classify("-"));
+        assertEquals(ColumnType.STRING, CsvFieldParser.classify("1e"));
+        assertEquals(ColumnType.STRING, CsvFieldParser.classify("1.2.3"));
+        assertEquals(ColumnType.STRING, CsvFieldParser.classify("0x10"));
+        assertEquals(ColumnType.STRING, CsvFieldParser.classify("yes"));
+    }
+
+
+    /**
+     * Test for {@link CsvFieldParser#promote(ColumnType, ColumnType)}.
+     */
+    @Test
+    public void testPromote() {
+
+        assertEquals(ColumnType.INT,
+                CsvFieldParser.promote(ColumnType.EMPTY, ColumnType.INT));
+        assertEquals(ColumnType.LONG,
+                CsvFieldParser.promote(ColumnType.INT, ColumnType.LONG));
+        assertEquals(ColumnType.DOUBLE,
+                CsvFieldParser.promote(ColumnType.DOUBLE, ColumnType.INT));
+        assertEquals(ColumnType.BOOLEAN,
+                CsvFieldParser.promote(ColumnType.BOOLEAN, ColumnType.EMPTY));
+        assertEquals(ColumnType.STRING,
+                CsvFieldParser.promote(ColumnType.BOOLEAN, ColumnType.INT));
+        assertEquals(ColumnType.STRING,
+                CsvFieldParser.promote(ColumnType.DOUBLE, ColumnType.STRING));
+    }
+
+
+    /**
+     * Test for {@link CsvFieldParser#parseLong(CharSequence)}.
+     */
+    @Test
+    public void testParseLong() {
+
+        for (final String value : new String[] {"0", "+7", "-42",
+                "2147483648", "9223372036854775807",
+                "-9223372036854775808"}) {
+
+            assertEquals(Long.parseLong(value),
+                    CsvFieldParser.parseLong(value));
+        }
+        assertEquals(13, CsvFieldParser.parseLong(" 13\t"));
+    }
+
+
+    /**
+     * Test for {@link CsvFieldParser#parseDouble(CharSequence)} against
+     * {@link Double#parseDouble(String)}.
+     */
+    @Test
+    public void testParseDouble() {
+
+        for (final String value : new String[] {"0", "-0.0", "1.5", ".25",
+                "3.", "1e10", "1.5E-3", "-2.5e+2", "0.000123",
+                "123456789012345678901234567890", "4.9e-324", "1e400",
+                "0.1000000000000000055511151231257827", "NaN",
+                "-Infinity"}) {
+
+            assertEquals(value, Double.doubleToLongBits(
+                    Double.parseDouble(value)), Double.doubleToLongBits(
+                    CsvFieldParser.parseDouble(value)));
+        }
+
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 10000; i++) {
+
+            final String value;
+
+            if (i % 2 == 0) {
+
+                value = Double.toString(random.nextDouble()
+                                        * Math.pow(10, random.nextInt(40)
+                                                       - 20));
+            }
+            else {
+
+                value = (random.nextInt(2000000) - 1000000) + "."
+                        + random.nextInt(1000);
+            }
+
+            assertEquals(value, Double.parseDouble(value),
+                    CsvFieldParser.parseDouble(value), 0);
+        }
+    }
+
+
+    /**
+     * Test for {@link CsvFieldParser#parseBoolean(CharSequence)}.
+     */
+    @Test
+    public void testParseBoolean() {
+
+        assertEquals(true, CsvFieldParser.parseBoolean("True"));
+        assertEquals(false, CsvFieldParser.parseBoolean(" false"));
+    }
+}
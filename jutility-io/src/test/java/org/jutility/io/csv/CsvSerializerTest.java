@@ -24,12 +24,28 @@ package org.jutility.io.csv;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.jutility.common.datatype.table.DenseTable;
+import org.jutility.common.datatype.table.DoubleDenseTable;
 import org.jutility.common.datatype.table.Table;
+import org.jutility.io.Compression;
 import org.jutility.io.SerializationException;
+import org.jutility.io.binary.ColumnType;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
@@ -177,4 +193,367 @@ public class CsvSerializerTest {
 
         System.out.println("Serialization passed.");
     }
+
+
+    /**
+     * Test for {@link org.jutility.io.csv.CsvSerializer#stream(java.net.URL)}.
+     *
+     * @throws MalformedURLException
+     *         if the URL of the test file is malformed.
+     */
+    @Test
+    public void testStream()
+            throws MalformedURLException {
+
+        List<String[]> rows = null;
+        try (Stream<String[]> stream = CsvSerializer.instance()
+                                                    .stream(this.testFile.toURI()
+                                                                         .toURL())) {
+
+            rows = stream.collect(Collectors.toList());
+        }
+        catch (SerializationException e) {
+
+            fail("Streaming failed with exception " + e.toString());
+        }
+
+        assertEquals(referenceTable.rows(), rows.size());
+
+        for (int row = 0; row < referenceTable.rows(); row++) {
+
+            assertArrayEquals(this.referenceTable.getRow(row)
+                                                 .toArray(), rows.get(row));
+        }
+
+        System.out.println("Streaming passed.");
+    }
+
+
+    /**
+     * Tests that {@code file:} URLs that are not valid URIs, e.g., because
+     * they contain unencoded spaces, are read as streams.
+     *
+     * @throws IOException
+     *         if the test file could not be copied.
+     * @throws SerializationException
+     *         if reading fails.
+     */
+    @Test
+    public void testInvalidFileUri()
+            throws IOException, SerializationException {
+
+        Path directory = Files.createTempDirectory("jutility csv");
+        Path copy = directory.resolve(this.filename);
+
+        try {
+
+            Files.copy(this.testFile.toPath(), copy);
+
+            URL url = new URL("file:" + copy.toAbsolutePath());
+            List<String[]> rows;
+            try (Stream<String[]> stream = CsvSerializer.instance()
+                                                        .stream(url)) {
+
+                rows = stream.collect(Collectors.toList());
+            }
+
+            assertEquals(referenceTable.rows(), rows.size());
+
+            for (int row = 0; row < referenceTable.rows(); row++) {
+
+                assertArrayEquals(this.referenceTable.getRow(row)
+                                                     .toArray(),
+                        rows.get(row));
+            }
+
+            DenseTable<String> table = CsvSerializer.instance()
+                                                    .read(url,
+                                                            new DenseTable<>(),
+                                                            2);
+
+            assertEquals(this.referenceTable.getValues(), table.getValues());
+        }
+        finally {
+
+            Files.deleteIfExists(copy);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+
+    /**
+     * Test for
+     * {@link org.jutility.io.csv.CsvSerializer#read(java.net.URL,
+     * org.jutility.common.datatype.table.ITable)}.
+     *
+     * @throws MalformedURLException
+     *         if the URL of the test file is malformed.
+     */
+    @Test
+    public void testRead()
+            throws MalformedURLException {
+
+        DenseTable<String> table = null;
+        try {
+
+            table = CsvSerializer.instance()
+                                 .read(this.testFile.toURI()
+                                                    .toURL(),
+                                         new DenseTable<>());
+        }
+        catch (SerializationException e) {
+
+            fail("Reading failed with exception " + e.toString());
+        }
+
+        assertEquals(referenceTable.rows(), table.rows());
+        assertEquals(referenceTable.columns(), table.columns());
+        assertEquals(this.referenceTable.getValues(), table.getValues());
+
+        System.out.println("Reading passed.");
+    }
+
+
+    /**
+     * Test for {@link org.jutility.io.csv.CsvSerializer#write(
+     * org.jutility.common.datatype.table.ITable, java.nio.file.Path)} with
+     * missing cells and values requiring quotes.
+     *
+     * @throws IOException
+     *         if the file could not be written.
+     */
+    @Test
+    public void testWrite()
+            throws IOException {
+
+        Table<Object> table = new Table<>();
+
+        table.add(0, 0, "id");
+        table.add(0, 2, "text");
+        table.add(1, 0, 1);
+        table.add(1, 1, 2.5);
+        table.add(1, 2, "with, comma");
+        table.add(3, 1, "say \"hi\"\nbye");
+
+        CsvSerializer.instance()
+                     .write(table, this.tempFile.toPath());
+
+        assertEquals("id,,text\r\n1,2.5,\"with, comma\"\r\n,,\r\n"
+                     + ",\"say \"\"hi\"\"\nbye\",\r\n",
+                new String(Files.readAllBytes(this.tempFile.toPath()),
+                        StandardCharsets.UTF_8));
+
+        try (Stream<String[]> stream = CsvSerializer.instance()
+                                                    .stream(this.tempFile.toURI()
+                                                                         .toURL())) {
+
+            List<String[]> rows = stream.collect(Collectors.toList());
+
+            assertEquals(4, rows.size());
+            assertArrayEquals(new String[] {"1", "2.5", "with, comma"},
+                    rows.get(1));
+            assertArrayEquals(new String[] {null, null, null}, rows.get(2));
+            assertArrayEquals(new String[] {null, "say \"hi\"\nbye", null},
+                    rows.get(3));
+        }
+        catch (SerializationException e) {
+
+            fail("Reading failed with exception " + e.toString());
+        }
+    }
+
+
+    /**
+     * Test for {@link org.jutility.io.csv.CsvSerializer#write(
+     * org.jutility.common.datatype.table.ITable, java.nio.file.Path,
+     * ICsvValueFormatter)} with numeric tables.
+     *
+     * @throws IOException
+     *         if the file could not be written.
+     */
+    @Test
+    public void testWriteNumeric()
+            throws IOException {
+
+        DoubleDenseTable table = new DoubleDenseTable();
+
+        table.set(0, 0, 1.5);
+        table.set(1, 1, -2.0);
+
+        CsvSerializer.instance()
+                     .write(table, this.tempFile.toPath());
+
+        assertEquals("1.5,0.0\r\n0.0,-2.0\r\n",
+                new String(Files.readAllBytes(this.tempFile.toPath()),
+                        StandardCharsets.UTF_8));
+
+        CsvSerializer.instance()
+                     .write(table, this.tempFile.toPath(),
+                             (value, buffer) -> buffer.append(
+                                     value.intValue()));
+
+        assertEquals("1,0\r\n0,-2\r\n",
+                new String(Files.readAllBytes(this.tempFile.toPath()),
+                        StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Test for
+     * {@link org.jutility.io.csv.CsvSerializer#serialize(Object, String)} and
+     * {@link org.jutility.io.csv.CsvSerializer#deserialize(File, Class)} with
+     * compressed files.
+     *
+     * @throws IOException
+     *         if the compressed files cannot be created.
+     */
+    @Test
+    public void testCompressedRoundTrip()
+            throws IOException {
+
+        for (String extension : new String[] {".csv.gz", ".csv.deflate"}) {
+
+            File file = File.createTempFile("test", extension);
+            try {
+
+                CsvSerializer.instance()
+                             .serialize(this.referenceTable, file.getPath());
+
+                Table<?> table = CsvSerializer.instance()
+                                              .deserialize(file, Table.class);
+
+                assertEquals(this.referenceTable.getValues(),
+                        table.getValues());
+
+                CsvSerializer.instance()
+                             .serialize(this.referenceTable, file.getPath(),
+                                     Compression.PARALLEL_GZIP);
+
+                if (extension.endsWith(".gz")) {
+
+                    assertEquals(this.referenceTable.getValues(),
+                            CsvSerializer.instance()
+                                         .deserialize(file, Table.class)
+                                         .getValues());
+                }
+            }
+            catch (SerializationException e) {
+
+                fail("Round trip failed with exception " + e.toString());
+            }
+            finally {
+
+                file.delete();
+            }
+        }
+    }
+
+
+    /**
+     * Test for {@link org.jutility.io.ISerializer#serializeAsync(Object,
+     * String)} and {@link org.jutility.io.ISerializer#deserializeAsync(File,
+     * Class)}, including the propagation of failures.
+     */
+    @Test
+    public void testAsyncRoundTrip() {
+
+        Table<?> table = CsvSerializer.instance()
+                                      .serializeAsync(this.referenceTable,
+                                              this.tempFile.getPath())
+                                      .thenCompose(ignored -> CsvSerializer
+                                              .instance()
+                                              .deserializeAsync(this.tempFile,
+                                                      Table.class))
+                                      .join();
+
+        assertEquals(this.referenceTable.getValues(), table.getValues());
+
+        try {
+
+            CsvSerializer.instance()
+                         .serializeAsync("not a table",
+                                 this.tempFile.getPath())
+                         .get();
+            fail("Serialization should have failed!");
+        }
+        catch (ExecutionException e) {
+
+            assertEquals(SerializationException.class, e.getCause()
+                                                        .getClass());
+        }
+        catch (InterruptedException e) {
+
+            fail(e.toString());
+        }
+    }
+
+
+    /**
+     * Test for {@link org.jutility.io.csv.CsvSerializer#readTyped(
+     * java.net.URL, boolean, int)} with a sample that does not cover all
+     * values, missing values, and a compressed file.
+     *
+     * @throws IOException
+     *         if the test files cannot be created.
+     */
+    @Test
+    public void testReadTyped()
+            throws IOException {
+
+        String csv = "id,value,flag,name,big\r\n"
+                     + "1,1.5,true,foo,1\r\n"
+                     + "2,,false,\"b,ar\",2\r\n"
+                     + "3,3,TRUE, baz ,9999999999\r\n";
+
+        Files.write(this.tempFile.toPath(),
+                csv.getBytes(StandardCharsets.UTF_8));
+
+        File compressed = File.createTempFile("test", ".csv.gz");
+        try (OutputStream outputStream = Compression.GZIP.compress(
+                new FileOutputStream(compressed))) {
+
+            outputStream.write(csv.getBytes(StandardCharsets.UTF_8));
+        }
+
+        try {
+
+            for (File file : new File[] {this.tempFile, compressed}) {
+
+                TypedTable table = CsvSerializer.instance()
+                                                .readTyped(file.toURI()
+                                                               .toURL(),
+                                                        true, 1);
+
+                assertEquals(3, table.rows());
+                assertEquals(5, table.columns());
+                assertEquals(14, table.size());
+                assertEquals("name", table.getColumnName(3));
+
+                assertEquals(ColumnType.INT, table.getColumnType(0));
+                assertEquals(ColumnType.DOUBLE, table.getColumnType(1));
+                assertEquals(ColumnType.BOOLEAN, table.getColumnType(2));
+                assertEquals(ColumnType.STRING, table.getColumnType(3));
+                assertEquals(ColumnType.LONG, table.getColumnType(4));
+
+                assertEquals(3, table.getInt(2, 0));
+                assertEquals(1.5, table.getDouble(0, 1), 0);
+                assertEquals(false, table.contains(1, 1));
+                assertEquals(null, table.get(1, 1));
+                assertEquals(3.0, table.get(2, 1));
+                assertEquals(true, table.getBoolean(2, 2));
+                assertEquals("b,ar", table.getString(1, 3));
+                assertEquals("baz", table.getString(2, 3));
+                assertEquals(9999999999L, table.getLong(2, 4));
+                assertEquals(2L, table.get(1, 4));
+            }
+        }
+        catch (SerializationException e) {
+
+            fail("Reading failed with exception " + e.toString());
+        }
+        finally {
+
+            compressed.delete();
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * The {@code CsvWriterTest} class provides unit tests for the
+ * {@link CsvWriter class}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class CsvWriterTest {
+
+    private static String write(final int bufferSize,
+            final CharSequence[]... records)
+            throws IOException {
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (CsvWriter writer = new CsvWriter(outputStream, bufferSize)) {
+
+            for (final CharSequence[] record : records) {
+
+                writer.record(record);
+            }
+        }
+
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Tests that fields are quoted only where required.
+     *
+     * @throws IOException
+     *         if writing fails.
+     */
+    @Test
+    public void testEscaping()
+            throws IOException {
+
+        assertEquals("a,,\" b \"\"c\"\" \",\"d\re\",\"f\ng\",h i\r\n",
+                CsvWriterTest.write(CsvWriter.DEFAULT_BUFFER_SIZE,
+                        new CharSequence[] {"a", null, " b \"c\" ", "d\re",
+                                "f\ng", "h i"}));
+    }
+
+
+    /**
+     * Tests that non-ASCII characters are encoded as UTF-8 across buffer
+     * boundaries.
+     *
+     * @throws IOException
+     *         if writing fails.
+     */
+    @Test
+    public void testEncoding()
+            throws IOException {
+
+        final String value = "ä€😀,x";
+        final StringBuilder expected = new StringBuilder();
+        final CharSequence[][] records = new CharSequence[100][];
+
+        for (int i = 0; i < records.length; i++) {
+
+            records[i] = new CharSequence[] {value + i, "plain"};
+            expected.append('"')
+                    .append(value)
+                    .append(i)
+                    .append("\",plain\r\n");
+        }
+
+        for (int bufferSize = 6; bufferSize < 40; bufferSize++) {
+
+            assertEquals(expected.toString(),
+                    CsvWriterTest.write(bufferSize, records));
+        }
+    }
+
+
+    /**
+     * Tests numeric and formatted fields.
+     *
+     * @throws IOException
+     *         if writing fails.
+     */
+    @Test
+    public void testNumericFields()
+            throws IOException {
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (CsvWriter writer = new CsvWriter(outputStream)) {
+
+            writer.field(42L);
+            writer.field(0.25);
+            writer.field(7, ICsvValueFormatter.DEFAULT);
+            writer.field(1.5f, ICsvValueFormatter.DEFAULT);
+            writer.field(null, ICsvValueFormatter.DEFAULT);
+            writer.field("1,2", (value, buffer) -> buffer.append(value));
+            writer.endRecord();
+        }
+
+        assertEquals("42,0.25,7,1.5,,\"1,2\"\r\n",
+                new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
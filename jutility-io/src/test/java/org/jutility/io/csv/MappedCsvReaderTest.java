@@ -0,0 +1,239 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.jutility.io.SerializationException;
+import org.supercsv.io.CsvListReader;
+import org.supercsv.io.ICsvListReader;
+import org.supercsv.prefs.CsvPreference;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * The {@code MappedCsvReaderTest} class provides unit tests for the
+ * {@link MappedCsvReader class}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@SuppressWarnings("ResultOfMethodCallIgnored")
+public class MappedCsvReaderTest {
+
+    private static final String CONTENTS = "id,name,comment\r\n"
+                                           + "1,\"Doe, Jane\",\"said \"\"hi\"\"\"\n"
+                                           + "\n"
+                                           + "2, Smith ,\"multi\nline\"\r"
+                                           + "3,,\"\"\n"
+                                           + "4,Zoë, \"quoted\"\n"
+                                           + "5,last,";
+
+    private File tempFile;
+
+
+    /**
+     * Set up.
+     *
+     * @throws IOException
+     *         if the temporary file could not be created.
+     */
+    @Before
+    public void setUp()
+            throws IOException {
+
+        this.tempFile = File.createTempFile("test", "csv");
+
+        Files.write(this.tempFile.toPath(),
+                MappedCsvReaderTest.CONTENTS.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    /**
+     * Tear Down.
+     */
+    @After
+    public void tearDown() {
+
+        if (this.tempFile != null && this.tempFile.exists()) {
+
+            this.tempFile.delete();
+        }
+    }
+
+
+    private List<String[]> readAll(final int windowSize)
+            throws IOException {
+
+        final List<String[]> rows = new ArrayList<>();
+
+        try (MappedCsvReader reader = new MappedCsvReader(
+                this.tempFile.toPath(), windowSize)) {
+
+            while (reader.next()) {
+
+                final String[] row = new String[reader.fields()];
+
+                for (int i = 0; i < row.length; i++) {
+
+                    row[i] = reader.getString(i);
+                }
+                rows.add(row);
+            }
+        }
+
+        return rows;
+    }
+
+
+    /**
+     * Test for {@link MappedCsvReader#next()}.
+     *
+     * @throws IOException
+     *         if the file could not be read.
+     */
+    @Test
+    public void testNext()
+            throws IOException {
+
+        final List<String[]> rows = this.readAll(Integer.MAX_VALUE);
+
+        assertEquals(6, rows.size());
+        assertArrayEquals(new String[] { "id", "name", "comment" },
+                rows.get(0));
+        assertArrayEquals(new String[] { "1", "Doe, Jane", "said \"hi\"" },
+                rows.get(1));
+        assertArrayEquals(new String[] { "2", " Smith ", "multi\nline" },
+                rows.get(2));
+        assertArrayEquals(new String[] { "3", "", "" }, rows.get(3));
+        assertArrayEquals(new String[] { "4", "Zoë", "quoted" }, rows.get(4));
+        assertArrayEquals(new String[] { "5", "last", "" }, rows.get(5));
+
+        try (MappedCsvReader reader = new MappedCsvReader(
+                this.tempFile.toPath())) {
+
+            assertTrue(reader.next());
+            assertTrue(reader.next());
+
+            final CharSequence name = reader.field(1);
+
+            assertEquals(9, name.length());
+            assertEquals('J', name.charAt(5));
+            assertTrue(reader.isQuoted(1));
+            assertFalse(reader.isQuoted(0));
+        }
+    }
+
+
+    /**
+     * Tests that records spanning the boundaries of small mapped windows are
+     * read correctly.
+     *
+     * @throws IOException
+     *         if the file could not be read.
+     */
+    @Test
+    public void testWindowBoundaries()
+            throws IOException {
+
+        final List<String[]> expected = this.readAll(Integer.MAX_VALUE);
+
+        for (int windowSize = 1; windowSize < 32; windowSize++) {
+
+            final List<String[]> actual = this.readAll(windowSize);
+
+            assertEquals(expected.size(), actual.size());
+
+            for (int i = 0; i < expected.size(); i++) {
+
+                assertArrayEquals(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+
+    /**
+     * Tests that streaming a local file through the
+     * {@link MappedCsvReader} yields the same rows as SuperCSV.
+     *
+     * @throws IOException
+     *         if the file could not be read.
+     */
+    @Test
+    public void testStreamMatchesSuperCsv()
+            throws IOException {
+
+        final List<String[]> expected = new ArrayList<>();
+
+        try (ICsvListReader listReader = new CsvListReader(new StringReader(
+                MappedCsvReaderTest.CONTENTS),
+                CsvPreference.STANDARD_PREFERENCE)) {
+
+            List<String> row;
+            while ((row = listReader.read()) != null) {
+
+                expected.add(row.stream()
+                                .map(value -> value != null ? value.trim()
+                                        : null)
+                                .toArray(String[]::new));
+            }
+        }
+
+        List<String[]> actual = null;
+        try (Stream<String[]> rows = CsvSerializer.instance()
+                                                  .stream(this.tempFile.toURI()
+                                                                       .toURL())) {
+
+            actual = rows.collect(Collectors.toList());
+        }
+        catch (SerializationException e) {
+
+            fail("Streaming failed with exception " + e.toString());
+        }
+
+        assertEquals(expected.size(), actual.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package org.jutility.io.csv;
+
+// @formatter:off
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.jutility.common.datatype.table.DenseTable;
+import org.jutility.io.SerializationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+
+/**
+ * The {@code ParallelCsvReaderTest} class provides unit tests for the
+ * {@link ParallelCsvReader class}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@SuppressWarnings("ResultOfMethodCallIgnored")
+public class ParallelCsvReaderTest {
+
+    private File tempFile;
+
+
+    /**
+     * Set up.
+     *
+     * @throws IOException
+     *         if the temporary file could not be created.
+     */
+    @Before
+    public void setUp()
+            throws IOException {
+
+        this.tempFile = File.createTempFile("test", "csv");
+    }
+
+
+    /**
+     * Tear Down.
+     */
+    @After
+    public void tearDown() {
+
+        if (this.tempFile != null && this.tempFile.exists()) {
+
+            this.tempFile.delete();
+        }
+    }
+
+
+    private void write(final String contents)
+            throws IOException {
+
+        Files.write(this.tempFile.toPath(),
+                contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    private List<String[]> readSequentially()
+            throws IOException {
+
+        final List<String[]> rows = new ArrayList<>();
+
+        try (MappedCsvReader reader = new MappedCsvReader(
+                this.tempFile.toPath())) {
+
+            while (reader.next()) {
+
+                rows.add(CsvSerializer.values(reader));
+            }
+        }
+        return rows;
+    }
+
+
+    private void assertParallelMatchesSequential()
+            throws IOException {
+
+        final List<String[]> expected = this.readSequentially();
+
+        for (int chunkSize = 1; chunkSize < 200; chunkSize += 7) {
+
+            final List<String[]> actual = new ArrayList<>();
+
+            ParallelCsvReader.read(this.tempFile.toPath(), 3, chunkSize,
+                    actual::add);
+
+            assertEquals(expected.size(), actual.size());
+
+            for (int i = 0; i < expected.size(); i++) {
+
+                assertArrayEquals(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+
+    /**
+     * Tests that parallel reads of well-formed files with quoted line breaks
+     * match the sequential read.
+     *
+     * @throws IOException
+     *         if the file could not be read.
+     */
+    @Test
+    public void testQuotedRecords()
+            throws IOException {
+
+        final StringBuilder contents = new StringBuilder("id,text,value\r\n");
+
+        for (int i = 0; i < 100; i++) {
+
+            contents.append(i)
+                    .append(i % 3 == 0 ? ",\"multi\nline, \"\"quoted\"\"\","
+                            : ",plain,")
+                    .append(i * 7)
+                    .append(i % 5 == 0 ? "\r\n\n" : "\n");
+        }
+
+        this.write(contents.toString());
+        this.assertParallelMatchesSequential();
+    }
+
+
+    /**
+     * Tests that literal quotes within unquoted fields, which defeat the
+     * quote-parity split, still yield the sequential result.
+     *
+     * @throws IOException
+     *         if the file could not be read.
+     */
+    @Test
+    public void testLiteralQuotes()
+            throws IOException {
+
+        final StringBuilder contents = new StringBuilder();
+
+        for (int i = 0; i < 100; i++) {
+
+            contents.append(i)
+                    .append(i % 4 == 0 ? ",5\" pipe," : ",\"a\nb\",")
+                    .append(i)
+                    .append('\n');
+        }
+
+        this.write(contents.toString());
+        this.assertParallelMatchesSequential();
+    }
+
+
+    /**
+     * Test for {@link CsvSerializer#read(java.net.URL,
+     * org.jutility.common.datatype.table.ITable, int)}.
+     *
+     * @throws IOException
+     *         if the file could not be written.
+     */
+    @Test
+    public void testReadParallel()
+            throws IOException {
+
+        final StringBuilder contents = new StringBuilder("a,b\n");
+
+        for (int i = 0; i < 50000; i++) {
+
+            contents.append(i)
+                    .append(",\"row ")
+                    .append(i)
+                    .append("\"\n");
+        }
+        this.write(contents.toString());
+
+        try {
+
+            final DenseTable<String> sequential = CsvSerializer.instance()
+                                                               .read(this.tempFile.toURI()
+                                                                                  .toURL(),
+                                                                       new DenseTable<>());
+            final DenseTable<String> parallel = CsvSerializer.instance()
+                                                             .read(this.tempFile.toURI()
+                                                                                .toURL(),
+                                                                     new DenseTable<>(),
+                                                                     4);
+
+            assertEquals(50001, parallel.rows());
+            assertEquals(sequential.getValues(), parallel.getValues());
+        }
+        catch (SerializationException e) {
+
+            fail("Reading failed with exception " + e.toString());
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package org.jutility.io.xml;
+
+/*
+ * #%L
+ * jutility-io
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.jutility.io.SerializationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * The {@code XmlSerializerTest} class provides unit tests for the
+ * {@link XmlSerializer class}.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+@SuppressWarnings("ResultOfMethodCallIgnored")
+public class XmlSerializerTest {
+
+    private File tempFile;
+
+
+    /**
+     * Set up.
+     *
+     * @throws IOException
+     *         if a temporary file for serialization could not be created.
+     */
+    @Before
+    public void setUp()
+            throws IOException {
+
+        this.tempFile = File.createTempFile("test", "xml");
+    }
+
+
+    /**
+     * Tear Down.
+     */
+    @After
+    public void tearDown() {
+
+        if (this.tempFile != null && this.tempFile.exists()) {
+
+            this.tempFile.delete();
+        }
+    }
+
+
+    /**
+     * Test for
+     * {@link org.jutility.io.xml.XmlSerializer#serialize(Object, String)} and
+     * {@link org.jutility.io.xml.XmlSerializer#deserialize(File, Class)}
+     * using cached contexts across class registrations.
+     */
+    @Test
+    public void testRoundTrip() {
+
+        try {
+
+            for (int i = 0; i < 3; i++) {
+
+                if (i == 1) {
+
+                    XmlSerializer.instance()
+                                 .registerClass(Document.class);
+                }
+                if (i == 2) {
+
+                    XmlSerializer.instance()
+                                 .unregisterClass(Document.class);
+                }
+
+                XmlSerializer.instance()
+                             .serialize(new Document("doc" + i, i),
+                                     this.tempFile.getPath());
+
+                Document document = XmlSerializer.instance()
+                                                 .deserialize(this.tempFile,
+                                                         Document.class);
+
+                assertEquals("doc" + i, document.name);
+                assertEquals(i, document.value);
+            }
+        }
+        catch (SerializationException e) {
+
+            fail("Round trip failed with exception " + e.toString());
+        }
+    }
+
+
+    /**
+     * Tests that concurrent serialization and deserialization with pooled
+     * marshallers yields consistent results.
+     *
+     * @throws Exception
+     *         if a task fails.
+     */
+    @Test
+    public void testConcurrentRoundTrips()
+            throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+
+            List<Future<Integer>> results = new ArrayList<>();
+
+            for (int i = 0; i < 32; i++) {
+
+                final int value = i;
+                results.add(executor.submit(() -> {
+
+                    File file = File.createTempFile("test", "xml");
+                    try {
+
+                        XmlSerializer.instance()
+                                     .serialize(new Document("doc", value),
+                                             file.getPath());
+
+                        return XmlSerializer.instance()
+                                            .deserialize(file,
+                                                    Document.class).value;
+                    }
+                    finally {
+
+                        file.delete();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+
+                assertEquals(Integer.valueOf(i), results.get(i)
+                                                        .get());
+            }
+        }
+        finally {
+
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Test for
+     * {@link org.jutility.io.xml.XmlSerializer#writer(String, String, Class)}
+     * and {@link org.jutility.io.xml.XmlSerializer#stream(java.net.URL, Class)}.
+     *
+     * @throws IOException
+     *         if the writer cannot be closed.
+     */
+    @Test
+    public void testStreamingRoundTrip()
+            throws IOException {
+
+        final int count = 1000;
+
+        try {
+
+            try (XmlElementWriter<Document> writer = XmlSerializer.instance()
+                                                                  .writer(this.tempFile.getPath(),
+                                                                          "documents",
+                                                                          Document.class)) {
+
+                for (int i = 0; i < count; i++) {
+
+                    writer.write(new Document("doc" + i, i));
+                }
+            }
+
+            try (Stream<Document> documents = XmlSerializer.instance()
+                                                           .stream(this.tempFile.toURI()
+                                                                                .toURL(),
+                                                                   Document.class)) {
+
+                List<Document> result = documents.collect(Collectors.toList());
+
+                assertEquals(count, result.size());
+
+                for (int i = 0; i < count; i++) {
+
+                    assertEquals("doc" + i, result.get(i).name);
+                    assertEquals(i, result.get(i).value);
+                }
+            }
+        }
+        catch (SerializationException e) {
+
+            fail("Streaming round trip failed with exception " + e.toString());
+        }
+    }
+
+
+    /**
+     * Test for {@link org.jutility.io.xml.XmlSerializer#stream(java.net.URL,
+     * Class)} on a document with unrelated and nested elements.
+     *
+     * @throws IOException
+     *         if the document cannot be written.
+     */
+    @Test
+    public void testStreamSkipsUnrelatedElements()
+            throws IOException {
+
+        Files.write(this.tempFile.toPath(),
+                ("<?xml version=\"1.0\"?>\n<root><header><value>7</value>"
+                 + "</header><group><document name=\"a\"><value>1</value>"
+                 + "</document></group><document name=\"b\"><value>2"
+                 + "</value></document><document name=\"c\"/></root>")
+                        .getBytes(StandardCharsets.UTF_8));
+
+        try (Stream<Document> documents = XmlSerializer.instance()
+                                                       .stream(this.tempFile.toURI()
+                                                                            .toURL(),
+                                                               Document.class)) {
+
+            List<String> names = documents.map(document -> document.name)
+                                          .collect(Collectors.toList());
+
+            assertEquals(3, names.size());
+            assertTrue(names.containsAll(Arrays.asList("a", "b",
+                    "c")));
+            assertEquals("a", names.get(0));
+        }
+        catch (SerializationException e) {
+
+            fail("Streaming failed with exception " + e.toString());
+        }
+    }
+
+
+    /**
+     * Test for
+     * {@link org.jutility.io.xml.XmlSerializer#serialize(Object, String)},
+     * {@link org.jutility.io.xml.XmlSerializer#deserialize(File, Class)}, and
+     * the streaming methods with a compressed file.
+     *
+     * @throws IOException
+     *         if the compressed file cannot be created.
+     */
+    @Test
+    public void testCompressedRoundTrip()
+            throws IOException {
+
+        File file = File.createTempFile("test", ".xml.gz");
+        try {
+
+            XmlSerializer.instance()
+                         .serialize(new Document("compressed", 42),
+                                 file.getPath());
+
+            Document document = XmlSerializer.instance()
+                                             .deserialize(file, Document.class);
+
+            assertEquals("compressed", document.name);
+            assertEquals(42, document.value);
+
+            try (XmlElementWriter<Document> writer = XmlSerializer.instance()
+                                                                  .writer(file.getPath(),
+                                                                          "documents",
+                                                                          Document.class)) {
+
+                writer.write(new Document("first", 1));
+                writer.write(new Document("second", 2));
+            }
+
+            try (Stream<Document> documents = XmlSerializer.instance()
+                                                           .stream(file.toURI()
+                                                                       .toURL(),
+                                                                   Document.class)) {
+
+                assertEquals(Arrays.asList("first", "second"),
+                        documents.map(element -> element.name)
+                                 .collect(Collectors.toList()));
+            }
+        }
+        catch (SerializationException e) {
+
+            fail("Round trip failed with exception " + e.toString());
+        }
+        finally {
+
+            file.delete();
+        }
+    }
+
+
+    /**
+     * Test for
+     * {@link org.jutility.io.xml.XmlSerializer#serialize(Object, String)} and
+     * {@link org.jutility.io.xml.XmlElementWriter#write(Object)} with values
+     * adapted by the {@link XmlCDataAdapter}.
+     *
+     * @throws IOException
+     *         if the serialized file cannot be read.
+     */
+    @Test
+    public void testCDataRoundTrip()
+            throws IOException {
+
+        String code = "if (a < b && c > d) { return \"]\"; }";
+
+        try {
+
+            XmlSerializer.instance()
+                         .serialize(new Script(code, "a < b"),
+                                 this.tempFile.getPath());
+
+            String xml = new String(Files.readAllBytes(this.tempFile.toPath()),
+                    StandardCharsets.UTF_8);
+
+            assertTrue(xml, xml.contains("<code><![CDATA[" + code
+                    + "]]></code>"));
+            assertTrue(xml, xml.contains("<text>a &lt; b</text>"));
+
+            Script script = XmlSerializer.instance()
+                                         .deserialize(this.tempFile,
+                                                 Script.class);
+
+            assertEquals(code, script.code);
+            assertEquals("a < b", script.text);
+
+            try (XmlElementWriter<Script> writer = XmlSerializer.instance()
+                                                                .writer(this.tempFile.getPath(),
+                                                                        "scripts",
+                                                                        Script.class)) {
+
+                writer.write(new Script(code, "first"));
+                writer.write(new Script("x < y", "second"));
+            }
+
+            xml = new String(Files.readAllBytes(this.tempFile.toPath()),
+                    StandardCharsets.UTF_8);
+
+            assertTrue(xml, xml.contains("<![CDATA[" + code + "]]>"));
+            assertTrue(xml, xml.contains("<![CDATA[x < y]]>"));
+        }
+        catch (SerializationException e) {
+
+            fail("Round trip failed with exception " + e.toString());
+        }
+    }
+
+
+    /**
+     * Test for {@link XmlCDataAdapter#consume(char[], int, int)}, which only
+     * recognizes a copy of the value marshalled last.
+     */
+    @Test
+    public void testCDataAdapterConsume() {
+
+        XmlCDataAdapter adapter = new XmlCDataAdapter();
+        String cdata = adapter.marshal("a < b");
+        char[] text = ("x" + cdata + "x").toCharArray();
+        // Same length and delimiters, different content.
+        char[] other = cdata.replace("a < b", "a > b")
+                            .toCharArray();
+
+        assertEquals(null, adapter.consume(other, 0, other.length));
+        assertEquals(cdata, adapter.consume(text, 1, cdata.length()));
+        assertEquals(null, adapter.consume(text, 1, cdata.length()));
+    }
+
+
+    /**
+     * A simple JAXB document.
+     */
+    @XmlRootElement
+    public static class Document {
+
+        @XmlAttribute
+        private String name;
+
+        @XmlElement
+        private int value;
+
+
+        /**
+         * Creates a new instance of the {@code Document} class.
+         * (Serialization Constructor)
+         */
+        public Document() {
+
+            this(null, 0);
+        }
+
+
+        /**
+         * Creates a new instance of the {@code Document} class.
+         *
+         * @param name
+         *         the name.
+         * @param value
+         *         the value.
+         */
+        public Document(String name, int value) {
+
+            this.name = name;
+            this.value = value;
+        }
+    }
+
+
+    /**
+     * A JAXB document containing a CDATA section.
+     */
+    @XmlRootElement
+    public static class Script {
+
+        @XmlElement
+        @XmlJavaTypeAdapter(XmlCDataAdapter.class)
+        private String code;
+
+        @XmlElement
+        private String text;
+
+
+        /**
+         * Creates a new instance of the {@code Script} class.
+         * (Serialization Constructor)
+         */
+        public Script() {
+
+            this(null, null);
+        }
+
+
+        /**
+         * Creates a new instance of the {@code Script} class.
+         *
+         * @param code
+         *         the code.
+         * @param text
+         *         the text.
+         */
+        public Script(String code, String text) {
+
+            this.code = code;
+            this.text = text;
+        }
+    }
+}
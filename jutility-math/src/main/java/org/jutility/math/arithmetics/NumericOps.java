@@ -0,0 +1,674 @@
+package org.jutility.math.arithmetics;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * The {@code NumericOps} class provides the binary arithmetic operations for a
+ * combination of operand types and a return type.
+ * <p>
+ * Operands are promoted following the ordering {@link Double}, {@link Float},
+ * {@link Long}, {@link Integer}, {@link Short}, {@link Byte}: the operation is
+ * carried out in the highest-ranked of the two operand types and the result is
+ * converted to the return type. Instances are precomputed for every
+ * combination of operand and return types, so a lookup through
+ * {@link #forTypes(Class, Class, Class)} is a plain table access; callers
+ * performing many operations on the same types can look up the instance once
+ * and reuse it.
+ * </p>
+ *
+ * @param <R>
+ *            the {@link Number} type of the results.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public abstract class NumericOps<R extends Number> {
+
+
+    private static final int                     DOUBLE      = 0;
+    private static final int                     FLOAT       = 1;
+    private static final int                     LONG        = 2;
+    private static final int                     INTEGER     = 3;
+    private static final int                     SHORT       = 4;
+    private static final int                     BYTE        = 5;
+    private static final int                     UNSUPPORTED = 6;
+
+    private static final Map<Class<?>, Integer>  RANKS;
+    private static final NumericOps<?>[][][]     TABLE;
+
+
+    static {
+
+        final Map<Class<?>, Integer> ranks = new HashMap<>();
+        ranks.put(Double.class, NumericOps.DOUBLE);
+        ranks.put(Float.class, NumericOps.FLOAT);
+        ranks.put(Long.class, NumericOps.LONG);
+        ranks.put(Integer.class, NumericOps.INTEGER);
+        ranks.put(Short.class, NumericOps.SHORT);
+        ranks.put(Byte.class, NumericOps.BYTE);
+
+        RANKS = Collections.unmodifiableMap(ranks);
+
+        final Class<?>[] types = { Double.class, Float.class, Long.class,
+                Integer.class, Short.class, Byte.class };
+
+        final NumericOps<?>[][] ops = new NumericOps<?>[types.length][types.length];
+
+        for (int operation = 0; operation < types.length; operation++) {
+
+            for (int result = 0; result < types.length; result++) {
+
+                ops[operation][result] = NumericOps.create(operation,
+                        types[result], result);
+            }
+        }
+
+        TABLE = new NumericOps<?>[UNSUPPORTED + 1][UNSUPPORTED + 1][];
+
+        for (int lhs = 0; lhs <= UNSUPPORTED; lhs++) {
+
+            for (int rhs = 0; rhs <= UNSUPPORTED; rhs++) {
+
+                final int operation = Math.min(lhs, rhs);
+
+                if (operation != UNSUPPORTED) {
+
+                    TABLE[lhs][rhs] = ops[operation];
+                }
+            }
+        }
+    }
+
+
+    private final Class<R> returnType;
+    private final int      returnRank;
+
+
+    /**
+     * Returns the return type.
+     *
+     * @return the return type.
+     */
+    public Class<R> getReturnType() {
+
+        return this.returnType;
+    }
+
+
+    private NumericOps(final Class<R> returnType, final int returnRank) {
+
+        this.returnType = returnType;
+        this.returnRank = returnRank;
+    }
+
+
+    /**
+     * Returns the operations for the provided operand and return types.
+     *
+     * @param <R>
+     *            the {@link Number} type of the results.
+     *
+     * @param lhsType
+     *            the type of the left-hand side operands.
+     * @param rhsType
+     *            the type of the right-hand side operands.
+     * @param returnType
+     *            the return type.
+     * @return the operations.
+     *
+     * @throws UnsupportedOperationException
+     *             if neither operand type is supported, or if the return type
+     *             is not supported.
+     */
+    public static <R extends Number> NumericOps<R> forTypes(
+            final Class<?> lhsType, final Class<?> rhsType,
+            final Class<R> returnType) {
+
+        final NumericOps<R> ops = NumericOps.lookup(lhsType, rhsType,
+                returnType);
+
+        if (ops == null) {
+
+            throw new UnsupportedOperationException(
+                    "Cannot perform arithmetic on values of type " + lhsType
+                            + " and " + rhsType + "!");
+        }
+
+        return ops;
+    }
+
+
+    /**
+     * Returns the operations for the provided operand and return types, or
+     * {@code null}, if neither operand type is supported.
+     *
+     * @param <R>
+     *            the {@link Number} type of the results.
+     *
+     * @param lhsType
+     *            the type of the left-hand side operands.
+     * @param rhsType
+     *            the type of the right-hand side operands.
+     * @param returnType
+     *            the return type.
+     * @return the operations, or {@code null}.
+     *
+     * @throws UnsupportedOperationException
+     *             if the return type is not supported.
+     */
+    @SuppressWarnings("unchecked")
+    static <R extends Number> NumericOps<R> lookup(final Class<?> lhsType,
+            final Class<?> rhsType, final Class<R> returnType) {
+
+        final NumericOps<?>[] ops = TABLE[NumericOps.rank(lhsType)][NumericOps
+                .rank(rhsType)];
+
+        if (ops == null) {
+
+            return null;
+        }
+
+        final int result = NumericOps.rank(returnType);
+
+        if (result == UNSUPPORTED) {
+
+            throw new UnsupportedOperationException(
+                    "Cannot convert number to desired return type "
+                            + returnType + "!");
+        }
+
+        return (NumericOps<R>) ops[result];
+    }
+
+
+    /**
+     * Adds two numbers.
+     *
+     * @param lhs
+     *            the left-hand side.
+     * @param rhs
+     *            the right-hand side.
+     * @return the sum of the numbers.
+     */
+    public abstract R add(final Number lhs, final Number rhs);
+
+
+    /**
+     * Subtracts two numbers.
+     *
+     * @param lhs
+     *            the left-hand side.
+     * @param rhs
+     *            the right-hand side.
+     * @return the difference of the numbers.
+     */
+    public abstract R subtract(final Number lhs, final Number rhs);
+
+
+    /**
+     * Multiplies two numbers.
+     *
+     * @param lhs
+     *            the left-hand side.
+     * @param rhs
+     *            the right-hand side.
+     * @return the product of the numbers.
+     */
+    public abstract R multiply(final Number lhs, final Number rhs);
+
+
+    /**
+     * Divides two numbers.
+     *
+     * @param lhs
+     *            the left-hand side.
+     * @param rhs
+     *            the right-hand side.
+     * @return the quotient of the numbers.
+     */
+    public abstract R divide(final Number lhs, final Number rhs);
+
+
+    @Override
+    public String toString() {
+
+        return this.getClass().getSimpleName() + " [ returnType: "
+                + this.returnType.getSimpleName() + " ]";
+    }
+
+
+    @SuppressWarnings("unchecked")
+    R fromDouble(final double value) {
+
+        final Number result;
+
+        switch (this.returnRank) {
+            case DOUBLE:
+                result = value;
+                break;
+            case FLOAT:
+                result = (float) value;
+                break;
+            case LONG:
+                result = (long) value;
+                break;
+            case INTEGER:
+                result = (int) value;
+                break;
+            case SHORT:
+                result = (short) value;
+                break;
+            default:
+                result = (byte) value;
+                break;
+        }
+
+        return (R) result;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    R fromFloat(final float value) {
+
+        final Number result;
+
+        switch (this.returnRank) {
+            case DOUBLE:
+                result = (double) value;
+                break;
+            case FLOAT:
+                result = value;
+                break;
+            case LONG:
+                result = (long) value;
+                break;
+            case INTEGER:
+                result = (int) value;
+                break;
+            case SHORT:
+                result = (short) value;
+                break;
+            default:
+                result = (byte) value;
+                break;
+        }
+
+        return (R) result;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    R fromLong(final long value) {
+
+        final Number result;
+
+        switch (this.returnRank) {
+            case DOUBLE:
+                result = (double) value;
+                break;
+            case FLOAT:
+                result = (float) value;
+                break;
+            case LONG:
+                result = value;
+                break;
+            case INTEGER:
+                result = (int) value;
+                break;
+            case SHORT:
+                result = (short) value;
+                break;
+            default:
+                result = (byte) value;
+                break;
+        }
+
+        return (R) result;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    R fromInt(final int value) {
+
+        final Number result;
+
+        switch (this.returnRank) {
+            case DOUBLE:
+                result = (double) value;
+                break;
+            case FLOAT:
+                result = (float) value;
+                break;
+            case LONG:
+                result = (long) value;
+                break;
+            case INTEGER:
+                result = value;
+                break;
+            case SHORT:
+                result = (short) value;
+                break;
+            default:
+                result = (byte) value;
+                break;
+        }
+
+        return (R) result;
+    }
+
+
+    private static int rank(final Class<?> type) {
+
+        final Integer rank = RANKS.get(type);
+
+        if (rank == null) {
+
+            return UNSUPPORTED;
+        }
+
+        return rank;
+    }
+
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static NumericOps<?> create(final int operation,
+            final Class<?> returnType, final int returnRank) {
+
+        final Class type = returnType;
+
+        switch (operation) {
+            case DOUBLE:
+                return new DoubleOps<>(type, returnRank);
+            case FLOAT:
+                return new FloatOps<>(type, returnRank);
+            case LONG:
+                return new LongOps<>(type, returnRank);
+            case INTEGER:
+                return new IntegerOps<>(type, returnRank);
+            case SHORT:
+                return new ShortOps<>(type, returnRank);
+            default:
+                return new ByteOps<>(type, returnRank);
+        }
+    }
+
+
+
+    /**
+     * Operations carried out on {@code double} values.
+     */
+    private static final class DoubleOps<R extends Number>
+            extends NumericOps<R> {
+
+        private DoubleOps(final Class<R> returnType, final int returnRank) {
+
+            super(returnType, returnRank);
+        }
+
+
+        @Override
+        public R add(final Number lhs, final Number rhs) {
+
+            return this.fromDouble(lhs.doubleValue() + rhs.doubleValue());
+        }
+
+
+        @Override
+        public R subtract(final Number lhs, final Number rhs) {
+
+            return this.fromDouble(lhs.doubleValue() - rhs.doubleValue());
+        }
+
+
+        @Override
+        public R multiply(final Number lhs, final Number rhs) {
+
+            return this.fromDouble(lhs.doubleValue() * rhs.doubleValue());
+        }
+
+
+        @Override
+        public R divide(final Number lhs, final Number rhs) {
+
+            return this.fromDouble(lhs.doubleValue() / rhs.doubleValue());
+        }
+    }
+
+
+
+    /**
+     * Operations carried out on {@code float} values.
+     */
+    private static final class FloatOps<R extends Number>
+            extends NumericOps<R> {
+
+        private FloatOps(final Class<R> returnType, final int returnRank) {
+
+            super(returnType, returnRank);
+        }
+
+
+        @Override
+        public R add(final Number lhs, final Number rhs) {
+
+            return this.fromFloat(lhs.floatValue() + rhs.floatValue());
+        }
+
+
+        @Override
+        public R subtract(final Number lhs, final Number rhs) {
+
+            return this.fromFloat(lhs.floatValue() - rhs.floatValue());
+        }
+
+
+        @Override
+        public R multiply(final Number lhs, final Number rhs) {
+
+            return this.fromFloat(lhs.floatValue() * rhs.floatValue());
+        }
+
+
+        @Override
+        public R divide(final Number lhs, final Number rhs) {
+
+            return this.fromFloat(lhs.floatValue() / rhs.floatValue());
+        }
+    }
+
+
+
+    /**
+     * Operations carried out on {@code long} values.
+     */
+    private static final class LongOps<R extends Number>
+            extends NumericOps<R> {
+
+        private LongOps(final Class<R> returnType, final int returnRank) {
+
+            super(returnType, returnRank);
+        }
+
+
+        @Override
+        public R add(final Number lhs, final Number rhs) {
+
+            return this.fromLong(lhs.longValue() + rhs.longValue());
+        }
+
+
+        @Override
+        public R subtract(final Number lhs, final Number rhs) {
+
+            return this.fromLong(lhs.longValue() - rhs.longValue());
+        }
+
+
+        @Override
+        public R multiply(final Number lhs, final Number rhs) {
+
+            return this.fromLong(lhs.longValue() * rhs.longValue());
+        }
+
+
+        @Override
+        public R divide(final Number lhs, final Number rhs) {
+
+            return this.fromLong(lhs.longValue() / rhs.longValue());
+        }
+    }
+
+
+
+    /**
+     * Operations carried out on {@code int} values.
+     */
+    private static final class IntegerOps<R extends Number>
+            extends NumericOps<R> {
+
+        private IntegerOps(final Class<R> returnType, final int returnRank) {
+
+            super(returnType, returnRank);
+        }
+
+
+        @Override
+        public R add(final Number lhs, final Number rhs) {
+
+            return this.fromInt(lhs.intValue() + rhs.intValue());
+        }
+
+
+        @Override
+        public R subtract(final Number lhs, final Number rhs) {
+
+            return this.fromInt(lhs.intValue() - rhs.intValue());
+        }
+
+
+        @Override
+        public R multiply(final Number lhs, final Number rhs) {
+
+            return this.fromInt(lhs.intValue() * rhs.intValue());
+        }
+
+
+        @Override
+        public R divide(final Number lhs, final Number rhs) {
+
+            return this.fromInt(lhs.intValue() / rhs.intValue());
+        }
+    }
+
+
+
+    /**
+     * Operations carried out on {@code short} values.
+     */
+    private static final class ShortOps<R extends Number>
+            extends NumericOps<R> {
+
+        private ShortOps(final Class<R> returnType, final int returnRank) {
+
+            super(returnType, returnRank);
+        }
+
+
+        @Override
+        public R add(final Number lhs, final Number rhs) {
+
+            return this.fromInt((short) (lhs.shortValue() + rhs.shortValue()));
+        }
+
+
+        @Override
+        public R subtract(final Number lhs, final Number rhs) {
+
+            return this.fromInt((short) (lhs.shortValue() - rhs.shortValue()));
+        }
+
+
+        @Override
+        public R multiply(final Number lhs, final Number rhs) {
+
+            return this.fromInt((short) (lhs.shortValue() * rhs.shortValue()));
+        }
+
+
+        @Override
+        public R divide(final Number lhs, final Number rhs) {
+
+            return this.fromInt((short) (lhs.shortValue() / rhs.shortValue()));
+        }
+    }
+
+
+
+    /**
+     * Operations carried out on {@code byte} values.
+     */
+    private static final class ByteOps<R extends Number>
+            extends NumericOps<R> {
+
+        private ByteOps(final Class<R> returnType, final int returnRank) {
+
+            super(returnType, returnRank);
+        }
+
+
+        @Override
+        public R add(final Number lhs, final Number rhs) {
+
+            return this.fromInt((byte) (lhs.byteValue() + rhs.byteValue()));
+        }
+
+
+        @Override
+        public R subtract(final Number lhs, final Number rhs) {
+
+            return this.fromInt((byte) (lhs.byteValue() - rhs.byteValue()));
+        }
+
+
+        @Override
+        public R multiply(final Number lhs, final Number rhs) {
+
+            return this.fromInt((byte) (lhs.byteValue() * rhs.byteValue()));
+        }
+
+
+        @Override
+        public R divide(final Number lhs, final Number rhs) {
+
+            return this.fromInt((byte) (lhs.byteValue() / rhs.byteValue()));
+        }
+    }
+}
@@ -27,12 +27,15 @@ package org.jutility.math.geometry;
 
 
 
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.jutility.common.datatype.util.NumberComparator;
 import org.jutility.common.datatype.util.NumberUtils;
 import org.jutility.math.arithmetics.ArithmeticOperations;
+import org.jutility.math.vectoralgebra.DoubleMatrix4;
+import org.jutility.math.vectoralgebra.FloatMatrix4;
 import org.jutility.math.vectoralgebra.IMatrix4;
 import org.jutility.math.vectoralgebra.IPoint4;
 import org.jutility.math.vectoralgebra.ITuple4;
@@ -1789,6 +1792,14 @@ public final class GeometricOperations {
             final Number tx, final Number ty, final Number tz,
             Class<? extends R> returnType) {
 
+        if (GeometricOperations.isPrimitiveType(returnType)) {
+
+            return GeometricOperations.primitiveMatrix(returnType, new double[] {
+                    1, 0, 0, 0,
+                    0, 1, 0, 0,
+                    0, 0, 1, 0,
+                    tx.doubleValue(), ty.doubleValue(), tz.doubleValue(), 1 });
+        }
 
         return new Matrix4<>(Vector4.iUnitVector(returnType),
                 Vector4.jUnitVector(returnType),
@@ -1860,9 +1871,12 @@ public final class GeometricOperations {
             final Number tx, final Number ty, final Number tz,
             Class<? extends R> returnType) {
 
-        Number minusTx = ArithmeticOperations.subtract(0, tx);
-        Number minusTy = ArithmeticOperations.subtract(0, ty);
-        Number minusTz = ArithmeticOperations.subtract(0, tz);
+        Number minusTx = ArithmeticOperations.subtract(0, tx,
+                tx.getClass());
+        Number minusTy = ArithmeticOperations.subtract(0, ty,
+                ty.getClass());
+        Number minusTz = ArithmeticOperations.subtract(0, tz,
+                tz.getClass());
 
         return GeometricOperations.translationMatrix(minusTx, minusTy, minusTz,
                 returnType);
@@ -1930,6 +1944,15 @@ public final class GeometricOperations {
             final Number sx, final Number sy, final Number sz,
             final Class<? extends R> returnType) {
 
+        if (GeometricOperations.isPrimitiveType(returnType)) {
+
+            return GeometricOperations.primitiveMatrix(returnType, new double[] {
+                    sx.doubleValue(), 0, 0, 0,
+                    0, sy.doubleValue(), 0, 0,
+                    0, 0, sz.doubleValue(), 0,
+                    0, 0, 0, 1 });
+        }
+
         List<Class<? extends Number>> classes = new ArrayList<>(3);
         classes.add(sx.getClass());
         classes.add(sy.getClass());
@@ -2010,9 +2033,9 @@ public final class GeometricOperations {
             final Class<? extends R> returnType) {
 
         return GeometricOperations.scalingMatrix(
-                ArithmeticOperations.divide(1, sx),
-                ArithmeticOperations.divide(1, sy),
-                ArithmeticOperations.divide(1, sz), returnType);
+                ArithmeticOperations.divide(1.0, sx),
+                ArithmeticOperations.divide(1.0, sy),
+                ArithmeticOperations.divide(1.0, sz), returnType);
     }
 
 
@@ -2124,6 +2147,41 @@ public final class GeometricOperations {
             final Number shearCoefficient, final ShearComponent shearComponent,
             Class<? extends R> returnType) {
 
+        if (GeometricOperations.isPrimitiveType(returnType)) {
+
+            final double[] columns = new double[] {
+                    1, 0, 0, 0,
+                    0, 1, 0, 0,
+                    0, 0, 1, 0,
+                    0, 0, 0, 1 };
+
+            switch (shearComponent) {
+                case X_BY_Y:
+                    columns[4] = shearCoefficient.doubleValue();
+                    break;
+                case X_BY_Z:
+                    columns[8] = shearCoefficient.doubleValue();
+                    break;
+                case Y_BY_X:
+                    columns[1] = shearCoefficient.doubleValue();
+                    break;
+                case Y_BY_Z:
+                    columns[9] = shearCoefficient.doubleValue();
+                    break;
+                case Z_BY_X:
+                    columns[2] = shearCoefficient.doubleValue();
+                    break;
+                case Z_BY_Y:
+                    columns[6] = shearCoefficient.doubleValue();
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "Cannot shear by provided component!");
+            }
+
+            return GeometricOperations.primitiveMatrix(returnType, columns);
+        }
+
         IVector4<? extends Number> i;
         IVector4<? extends Number> j;
         IVector4<? extends Number> k;
@@ -2230,7 +2288,8 @@ public final class GeometricOperations {
             final Class<? extends R> returnType) {
 
         return GeometricOperations.shearMatrix(
-                ArithmeticOperations.subtract(0, shearCoefficient),
+                ArithmeticOperations.subtract(0, shearCoefficient,
+                        shearCoefficient.getClass()),
                 shearComponent, returnType);
     }
 
@@ -2376,6 +2435,12 @@ public final class GeometricOperations {
             final ITuple4<?> rotationAxis, final Number rotationAngle,
             final Class<? extends R> returnType) {
 
+        if (GeometricOperations.isPrimitiveType(returnType)) {
+
+            return GeometricOperations.primitiveRotationMatrix(rotationAxis,
+                    rotationAngle, returnType);
+        }
+
         Double cos = Math.cos(NumberUtils.cast(rotationAngle, Double.class));
         Double sin = Math.sin(NumberUtils.cast(rotationAngle, Double.class));
 
@@ -3535,4 +3600,274 @@ public final class GeometricOperations {
         return new Rotation<>(axis.getX(), axis.getY(), axis.getZ(), angle,
                 returnType);
     }
+
+
+    /**
+     * Transforms the packed tuples in place by the provided {@link IMatrix4
+     * Matrix}.
+     * <p>
+     * Tuples are packed as consecutive {@code x, y, z, w} quadruples. The
+     * matrix is converted to a {@link DoubleMatrix4} once and applied to the
+     * whole array.
+     * </p>
+     *
+     * @param points
+     *            the packed tuples to transform.
+     * @param matrix
+     *            the transformation {@link IMatrix4 Matrix}.
+     */
+    public static void transform(final double[] points,
+            final IMatrix4<?> matrix) {
+
+        GeometricOperations.transform(points, points, matrix);
+    }
+
+
+    /**
+     * Transforms the packed source tuples by the provided {@link IMatrix4
+     * Matrix} into the destination array.
+     * <p>
+     * Tuples are packed as consecutive {@code x, y, z, w} quadruples. The
+     * matrix is converted to a {@link DoubleMatrix4} once and applied to the
+     * whole array.
+     * </p>
+     *
+     * @param source
+     *            the packed tuples to transform.
+     * @param destination
+     *            the array receiving the transformed tuples (may be the source
+     *            array).
+     * @param matrix
+     *            the transformation {@link IMatrix4 Matrix}.
+     */
+    public static void transform(final double[] source,
+            final double[] destination, final IMatrix4<?> matrix) {
+
+        if (source == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot transform without a source array!");
+        }
+        if (source.length % 4 != 0) {
+
+            throw new IllegalArgumentException("Source array of length "
+                    + source.length + " does not hold packed 4-tuples!");
+        }
+        if (matrix == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot transform without a matrix!");
+        }
+
+        DoubleMatrix4.valueOf(matrix).transform(source, 0, destination, 0,
+                source.length / 4);
+    }
+
+
+    /**
+     * Transforms the packed tuples remaining in the source buffer by the
+     * provided {@link IMatrix4 Matrix} into the destination buffer.
+     * <p>
+     * Tuples are packed as consecutive {@code x, y, z, w} quadruples. The
+     * positions of both buffers are advanced past the transformed tuples.
+     * </p>
+     *
+     * @param source
+     *            the packed tuples to transform.
+     * @param destination
+     *            the buffer receiving the transformed tuples.
+     * @param matrix
+     *            the transformation {@link IMatrix4 Matrix}.
+     */
+    public static void transform(final DoubleBuffer source,
+            final DoubleBuffer destination, final IMatrix4<?> matrix) {
+
+        if (matrix == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot transform without a matrix!");
+        }
+
+        DoubleMatrix4.valueOf(matrix).transform(source, destination);
+    }
+
+
+    /**
+     * Translates the packed tuples in place by the provided
+     * {@link ITranslation Translation}.
+     *
+     * @param points
+     *            the packed tuples to translate.
+     * @param translation
+     *            the {@link ITranslation Translation}.
+     */
+    public static void translate(final double[] points,
+            final ITranslation<?> translation) {
+
+        GeometricOperations.transform(points, GeometricOperations
+                .translationMatrix(translation, Double.class));
+    }
+
+
+    /**
+     * Scales the packed tuples in place by the provided {@link IScaleFactor
+     * ScaleFactor}.
+     *
+     * @param points
+     *            the packed tuples to scale.
+     * @param scaleFactor
+     *            the {@link IScaleFactor ScaleFactor}.
+     */
+    public static void scale(final double[] points,
+            final IScaleFactor<?> scaleFactor) {
+
+        GeometricOperations.transform(points,
+                GeometricOperations.scalingMatrix(scaleFactor, Double.class));
+    }
+
+
+    /**
+     * Shears the packed tuples in place by the provided {@link IShearFactor
+     * ShearFactor}.
+     *
+     * @param points
+     *            the packed tuples to shear.
+     * @param shearFactor
+     *            the {@link IShearFactor ShearFactor}.
+     */
+    public static void shear(final double[] points,
+            final IShearFactor<?> shearFactor) {
+
+        GeometricOperations.transform(points,
+                GeometricOperations.shearMatrix(shearFactor, Double.class));
+    }
+
+
+    /**
+     * Rotates the packed tuples in place by the provided {@link IRotation
+     * Angle-Axis Rotation}.
+     *
+     * @param points
+     *            the packed tuples to rotate.
+     * @param rotation
+     *            the {@link IRotation Angle-Axis Rotation}.
+     */
+    public static void rotate(final double[] points,
+            final IRotation<?> rotation) {
+
+        GeometricOperations.transform(points,
+                GeometricOperations.rotationMatrix(rotation, Double.class));
+    }
+
+
+    /**
+     * Determines whether {@link IMatrix4 Matrices} of the provided type are
+     * created as primitive-backed {@link DoubleMatrix4} or
+     * {@link FloatMatrix4} instances.
+     *
+     * @param type
+     *            the type.
+     * @return {@code true}, if the type is {@link Double} or {@link Float};
+     *         {@code false} otherwise.
+     */
+    private static boolean isPrimitiveType(final Class<? extends Number> type) {
+
+        return Double.class.equals(type) || Float.class.equals(type);
+    }
+
+
+    /**
+     * Creates a primitive-backed {@link IMatrix4 Matrix} of the provided type
+     * from the provided column-major components.
+     *
+     * @param <R>
+     *            the {@link Number} type of the {@link IMatrix4 Matrix}.
+     *
+     * @param returnType
+     *            the desired return type ({@link Double} or {@link Float}).
+     * @param columns
+     *            the sixteen components in column-major order.
+     * @return the {@link IMatrix4 Matrix}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R extends Number> IMatrix4<R> primitiveMatrix(
+            final Class<? extends R> returnType, final double[] columns) {
+
+        if (Double.class.equals(returnType)) {
+
+            return (IMatrix4<R>) new DoubleMatrix4(columns[0], columns[1],
+                    columns[2], columns[3], columns[4], columns[5],
+                    columns[6], columns[7], columns[8], columns[9],
+                    columns[10], columns[11], columns[12], columns[13],
+                    columns[14], columns[15]);
+        }
+
+        return (IMatrix4<R>) new FloatMatrix4((float) columns[0],
+                (float) columns[1], (float) columns[2], (float) columns[3],
+                (float) columns[4], (float) columns[5], (float) columns[6],
+                (float) columns[7], (float) columns[8], (float) columns[9],
+                (float) columns[10], (float) columns[11],
+                (float) columns[12], (float) columns[13],
+                (float) columns[14], (float) columns[15]);
+    }
+
+
+    /**
+     * Creates the primitive-backed rotation {@link IMatrix4 Matrix} for a
+     * rotation around the provided rotation {@link IVector4 Axis} by the
+     * provided angle.
+     *
+     * @param <R>
+     *            the {@link Number} type of the rotation {@link IMatrix4
+     *            Matrix}.
+     *
+     * @param rotationAxis
+     *            the {@link IVector4 Axis} of rotation.
+     * @param rotationAngle
+     *            the rotation angle.
+     * @param returnType
+     *            the desired return type ({@link Double} or {@link Float}).
+     * @return the rotation {@link IMatrix4 Matrix}.
+     */
+    private static <R extends Number> IMatrix4<R> primitiveRotationMatrix(
+            final ITuple4<?> rotationAxis, final Number rotationAngle,
+            final Class<? extends R> returnType) {
+
+        final double cos = Math.cos(rotationAngle.doubleValue());
+        final double sin = Math.sin(rotationAngle.doubleValue());
+
+        final double oneMinusCos = 1.0 - cos;
+
+        final double ux = rotationAxis.getX().doubleValue();
+        final double uy = rotationAxis.getY().doubleValue();
+        final double uz = rotationAxis.getZ().doubleValue();
+
+        //CHECKSTYLE:OFF LocalVariableName LocalFinalVariableName
+        final double uy_ux = uy * ux;
+        final double uz_ux = uz * ux;
+        final double uy_uz = uy * uz;
+
+        final double ux_sin = ux * sin;
+        final double uy_sin = uy * sin;
+        final double uz_sin = uz * sin;
+        //CHECKSTYLE:ON LocalVariableName LocalFinalVariableName
+
+        return GeometricOperations.primitiveMatrix(returnType, new double[] {
+                oneMinusCos * (ux * ux) + cos,
+                uy_ux * oneMinusCos + uz_sin,
+                uz_ux * oneMinusCos - uy_sin,
+                0,
+
+                uy_ux * oneMinusCos - uz_sin,
+                (uy * uy) * oneMinusCos + cos,
+                uy_uz * oneMinusCos + ux_sin,
+                0,
+
+                uz_ux * oneMinusCos + uy_sin,
+                uy_uz * oneMinusCos - ux_sin,
+                (uz * uz) * oneMinusCos + cos,
+                0,
+
+                0, 0, 0, 1 });
+    }
 }
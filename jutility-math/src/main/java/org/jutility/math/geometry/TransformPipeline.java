@@ -0,0 +1,515 @@
+package org.jutility.math.geometry;
+
+
+//@formatter:off
+/*
+* #%L
+ * * jutility-math
+ * *
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * *
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+*/
+//@formatter:on
+
+
+import org.jutility.math.vectoralgebra.DoubleMatrix4;
+import org.jutility.math.vectoralgebra.IMatrix4;
+import org.jutility.math.vectoralgebra.IPoint4;
+import org.jutility.math.vectoralgebra.ITuple4;
+import org.jutility.math.vectoralgebra.IVector4;
+import org.jutility.math.vectoralgebra.VectorAlgebraicOperations;
+
+
+/**
+ * The {@code TransformPipeline} class composes a chain of
+ * {@link ITranslation Translations}, {@link IRotation Rotations},
+ * {@link IScaleFactor Scale Factors} and {@link IShearFactor Shear Factors}
+ * into a single transformation {@link IMatrix4 Matrix}.
+ * <p>
+ * Steps are applied in the order in which they are added. The composed matrix
+ * and its inverse are folded eagerly as steps are added, so applying (or
+ * reverting) the pipeline costs a single matrix multiplication per point,
+ * regardless of the number of steps.
+ * </p>
+ * <p>
+ * Instances are not thread-safe while steps are being added; once built, a
+ * pipeline can be applied concurrently.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class TransformPipeline {
+
+
+    private DoubleMatrix4 matrix;
+    private DoubleMatrix4 inverseMatrix;
+
+
+    /**
+     * Returns the composed transformation {@link IMatrix4 Matrix}.
+     *
+     * @return the composed transformation {@link IMatrix4 Matrix}.
+     */
+    public DoubleMatrix4 getMatrix() {
+
+        return this.matrix;
+    }
+
+
+    /**
+     * Returns the inverse of the composed transformation {@link IMatrix4
+     * Matrix}.
+     *
+     * @return the inverse transformation {@link IMatrix4 Matrix}.
+     */
+    public DoubleMatrix4 getInverseMatrix() {
+
+        return this.inverseMatrix;
+    }
+
+
+    /**
+     * Creates a new instance of the {@code TransformPipeline} class that does
+     * not perform any transformation.
+     */
+    public TransformPipeline() {
+
+        this.matrix = DoubleMatrix4.identity();
+        this.inverseMatrix = DoubleMatrix4.identity();
+    }
+
+
+    /**
+     * Appends a {@link ITranslation Translation} to the pipeline.
+     *
+     * @param translation
+     *            the {@link ITranslation Translation}.
+     * @return this pipeline.
+     */
+    public TransformPipeline translate(final ITranslation<?> translation) {
+
+        return this.append(
+                GeometricOperations.translationMatrix(translation,
+                        Double.class),
+                GeometricOperations.inverseTranslationMatrix(translation,
+                        Double.class));
+    }
+
+
+    /**
+     * Appends a {@link IRotation Rotation} to the pipeline.
+     *
+     * @param rotation
+     *            the {@link IRotation Rotation}.
+     * @return this pipeline.
+     */
+    public TransformPipeline rotate(final IRotation<?> rotation) {
+
+        return this.append(
+                GeometricOperations.rotationMatrix(rotation, Double.class),
+                GeometricOperations.inverseRotationMatrix(rotation,
+                        Double.class));
+    }
+
+
+    /**
+     * Appends a rotation around the x-axis to the pipeline.
+     *
+     * @param rotationAngle
+     *            the rotation angle.
+     * @return this pipeline.
+     */
+    public TransformPipeline rotateX(final Number rotationAngle) {
+
+        return this.append(
+                GeometricOperations.xRotationMatrix(rotationAngle,
+                        Double.class),
+                GeometricOperations.inverseXRotationMatrix(rotationAngle,
+                        Double.class));
+    }
+
+
+    /**
+     * Appends a rotation around the y-axis to the pipeline.
+     *
+     * @param rotationAngle
+     *            the rotation angle.
+     * @return this pipeline.
+     */
+    public TransformPipeline rotateY(final Number rotationAngle) {
+
+        return this.append(
+                GeometricOperations.yRotationMatrix(rotationAngle,
+                        Double.class),
+                GeometricOperations.inverseYRotationMatrix(rotationAngle,
+                        Double.class));
+    }
+
+
+    /**
+     * Appends a rotation around the z-axis to the pipeline.
+     *
+     * @param rotationAngle
+     *            the rotation angle.
+     * @return this pipeline.
+     */
+    public TransformPipeline rotateZ(final Number rotationAngle) {
+
+        return this.append(
+                GeometricOperations.zRotationMatrix(rotationAngle,
+                        Double.class),
+                GeometricOperations.inverseZRotationMatrix(rotationAngle,
+                        Double.class));
+    }
+
+
+    /**
+     * Appends a {@link IScaleFactor Scaling} to the pipeline.
+     *
+     * @param scaleFactor
+     *            the {@link IScaleFactor Scale Factor}.
+     * @return this pipeline.
+     */
+    public TransformPipeline scale(final IScaleFactor<?> scaleFactor) {
+
+        return this.append(
+                GeometricOperations.scalingMatrix(scaleFactor, Double.class),
+                GeometricOperations.inverseScalingMatrix(scaleFactor,
+                        Double.class));
+    }
+
+
+    /**
+     * Appends a {@link IShearFactor Shear} to the pipeline.
+     *
+     * @param shearFactor
+     *            the {@link IShearFactor Shear Factor}.
+     * @return this pipeline.
+     */
+    public TransformPipeline shear(final IShearFactor<?> shearFactor) {
+
+        return this.append(
+                GeometricOperations.shearMatrix(shearFactor, Double.class),
+                GeometricOperations.inverseShearMatrix(shearFactor,
+                        Double.class));
+    }
+
+
+    /**
+     * Appends all steps of the provided pipeline to this pipeline.
+     *
+     * @param pipeline
+     *            the pipeline to append.
+     * @return this pipeline.
+     */
+    public TransformPipeline append(final TransformPipeline pipeline) {
+
+        if (pipeline == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot append a missing pipeline!");
+        }
+
+        return this.append(pipeline.matrix, pipeline.inverseMatrix);
+    }
+
+
+    /**
+     * Applies the pipeline to the provided {@link IPoint4 Point}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link IPoint4 Point}.
+     *
+     * @param point
+     *            the {@link IPoint4 Point} to transform.
+     * @return the transformed {@link IPoint4 Point}.
+     */
+    public <T extends Number> IPoint4<T> apply(final IPoint4<T> point) {
+
+        return VectorAlgebraicOperations.multiply(this.matrix, point,
+                point.getType());
+    }
+
+
+    /**
+     * Applies the pipeline to the provided {@link IVector4 Vector}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link IVector4 Vector}.
+     *
+     * @param vector
+     *            the {@link IVector4 Vector} to transform.
+     * @return the transformed {@link IVector4 Vector}.
+     */
+    public <T extends Number> IVector4<T> apply(final IVector4<T> vector) {
+
+        return VectorAlgebraicOperations.multiply(this.matrix, vector,
+                vector.getType());
+    }
+
+
+    /**
+     * Applies the pipeline to the provided {@link ITuple4 Tuple}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link ITuple4 Tuple}.
+     *
+     * @param tuple
+     *            the {@link ITuple4 Tuple} to transform.
+     * @return the transformed {@link ITuple4 Tuple}.
+     */
+    public <T extends Number> ITuple4<T> apply(final ITuple4<T> tuple) {
+
+        return VectorAlgebraicOperations.multiply(this.matrix, tuple,
+                tuple.getType());
+    }
+
+
+    /**
+     * Applies the pipeline to the provided {@link ILine4 Line}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link ILine4 Line}.
+     *
+     * @param line
+     *            the {@link ILine4 Line} to transform.
+     * @return the transformed {@link ILine4 Line}.
+     */
+    public <T extends Number> ILine4<T> apply(final ILine4<T> line) {
+
+        return TransformPipeline.transform(this.matrix, line);
+    }
+
+
+    /**
+     * Applies the pipeline to the provided {@link IPolyLine4 PolyLine}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link IPolyLine4 PolyLine}.
+     *
+     * @param polyLine
+     *            the {@link IPolyLine4 PolyLine} to transform.
+     * @return the transformed {@link IPolyLine4 PolyLine}.
+     */
+    public <T extends Number> IPolyLine4<T> apply(
+            final IPolyLine4<T> polyLine) {
+
+        return TransformPipeline.transform(this.matrix, polyLine);
+    }
+
+
+    /**
+     * Applies the pipeline to the provided {@link IPolygon4 Polygon}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link IPolygon4 Polygon}.
+     *
+     * @param polygon
+     *            the {@link IPolygon4 Polygon} to transform.
+     * @return the transformed {@link IPolygon4 Polygon}.
+     */
+    public <T extends Number> IPolygon4<T> apply(final IPolygon4<T> polygon) {
+
+        return TransformPipeline.transform(this.matrix, polygon);
+    }
+
+
+    /**
+     * Applies the pipeline in place to the packed tuples.
+     *
+     * @param points
+     *            the packed {@code x, y, z, w} tuples to transform.
+     */
+    public void apply(final double[] points) {
+
+        GeometricOperations.transform(points, this.matrix);
+    }
+
+
+    /**
+     * Reverts the pipeline for the provided {@link IPoint4 Point}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link IPoint4 Point}.
+     *
+     * @param point
+     *            the {@link IPoint4 Point} to transform.
+     * @return the transformed {@link IPoint4 Point}.
+     */
+    public <T extends Number> IPoint4<T> revert(final IPoint4<T> point) {
+
+        return VectorAlgebraicOperations.multiply(this.inverseMatrix, point,
+                point.getType());
+    }
+
+
+    /**
+     * Reverts the pipeline for the provided {@link IVector4 Vector}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link IVector4 Vector}.
+     *
+     * @param vector
+     *            the {@link IVector4 Vector} to transform.
+     * @return the transformed {@link IVector4 Vector}.
+     */
+    public <T extends Number> IVector4<T> revert(final IVector4<T> vector) {
+
+        return VectorAlgebraicOperations.multiply(this.inverseMatrix, vector,
+                vector.getType());
+    }
+
+
+    /**
+     * Reverts the pipeline for the provided {@link ITuple4 Tuple}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link ITuple4 Tuple}.
+     *
+     * @param tuple
+     *            the {@link ITuple4 Tuple} to transform.
+     * @return the transformed {@link ITuple4 Tuple}.
+     */
+    public <T extends Number> ITuple4<T> revert(final ITuple4<T> tuple) {
+
+        return VectorAlgebraicOperations.multiply(this.inverseMatrix, tuple,
+                tuple.getType());
+    }
+
+
+    /**
+     * Reverts the pipeline for the provided {@link ILine4 Line}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link ILine4 Line}.
+     *
+     * @param line
+     *            the {@link ILine4 Line} to transform.
+     * @return the transformed {@link ILine4 Line}.
+     */
+    public <T extends Number> ILine4<T> revert(final ILine4<T> line) {
+
+        return TransformPipeline.transform(this.inverseMatrix, line);
+    }
+
+
+    /**
+     * Reverts the pipeline for the provided {@link IPolyLine4 PolyLine}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link IPolyLine4 PolyLine}.
+     *
+     * @param polyLine
+     *            the {@link IPolyLine4 PolyLine} to transform.
+     * @return the transformed {@link IPolyLine4 PolyLine}.
+     */
+    public <T extends Number> IPolyLine4<T> revert(
+            final IPolyLine4<T> polyLine) {
+
+        return TransformPipeline.transform(this.inverseMatrix, polyLine);
+    }
+
+
+    /**
+     * Reverts the pipeline for the provided {@link IPolygon4 Polygon}.
+     *
+     * @param <T>
+     *            the {@link Number} type of the {@link IPolygon4 Polygon}.
+     *
+     * @param polygon
+     *            the {@link IPolygon4 Polygon} to transform.
+     * @return the transformed {@link IPolygon4 Polygon}.
+     */
+    public <T extends Number> IPolygon4<T> revert(final IPolygon4<T> polygon) {
+
+        return TransformPipeline.transform(this.inverseMatrix, polygon);
+    }
+
+
+    /**
+     * Reverts the pipeline in place for the packed tuples.
+     *
+     * @param points
+     *            the packed {@code x, y, z, w} tuples to transform.
+     */
+    public void revert(final double[] points) {
+
+        GeometricOperations.transform(points, this.inverseMatrix);
+    }
+
+
+    @Override
+    public String toString() {
+
+        return "TransformPipeline [ " + this.matrix + " ]";
+    }
+
+
+    private TransformPipeline append(final IMatrix4<?> stepMatrix,
+            final IMatrix4<?> inverseStepMatrix) {
+
+        this.matrix = DoubleMatrix4.valueOf(stepMatrix).multiply(this.matrix);
+        this.inverseMatrix = this.inverseMatrix.multiply(inverseStepMatrix);
+
+        return this;
+    }
+
+
+    private static <T extends Number> ILine4<T> transform(
+            final DoubleMatrix4 matrix, final ILine4<T> line) {
+
+        final Class<? extends T> type = line.getType();
+
+        return new Line4<>(VectorAlgebraicOperations.multiply(matrix,
+                line.getSource(), type), VectorAlgebraicOperations.multiply(
+                matrix, line.getSink(), type), type);
+    }
+
+
+    private static <T extends Number> IPolyLine4<T> transform(
+            final DoubleMatrix4 matrix, final IPolyLine4<T> polyLine) {
+
+        final Class<? extends T> type = polyLine.getType();
+        final PolyLine4<T> transformed = new PolyLine4<>(type);
+
+        for (final IPoint4<T> point : polyLine.getPoints()) {
+
+            transformed.addPoint(VectorAlgebraicOperations.multiply(matrix,
+                    point, type));
+        }
+
+        return transformed;
+    }
+
+
+    private static <T extends Number> IPolygon4<T> transform(
+            final DoubleMatrix4 matrix, final IPolygon4<T> polygon) {
+
+        final Class<? extends T> type = polygon.getType();
+        final Polygon4<T> transformed = new Polygon4<>(type);
+
+        for (final IPoint4<T> point : polygon.getPoints()) {
+
+            transformed.addPoint(VectorAlgebraicOperations.multiply(matrix,
+                    point, type));
+        }
+
+        return transformed;
+    }
+}
@@ -0,0 +1,662 @@
+package org.jutility.math.vectoralgebra;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+
+
+/**
+ * The {@code DoubleMatrix4} class provides an implementation of the
+ * {@link IMatrix4} interface that stores its sixteen components as primitive
+ * {@code double} values.
+ * <p>
+ * Multiplications with other matrices and tuples are carried out on the
+ * primitive values without boxing; {@link VectorAlgebraicOperations} dispatches
+ * to them whenever a primitive-backed operand is involved.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class DoubleMatrix4
+        implements IMatrix4<Double>, Serializable {
+
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 6010553404212232751L;
+
+
+    private final double      ix;
+    private final double      iy;
+    private final double      iz;
+    private final double      iw;
+
+    private final double      jx;
+    private final double      jy;
+    private final double      jz;
+    private final double      jw;
+
+    private final double      kx;
+    private final double      ky;
+    private final double      kz;
+    private final double      kw;
+
+    private final double      sx;
+    private final double      sy;
+    private final double      sz;
+    private final double      sw;
+
+
+    /**
+     * Returns the identity matrix.
+     *
+     * @return the identity matrix.
+     */
+    public static DoubleMatrix4 identity() {
+
+        return new DoubleMatrix4(1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0,
+                1);
+    }
+
+
+    /**
+     * Returns a {@code DoubleMatrix4} with the values of the provided matrix.
+     * If the provided matrix already is a {@code DoubleMatrix4}, it is
+     * returned as is.
+     *
+     * @param matrix
+     *            the matrix.
+     * @return a {@code DoubleMatrix4} with the values of the provided matrix.
+     */
+    public static DoubleMatrix4 valueOf(final IMatrix4<?> matrix) {
+
+        if (matrix instanceof DoubleMatrix4) {
+
+            return (DoubleMatrix4) matrix;
+        }
+
+        return new DoubleMatrix4(matrix);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code DoubleMatrix4} class with the
+     * provided components in column-major order.
+     *
+     * @param ix
+     *            the x component of the first column.
+     * @param iy
+     *            the y component of the first column.
+     * @param iz
+     *            the z component of the first column.
+     * @param iw
+     *            the w component of the first column.
+     * @param jx
+     *            the x component of the second column.
+     * @param jy
+     *            the y component of the second column.
+     * @param jz
+     *            the z component of the second column.
+     * @param jw
+     *            the w component of the second column.
+     * @param kx
+     *            the x component of the third column.
+     * @param ky
+     *            the y component of the third column.
+     * @param kz
+     *            the z component of the third column.
+     * @param kw
+     *            the w component of the third column.
+     * @param sx
+     *            the x component of the fourth column.
+     * @param sy
+     *            the y component of the fourth column.
+     * @param sz
+     *            the z component of the fourth column.
+     * @param sw
+     *            the w component of the fourth column.
+     */
+    public DoubleMatrix4(final double ix, final double iy, final double iz,
+            final double iw, final double jx, final double jy,
+            final double jz, final double jw, final double kx,
+            final double ky, final double kz, final double kw,
+            final double sx, final double sy, final double sz,
+            final double sw) {
+
+        this.ix = ix;
+        this.iy = iy;
+        this.iz = iz;
+        this.iw = iw;
+
+        this.jx = jx;
+        this.jy = jy;
+        this.jz = jz;
+        this.jw = jw;
+
+        this.kx = kx;
+        this.ky = ky;
+        this.kz = kz;
+        this.kw = kw;
+
+        this.sx = sx;
+        this.sy = sy;
+        this.sz = sz;
+        this.sw = sw;
+    }
+
+
+    /**
+     * Creates a new instance of the {@code DoubleMatrix4} class with the
+     * provided columns.
+     *
+     * @param i
+     *            The first column of the matrix.
+     * @param j
+     *            The second column of the matrix.
+     * @param k
+     *            The third column of the matrix.
+     * @param s
+     *            The fourth column of the matrix.
+     */
+    public DoubleMatrix4(final ITuple4<? extends Number> i,
+            final ITuple4<? extends Number> j,
+            final ITuple4<? extends Number> k,
+            final ITuple4<? extends Number> s) {
+
+        if (i == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a matrix with missing I component!");
+        }
+        if (j == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a matrix with missing J component!");
+        }
+        if (k == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a matrix with missing K component!");
+        }
+        if (s == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a matrix with missing S component!");
+        }
+
+        this.ix = DoubleTuple4.xValue(i);
+        this.iy = DoubleTuple4.yValue(i);
+        this.iz = DoubleTuple4.zValue(i);
+        this.iw = DoubleTuple4.wValue(i);
+
+        this.jx = DoubleTuple4.xValue(j);
+        this.jy = DoubleTuple4.yValue(j);
+        this.jz = DoubleTuple4.zValue(j);
+        this.jw = DoubleTuple4.wValue(j);
+
+        this.kx = DoubleTuple4.xValue(k);
+        this.ky = DoubleTuple4.yValue(k);
+        this.kz = DoubleTuple4.zValue(k);
+        this.kw = DoubleTuple4.wValue(k);
+
+        this.sx = DoubleTuple4.xValue(s);
+        this.sy = DoubleTuple4.yValue(s);
+        this.sz = DoubleTuple4.zValue(s);
+        this.sw = DoubleTuple4.wValue(s);
+    }
+
+
+    /**
+     * Copy Constructor.
+     *
+     * @param matrixToCopy
+     *            the matrix to copy.
+     */
+    public DoubleMatrix4(final IMatrix4<? extends Number> matrixToCopy) {
+
+        this(matrixToCopy.getI(), matrixToCopy.getJ(), matrixToCopy.getK(),
+                matrixToCopy.getS());
+    }
+
+
+    @Override
+    public Class<? extends Double> getType() {
+
+        return Double.class;
+    }
+
+
+    @Override
+    public DoubleTuple4 getI() {
+
+        return new DoubleTuple4(this.ix, this.iy, this.iz, this.iw);
+    }
+
+
+    @Override
+    public DoubleTuple4 getJ() {
+
+        return new DoubleTuple4(this.jx, this.jy, this.jz, this.jw);
+    }
+
+
+    @Override
+    public DoubleTuple4 getK() {
+
+        return new DoubleTuple4(this.kx, this.ky, this.kz, this.kw);
+    }
+
+
+    @Override
+    public DoubleTuple4 getS() {
+
+        return new DoubleTuple4(this.sx, this.sy, this.sz, this.sw);
+    }
+
+
+    /**
+     * Returns this matrix in a primitive column-major array.
+     *
+     * @return the matrix in a column-major array.
+     */
+    public double[] toPrimitiveColumnMajorArray() {
+
+        return new double[] { this.ix, this.iy, this.iz, this.iw, this.jx,
+                this.jy, this.jz, this.jw, this.kx, this.ky, this.kz, this.kw,
+                this.sx, this.sy, this.sz, this.sw };
+    }
+
+
+    @Override
+    public Double[] toColumnMajorArray() {
+
+        return new Double[] { this.ix, this.iy, this.iz, this.iw, this.jx,
+                this.jy, this.jz, this.jw, this.kx, this.ky, this.kz, this.kw,
+                this.sx, this.sy, this.sz, this.sw };
+    }
+
+
+    @Override
+    public Double[] toRowMajorArray() {
+
+        return new Double[] { this.ix, this.jx, this.kx, this.sx, this.iy,
+                this.jy, this.ky, this.sy, this.iz, this.jz, this.kz, this.sz,
+                this.iw, this.jw, this.kw, this.sw };
+    }
+
+
+    @Override
+    public DoubleMatrix4 transpose() {
+
+        return new DoubleMatrix4(this.ix, this.jx, this.kx, this.sx, this.iy,
+                this.jy, this.ky, this.sy, this.iz, this.jz, this.kz, this.sz,
+                this.iw, this.jw, this.kw, this.sw);
+    }
+
+
+    /**
+     * Multiplies this matrix by the provided matrix.
+     *
+     * @param rhs
+     *            the right-hand side matrix.
+     * @return the resulting matrix.
+     */
+    public DoubleMatrix4 multiply(final IMatrix4<?> rhs) {
+
+        final DoubleMatrix4 b = DoubleMatrix4.valueOf(rhs);
+
+        return new DoubleMatrix4(
+                this.x(b.ix, b.iy, b.iz, b.iw), this.y(b.ix, b.iy, b.iz, b.iw),
+                this.z(b.ix, b.iy, b.iz, b.iw), this.w(b.ix, b.iy, b.iz, b.iw),
+
+                this.x(b.jx, b.jy, b.jz, b.jw), this.y(b.jx, b.jy, b.jz, b.jw),
+                this.z(b.jx, b.jy, b.jz, b.jw), this.w(b.jx, b.jy, b.jz, b.jw),
+
+                this.x(b.kx, b.ky, b.kz, b.kw), this.y(b.kx, b.ky, b.kz, b.kw),
+                this.z(b.kx, b.ky, b.kz, b.kw), this.w(b.kx, b.ky, b.kz, b.kw),
+
+                this.x(b.sx, b.sy, b.sz, b.sw), this.y(b.sx, b.sy, b.sz, b.sw),
+                this.z(b.sx, b.sy, b.sz, b.sw), this.w(b.sx, b.sy, b.sz, b.sw));
+    }
+
+
+    /**
+     * Multiplies this matrix by the provided tuple.
+     *
+     * @param rhs
+     *            the tuple.
+     * @return the resulting tuple.
+     */
+    public DoubleTuple4 multiply(final ITuple4<?> rhs) {
+
+        final double vx = DoubleTuple4.xValue(rhs);
+        final double vy = DoubleTuple4.yValue(rhs);
+        final double vz = DoubleTuple4.zValue(rhs);
+        final double vw = DoubleTuple4.wValue(rhs);
+
+        return new DoubleTuple4(this.x(vx, vy, vz, vw),
+                this.y(vx, vy, vz, vw), this.z(vx, vy, vz, vw),
+                this.w(vx, vy, vz, vw));
+    }
+
+
+    /**
+     * Multiplies this matrix by the provided point.
+     *
+     * @param rhs
+     *            the point.
+     * @return the resulting point.
+     *
+     * @throws IllegalArgumentException
+     *             if the result is not a point.
+     */
+    public DoublePoint4 multiply(final IPoint4<?> rhs) {
+
+        final double vx = DoubleTuple4.xValue(rhs);
+        final double vy = DoubleTuple4.yValue(rhs);
+        final double vz = DoubleTuple4.zValue(rhs);
+        final double vw = DoubleTuple4.wValue(rhs);
+
+        return new DoublePoint4(this.x(vx, vy, vz, vw),
+                this.y(vx, vy, vz, vw), this.z(vx, vy, vz, vw),
+                this.w(vx, vy, vz, vw));
+    }
+
+
+    /**
+     * Multiplies this matrix by the provided vector.
+     *
+     * @param rhs
+     *            the vector.
+     * @return the resulting vector.
+     *
+     * @throws IllegalArgumentException
+     *             if the result is not a vector.
+     */
+    public DoubleVector4 multiply(final IVector4<?> rhs) {
+
+        final double vx = DoubleTuple4.xValue(rhs);
+        final double vy = DoubleTuple4.yValue(rhs);
+        final double vz = DoubleTuple4.zValue(rhs);
+        final double vw = DoubleTuple4.wValue(rhs);
+
+        return new DoubleVector4(this.x(vx, vy, vz, vw),
+                this.y(vx, vy, vz, vw), this.z(vx, vy, vz, vw),
+                this.w(vx, vy, vz, vw));
+    }
+
+
+    /**
+     * Multiplies this matrix by each of the tuples packed into the source
+     * array and stores the results in the destination array.
+     * <p>
+     * Tuples are packed as consecutive {@code x, y, z, w} quadruples. Source
+     * and destination may be the same array (and offset) to transform the
+     * tuples in place.
+     * </p>
+     *
+     * @param source
+     *            the packed source tuples.
+     * @param sourceOffset
+     *            the index of the first source component.
+     * @param destination
+     *            the array receiving the packed resulting tuples.
+     * @param destinationOffset
+     *            the index of the first destination component.
+     * @param count
+     *            the number of tuples to transform.
+     *
+     * @throws IllegalArgumentException
+     *             if either array is missing or too small for the requested
+     *             number of tuples.
+     */
+    public void transform(final double[] source, final int sourceOffset,
+            final double[] destination, final int destinationOffset,
+            final int count) {
+
+        DoubleMatrix4.checkRange(source, sourceOffset, count, "source");
+        DoubleMatrix4.checkRange(destination, destinationOffset, count,
+                "destination");
+
+        final double m00 = this.ix;
+        final double m10 = this.iy;
+        final double m20 = this.iz;
+        final double m30 = this.iw;
+        final double m01 = this.jx;
+        final double m11 = this.jy;
+        final double m21 = this.jz;
+        final double m31 = this.jw;
+        final double m02 = this.kx;
+        final double m12 = this.ky;
+        final double m22 = this.kz;
+        final double m32 = this.kw;
+        final double m03 = this.sx;
+        final double m13 = this.sy;
+        final double m23 = this.sz;
+        final double m33 = this.sw;
+
+        int src = sourceOffset;
+        int dst = destinationOffset;
+        final int end = sourceOffset + count * 4;
+
+        while (src < end) {
+
+            final double vx = source[src];
+            final double vy = source[src + 1];
+            final double vz = source[src + 2];
+            final double vw = source[src + 3];
+
+            destination[dst] = m00 * vx + m01 * vy + m02 * vz + m03 * vw;
+            destination[dst + 1] = m10 * vx + m11 * vy + m12 * vz + m13 * vw;
+            destination[dst + 2] = m20 * vx + m21 * vy + m22 * vz + m23 * vw;
+            destination[dst + 3] = m30 * vx + m31 * vy + m32 * vz + m33 * vw;
+
+            src += 4;
+            dst += 4;
+        }
+    }
+
+
+    /**
+     * Multiplies this matrix by each of the tuples remaining in the source
+     * buffer and writes the results to the destination buffer.
+     * <p>
+     * Tuples are packed as consecutive {@code x, y, z, w} quadruples. The
+     * positions of both buffers are advanced past the transformed tuples.
+     * Array-backed buffers are transformed on their backing arrays; other
+     * buffers are processed through absolute get and put operations.
+     * </p>
+     *
+     * @param source
+     *            the packed source tuples.
+     * @param destination
+     *            the buffer receiving the packed resulting tuples.
+     *
+     * @throws IllegalArgumentException
+     *             if either buffer is missing, the source does not contain a
+     *             whole number of tuples, or the destination has too little
+     *             room remaining.
+     */
+    public void transform(final DoubleBuffer source,
+            final DoubleBuffer destination) {
+
+        if (source == null || destination == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot transform without source and destination buffers!");
+        }
+
+        if (source.remaining() % 4 != 0) {
+
+            throw new IllegalArgumentException("Source buffer holds "
+                    + source.remaining()
+                    + " components, which is not a multiple of 4!");
+        }
+
+        final int count = source.remaining() / 4;
+
+        if (destination.remaining() < count * 4) {
+
+            throw new IllegalArgumentException(
+                    "Destination buffer too small for " + count + " tuples!");
+        }
+
+        if (source.hasArray() && destination.hasArray()
+                && !destination.isReadOnly()) {
+
+            this.transform(source.array(),
+                    source.arrayOffset() + source.position(),
+                    destination.array(),
+                    destination.arrayOffset() + destination.position(), count);
+        }
+        else {
+
+            final int srcStart = source.position();
+            final int dstStart = destination.position();
+
+            for (int i = 0; i < count * 4; i += 4) {
+
+                final double vx = source.get(srcStart + i);
+                final double vy = source.get(srcStart + i + 1);
+                final double vz = source.get(srcStart + i + 2);
+                final double vw = source.get(srcStart + i + 3);
+
+                destination.put(dstStart + i, this.x(vx, vy, vz, vw));
+                destination.put(dstStart + i + 1, this.y(vx, vy, vz, vw));
+                destination.put(dstStart + i + 2, this.z(vx, vy, vz, vw));
+                destination.put(dstStart + i + 3, this.w(vx, vy, vz, vw));
+            }
+        }
+
+        source.position(source.position() + count * 4);
+        destination.position(destination.position() + count * 4);
+    }
+
+
+    private static void checkRange(final double[] array, final int offset,
+            final int count, final String name) {
+
+        if (array == null) {
+
+            throw new IllegalArgumentException("Cannot transform without a "
+                    + name + " array!");
+        }
+
+        if (offset < 0 || count < 0 || offset > array.length - count * 4) {
+
+            throw new IllegalArgumentException("Cannot transform " + count
+                    + " tuples at offset " + offset + " of a " + name
+                    + " array of length " + array.length + "!");
+        }
+    }
+
+
+    private double x(final double vx, final double vy, final double vz,
+            final double vw) {
+
+        return this.ix * vx + this.jx * vy + this.kx * vz + this.sx * vw;
+    }
+
+
+    private double y(final double vx, final double vy, final double vz,
+            final double vw) {
+
+        return this.iy * vx + this.jy * vy + this.ky * vz + this.sy * vw;
+    }
+
+
+    private double z(final double vx, final double vy, final double vz,
+            final double vw) {
+
+        return this.iz * vx + this.jz * vy + this.kz * vz + this.sz * vw;
+    }
+
+
+    private double w(final double vx, final double vy, final double vz,
+            final double vw) {
+
+        return this.iw * vx + this.jw * vy + this.kw * vz + this.sw * vw;
+    }
+
+
+    @Override
+    public boolean equals(final Object obj) {
+
+        if ((obj != null) && (obj instanceof IMatrix4<?>)) {
+
+            final IMatrix4<?> other = (IMatrix4<?>) obj;
+
+            final boolean sameIComponent = this.getI().equals(other.getI());
+            final boolean sameJComponent = this.getJ().equals(other.getJ());
+            final boolean sameKComponent = this.getK().equals(other.getK());
+            final boolean sameSComponent = this.getS().equals(other.getS());
+
+            return sameIComponent && sameJComponent && sameKComponent
+                    && sameSComponent;
+        }
+
+        return false;
+    }
+
+
+    @Override
+    public int hashCode() {
+
+        int hash = 23;
+
+        hash += 29 * this.getI().hashCode();
+        hash += 31 * this.getJ().hashCode();
+        hash += 37 * this.getK().hashCode();
+        hash += 39 * this.getS().hashCode();
+
+        return hash;
+    }
+
+
+    @Override
+    public String toString() {
+
+        final StringBuilder returnValue = new StringBuilder("\n|");
+        final Double[] array = this.toRowMajorArray();
+
+        for (int v = 0; v < 16; v++) {
+            if ((v > 0) && ((v % 4) == 0)) {
+
+                returnValue.append("\t\t|\n|");
+            }
+
+            returnValue.append("\t\t")
+                    .append(String.format("%.3f", array[v]));
+        }
+
+        returnValue.append("\t\t|\n");
+
+        return returnValue.toString();
+    }
+}
@@ -0,0 +1,341 @@
+package org.jutility.math.vectoralgebra;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.Serializable;
+
+import org.jutility.common.datatype.util.NumberComparator;
+
+
+/**
+ * The {@code DoubleTuple4} class provides an implementation of the
+ * {@link ITuple4} interface that stores its components as primitive
+ * {@code double} values.
+ * <p>
+ * Instances can be used wherever an {@link ITuple4} is expected; operations in
+ * {@link VectorAlgebraicOperations} detect primitive-backed operands and
+ * compute on the primitive values directly.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class DoubleTuple4
+        implements ITuple4<Double>, Serializable {
+
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = -4236912086358113553L;
+
+
+    private final double x;
+    private final double y;
+    private final double z;
+    private final double w;
+
+
+    /**
+     * Creates a new instance of the {@code DoubleTuple4} class with the
+     * provided values.
+     *
+     * @param x
+     *            The X coordinate.
+     * @param y
+     *            The Y coordinate.
+     * @param z
+     *            The Z coordinate.
+     * @param w
+     *            The homogeneous coordinate component.
+     */
+    public DoubleTuple4(final double x, final double y, final double z,
+            final double w) {
+
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+
+    /**
+     * Copy Constructor.
+     *
+     * @param tupleToCopy
+     *            the tuple to copy.
+     */
+    public DoubleTuple4(final ITuple4<? extends Number> tupleToCopy) {
+
+        this(DoubleTuple4.xValue(tupleToCopy),
+                DoubleTuple4.yValue(tupleToCopy),
+                DoubleTuple4.zValue(tupleToCopy),
+                DoubleTuple4.wValue(tupleToCopy));
+    }
+
+
+    /**
+     * Returns the primitive X component.
+     *
+     * @return The X component.
+     */
+    public double getXValue() {
+
+        return this.x;
+    }
+
+
+    /**
+     * Returns the primitive Y component.
+     *
+     * @return The Y component.
+     */
+    public double getYValue() {
+
+        return this.y;
+    }
+
+
+    /**
+     * Returns the primitive Z component.
+     *
+     * @return The Z component.
+     */
+    public double getZValue() {
+
+        return this.z;
+    }
+
+
+    /**
+     * Returns the primitive W component.
+     *
+     * @return The W component.
+     */
+    public double getWValue() {
+
+        return this.w;
+    }
+
+
+    @Override
+    public Double getX() {
+
+        return this.x;
+    }
+
+
+    @Override
+    public Double getY() {
+
+        return this.y;
+    }
+
+
+    @Override
+    public Double getZ() {
+
+        return this.z;
+    }
+
+
+    @Override
+    public Double getW() {
+
+        return this.w;
+    }
+
+
+    @Override
+    public Class<? extends Double> getType() {
+
+        return Double.class;
+    }
+
+
+    @Override
+    public int getDimension() {
+
+        return 4;
+    }
+
+
+    @Override
+    public Double get(final int index) {
+
+        switch (index) {
+            case 0:
+                return this.x;
+            case 1:
+                return this.y;
+            case 2:
+                return this.z;
+            case 3:
+                return this.w;
+            default:
+                throw new IndexOutOfBoundsException("Index: " + index
+                        + ", Size: 4");
+        }
+    }
+
+
+    @Override
+    public Double[] toArray() {
+
+        return new Double[] { this.x, this.y, this.z, this.w };
+    }
+
+
+    @Override
+    public boolean isPoint() {
+
+        return NumberComparator.equals(1, this.w);
+    }
+
+
+    @Override
+    public boolean isVector() {
+
+        return !this.isPoint();
+    }
+
+
+    @Override
+    public boolean equals(final Object obj) {
+
+        if ((obj != null) && (obj instanceof ITuple4<?>)) {
+
+            final ITuple4<?> otherTuple = (ITuple4<?>) obj;
+
+            final boolean xEquals = NumberComparator.equals(this.getX(),
+                    otherTuple.getX());
+            final boolean yEquals = NumberComparator.equals(this.getY(),
+                    otherTuple.getY());
+            final boolean zEquals = NumberComparator.equals(this.getZ(),
+                    otherTuple.getZ());
+            final boolean wEquals = NumberComparator.equals(this.getW(),
+                    otherTuple.getW());
+
+            return xEquals && yEquals && zEquals && wEquals;
+        }
+
+        return false;
+    }
+
+
+    @Override
+    public int hashCode() {
+
+        int hash = 13;
+
+        hash += Double.hashCode(this.x) * 7;
+        hash += Double.hashCode(this.y) * 23;
+        hash += Double.hashCode(this.z) * 31;
+        hash += Double.hashCode(this.w) * 41;
+
+        return hash;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return "(" + this.x + ", " + this.y + ", " + this.z + ", " + this.w
+                + ")";
+    }
+
+
+    /**
+     * Returns the X component of the provided tuple as a primitive value
+     * without boxing, if the tuple is primitive-backed.
+     *
+     * @param tuple
+     *            the tuple.
+     * @return the X component.
+     */
+    static double xValue(final ITuple4<?> tuple) {
+
+        if (tuple instanceof DoubleTuple4) {
+
+            return ((DoubleTuple4) tuple).x;
+        }
+        return tuple.getX().doubleValue();
+    }
+
+
+    /**
+     * Returns the Y component of the provided tuple as a primitive value
+     * without boxing, if the tuple is primitive-backed.
+     *
+     * @param tuple
+     *            the tuple.
+     * @return the Y component.
+     */
+    static double yValue(final ITuple4<?> tuple) {
+
+        if (tuple instanceof DoubleTuple4) {
+
+            return ((DoubleTuple4) tuple).y;
+        }
+        return tuple.getY().doubleValue();
+    }
+
+
+    /**
+     * Returns the Z component of the provided tuple as a primitive value
+     * without boxing, if the tuple is primitive-backed.
+     *
+     * @param tuple
+     *            the tuple.
+     * @return the Z component.
+     */
+    static double zValue(final ITuple4<?> tuple) {
+
+        if (tuple instanceof DoubleTuple4) {
+
+            return ((DoubleTuple4) tuple).z;
+        }
+        return tuple.getZ().doubleValue();
+    }
+
+
+    /**
+     * Returns the W component of the provided tuple as a primitive value
+     * without boxing, if the tuple is primitive-backed.
+     *
+     * @param tuple
+     *            the tuple.
+     * @return the W component.
+     */
+    static double wValue(final ITuple4<?> tuple) {
+
+        if (tuple instanceof DoubleTuple4) {
+
+            return ((DoubleTuple4) tuple).w;
+        }
+        return tuple.getW().doubleValue();
+    }
+}
@@ -0,0 +1,251 @@
+package org.jutility.math.vectoralgebra;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import org.jutility.common.datatype.util.NumberComparator;
+
+
+/**
+ * The {@code DoubleVector4} class provides an implementation of the
+ * {@link IVector4} interface backed by primitive {@code double} values.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class DoubleVector4
+        extends DoubleTuple4
+        implements IVector4<Double> {
+
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = -1593204786423157710L;
+
+
+    /**
+     * The unit vector along the x-axis.
+     *
+     * @return the unit vector i.
+     */
+    public static DoubleVector4 iUnitVector() {
+
+        return new DoubleVector4(1, 0, 0);
+    }
+
+
+    /**
+     * The unit vector along the y-axis.
+     *
+     * @return the unit vector j.
+     */
+    public static DoubleVector4 jUnitVector() {
+
+        return new DoubleVector4(0, 1, 0);
+    }
+
+
+    /**
+     * The unit vector along the z-axis.
+     *
+     * @return the unit vector k.
+     */
+    public static DoubleVector4 kUnitVector() {
+
+        return new DoubleVector4(0, 0, 1);
+    }
+
+
+    /**
+     * The null vector.
+     *
+     * @return the null vector.
+     */
+    public static DoubleVector4 nullVector() {
+
+        return new DoubleVector4(0, 0, 0);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code DoubleVector4} class with the
+     * provided values.
+     *
+     * @param x
+     *            The X coordinate.
+     * @param y
+     *            The Y coordinate.
+     * @param z
+     *            The Z coordinate.
+     */
+    public DoubleVector4(final double x, final double y, final double z) {
+
+        super(x, y, z, 0);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code DoubleVector4} class with the
+     * provided homogeneous values.
+     *
+     * @param x
+     *            The X coordinate.
+     * @param y
+     *            The Y coordinate.
+     * @param z
+     *            The Z coordinate.
+     * @param w
+     *            The homogeneous coordinate component.
+     *
+     * @throws IllegalArgumentException
+     *             if the provided values do not describe a vector.
+     */
+    DoubleVector4(final double x, final double y, final double z,
+            final double w) {
+
+        super(x, y, z, w);
+
+        if (!this.isVector()) {
+
+            throw new IllegalArgumentException(
+                    "Provided parameter is not a vector!");
+        }
+    }
+
+
+    /**
+     * Copy constructor.
+     * <p>
+     * Creates a new vector from the tuple provided.
+     *
+     * @param tuple
+     *            The tuple to be copied.
+     *
+     * @throws IllegalArgumentException
+     *             if the tuple provided is not a vector
+     */
+    public DoubleVector4(final ITuple4<? extends Number> tuple) {
+
+        super(tuple);
+
+        if (!tuple.isVector()) {
+
+            throw new IllegalArgumentException(
+                    "Provided parameter is not a vector!");
+        }
+    }
+
+
+    /**
+     * Returns the length of the vector (its Euclidean norm) as a primitive
+     * value.
+     *
+     * @return the length of the vector.
+     */
+    public double lengthValue() {
+
+        final double x = this.getXValue();
+        final double y = this.getYValue();
+        final double z = this.getZValue();
+        final double w = this.getWValue();
+
+        return Math.sqrt(x * x + y * y + z * z + w * w);
+    }
+
+
+    @Override
+    public Double length() {
+
+        return this.lengthValue();
+    }
+
+
+    @Override
+    public DoubleVector4 normalizedVector() {
+
+        final double length = this.lengthValue();
+
+        if (!NumberComparator.equals(length, 0)) {
+
+            return new DoubleVector4(this.getXValue() / length,
+                    this.getYValue() / length, this.getZValue() / length);
+        }
+        else {
+
+            return new DoubleVector4(this);
+        }
+    }
+
+
+    /**
+     * Calculates the dot product of the vector with the provided vector as a
+     * primitive value.
+     *
+     * @param rhs
+     *            the provided vector.
+     * @return the dot product.
+     */
+    public double dotProductValue(final IVector4<?> rhs) {
+
+        if (rhs == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot calculate dot product without two vectors");
+        }
+
+        return this.getXValue() * DoubleTuple4.xValue(rhs) + this.getYValue()
+                * DoubleTuple4.yValue(rhs) + this.getZValue()
+                * DoubleTuple4.zValue(rhs);
+    }
+
+
+    @Override
+    public Double dotProduct(final IVector4<Double> rhs) {
+
+        return this.dotProductValue(rhs);
+    }
+
+
+    @Override
+    public DoubleVector4 crossProduct(final IVector4<Double> rhs) {
+
+        if (rhs == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot calculate cross product without two vectors");
+        }
+
+        final double rx = DoubleTuple4.xValue(rhs);
+        final double ry = DoubleTuple4.yValue(rhs);
+        final double rz = DoubleTuple4.zValue(rhs);
+
+        final double xValue = this.getYValue() * rz - this.getZValue() * ry;
+        final double yValue = this.getZValue() * rx - this.getXValue() * rz;
+        final double zValue = this.getXValue() * ry - this.getYValue() * rx;
+
+        return new DoubleVector4(xValue, yValue, zValue);
+    }
+}
@@ -0,0 +1,496 @@
+package org.jutility.math.vectoralgebra;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.Serializable;
+
+
+/**
+ * The {@code FloatMatrix4} class provides an implementation of the
+ * {@link IMatrix4} interface that stores its sixteen components as primitive
+ * {@code float} values.
+ * <p>
+ * Multiplications with other matrices and tuples are carried out on the
+ * primitive values without boxing; {@link VectorAlgebraicOperations} dispatches
+ * to them whenever a primitive-backed operand is involved.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class FloatMatrix4
+        implements IMatrix4<Float>, Serializable {
+
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = -3342865270117329541L;
+
+
+    private final float      ix;
+    private final float      iy;
+    private final float      iz;
+    private final float      iw;
+
+    private final float      jx;
+    private final float      jy;
+    private final float      jz;
+    private final float      jw;
+
+    private final float      kx;
+    private final float      ky;
+    private final float      kz;
+    private final float      kw;
+
+    private final float      sx;
+    private final float      sy;
+    private final float      sz;
+    private final float      sw;
+
+
+    /**
+     * Returns the identity matrix.
+     *
+     * @return the identity matrix.
+     */
+    public static FloatMatrix4 identity() {
+
+        return new FloatMatrix4(1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0,
+                1);
+    }
+
+
+    /**
+     * Returns a {@code FloatMatrix4} with the values of the provided matrix.
+     * If the provided matrix already is a {@code FloatMatrix4}, it is
+     * returned as is.
+     *
+     * @param matrix
+     *            the matrix.
+     * @return a {@code FloatMatrix4} with the values of the provided matrix.
+     */
+    public static FloatMatrix4 valueOf(final IMatrix4<?> matrix) {
+
+        if (matrix instanceof FloatMatrix4) {
+
+            return (FloatMatrix4) matrix;
+        }
+
+        return new FloatMatrix4(matrix);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code FloatMatrix4} class with the
+     * provided components in column-major order.
+     *
+     * @param ix
+     *            the x component of the first column.
+     * @param iy
+     *            the y component of the first column.
+     * @param iz
+     *            the z component of the first column.
+     * @param iw
+     *            the w component of the first column.
+     * @param jx
+     *            the x component of the second column.
+     * @param jy
+     *            the y component of the second column.
+     * @param jz
+     *            the z component of the second column.
+     * @param jw
+     *            the w component of the second column.
+     * @param kx
+     *            the x component of the third column.
+     * @param ky
+     *            the y component of the third column.
+     * @param kz
+     *            the z component of the third column.
+     * @param kw
+     *            the w component of the third column.
+     * @param sx
+     *            the x component of the fourth column.
+     * @param sy
+     *            the y component of the fourth column.
+     * @param sz
+     *            the z component of the fourth column.
+     * @param sw
+     *            the w component of the fourth column.
+     */
+    public FloatMatrix4(final float ix, final float iy, final float iz,
+            final float iw, final float jx, final float jy,
+            final float jz, final float jw, final float kx,
+            final float ky, final float kz, final float kw,
+            final float sx, final float sy, final float sz,
+            final float sw) {
+
+        this.ix = ix;
+        this.iy = iy;
+        this.iz = iz;
+        this.iw = iw;
+
+        this.jx = jx;
+        this.jy = jy;
+        this.jz = jz;
+        this.jw = jw;
+
+        this.kx = kx;
+        this.ky = ky;
+        this.kz = kz;
+        this.kw = kw;
+
+        this.sx = sx;
+        this.sy = sy;
+        this.sz = sz;
+        this.sw = sw;
+    }
+
+
+    /**
+     * Creates a new instance of the {@code FloatMatrix4} class with the
+     * provided columns.
+     *
+     * @param i
+     *            The first column of the matrix.
+     * @param j
+     *            The second column of the matrix.
+     * @param k
+     *            The third column of the matrix.
+     * @param s
+     *            The fourth column of the matrix.
+     */
+    public FloatMatrix4(final ITuple4<? extends Number> i,
+            final ITuple4<? extends Number> j,
+            final ITuple4<? extends Number> k,
+            final ITuple4<? extends Number> s) {
+
+        if (i == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a matrix with missing I component!");
+        }
+        if (j == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a matrix with missing J component!");
+        }
+        if (k == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a matrix with missing K component!");
+        }
+        if (s == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot create a matrix with missing S component!");
+        }
+
+        this.ix = FloatTuple4.xValue(i);
+        this.iy = FloatTuple4.yValue(i);
+        this.iz = FloatTuple4.zValue(i);
+        this.iw = FloatTuple4.wValue(i);
+
+        this.jx = FloatTuple4.xValue(j);
+        this.jy = FloatTuple4.yValue(j);
+        this.jz = FloatTuple4.zValue(j);
+        this.jw = FloatTuple4.wValue(j);
+
+        this.kx = FloatTuple4.xValue(k);
+        this.ky = FloatTuple4.yValue(k);
+        this.kz = FloatTuple4.zValue(k);
+        this.kw = FloatTuple4.wValue(k);
+
+        this.sx = FloatTuple4.xValue(s);
+        this.sy = FloatTuple4.yValue(s);
+        this.sz = FloatTuple4.zValue(s);
+        this.sw = FloatTuple4.wValue(s);
+    }
+
+
+    /**
+     * Copy Constructor.
+     *
+     * @param matrixToCopy
+     *            the matrix to copy.
+     */
+    public FloatMatrix4(final IMatrix4<? extends Number> matrixToCopy) {
+
+        this(matrixToCopy.getI(), matrixToCopy.getJ(), matrixToCopy.getK(),
+                matrixToCopy.getS());
+    }
+
+
+    @Override
+    public Class<? extends Float> getType() {
+
+        return Float.class;
+    }
+
+
+    @Override
+    public FloatTuple4 getI() {
+
+        return new FloatTuple4(this.ix, this.iy, this.iz, this.iw);
+    }
+
+
+    @Override
+    public FloatTuple4 getJ() {
+
+        return new FloatTuple4(this.jx, this.jy, this.jz, this.jw);
+    }
+
+
+    @Override
+    public FloatTuple4 getK() {
+
+        return new FloatTuple4(this.kx, this.ky, this.kz, this.kw);
+    }
+
+
+    @Override
+    public FloatTuple4 getS() {
+
+        return new FloatTuple4(this.sx, this.sy, this.sz, this.sw);
+    }
+
+
+    /**
+     * Returns this matrix in a primitive column-major array.
+     *
+     * @return the matrix in a column-major array.
+     */
+    public float[] toPrimitiveColumnMajorArray() {
+
+        return new float[] { this.ix, this.iy, this.iz, this.iw, this.jx,
+                this.jy, this.jz, this.jw, this.kx, this.ky, this.kz, this.kw,
+                this.sx, this.sy, this.sz, this.sw };
+    }
+
+
+    @Override
+    public Float[] toColumnMajorArray() {
+
+        return new Float[] { this.ix, this.iy, this.iz, this.iw, this.jx,
+                this.jy, this.jz, this.jw, this.kx, this.ky, this.kz, this.kw,
+                this.sx, this.sy, this.sz, this.sw };
+    }
+
+
+    @Override
+    public Float[] toRowMajorArray() {
+
+        return new Float[] { this.ix, this.jx, this.kx, this.sx, this.iy,
+                this.jy, this.ky, this.sy, this.iz, this.jz, this.kz, this.sz,
+                this.iw, this.jw, this.kw, this.sw };
+    }
+
+
+    @Override
+    public FloatMatrix4 transpose() {
+
+        return new FloatMatrix4(this.ix, this.jx, this.kx, this.sx, this.iy,
+                this.jy, this.ky, this.sy, this.iz, this.jz, this.kz, this.sz,
+                this.iw, this.jw, this.kw, this.sw);
+    }
+
+
+    /**
+     * Multiplies this matrix by the provided matrix.
+     *
+     * @param rhs
+     *            the right-hand side matrix.
+     * @return the resulting matrix.
+     */
+    public FloatMatrix4 multiply(final IMatrix4<?> rhs) {
+
+        final FloatMatrix4 b = FloatMatrix4.valueOf(rhs);
+
+        return new FloatMatrix4(
+                this.x(b.ix, b.iy, b.iz, b.iw), this.y(b.ix, b.iy, b.iz, b.iw),
+                this.z(b.ix, b.iy, b.iz, b.iw), this.w(b.ix, b.iy, b.iz, b.iw),
+
+                this.x(b.jx, b.jy, b.jz, b.jw), this.y(b.jx, b.jy, b.jz, b.jw),
+                this.z(b.jx, b.jy, b.jz, b.jw), this.w(b.jx, b.jy, b.jz, b.jw),
+
+                this.x(b.kx, b.ky, b.kz, b.kw), this.y(b.kx, b.ky, b.kz, b.kw),
+                this.z(b.kx, b.ky, b.kz, b.kw), this.w(b.kx, b.ky, b.kz, b.kw),
+
+                this.x(b.sx, b.sy, b.sz, b.sw), this.y(b.sx, b.sy, b.sz, b.sw),
+                this.z(b.sx, b.sy, b.sz, b.sw), this.w(b.sx, b.sy, b.sz, b.sw));
+    }
+
+
+    /**
+     * Multiplies this matrix by the provided tuple.
+     *
+     * @param rhs
+     *            the tuple.
+     * @return the resulting tuple.
+     */
+    public FloatTuple4 multiply(final ITuple4<?> rhs) {
+
+        final float vx = FloatTuple4.xValue(rhs);
+        final float vy = FloatTuple4.yValue(rhs);
+        final float vz = FloatTuple4.zValue(rhs);
+        final float vw = FloatTuple4.wValue(rhs);
+
+        return new FloatTuple4(this.x(vx, vy, vz, vw),
+                this.y(vx, vy, vz, vw), this.z(vx, vy, vz, vw),
+                this.w(vx, vy, vz, vw));
+    }
+
+
+    /**
+     * Multiplies this matrix by the provided point.
+     *
+     * @param rhs
+     *            the point.
+     * @return the resulting point.
+     *
+     * @throws IllegalArgumentException
+     *             if the result is not a point.
+     */
+    public FloatPoint4 multiply(final IPoint4<?> rhs) {
+
+        final float vx = FloatTuple4.xValue(rhs);
+        final float vy = FloatTuple4.yValue(rhs);
+        final float vz = FloatTuple4.zValue(rhs);
+        final float vw = FloatTuple4.wValue(rhs);
+
+        return new FloatPoint4(this.x(vx, vy, vz, vw),
+                this.y(vx, vy, vz, vw), this.z(vx, vy, vz, vw),
+                this.w(vx, vy, vz, vw));
+    }
+
+
+    /**
+     * Multiplies this matrix by the provided vector.
+     *
+     * @param rhs
+     *            the vector.
+     * @return the resulting vector.
+     *
+     * @throws IllegalArgumentException
+     *             if the result is not a vector.
+     */
+    public FloatVector4 multiply(final IVector4<?> rhs) {
+
+        final float vx = FloatTuple4.xValue(rhs);
+        final float vy = FloatTuple4.yValue(rhs);
+        final float vz = FloatTuple4.zValue(rhs);
+        final float vw = FloatTuple4.wValue(rhs);
+
+        return new FloatVector4(this.x(vx, vy, vz, vw),
+                this.y(vx, vy, vz, vw), this.z(vx, vy, vz, vw),
+                this.w(vx, vy, vz, vw));
+    }
+
+
+    private float x(final float vx, final float vy, final float vz,
+            final float vw) {
+
+        return this.ix * vx + this.jx * vy + this.kx * vz + this.sx * vw;
+    }
+
+
+    private float y(final float vx, final float vy, final float vz,
+            final float vw) {
+
+        return this.iy * vx + this.jy * vy + this.ky * vz + this.sy * vw;
+    }
+
+
+    private float z(final float vx, final float vy, final float vz,
+            final float vw) {
+
+        return this.iz * vx + this.jz * vy + this.kz * vz + this.sz * vw;
+    }
+
+
+    private float w(final float vx, final float vy, final float vz,
+            final float vw) {
+
+        return this.iw * vx + this.jw * vy + this.kw * vz + this.sw * vw;
+    }
+
+
+    @Override
+    public boolean equals(final Object obj) {
+
+        if ((obj != null) && (obj instanceof IMatrix4<?>)) {
+
+            final IMatrix4<?> other = (IMatrix4<?>) obj;
+
+            final boolean sameIComponent = this.getI().equals(other.getI());
+            final boolean sameJComponent = this.getJ().equals(other.getJ());
+            final boolean sameKComponent = this.getK().equals(other.getK());
+            final boolean sameSComponent = this.getS().equals(other.getS());
+
+            return sameIComponent && sameJComponent && sameKComponent
+                    && sameSComponent;
+        }
+
+        return false;
+    }
+
+
+    @Override
+    public int hashCode() {
+
+        int hash = 23;
+
+        hash += 29 * this.getI().hashCode();
+        hash += 31 * this.getJ().hashCode();
+        hash += 37 * this.getK().hashCode();
+        hash += 39 * this.getS().hashCode();
+
+        return hash;
+    }
+
+
+    @Override
+    public String toString() {
+
+        final StringBuilder returnValue = new StringBuilder("\n|");
+        final Float[] array = this.toRowMajorArray();
+
+        for (int v = 0; v < 16; v++) {
+            if ((v > 0) && ((v % 4) == 0)) {
+
+                returnValue.append("\t\t|\n|");
+            }
+
+            returnValue.append("\t\t")
+                    .append(String.format("%.3f", array[v]));
+        }
+
+        returnValue.append("\t\t|\n");
+
+        return returnValue.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package org.jutility.math.vectoralgebra;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+/**
+ * The {@code FloatPoint4} class provides an implementation of the
+ * {@link IPoint4} interface backed by primitive {@code float} values.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class FloatPoint4
+        extends FloatTuple4
+        implements IPoint4<Float> {
+
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 8471193052367718406L;
+
+
+    /**
+     * The origin.
+     *
+     * @return the Origin.
+     */
+    public static FloatPoint4 origin() {
+
+        return new FloatPoint4(0, 0, 0);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code FloatPoint4} class with the
+     * provided values.
+     *
+     * @param x
+     *            The X coordinate.
+     * @param y
+     *            The Y coordinate.
+     * @param z
+     *            The Z coordinate.
+     */
+    public FloatPoint4(final float x, final float y, final float z) {
+
+        super(x, y, z, 1);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code FloatPoint4} class with the
+     * provided homogeneous values.
+     *
+     * @param x
+     *            The X coordinate.
+     * @param y
+     *            The Y coordinate.
+     * @param z
+     *            The Z coordinate.
+     * @param w
+     *            The homogeneous coordinate component.
+     *
+     * @throws IllegalArgumentException
+     *             if the provided values do not describe a point.
+     */
+    FloatPoint4(final float x, final float y, final float z,
+            final float w) {
+
+        super(x, y, z, w);
+
+        if (!this.isPoint()) {
+
+            throw new IllegalArgumentException("Error copying Tuple " + this
+                    + ": Provided parameter is not a point!");
+        }
+    }
+
+
+    /**
+     * Copy constructor.
+     * <p>
+     * Creates a new point from the tuple provided.
+     *
+     * @param tuple
+     *            The tuple to be copied.
+     *
+     * @throws IllegalArgumentException
+     *             if the tuple provided is not a point
+     */
+    public FloatPoint4(final ITuple4<? extends Number> tuple) {
+
+        super(tuple);
+
+        if (!tuple.isPoint()) {
+
+            throw new IllegalArgumentException("Error copying Tuple " + tuple
+                    + ": Provided parameter is not a point!");
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package org.jutility.math.vectoralgebra;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.io.Serializable;
+
+import org.jutility.common.datatype.util.NumberComparator;
+
+
+/**
+ * The {@code FloatTuple4} class provides an implementation of the
+ * {@link ITuple4} interface that stores its components as primitive
+ * {@code float} values.
+ * <p>
+ * Instances can be used wherever an {@link ITuple4} is expected; operations in
+ * {@link VectorAlgebraicOperations} detect primitive-backed operands and
+ * compute on the primitive values directly.
+ * </p>
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class FloatTuple4
+        implements ITuple4<Float>, Serializable {
+
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = 5119874520633096712L;
+
+
+    private final float x;
+    private final float y;
+    private final float z;
+    private final float w;
+
+
+    /**
+     * Creates a new instance of the {@code FloatTuple4} class with the
+     * provided values.
+     *
+     * @param x
+     *            The X coordinate.
+     * @param y
+     *            The Y coordinate.
+     * @param z
+     *            The Z coordinate.
+     * @param w
+     *            The homogeneous coordinate component.
+     */
+    public FloatTuple4(final float x, final float y, final float z,
+            final float w) {
+
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+
+    /**
+     * Copy Constructor.
+     *
+     * @param tupleToCopy
+     *            the tuple to copy.
+     */
+    public FloatTuple4(final ITuple4<? extends Number> tupleToCopy) {
+
+        this(FloatTuple4.xValue(tupleToCopy),
+                FloatTuple4.yValue(tupleToCopy),
+                FloatTuple4.zValue(tupleToCopy),
+                FloatTuple4.wValue(tupleToCopy));
+    }
+
+
+    /**
+     * Returns the primitive X component.
+     *
+     * @return The X component.
+     */
+    public float getXValue() {
+
+        return this.x;
+    }
+
+
+    /**
+     * Returns the primitive Y component.
+     *
+     * @return The Y component.
+     */
+    public float getYValue() {
+
+        return this.y;
+    }
+
+
+    /**
+     * Returns the primitive Z component.
+     *
+     * @return The Z component.
+     */
+    public float getZValue() {
+
+        return this.z;
+    }
+
+
+    /**
+     * Returns the primitive W component.
+     *
+     * @return The W component.
+     */
+    public float getWValue() {
+
+        return this.w;
+    }
+
+
+    @Override
+    public Float getX() {
+
+        return this.x;
+    }
+
+
+    @Override
+    public Float getY() {
+
+        return this.y;
+    }
+
+
+    @Override
+    public Float getZ() {
+
+        return this.z;
+    }
+
+
+    @Override
+    public Float getW() {
+
+        return this.w;
+    }
+
+
+    @Override
+    public Class<? extends Float> getType() {
+
+        return Float.class;
+    }
+
+
+    @Override
+    public int getDimension() {
+
+        return 4;
+    }
+
+
+    @Override
+    public Float get(final int index) {
+
+        switch (index) {
+            case 0:
+                return this.x;
+            case 1:
+                return this.y;
+            case 2:
+                return this.z;
+            case 3:
+                return this.w;
+            default:
+                throw new IndexOutOfBoundsException("Index: " + index
+                        + ", Size: 4");
+        }
+    }
+
+
+    @Override
+    public Float[] toArray() {
+
+        return new Float[] { this.x, this.y, this.z, this.w };
+    }
+
+
+    @Override
+    public boolean isPoint() {
+
+        return NumberComparator.equals(1, this.w);
+    }
+
+
+    @Override
+    public boolean isVector() {
+
+        return !this.isPoint();
+    }
+
+
+    @Override
+    public boolean equals(final Object obj) {
+
+        if ((obj != null) && (obj instanceof ITuple4<?>)) {
+
+            final ITuple4<?> otherTuple = (ITuple4<?>) obj;
+
+            final boolean xEquals = NumberComparator.equals(this.getX(),
+                    otherTuple.getX());
+            final boolean yEquals = NumberComparator.equals(this.getY(),
+                    otherTuple.getY());
+            final boolean zEquals = NumberComparator.equals(this.getZ(),
+                    otherTuple.getZ());
+            final boolean wEquals = NumberComparator.equals(this.getW(),
+                    otherTuple.getW());
+
+            return xEquals && yEquals && zEquals && wEquals;
+        }
+
+        return false;
+    }
+
+
+    @Override
+    public int hashCode() {
+
+        int hash = 13;
+
+        hash += Float.hashCode(this.x) * 7;
+        hash += Float.hashCode(this.y) * 23;
+        hash += Float.hashCode(this.z) * 31;
+        hash += Float.hashCode(this.w) * 41;
+
+        return hash;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return "(" + this.x + ", " + this.y + ", " + this.z + ", " + this.w
+                + ")";
+    }
+
+
+    /**
+     * Returns the X component of the provided tuple as a primitive value
+     * without boxing, if the tuple is primitive-backed.
+     *
+     * @param tuple
+     *            the tuple.
+     * @return the X component.
+     */
+    static float xValue(final ITuple4<?> tuple) {
+
+        if (tuple instanceof FloatTuple4) {
+
+            return ((FloatTuple4) tuple).x;
+        }
+        return tuple.getX().floatValue();
+    }
+
+
+    /**
+     * Returns the Y component of the provided tuple as a primitive value
+     * without boxing, if the tuple is primitive-backed.
+     *
+     * @param tuple
+     *            the tuple.
+     * @return the Y component.
+     */
+    static float yValue(final ITuple4<?> tuple) {
+
+        if (tuple instanceof FloatTuple4) {
+
+            return ((FloatTuple4) tuple).y;
+        }
+        return tuple.getY().floatValue();
+    }
+
+
+    /**
+     * Returns the Z component of the provided tuple as a primitive value
+     * without boxing, if the tuple is primitive-backed.
+     *
+     * @param tuple
+     *            the tuple.
+     * @return the Z component.
+     */
+    static float zValue(final ITuple4<?> tuple) {
+
+        if (tuple instanceof FloatTuple4) {
+
+            return ((FloatTuple4) tuple).z;
+        }
+        return tuple.getZ().floatValue();
+    }
+
+
+    /**
+     * Returns the W component of the provided tuple as a primitive value
+     * without boxing, if the tuple is primitive-backed.
+     *
+     * @param tuple
+     *            the tuple.
+     * @return the W component.
+     */
+    static float wValue(final ITuple4<?> tuple) {
+
+        if (tuple instanceof FloatTuple4) {
+
+            return ((FloatTuple4) tuple).w;
+        }
+        return tuple.getW().floatValue();
+    }
+}
@@ -0,0 +1,251 @@
+package org.jutility.math.vectoralgebra;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import org.jutility.common.datatype.util.NumberComparator;
+
+
+/**
+ * The {@code FloatVector4} class provides an implementation of the
+ * {@link IVector4} interface backed by primitive {@code float} values.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class FloatVector4
+        extends FloatTuple4
+        implements IVector4<Float> {
+
+
+    /**
+     * Serial Version UID.
+     */
+    private static final long serialVersionUID = -7045231978812456033L;
+
+
+    /**
+     * The unit vector along the x-axis.
+     *
+     * @return the unit vector i.
+     */
+    public static FloatVector4 iUnitVector() {
+
+        return new FloatVector4(1, 0, 0);
+    }
+
+
+    /**
+     * The unit vector along the y-axis.
+     *
+     * @return the unit vector j.
+     */
+    public static FloatVector4 jUnitVector() {
+
+        return new FloatVector4(0, 1, 0);
+    }
+
+
+    /**
+     * The unit vector along the z-axis.
+     *
+     * @return the unit vector k.
+     */
+    public static FloatVector4 kUnitVector() {
+
+        return new FloatVector4(0, 0, 1);
+    }
+
+
+    /**
+     * The null vector.
+     *
+     * @return the null vector.
+     */
+    public static FloatVector4 nullVector() {
+
+        return new FloatVector4(0, 0, 0);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code FloatVector4} class with the
+     * provided values.
+     *
+     * @param x
+     *            The X coordinate.
+     * @param y
+     *            The Y coordinate.
+     * @param z
+     *            The Z coordinate.
+     */
+    public FloatVector4(final float x, final float y, final float z) {
+
+        super(x, y, z, 0);
+    }
+
+
+    /**
+     * Creates a new instance of the {@code FloatVector4} class with the
+     * provided homogeneous values.
+     *
+     * @param x
+     *            The X coordinate.
+     * @param y
+     *            The Y coordinate.
+     * @param z
+     *            The Z coordinate.
+     * @param w
+     *            The homogeneous coordinate component.
+     *
+     * @throws IllegalArgumentException
+     *             if the provided values do not describe a vector.
+     */
+    FloatVector4(final float x, final float y, final float z,
+            final float w) {
+
+        super(x, y, z, w);
+
+        if (!this.isVector()) {
+
+            throw new IllegalArgumentException(
+                    "Provided parameter is not a vector!");
+        }
+    }
+
+
+    /**
+     * Copy constructor.
+     * <p>
+     * Creates a new vector from the tuple provided.
+     *
+     * @param tuple
+     *            The tuple to be copied.
+     *
+     * @throws IllegalArgumentException
+     *             if the tuple provided is not a vector
+     */
+    public FloatVector4(final ITuple4<? extends Number> tuple) {
+
+        super(tuple);
+
+        if (!tuple.isVector()) {
+
+            throw new IllegalArgumentException(
+                    "Provided parameter is not a vector!");
+        }
+    }
+
+
+    /**
+     * Returns the length of the vector (its Euclidean norm) as a primitive
+     * value.
+     *
+     * @return the length of the vector.
+     */
+    public float lengthValue() {
+
+        final float x = this.getXValue();
+        final float y = this.getYValue();
+        final float z = this.getZValue();
+        final float w = this.getWValue();
+
+        return (float) Math.sqrt(x * x + y * y + z * z + w * w);
+    }
+
+
+    @Override
+    public Float length() {
+
+        return this.lengthValue();
+    }
+
+
+    @Override
+    public FloatVector4 normalizedVector() {
+
+        final float length = this.lengthValue();
+
+        if (!NumberComparator.equals(length, 0)) {
+
+            return new FloatVector4(this.getXValue() / length,
+                    this.getYValue() / length, this.getZValue() / length);
+        }
+        else {
+
+            return new FloatVector4(this);
+        }
+    }
+
+
+    /**
+     * Calculates the dot product of the vector with the provided vector as a
+     * primitive value.
+     *
+     * @param rhs
+     *            the provided vector.
+     * @return the dot product.
+     */
+    public float dotProductValue(final IVector4<?> rhs) {
+
+        if (rhs == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot calculate dot product without two vectors");
+        }
+
+        return this.getXValue() * FloatTuple4.xValue(rhs) + this.getYValue()
+                * FloatTuple4.yValue(rhs) + this.getZValue()
+                * FloatTuple4.zValue(rhs);
+    }
+
+
+    @Override
+    public Float dotProduct(final IVector4<Float> rhs) {
+
+        return this.dotProductValue(rhs);
+    }
+
+
+    @Override
+    public FloatVector4 crossProduct(final IVector4<Float> rhs) {
+
+        if (rhs == null) {
+
+            throw new IllegalArgumentException(
+                    "Cannot calculate cross product without two vectors");
+        }
+
+        final float rx = FloatTuple4.xValue(rhs);
+        final float ry = FloatTuple4.yValue(rhs);
+        final float rz = FloatTuple4.zValue(rhs);
+
+        final float xValue = this.getYValue() * rz - this.getZValue() * ry;
+        final float yValue = this.getZValue() * rx - this.getXValue() * rz;
+        final float zValue = this.getXValue() * ry - this.getYValue() * rx;
+
+        return new FloatVector4(xValue, yValue, zValue);
+    }
+}
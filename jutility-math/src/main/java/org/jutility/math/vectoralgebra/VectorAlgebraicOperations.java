@@ -531,6 +531,17 @@ public final class VectorAlgebraicOperations {
             final IMatrix4<?> lhs, final ITuple4<?> rhs,
             final Class<? extends R> returnType) {
 
+        if (VectorAlgebraicOperations.isDoubleBacked(lhs, rhs)) {
+
+            return VectorAlgebraicOperations.convert(
+                    DoubleMatrix4.valueOf(lhs).multiply(rhs), returnType);
+        }
+        else if (VectorAlgebraicOperations.isFloatBacked(lhs, rhs)) {
+
+            return VectorAlgebraicOperations.convert(
+                    FloatMatrix4.valueOf(lhs).multiply(rhs), returnType);
+        }
+
         final Number ix = lhs.getI().getX();
         final Number iy = lhs.getI().getY();
         final Number iz = lhs.getI().getZ();
@@ -627,6 +638,17 @@ public final class VectorAlgebraicOperations {
             final IMatrix4<?> lhs, final IPoint4<?> rhs,
             final Class<? extends R> returnType) {
 
+        if (VectorAlgebraicOperations.isDoubleBacked(lhs, rhs)) {
+
+            return VectorAlgebraicOperations.convert(
+                    DoubleMatrix4.valueOf(lhs).multiply(rhs), returnType);
+        }
+        else if (VectorAlgebraicOperations.isFloatBacked(lhs, rhs)) {
+
+            return VectorAlgebraicOperations.convert(
+                    FloatMatrix4.valueOf(lhs).multiply(rhs), returnType);
+        }
+
         return new Point4<>(VectorAlgebraicOperations.multiply(lhs, (ITuple4<?>) rhs,
                 returnType));
     }
@@ -668,6 +690,17 @@ public final class VectorAlgebraicOperations {
             final IMatrix4<?> lhs, final IVector4<?> rhs,
             final Class<? extends R> returnType) {
 
+        if (VectorAlgebraicOperations.isDoubleBacked(lhs, rhs)) {
+
+            return VectorAlgebraicOperations.convert(
+                    DoubleMatrix4.valueOf(lhs).multiply(rhs), returnType);
+        }
+        else if (VectorAlgebraicOperations.isFloatBacked(lhs, rhs)) {
+
+            return VectorAlgebraicOperations.convert(
+                    FloatMatrix4.valueOf(lhs).multiply(rhs), returnType);
+        }
+
         return new Vector4<>(VectorAlgebraicOperations.multiply(lhs, (ITuple4<?>) rhs,
                 returnType));
     }
@@ -709,6 +742,19 @@ public final class VectorAlgebraicOperations {
             final IMatrix4<?> lhs, final IMatrix4<?> rhs,
             final Class<? extends R> returnType) {
 
+        if ((lhs instanceof DoubleMatrix4) || (rhs instanceof DoubleMatrix4)) {
+
+            return VectorAlgebraicOperations.convert(
+                    DoubleMatrix4.valueOf(lhs).multiply(rhs), returnType);
+        }
+        else if (((lhs instanceof FloatMatrix4) || (rhs instanceof FloatMatrix4))
+                && Float.class.equals(lhs.getType())
+                && Float.class.equals(rhs.getType())) {
+
+            return VectorAlgebraicOperations.convert(
+                    FloatMatrix4.valueOf(lhs).multiply(rhs), returnType);
+        }
+
         //CHECKSTYLE:OFF LocalVariableName LocalFinalVariableName
         final Number a_ix = lhs.getI().getX();
         final Number a_iy = lhs.getI().getY();
@@ -918,4 +964,147 @@ public final class VectorAlgebraicOperations {
 
         return new Matrix4<>(i, j, k, s, returnType);
     }
+
+
+    /**
+     * Determines whether a multiplication of the provided operands can be
+     * carried out on primitive {@code double} values. This is the case
+     * whenever one of the operands is backed by {@code double} values, as the
+     * boxed arithmetic would promote every product to {@link Double} as well.
+     *
+     * @param lhs
+     *         the matrix.
+     * @param rhs
+     *         the tuple.
+     *
+     * @return {@code true}, if the operation can be carried out on primitive
+     * values; {@code false} otherwise.
+     */
+    private static boolean isDoubleBacked(final IMatrix4<?> lhs,
+            final ITuple4<?> rhs) {
+
+        return (lhs instanceof DoubleMatrix4) || (rhs instanceof DoubleTuple4);
+    }
+
+    /**
+     * Determines whether a multiplication of the provided operands can be
+     * carried out on primitive {@code float} values. This is the case if one
+     * of the operands is backed by {@code float} values and both operands are
+     * of type {@link Float}.
+     *
+     * @param lhs
+     *         the matrix.
+     * @param rhs
+     *         the tuple.
+     *
+     * @return {@code true}, if the operation can be carried out on primitive
+     * values; {@code false} otherwise.
+     */
+    private static boolean isFloatBacked(final IMatrix4<?> lhs,
+            final ITuple4<?> rhs) {
+
+        return ((lhs instanceof FloatMatrix4) || (rhs instanceof FloatTuple4))
+                && Float.class.equals(lhs.getType())
+                && Float.class.equals(rhs.getType());
+    }
+
+    /**
+     * Converts the result of a primitive operation to the desired return
+     * type. The result is returned as is if it already has the desired type.
+     *
+     * @param <R>
+     *         the {@link Number} type of the result.
+     * @param result
+     *         the result of the primitive operation.
+     * @param returnType
+     *         the desired return type.
+     *
+     * @return the result in the desired return type.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R extends Number> ITuple4<R> convert(
+            final ITuple4<?> result, final Class<? extends R> returnType) {
+
+        if (result.getType().equals(returnType)) {
+
+            return (ITuple4<R>) result;
+        }
+
+        return new Tuple4<>(result, returnType);
+    }
+
+    /**
+     * Converts the result of a primitive operation to the desired return
+     * type. The result is returned as is if it already has the desired type.
+     *
+     * @param <R>
+     *         the {@link Number} type of the result.
+     * @param result
+     *         the result of the primitive operation.
+     * @param returnType
+     *         the desired return type.
+     *
+     * @return the result in the desired return type.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R extends Number> IPoint4<R> convert(
+            final IPoint4<?> result, final Class<? extends R> returnType) {
+
+        if (result.getType().equals(returnType)) {
+
+            return (IPoint4<R>) result;
+        }
+
+        return new Point4<>(result, returnType);
+    }
+
+    /**
+     * Converts the result of a primitive operation to the desired return
+     * type. The result is returned as is if it already has the desired type.
+     *
+     * @param <R>
+     *         the {@link Number} type of the result.
+     * @param result
+     *         the result of the primitive operation.
+     * @param returnType
+     *         the desired return type.
+     *
+     * @return the result in the desired return type.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R extends Number> IVector4<R> convert(
+            final IVector4<?> result, final Class<? extends R> returnType) {
+
+        if (result.getType().equals(returnType)) {
+
+            return (IVector4<R>) result;
+        }
+
+        return new Vector4<>(result, returnType);
+    }
+
+    /**
+     * Converts the result of a primitive operation to the desired return
+     * type. The result is returned as is if it already has the desired type.
+     *
+     * @param <R>
+     *         the {@link Number} type of the result.
+     * @param result
+     *         the result of the primitive operation.
+     * @param returnType
+     *         the desired return type.
+     *
+     * @return the result in the desired return type.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R extends Number> IMatrix4<R> convert(
+            final IMatrix4<?> result, final Class<? extends R> returnType) {
+
+        if (result.getType().equals(returnType)) {
+
+            return (IMatrix4<R>) result;
+        }
+
+        return new Matrix4<>(result, returnType);
+    }
 }
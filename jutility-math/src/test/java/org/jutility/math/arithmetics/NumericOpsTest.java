@@ -0,0 +1,177 @@
+package org.jutility.math.arithmetics;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.math.BigDecimal;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.jutility.common.datatype.util.NumberUtils;
+
+
+/**
+ * The {@code NumericOpsTest} class provides unit tests for the
+ * {@link NumericOps} class.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class NumericOpsTest {
+
+    private static final Number[] OPERANDS = { 7.75, 2.5f, 9L, -7, (short) 3,
+            (byte) 2                        };
+
+
+    /**
+     * Test method for {@link NumericOps#forTypes(Class, Class, Class)}.
+     */
+    @Test
+    public void testForTypes() {
+
+        final NumericOps<Double> ops = NumericOps.forTypes(Integer.class,
+                Double.class, Double.class);
+
+        Assert.assertSame(ops, NumericOps.forTypes(Double.class, Byte.class,
+                Double.class));
+        Assert.assertEquals(Double.class, ops.getReturnType());
+        Assert.assertEquals(Double.valueOf(3.5), ops.add(1, 2.5));
+
+        Assert.assertEquals(Integer.valueOf(3), NumericOps.forTypes(
+                BigDecimal.class, Integer.class, Integer.class).add(
+                new BigDecimal("1.5"), 2));
+
+        try {
+
+            NumericOps.forTypes(BigDecimal.class, BigDecimal.class,
+                    Double.class);
+            Assert.fail("Shouldn't be able to operate on unsupported types.");
+        }
+        catch (final UnsupportedOperationException e) {
+
+            // expected
+        }
+
+        try {
+
+            NumericOps.forTypes(Double.class, Double.class, BigDecimal.class);
+            Assert.fail("Shouldn't be able to return unsupported types.");
+        }
+        catch (final UnsupportedOperationException e) {
+
+            // expected
+        }
+    }
+
+
+    /**
+     * Tests that the operations promote operands to the highest-ranked
+     * operand type and convert the result to the return type.
+     */
+    @Test
+    public void testPromotion() {
+
+        for (final Number lhs : NumericOpsTest.OPERANDS) {
+
+            for (final Number rhs : NumericOpsTest.OPERANDS) {
+
+                for (final Number returnValue : NumericOpsTest.OPERANDS) {
+
+                    final Class<? extends Number> returnType = returnValue
+                            .getClass();
+                    final NumericOps<? extends Number> ops = NumericOps
+                            .forTypes(lhs.getClass(), rhs.getClass(),
+                                    returnType);
+
+                    Assert.assertEquals(returnType, ops.getReturnType());
+                    Assert.assertEquals(NumberUtils.cast(
+                            NumericOpsTest.promote(lhs, rhs, '+'), returnType),
+                            ops.add(lhs, rhs));
+                    Assert.assertEquals(NumberUtils.cast(
+                            NumericOpsTest.promote(lhs, rhs, '-'), returnType),
+                            ops.subtract(lhs, rhs));
+                    Assert.assertEquals(NumberUtils.cast(
+                            NumericOpsTest.promote(lhs, rhs, '*'), returnType),
+                            ops.multiply(lhs, rhs));
+                    Assert.assertEquals(NumberUtils.cast(
+                            NumericOpsTest.promote(lhs, rhs, '/'), returnType),
+                            ops.divide(lhs, rhs));
+                }
+            }
+        }
+    }
+
+
+    private static Number promote(final Number lhs, final Number rhs,
+            final char operator) {
+
+        if (lhs instanceof Double || rhs instanceof Double) {
+
+            final double l = lhs.doubleValue();
+            final double r = rhs.doubleValue();
+
+            return operator == '+' ? l + r : operator == '-' ? l - r
+                    : operator == '*' ? l * r : l / r;
+        }
+        else if (lhs instanceof Float || rhs instanceof Float) {
+
+            final float l = lhs.floatValue();
+            final float r = rhs.floatValue();
+
+            return operator == '+' ? l + r : operator == '-' ? l - r
+                    : operator == '*' ? l * r : l / r;
+        }
+        else if (lhs instanceof Long || rhs instanceof Long) {
+
+            final long l = lhs.longValue();
+            final long r = rhs.longValue();
+
+            return operator == '+' ? l + r : operator == '-' ? l - r
+                    : operator == '*' ? l * r : l / r;
+        }
+        else if (lhs instanceof Integer || rhs instanceof Integer) {
+
+            final int l = lhs.intValue();
+            final int r = rhs.intValue();
+
+            return operator == '+' ? l + r : operator == '-' ? l - r
+                    : operator == '*' ? l * r : l / r;
+        }
+        else if (lhs instanceof Short || rhs instanceof Short) {
+
+            final short l = lhs.shortValue();
+            final short r = rhs.shortValue();
+
+            return (short) (operator == '+' ? l + r : operator == '-' ? l - r
+                    : operator == '*' ? l * r : l / r);
+        }
+
+        final byte l = lhs.byteValue();
+        final byte r = rhs.byteValue();
+
+        return (byte) (operator == '+' ? l + r : operator == '-' ? l - r
+                : operator == '*' ? l * r : l / r);
+    }
+}
@@ -0,0 +1,140 @@
+package org.jutility.math.geometry;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.jutility.math.vectoralgebra.IPoint4;
+import org.jutility.math.vectoralgebra.Point4;
+
+
+/**
+ * The {@code TransformPipelineTest} class provides unit tests for the
+ * {@link TransformPipeline} class.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class TransformPipelineTest {
+
+    private final Translation<Integer> translation = new Translation<>(1, 2,
+            3, Integer.class);
+    private final ScaleFactor<Double>  scaleFactor = new ScaleFactor<>(2, 0.5,
+            4, Double.class);
+    private final ShearFactor<Double>  shearFactor = new ShearFactor<>(0.25,
+            ShearComponent.X_BY_Y, Double.class);
+
+
+    private TransformPipeline pipeline() {
+
+        return new TransformPipeline().translate(this.translation)
+                .rotateX(Math.PI / 3).scale(this.scaleFactor)
+                .shear(this.shearFactor);
+    }
+
+
+    /**
+     * Test method for {@link TransformPipeline#apply(IPoint4)} and
+     * {@link TransformPipeline#revert(IPoint4)}.
+     */
+    @Test
+    public void testPoint() {
+
+        final Point4<Double> point = new Point4<>(1, -2, 3, Double.class);
+
+        IPoint4<Double> expected = GeometricOperations.translate(point,
+                this.translation);
+        expected = GeometricOperations.rotateX(expected, Math.PI / 3);
+        expected = new Point4<>(GeometricOperations.scale(expected, 2, 0.5,
+                4), Double.class);
+        expected = GeometricOperations.shear(expected, this.shearFactor);
+
+        final TransformPipeline pipeline = this.pipeline();
+        final IPoint4<Double> actual = pipeline.apply(point);
+
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(point, pipeline.revert(actual));
+    }
+
+
+    /**
+     * Test method for {@link TransformPipeline#apply(ILine4)} and
+     * {@link TransformPipeline#apply(IPolygon4)}.
+     */
+    @Test
+    public void testShapes() {
+
+        final TransformPipeline pipeline = this.pipeline();
+
+        final Point4<Double> a = new Point4<>(0, 0, 0, Double.class);
+        final Point4<Double> b = new Point4<>(1, 0, 0, Double.class);
+        final Point4<Double> c = new Point4<>(0, 1, 5, Double.class);
+
+        final ILine4<Double> line = pipeline.apply(new Line4<>(a, b,
+                Double.class));
+
+        Assert.assertEquals(pipeline.apply(a), line.getSource());
+        Assert.assertEquals(pipeline.apply(b), line.getSink());
+
+        final List<IPoint4<Double>> points = Arrays.asList(a, b, c);
+        final Polygon4<Double> polygon = new Polygon4<>(Double.class);
+        points.forEach(polygon::addPoint);
+
+        final IPolygon4<Double> transformed = pipeline.apply(polygon);
+
+        Assert.assertEquals(3, transformed.getPoints().size());
+        Assert.assertEquals(pipeline.apply(c), transformed.getPoints().get(2));
+        Assert.assertEquals(polygon, pipeline.revert(transformed));
+    }
+
+
+    /**
+     * Test method for {@link TransformPipeline#apply(double[])}.
+     */
+    @Test
+    public void testPackedPoints() {
+
+        final TransformPipeline pipeline = this.pipeline();
+        final double[] points = { 1, -2, 3, 1, 4, 5, 6, 1 };
+
+        pipeline.apply(points);
+
+        final IPoint4<Double> expected = pipeline.apply(new Point4<>(4, 5, 6,
+                Double.class));
+
+        Assert.assertEquals(expected.getX(), points[4], 1e-9);
+        Assert.assertEquals(expected.getY(), points[5], 1e-9);
+        Assert.assertEquals(expected.getZ(), points[6], 1e-9);
+
+        pipeline.revert(points);
+
+        Assert.assertArrayEquals(new double[] { 1, -2, 3, 1, 4, 5, 6, 1 },
+                points, 1e-9);
+    }
+}
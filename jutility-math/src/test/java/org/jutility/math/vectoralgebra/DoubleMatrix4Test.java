@@ -0,0 +1,277 @@
+package org.jutility.math.vectoralgebra;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+//@formatter:on
+
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.jutility.math.geometry.GeometricOperations;
+import org.jutility.math.geometry.Rotation;
+import org.jutility.math.geometry.Translation;
+
+
+/**
+ * The {@code DoubleMatrix4Test} class provides unit tests for the
+ * {@link DoubleMatrix4} class.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class DoubleMatrix4Test {
+
+    private final Tuple4<Double> i = new Tuple4<>(1, 5, 9, 13, Double.class);
+    private final Tuple4<Double> j = new Tuple4<>(2, 6, 10, 14, Double.class);
+    private final Tuple4<Double> k = new Tuple4<>(3, 7, 11, 15, Double.class);
+    private final Tuple4<Double> s = new Tuple4<>(4, 8, 12, 16, Double.class);
+
+
+    /**
+     * Test method for
+     * {@link DoubleMatrix4#DoubleMatrix4(ITuple4, ITuple4, ITuple4, ITuple4)}.
+     */
+    @Test
+    public void testConstructor() {
+
+        try {
+
+            final DoubleMatrix4 testMatrix = new DoubleMatrix4(this.i,
+                    this.j, null, this.s);
+
+            Assert.fail("Shouldn't be able to create matrix: " + testMatrix);
+        }
+        catch (final IllegalArgumentException e) {
+
+            Assert.assertEquals(
+                    "Cannot create a matrix with missing K component!",
+                    e.getMessage());
+        }
+
+        final Matrix4<Double> boxed = new Matrix4<>(this.i, this.j, this.k,
+                this.s, Double.class);
+        final DoubleMatrix4 testMatrix = new DoubleMatrix4(boxed);
+
+        Assert.assertEquals(boxed, testMatrix);
+        Assert.assertEquals(testMatrix, boxed);
+        Assert.assertEquals(boxed.hashCode(), testMatrix.hashCode());
+        Assert.assertEquals(boxed.toString(), testMatrix.toString());
+        Assert.assertArrayEquals(boxed.toColumnMajorArray(),
+                testMatrix.toColumnMajorArray());
+        Assert.assertArrayEquals(boxed.toRowMajorArray(),
+                testMatrix.toRowMajorArray());
+        Assert.assertEquals(boxed.transpose(), testMatrix.transpose());
+    }
+
+
+    /**
+     * Test method for
+     * {@link VectorAlgebraicOperations#multiply(IMatrix4, ITuple4, Class)}
+     * with primitive-backed operands.
+     */
+    @Test
+    public void testMultiplyTuple() {
+
+        final Matrix4<Double> boxed = new Matrix4<>(this.i, this.j, this.k,
+                this.s, Double.class);
+        final DoubleMatrix4 primitive = new DoubleMatrix4(boxed);
+
+        final Tuple4<Double> tuple = new Tuple4<>(0.5, -2, 3.25, 1,
+                Double.class);
+        final DoubleTuple4 primitiveTuple = new DoubleTuple4(tuple);
+
+        final ITuple4<Double> expected = VectorAlgebraicOperations.multiply(
+                boxed, tuple);
+        final ITuple4<Double> actual = VectorAlgebraicOperations.multiply(
+                primitive, primitiveTuple, Double.class);
+
+        Assert.assertTrue(actual instanceof DoubleTuple4);
+        Assert.assertEquals(expected, actual);
+
+        final ITuple4<Float> floatResult = VectorAlgebraicOperations
+                .multiply(primitive, tuple, Float.class);
+
+        Assert.assertEquals(Float.class, floatResult.getType());
+        Assert.assertEquals(expected, floatResult);
+    }
+
+
+    /**
+     * Test method for
+     * {@link VectorAlgebraicOperations#multiply(IMatrix4, IPoint4, Class)}
+     * with primitive-backed operands.
+     */
+    @Test
+    public void testMultiplyPoint() {
+
+        final IMatrix4<Double> translation = GeometricOperations
+                .translationMatrix(1, 2, 3, Double.class);
+        final DoublePoint4 point = new DoublePoint4(4, 5, 6);
+
+        final IPoint4<Double> result = VectorAlgebraicOperations.multiply(
+                translation, point, Double.class);
+
+        Assert.assertTrue(translation instanceof DoubleMatrix4);
+        Assert.assertTrue(result instanceof DoublePoint4);
+        Assert.assertEquals(new Point4<>(5, 7, 9, Double.class), result);
+    }
+
+
+    /**
+     * Test method for
+     * {@link VectorAlgebraicOperations#multiply(IMatrix4, IMatrix4, Class)}
+     * with primitive-backed operands.
+     */
+    @Test
+    public void testMultiplyMatrix() {
+
+        final Matrix4<Double> boxed = new Matrix4<>(this.i, this.j, this.k,
+                this.s, Double.class);
+        final Matrix4<Integer> boxedInteger = new Matrix4<>(this.s, this.k,
+                this.j, this.i, Integer.class);
+
+        final IMatrix4<Double> expected = VectorAlgebraicOperations.multiply(
+                boxed, boxedInteger, Double.class);
+        final IMatrix4<Double> actual = VectorAlgebraicOperations.multiply(
+                new DoubleMatrix4(boxed), boxedInteger, Double.class);
+
+        Assert.assertTrue(actual instanceof DoubleMatrix4);
+        Assert.assertEquals(expected, actual);
+    }
+
+
+    /**
+     * Test method for {@link GeometricOperations#rotate(IPoint4, IRotation)}
+     * with a primitive-backed point.
+     */
+    @Test
+    public void testRotate() {
+
+        final Rotation<Double> rotation = Rotation.rotationZ(Math.PI / 2,
+                Double.class);
+        final Point4<Double> point = new Point4<>(1, -2, 3, Double.class);
+
+        final IPoint4<Double> actual = GeometricOperations.rotate(
+                new DoublePoint4(point), rotation);
+
+        Assert.assertTrue(actual instanceof DoublePoint4);
+        Assert.assertEquals(new Point4<>(2, 1, 3, Double.class), actual);
+        Assert.assertEquals(GeometricOperations.rotate(point, rotation),
+                actual);
+        Assert.assertEquals(point,
+                GeometricOperations.revertRotate(actual, rotation));
+
+        final IPoint4<Double> translated = GeometricOperations.translate(
+                new DoublePoint4(point), new Translation<>(1, 1, 1,
+                        Integer.class));
+
+        Assert.assertEquals(new Point4<>(2, -1, 4, Double.class), translated);
+    }
+
+
+    /**
+     * Test method for
+     * {@link DoubleMatrix4#transform(double[], int, double[], int, int)}.
+     */
+    @Test
+    public void testTransformArray() {
+
+        final Matrix4<Double> boxed = new Matrix4<>(this.i, this.j, this.k,
+                this.s, Double.class);
+        final DoubleMatrix4 testMatrix = new DoubleMatrix4(boxed);
+
+        final double[] points = { 1, 2, 3, 1, -4, 5, 0.5, 0, 7, 8, 9, 2 };
+        final double[] destination = new double[points.length + 4];
+
+        testMatrix.transform(points, 4, destination, 4, 2);
+
+        for (int index = 0; index < 2; index++) {
+
+            final int offset = 4 * (index + 1);
+            final ITuple4<Double> expected = VectorAlgebraicOperations
+                    .multiply(boxed, new Tuple4<>(points[offset],
+                            points[offset + 1], points[offset + 2],
+                            points[offset + 3], Double.class), Double.class);
+
+            Assert.assertArrayEquals(new double[] {
+                    expected.getX(), expected.getY(), expected.getZ(),
+                    expected.getW() }, Arrays.copyOfRange(
+                    destination, offset, offset + 4), 0);
+        }
+
+        try {
+
+            testMatrix.transform(points, 4, destination, 0, 3);
+            Assert.fail("Shouldn't be able to transform past the array end.");
+        }
+        catch (final IllegalArgumentException e) {
+
+            // expected
+        }
+    }
+
+
+    /**
+     * Test method for
+     * {@link GeometricOperations#translate(double[], org.jutility.math.geometry.ITranslation)}
+     * and {@link GeometricOperations#transform(DoubleBuffer, DoubleBuffer, IMatrix4)}.
+     */
+    @Test
+    public void testBulkTransform() {
+
+        final double[] points = { 1, -2, 3, 1, 0, 1, 0, 0 };
+
+        GeometricOperations.translate(points, new Translation<>(1, 1, 1,
+                Integer.class));
+
+        Assert.assertArrayEquals(new double[] { 2, -1, 4, 1, 0, 1, 0, 0 },
+                points, 0);
+
+        GeometricOperations.rotate(points, Rotation.rotationZ(Math.PI / 2,
+                Double.class));
+
+        Assert.assertArrayEquals(new double[] { 1, 2, 4, 1, -1, 0, 0, 0 },
+                points, 1e-12);
+
+        final DoubleBuffer source = DoubleBuffer.wrap(points);
+        final DoubleBuffer destination = ByteBuffer.allocateDirect(64)
+                .asDoubleBuffer();
+
+        GeometricOperations.transform(source, destination,
+                GeometricOperations.scalingMatrix(2, 3, 4, Double.class));
+
+        Assert.assertEquals(8, source.position());
+        Assert.assertEquals(8, destination.position());
+
+        final double[] scaled = new double[8];
+        destination.flip();
+        destination.get(scaled);
+
+        Assert.assertArrayEquals(new double[] { 2, 6, 16, 1, -2, 0, 0, 0 },
+                scaled, 1e-12);
+    }
+}
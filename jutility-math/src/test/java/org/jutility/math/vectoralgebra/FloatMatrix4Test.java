@@ -0,0 +1,219 @@
+package org.jutility.math.vectoralgebra;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.jutility.math.geometry.GeometricOperations;
+import org.jutility.math.geometry.Rotation;
+
+
+/**
+ * The {@code FloatMatrix4Test} class provides unit tests for the
+ * {@link FloatMatrix4} class.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class FloatMatrix4Test {
+
+    private final Tuple4<Float> i = new Tuple4<>(1, 5, 9, 13, Float.class);
+    private final Tuple4<Float> j = new Tuple4<>(2, 6, 10, 14, Float.class);
+    private final Tuple4<Float> k = new Tuple4<>(3, 7, 11, 15, Float.class);
+    private final Tuple4<Float> s = new Tuple4<>(4, 8, 12, 16, Float.class);
+
+
+    /**
+     * Test method for
+     * {@link FloatMatrix4#FloatMatrix4(ITuple4, ITuple4, ITuple4, ITuple4)}.
+     */
+    @Test
+    public void testConstructor() {
+
+        try {
+
+            final FloatMatrix4 testMatrix = new FloatMatrix4(this.i, this.j,
+                    this.k, null);
+
+            Assert.fail("Shouldn't be able to create matrix: " + testMatrix);
+        }
+        catch (final IllegalArgumentException e) {
+
+            Assert.assertEquals(
+                    "Cannot create a matrix with missing S component!",
+                    e.getMessage());
+        }
+
+        final Matrix4<Float> boxed = new Matrix4<>(this.i, this.j, this.k,
+                this.s, Float.class);
+        final FloatMatrix4 testMatrix = new FloatMatrix4(boxed);
+
+        Assert.assertEquals(Float.class, testMatrix.getType());
+        Assert.assertEquals(boxed, testMatrix);
+        Assert.assertEquals(testMatrix, boxed);
+        Assert.assertEquals(boxed.hashCode(), testMatrix.hashCode());
+        Assert.assertEquals(boxed.toString(), testMatrix.toString());
+        Assert.assertArrayEquals(boxed.toColumnMajorArray(),
+                testMatrix.toColumnMajorArray());
+        Assert.assertArrayEquals(boxed.toRowMajorArray(),
+                testMatrix.toRowMajorArray());
+        Assert.assertEquals(boxed.transpose(), testMatrix.transpose());
+        Assert.assertEquals(boxed.transpose()
+                                 .hashCode(), testMatrix.transpose()
+                                                        .hashCode());
+    }
+
+
+    /**
+     * Test method for {@link FloatMatrix4#valueOf(IMatrix4)} and
+     * {@link FloatMatrix4#identity()}.
+     */
+    @Test
+    public void testValueOf() {
+
+        final FloatMatrix4 testMatrix = new FloatMatrix4(this.i, this.j,
+                this.k, this.s);
+
+        Assert.assertSame(testMatrix, FloatMatrix4.valueOf(testMatrix));
+
+        final DoubleMatrix4 doubleMatrix = new DoubleMatrix4(testMatrix);
+        final FloatMatrix4 converted = FloatMatrix4.valueOf(doubleMatrix);
+
+        Assert.assertEquals(testMatrix, converted);
+        Assert.assertEquals(testMatrix.hashCode(), converted.hashCode());
+
+        final Matrix4<Float> identity = new Matrix4<>(
+                Vector4.iUnitVector(Float.class),
+                Vector4.jUnitVector(Float.class),
+                Vector4.kUnitVector(Float.class),
+                Point4.origin(Float.class), Float.class);
+
+        Assert.assertEquals(identity, FloatMatrix4.identity());
+        Assert.assertEquals(identity.hashCode(), FloatMatrix4.identity()
+                                                             .hashCode());
+    }
+
+
+    /**
+     * Test method for
+     * {@link VectorAlgebraicOperations#multiply(IMatrix4, ITuple4, Class)}
+     * with primitive-backed operands.
+     */
+    @Test
+    public void testMultiplyTuple() {
+
+        final Matrix4<Float> boxed = new Matrix4<>(this.i, this.j, this.k,
+                this.s, Float.class);
+        final FloatMatrix4 primitive = new FloatMatrix4(boxed);
+
+        final Tuple4<Float> tuple = new Tuple4<>(0.5, -2, 3.25, 1,
+                Float.class);
+        final FloatTuple4 primitiveTuple = new FloatTuple4(tuple);
+
+        final ITuple4<Float> expected = VectorAlgebraicOperations.multiply(
+                boxed, tuple);
+        final ITuple4<Float> actual = VectorAlgebraicOperations.multiply(
+                primitive, primitiveTuple, Float.class);
+
+        Assert.assertTrue(actual instanceof FloatTuple4);
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(expected.hashCode(), actual.hashCode());
+
+        final ITuple4<Double> doubleResult = VectorAlgebraicOperations
+                .multiply(primitive, tuple, Double.class);
+
+        Assert.assertEquals(Double.class, doubleResult.getType());
+        Assert.assertEquals(expected, doubleResult);
+    }
+
+
+    /**
+     * Test method for
+     * {@link VectorAlgebraicOperations#multiply(IMatrix4, IMatrix4, Class)}
+     * with primitive-backed operands.
+     */
+    @Test
+    public void testMultiplyMatrix() {
+
+        final Matrix4<Float> boxed = new Matrix4<>(this.i, this.j, this.k,
+                this.s, Float.class);
+        final Matrix4<Float> boxedReversed = new Matrix4<>(this.s, this.k,
+                this.j, this.i, Float.class);
+
+        final IMatrix4<Float> expected = VectorAlgebraicOperations.multiply(
+                boxed, boxedReversed, Float.class);
+        final IMatrix4<Float> actual = VectorAlgebraicOperations.multiply(
+                new FloatMatrix4(boxed), boxedReversed, Float.class);
+
+        Assert.assertTrue(actual instanceof FloatMatrix4);
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(expected.hashCode(), actual.hashCode());
+    }
+
+
+    /**
+     * Test method for the {@link Float} dispatch of
+     * {@link GeometricOperations#translationMatrix(Number, Number, Number, Class)},
+     * {@link GeometricOperations#scalingMatrix(Number, Number, Number, Class)}
+     * and {@link GeometricOperations#rotationMatrix(
+     * org.jutility.math.geometry.IRotation, Class)}.
+     */
+    @Test
+    public void testGeometricOperations() {
+
+        final IMatrix4<Float> translation = GeometricOperations
+                .translationMatrix(1, 2, 3, Float.class);
+
+        Assert.assertTrue(translation instanceof FloatMatrix4);
+        Assert.assertEquals(GeometricOperations.translationMatrix(1, 2, 3,
+                Double.class), translation);
+
+        final IPoint4<Float> translated = VectorAlgebraicOperations.multiply(
+                translation, new FloatPoint4(4, 5, 6), Float.class);
+
+        Assert.assertTrue(translated instanceof FloatPoint4);
+        Assert.assertEquals(new Point4<>(5, 7, 9, Float.class), translated);
+        Assert.assertEquals(new Point4<>(5, 7, 9, Float.class).hashCode(),
+                translated.hashCode());
+
+        final IMatrix4<Float> scaling = GeometricOperations.scalingMatrix(2,
+                3, 4, Float.class);
+
+        Assert.assertTrue(scaling instanceof FloatMatrix4);
+        Assert.assertEquals(new Vector4<>(2, 6, 12, Float.class),
+                VectorAlgebraicOperations.multiply(scaling, new FloatVector4(
+                        1, 2, 3), Float.class));
+
+        final Rotation<Float> rotation = Rotation.rotationZ(Math.PI / 2,
+                Float.class);
+        final IMatrix4<Float> rotationMatrix = GeometricOperations
+                .rotationMatrix(rotation, Float.class);
+
+        Assert.assertTrue(rotationMatrix instanceof FloatMatrix4);
+        Assert.assertEquals(new Point4<>(2, 1, 3, Float.class),
+                GeometricOperations.rotate(new FloatPoint4(1, -2, 3),
+                        rotation, Float.class));
+    }
+}
@@ -0,0 +1,108 @@
+package org.jutility.math.vectoralgebra;
+
+
+//@formatter:off
+/*
+ * #%L
+ * jutility-math
+ * %%
+ * Copyright (C) 2013 - 2014 jutility.org
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+/**
+ * The {@code FloatTuple4Test} class provides unit tests for the
+ * {@link FloatTuple4} class.
+ *
+ * @author Peter J. Radics
+ * @version 0.1.6
+ * @since 0.1.6
+ */
+public class FloatTuple4Test {
+
+    private final Tuple4<Float> boxed = new Tuple4<>(0.5, -2, 3.25, 1,
+            Float.class);
+
+
+    /**
+     * Test method for {@link FloatTuple4#FloatTuple4(ITuple4)}.
+     */
+    @Test
+    public void testConversion() {
+
+        final FloatTuple4 testTuple = new FloatTuple4(this.boxed);
+
+        Assert.assertEquals(Float.class, testTuple.getType());
+        Assert.assertEquals(0.5f, testTuple.getXValue(), 0);
+        Assert.assertEquals(-2f, testTuple.getYValue(), 0);
+        Assert.assertEquals(3.25f, testTuple.getZValue(), 0);
+        Assert.assertEquals(1f, testTuple.getWValue(), 0);
+        Assert.assertArrayEquals(this.boxed.toArray(), testTuple.toArray());
+        Assert.assertEquals(this.boxed.toString(), testTuple.toString());
+        Assert.assertTrue(testTuple.isPoint());
+        Assert.assertFalse(testTuple.isVector());
+
+        final FloatTuple4 fromDouble = new FloatTuple4(new DoubleTuple4(
+                this.boxed));
+
+        Assert.assertEquals(testTuple, fromDouble);
+
+        final Tuple4<Float> roundTrip = new Tuple4<>(testTuple, Float.class);
+
+        Assert.assertEquals(this.boxed, roundTrip);
+
+        for (int index = 0; index < 4; index++) {
+
+            Assert.assertEquals(this.boxed.get(index), testTuple.get(index));
+        }
+
+        try {
+
+            testTuple.get(4);
+            Assert.fail("Shouldn't be able to access a fifth component.");
+        }
+        catch (final IndexOutOfBoundsException e) {
+
+            Assert.assertEquals("Index: 4, Size: 4", e.getMessage());
+        }
+    }
+
+
+    /**
+     * Test method for {@link FloatTuple4#equals(Object)} and
+     * {@link FloatTuple4#hashCode()}.
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+
+        final FloatTuple4 testTuple = new FloatTuple4(0.5f, -2f, 3.25f, 1f);
+
+        Assert.assertEquals(this.boxed, testTuple);
+        Assert.assertEquals(testTuple, this.boxed);
+        Assert.assertEquals(this.boxed.hashCode(), testTuple.hashCode());
+
+        final FloatTuple4 other = new FloatTuple4(0.5f, -2f, 3.25f, 0f);
+
+        Assert.assertNotEquals(this.boxed, other);
+        Assert.assertNotEquals(other, this.boxed);
+        Assert.assertNotEquals(testTuple, null);
+        Assert.assertNotEquals(testTuple, "(0.5, -2.0, 3.25, 1.0)");
+    }
+}